@@ -0,0 +1,181 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.csv.core;
+
+import static org.nuxeo.ecm.core.bulk.BulkServiceImpl.STATUS_STREAM;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_ERROR_IMPORTING_LINE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_UNABLE_TO_SAVE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.unwrapException;
+import static org.nuxeo.lib.stream.computation.AbstractComputation.INPUT_1;
+import static org.nuxeo.lib.stream.computation.AbstractComputation.OUTPUT_1;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.csv.CSVRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.bulk.action.computation.AbstractBulkComputation;
+import org.nuxeo.ecm.core.bulk.message.BulkStatus;
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.runtime.stream.StreamProcessorTopology;
+
+/**
+ * Bulk action creating or updating the documents of a CSV import, see {@link CSVImporterOptions#useBulk()}.
+ * <p>
+ * The command query is the id of the import, the documents are read from the records scrolled by
+ * {@link CSVImportScroll}. The logs of each bucket are stored with the import so that they can be collected by the
+ * import work, the errors are also counted in the bulk status.
+ *
+ * @since 10.10-HF58
+ */
+public class CSVImportAction implements StreamProcessorTopology {
+
+    public static final String ACTION_NAME = "csvImport";
+
+    @Override
+    public Topology getTopology(Map<String, String> options) {
+        return Topology.builder()
+                       .addComputation(CSVImportComputation::new,
+                               Arrays.asList(INPUT_1 + ":" + ACTION_NAME, //
+                                       OUTPUT_1 + ":" + STATUS_STREAM))
+                       .build();
+    }
+
+    public static class CSVImportComputation extends AbstractBulkComputation {
+
+        protected String importId;
+
+        protected String parentPath;
+
+        protected CSVImporterOptions importOptions;
+
+        protected List<String> header;
+
+        protected String bucketKey;
+
+        protected ArrayList<CSVImportLog> bucketLogs;
+
+        public CSVImportComputation() {
+            super(ACTION_NAME);
+        }
+
+        @Override
+        public void startBucket(String bucketKey) {
+            this.bucketKey = bucketKey;
+            importId = getCurrentCommand().getQuery();
+            parentPath = CSVImporterWork.getBulkParentPath(importId);
+            importOptions = CSVImporterWork.getBulkOptions(importId);
+            header = CSVImporterWork.getBulkHeader(importId);
+            bucketLogs = new ArrayList<>();
+        }
+
+        @Override
+        protected void compute(CoreSession session, List<String> ids, Map<String, Serializable> properties) {
+            BulkRecordImporter importer = new BulkRecordImporter(session, parentPath, importOptions, header,
+                    bucketLogs);
+            for (String encodedRecord : ids) {
+                importer.importEncodedRecord(encodedRecord);
+            }
+            importer.save();
+        }
+
+        @Override
+        public void endBucket(ComputationContext context, BulkStatus delta) {
+            if (bucketLogs != null) {
+                CSVImporterWork.putBulkImportLogs(importId, bucketKey, bucketLogs);
+                List<CSVImportLog> errors = bucketLogs.stream()
+                                                      .filter(CSVImportLog::isError)
+                                                      .collect(Collectors.toList());
+                if (!errors.isEmpty()) {
+                    // a failed bucket is already in error
+                    long errorCount = delta.getErrorCount() + errors.size();
+                    if (!delta.hasError()) {
+                        CSVImportLog firstError = errors.get(0);
+                        delta.inError(String.format("Line %d: %s", firstError.getLine(), firstError.getMessage()));
+                    }
+                    delta.setErrorCount(errorCount);
+                }
+            }
+            updateStatus(context, delta);
+        }
+    }
+
+    /**
+     * Imports encoded records, numbered by their line number in the CSV file.
+     */
+    protected static class BulkRecordImporter extends CSVRecordImporter {
+
+        private static final Logger log = LogManager.getLogger(BulkRecordImporter.class);
+
+        protected final List<String> headerNames;
+
+        protected final Map<String, Integer> header = new LinkedHashMap<>();
+
+        protected long lineNumber;
+
+        protected BulkRecordImporter(CoreSession session, String parentPath, CSVImporterOptions options,
+                List<String> headerNames, List<CSVImportLog> importLogs) {
+            super(session, parentPath, options, importLogs);
+            this.headerNames = headerNames;
+            for (String name : headerNames) {
+                header.put(name, Integer.valueOf(header.size()));
+            }
+        }
+
+        protected void importEncodedRecord(String encodedRecord) {
+            lineNumber = CSVImportScroll.decodeLineNumber(encodedRecord);
+            try {
+                importRecord(CSVImportScroll.decodeRecord(encodedRecord, headerNames), header);
+            } catch (NuxeoException e) {
+                // try next record
+                Throwable unwrappedException = unwrapException(e);
+                logError(lineNumber, "Error while importing line: %s", LABEL_CSV_IMPORTER_ERROR_IMPORTING_LINE,
+                        unwrappedException.getMessage());
+                log.debug(unwrappedException, unwrappedException);
+            }
+        }
+
+        protected void save() {
+            try {
+                session.save();
+            } catch (NuxeoException e) {
+                Throwable unwrappedException = unwrapException(e);
+                logError(lineNumber, "Unable to save: %s", LABEL_CSV_IMPORTER_UNABLE_TO_SAVE,
+                        unwrappedException.getMessage());
+                log.debug(unwrappedException, unwrappedException);
+            }
+        }
+
+        @Override
+        protected long getLineNumber(CSVRecord record) {
+            // decoded records are numbered from 1
+            return lineNumber;
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.csv.core;
+
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.getBulkHeader;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.getBulkOptions;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.getCSVBlob;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.scroll.Scroll;
+import org.nuxeo.ecm.core.api.scroll.ScrollRequest;
+import org.nuxeo.ecm.core.scroll.GenericScrollRequest;
+
+/**
+ * Scrolls the records of a CSV file imported with {@link CSVImporterOptions#useBulk()}.
+ * <p>
+ * The scroll query is the id of the import, the {@value #PARAM_DEPTH} option restricts the scroll to the records
+ * creating documents at the given folder depth. As the bulk action may run on another node, the scrolled "ids" are the
+ * records themselves, encoded with {@link #encode(long, List)}.
+ *
+ * @since 10.10-HF58
+ */
+public class CSVImportScroll implements Scroll {
+
+    private static final Logger log = LogManager.getLogger(CSVImportScroll.class);
+
+    public static final String SCROLL_NAME = "csvImport";
+
+    public static final String PARAM_DEPTH = "depth";
+
+    /** Format of the encoded records, independent from the import options as values are already unescaped. */
+    protected static final CSVFormat RECORD_FORMAT = CSVFormat.DEFAULT;
+
+    protected static final char LINE_NUMBER_SEPARATOR = ':';
+
+    protected Reader reader;
+
+    protected CSVParser parser;
+
+    protected Iterator<CSVRecord> iterator;
+
+    protected List<String> header;
+
+    protected int depth;
+
+    protected int size;
+
+    protected CSVRecord nextRecord;
+
+    @Override
+    public void init(ScrollRequest scrollRequest, Map<String, String> options) {
+        if (!(scrollRequest instanceof GenericScrollRequest)) {
+            throw new IllegalArgumentException(
+                    "Requires a GenericScrollRequest got a " + scrollRequest.getClass().getCanonicalName());
+        }
+        GenericScrollRequest request = (GenericScrollRequest) scrollRequest;
+        String importId = request.getQuery();
+        Serializable depthOption = request.getOptions().get(PARAM_DEPTH);
+        if (depthOption == null) {
+            throw new IllegalArgumentException("Missing " + PARAM_DEPTH + " option for CSV import: " + importId);
+        }
+        depth = Integer.parseInt(depthOption.toString());
+        size = request.getSize();
+        header = getBulkHeader(importId);
+        try {
+            reader = CSVImporterWork.newBOMReader(getCSVBlob(importId));
+            parser = CSVImporterWork.newCSVFormat(getBulkOptions(importId)).parse(reader);
+        } catch (IOException e) {
+            close();
+            throw new NuxeoException("Cannot read CSV file of import: " + importId, e);
+        }
+        iterator = parser.iterator();
+        log.debug("Scroll init: {}, depth: {}, size: {}", importId, depth, size);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextRecord == null && iterator.hasNext()) {
+            CSVRecord record = iterator.next();
+            if (record.size() > 0 && CSVImporterWork.getDepth(record) == depth) {
+                nextRecord = record;
+            }
+        }
+        return nextRecord != null;
+    }
+
+    @Override
+    public List<String> next() {
+        List<String> ret = new ArrayList<>(size);
+        while (ret.size() < size && hasNext()) {
+            List<String> values = new ArrayList<>(header.size());
+            for (String name : header) {
+                values.add(nextRecord.isSet(name) ? nextRecord.get(name) : "");
+            }
+            // line numbers start at 1 for the header, see CSVImporterWork#getLineNumber
+            ret.add(encode(nextRecord.getRecordNumber() + 1, values));
+            nextRecord = null;
+        }
+        if (ret.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        try {
+            // closes the reader as well
+            if (parser != null) {
+                parser.close();
+            } else if (reader != null) {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // we don't mind on close
+        }
+        parser = null;
+        reader = null;
+    }
+
+    /**
+     * Encodes a record, its values being in the order of the import header.
+     */
+    public static String encode(long lineNumber, List<String> values) {
+        return lineNumber + String.valueOf(LINE_NUMBER_SEPARATOR) + RECORD_FORMAT.format(values.toArray());
+    }
+
+    /**
+     * Gets the line number of an encoded record.
+     */
+    public static long decodeLineNumber(String encoded) {
+        return Long.parseLong(encoded.substring(0, encoded.indexOf(LINE_NUMBER_SEPARATOR)));
+    }
+
+    /**
+     * Decodes a record, mapping its values to the given import header.
+     */
+    public static CSVRecord decodeRecord(String encoded, List<String> header) {
+        String values = encoded.substring(encoded.indexOf(LINE_NUMBER_SEPARATOR) + 1);
+        try (CSVParser recordParser = RECORD_FORMAT.withHeader(header.toArray(new String[0]))
+                                                   .parse(new StringReader(values))) {
+            return recordParser.getRecords().get(0);
+        } catch (IOException e) {
+            throw new NuxeoException("Cannot decode CSV record: " + encoded, e);
+        }
+    }
+
+}
@@ -62,6 +62,8 @@ public class CSVImporterOptions implements Serializable {
 
         private ImportMode importMode = ImportMode.CREATE;
 
+        private boolean useBulk;
+
         public Builder documentModelFactory(CSVImporterDocumentFactory factory) {
             CSVImporterDocumentFactory = factory;
             return this;
@@ -112,9 +114,22 @@ public class CSVImporterOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Imports the documents through the Bulk Service, see {@link CSVImporterOptions#useBulk()}.
+         *
+         * @since 10.10-HF58
+         */
+        public Builder useBulk(boolean useBulk) {
+            this.useBulk = useBulk;
+            return this;
+        }
+
         public CSVImporterOptions build() {
-            return new CSVImporterOptions(CSVImporterDocumentFactory, dateFormat, listSeparatorRegex, commentMarker,
-                    escapeCharacter, updateExisting, checkAllowedSubTypes, sendEmail, batchSize, importMode);
+            CSVImporterOptions options = new CSVImporterOptions(CSVImporterDocumentFactory, dateFormat,
+                    listSeparatorRegex, commentMarker, escapeCharacter, updateExisting, checkAllowedSubTypes, sendEmail,
+                    batchSize, importMode);
+            options.useBulk = useBulk;
+            return options;
         }
     }
 
@@ -142,6 +157,9 @@ public class CSVImporterOptions implements Serializable {
 
     protected final int batchSize;
 
+    /** @since 10.10-HF58 */
+    protected boolean useBulk;
+
     protected CSVImporterOptions(CSVImporterDocumentFactory CSVImporterDocumentFactory, String dateFormat,
             String listSeparatorRegex, boolean updateExisting, boolean checkAllowedSubTypes, boolean sendEmail,
             int batchSize, ImportMode importMode) {
@@ -227,4 +245,18 @@ public class CSVImporterOptions implements Serializable {
     public ImportMode getImportMode() {
         return importMode;
     }
+
+    /**
+     * Whether the documents are created by a bulk action, distributed across the stream partitions and nodes, instead
+     * of being created one by one by the import work.
+     * <p>
+     * The records are imported level by level: all the documents of a given folder depth are created before the ones of
+     * the next depth, so that parents exist before their children. The batch size is then the number of records
+     * imported in a transaction by the bulk action.
+     *
+     * @since 10.10-HF58
+     */
+    public boolean useBulk() {
+        return useBulk;
+    }
 }
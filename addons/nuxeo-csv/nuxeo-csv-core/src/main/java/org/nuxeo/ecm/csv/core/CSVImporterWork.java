@@ -21,32 +21,34 @@
 package org.nuxeo.ecm.csv.core;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nuxeo.ecm.csv.core.CSVImportAction.ACTION_NAME;
 import static org.nuxeo.ecm.csv.core.CSVImportLog.Status.ERROR;
+import static org.nuxeo.ecm.csv.core.CSVImportScroll.PARAM_DEPTH;
+import static org.nuxeo.ecm.csv.core.CSVImportScroll.SCROLL_NAME;
 import static org.nuxeo.ecm.csv.core.Constants.CSV_NAME_COL;
 import static org.nuxeo.ecm.csv.core.Constants.CSV_TYPE_COL;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.text.DateFormat;
-import java.text.ParseException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.commons.lang3.StringUtils;
@@ -61,37 +63,22 @@ import org.nuxeo.ecm.automation.core.operations.notification.MailTemplateHelper;
 import org.nuxeo.ecm.automation.core.operations.notification.SendMail;
 import org.nuxeo.ecm.automation.core.scripting.Expression;
 import org.nuxeo.ecm.automation.core.scripting.Scripting;
-import org.nuxeo.ecm.automation.core.util.ComplexTypeJSONDecoder;
 import org.nuxeo.ecm.automation.core.util.StringList;
 import org.nuxeo.ecm.core.api.Blob;
-import org.nuxeo.ecm.core.api.Blobs;
 import org.nuxeo.ecm.core.api.DocumentModel;
-import org.nuxeo.ecm.core.api.DocumentRef;
 import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.api.NuxeoPrincipal;
 import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.bulk.BulkService;
+import org.nuxeo.ecm.core.bulk.message.BulkCommand;
+import org.nuxeo.ecm.core.bulk.message.BulkStatus;
 import org.nuxeo.ecm.core.query.sql.NXQL;
-import org.nuxeo.ecm.core.schema.DocumentType;
-import org.nuxeo.ecm.core.schema.SchemaManager;
-import org.nuxeo.ecm.core.schema.types.ComplexType;
-import org.nuxeo.ecm.core.schema.types.CompositeType;
-import org.nuxeo.ecm.core.schema.types.Field;
-import org.nuxeo.ecm.core.schema.types.ListType;
-import org.nuxeo.ecm.core.schema.types.SimpleTypeImpl;
-import org.nuxeo.ecm.core.schema.types.Type;
-import org.nuxeo.ecm.core.schema.types.primitives.BooleanType;
-import org.nuxeo.ecm.core.schema.types.primitives.DateType;
-import org.nuxeo.ecm.core.schema.types.primitives.DoubleType;
-import org.nuxeo.ecm.core.schema.types.primitives.IntegerType;
-import org.nuxeo.ecm.core.schema.types.primitives.LongType;
-import org.nuxeo.ecm.core.schema.types.primitives.StringType;
 import org.nuxeo.ecm.core.transientstore.api.TransientStore;
 import org.nuxeo.ecm.core.transientstore.work.TransientStoreWork;
 import org.nuxeo.ecm.core.work.api.WorkManager;
 import org.nuxeo.ecm.csv.core.CSVImportLog.Status;
 import org.nuxeo.ecm.platform.ec.notification.NotificationEventListener;
 import org.nuxeo.ecm.platform.ec.notification.service.NotificationServiceHelper;
-import org.nuxeo.ecm.platform.types.TypeManager;
 import org.nuxeo.ecm.platform.url.api.DocumentViewCodecManager;
 import org.nuxeo.ecm.platform.url.codec.api.DocumentViewCodec;
 import org.nuxeo.ecm.platform.usermanager.UserManager;
@@ -166,6 +153,21 @@ public class CSVImporterWork extends TransientStoreWork {
      */
     protected static final List<String> AUTHORIZED_HEADERS = Arrays.asList(NXQL.ECM_LIFECYCLESTATE, NXQL.ECM_UUID);
 
+    /** @since 10.10-HF58 */
+    protected static final String BULK_PARENT_PATH_PARAM = "bulkParentPath";
+
+    /** @since 10.10-HF58 */
+    protected static final String BULK_OPTIONS_PARAM = "bulkOptions";
+
+    /** @since 10.10-HF58 */
+    protected static final String BULK_HEADER_PARAM = "bulkHeader";
+
+    /** @since 10.10-HF58 */
+    protected static final String BULK_LOGS_PARAM_PREFIX = "bulkLogs/";
+
+    /** @since 10.10-HF58 */
+    protected static final Duration BULK_AWAIT_DURATION = Duration.ofMinutes(1);
+
     protected String parentPath;
 
     protected String username;
@@ -225,9 +227,7 @@ public class CSVImporterWork extends TransientStoreWork {
         TransientStore store = getStore();
         setStatus("Importing");
         openUserSession();
-        CSVFormat csvFormat = CSVFormat.DEFAULT.withHeader()
-                                               .withEscape(options.getEscapeCharacter())
-                                               .withCommentMarker(options.getCommentMarker());
+        CSVFormat csvFormat = newCSVFormat(options);
         try (Reader in = newReader(getBlob()); CSVParser parser = csvFormat.parse(in)) {
             doImport(parser);
         } catch (IOException e) {
@@ -281,10 +281,26 @@ public class CSVImporterWork extends TransientStoreWork {
         return (ArrayList<CSVImportLog>) store.getParameter(id, "logs");
     }
 
+    /**
+     * @since 10.10-HF58
+     */
+    static CSVFormat newCSVFormat(CSVImporterOptions options) {
+        return CSVFormat.DEFAULT.withHeader()
+                                .withEscape(options.getEscapeCharacter())
+                                .withCommentMarker(options.getCommentMarker());
+    }
+
     /**
      * @since 7.3
      */
     protected BufferedReader newReader(Blob blob) throws IOException {
+        return newBOMReader(blob);
+    }
+
+    /**
+     * @since 10.10-HF58
+     */
+    static BufferedReader newBOMReader(Blob blob) throws IOException {
         return new BufferedReader(new InputStreamReader(new BOMInputStream(blob.getStream())));
     }
 
@@ -300,7 +316,13 @@ public class CSVImporterWork extends TransientStoreWork {
             return;
         }
         hasTypeColumn = header.containsKey(CSV_TYPE_COL);
+        if (options.useBulk()) {
+            doBulkImport(parser, header);
+            log.info("Done importing CSV file: {}", () -> getBlob().getFilename());
+            return;
+        }
 
+        CSVRecordImporter recordImporter = newRecordImporter();
         try {
             int batchSize = options.getBatchSize();
             Iterable<CSVRecord> it = parser;
@@ -322,7 +344,7 @@ public class CSVImporterWork extends TransientStoreWork {
                     continue;
                 }
                 try {
-                    if (importRecord(record, header)) {
+                    if (recordImporter.importRecord(record, header)) {
                         docsCreatedCount++;
                         getStore().putParameter(id, "status",
                                 new CSVImportStatus(CSVImportStatus.State.RUNNING, docsCreatedCount, total));
@@ -356,309 +378,163 @@ public class CSVImporterWork extends TransientStoreWork {
     }
 
     /**
-     * Import a line from the CSV file.
+     * Imports the records through the {@link CSVImportAction} bulk action. A bulk command is submitted for each folder
+     * depth, the next one being submitted once the previous one is completed, so that parents are created before their
+     * children.
      *
-     * @return {@code true} if a document has been created or updated, {@code false} otherwise.
-     * @since 6.0
+     * @since 10.10-HF58
      */
-    protected boolean importRecord(CSVRecord record, Map<String, Integer> header) {
-        String name = record.get(CSV_NAME_COL);
-        if (StringUtils.isBlank(name)) {
-            log.debug("record.isSet={}", () -> record.isSet(CSV_NAME_COL));
-            logError(getLineNumber(record), "Missing 'name' value", LABEL_CSV_IMPORTER_MISSING_NAME_VALUE);
-            return false;
-        }
-
-        Path targetPath = new Path(parentPath).append(name);
-        name = targetPath.lastSegment();
-        String newParentPath = targetPath.removeLastSegments(1).toString();
-        boolean exists = options.getCSVImporterDocumentFactory().exists(session, newParentPath, name, null);
-
-        DocumentRef docRef = null;
-        String type = null;
-        if (exists) {
-            docRef = new PathRef(targetPath.toString());
-            type = session.getDocument(docRef).getType();
-        } else {
-            if (hasTypeColumn) {
-                type = record.get(CSV_TYPE_COL);
+    protected void doBulkImport(CSVParser parser, Map<String, Integer> header) {
+        SortedSet<Integer> depths = new TreeSet<>();
+        total = 0;
+        for (CSVRecord record : parser) {
+            docsProcessedCount++;
+            if (record.size() == 0) {
+                // empty record
+                importLogs.add(new CSVImportLog(getLineNumber(record), Status.SKIPPED, "Empty record",
+                        LABEL_CSV_IMPORTER_EMPTY_LINE));
+                continue;
             }
-            if (StringUtils.isBlank(type)) {
-                log.debug("record.isSet={}", () -> record.isSet(CSV_TYPE_COL));
-                logError(getLineNumber(record), "Missing 'type' value", LABEL_CSV_IMPORTER_MISSING_TYPE_VALUE);
-                return false;
-            }
-        }
-
-        DocumentType docType = Framework.getService(SchemaManager.class).getDocumentType(type);
-        if (docType == null) {
-            logError(getLineNumber(record), "The type '%s' does not exist", LABEL_CSV_IMPORTER_NOT_EXISTING_TYPE, type);
-            return false;
+            depths.add(Integer.valueOf(getDepth(record)));
+            total++;
         }
-        Map<String, Serializable> properties = computePropertiesMap(record, docType, header);
-        if (properties == null) {
-            // skip this line
-            return false;
-        }
-
-        long lineNumber = getLineNumber(record);
-        if (exists) {
-            return updateDocument(lineNumber, docRef, properties);
-        } else {
-            return createDocument(lineNumber, newParentPath, name, type, properties);
-        }
-    }
-
-    // our code expects line numbers to start at 1 for the header and 2 for the line after,
-    // but since commons-csv 1.5 record numbers restart at 1 on the line after the header
-    // thus we need to add 1
-    protected long getLineNumber(CSVRecord record) {
-        return record.getRecordNumber() + 1;
-    }
-
-    protected long getLineNumber(CSVParser parser) {
-        return parser.getRecordNumber() + 1;
-    }
-
-    /**
-     * @since 6.0
-     */
-    protected Map<String, Serializable> computePropertiesMap(CSVRecord record, CompositeType compositeType,
-            Map<String, Integer> header) {
-        Map<String, Serializable> values = new HashMap<>();
-        for (String headerValue : header.keySet()) {
-            String lineValue = record.get(headerValue);
-            lineValue = lineValue.trim();
-            String fieldName = headerValue;
-            if (!CSV_NAME_COL.equals(headerValue) && !CSV_TYPE_COL.equals(headerValue)) {
-                if (AUTHORIZED_HEADERS.contains(headerValue) && !StringUtils.isBlank(lineValue)) {
-                    values.put(headerValue, lineValue);
-                } else {
-                    if (!compositeType.hasField(fieldName)) {
-                        fieldName = fieldName.split(":")[1];
-                    }
-                    if (compositeType.hasField(fieldName) && !StringUtils.isBlank(lineValue)) {
-                        Serializable convertedValue = convertValue(compositeType, fieldName, headerValue, lineValue,
-                                getLineNumber(record));
-                        if (convertedValue == null) {
-                            return null;
-                        }
-                        values.put(headerValue, convertedValue);
-                    }
+        TransientStore store = getStore();
+        store.putParameter(id, BULK_PARENT_PATH_PARAM, parentPath);
+        store.putParameter(id, BULK_OPTIONS_PARAM, options);
+        store.putParameter(id, BULK_HEADER_PARAM, new ArrayList<>(header.keySet()));
+        // don't keep the transaction open while waiting for the bulk commands
+        commitOrRollbackTransaction();
+        try {
+            BulkService bulkService = Framework.getService(BulkService.class);
+            for (Integer depth : depths) {
+                BulkCommand command = new BulkCommand.Builder(ACTION_NAME, id).user(username)
+                                                                              .repository(repositoryName)
+                                                                              .useGenericScroller()
+                                                                              .scroller(SCROLL_NAME)
+                                                                              .batch(options.getBatchSize())
+                                                                              .param(PARAM_DEPTH, depth.toString())
+                                                                              .build();
+                String commandId = bulkService.submit(command);
+                while (!bulkService.await(commandId, BULK_AWAIT_DURATION)) {
+                    log.debug("Waiting for bulk command: {} importing depth: {}", commandId, depth);
                 }
+                long errorCount = collectBulkImportLogs(commandId);
+                BulkStatus status = bulkService.getStatus(commandId);
+                if (status.getErrorCount() > errorCount) {
+                    // some records failed without being logged, for instance a whole bucket
+                    logError(0, "Error while doing the import: %s", LABEL_CSV_IMPORTER_ERROR_DURING_IMPORT,
+                            status.getErrorMessage());
+                }
+                store.putParameter(id, "status",
+                        new CSVImportStatus(CSVImportStatus.State.RUNNING, docsCreatedCount, total));
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NuxeoException(e);
+        } finally {
+            startTransaction();
         }
-        return values;
+        importLogs.sort(Comparator.comparingLong(CSVImportLog::getLine));
     }
 
+    /**
+     * Adds the logs stored by the buckets of the given bulk command to the import logs.
+     *
+     * @return the number of errors
+     * @since 10.10-HF58
+     */
     @SuppressWarnings("unchecked")
-    protected Serializable convertValue(CompositeType compositeType, String fieldName, String headerValue,
-            String stringValue, long lineNumber) {
-        if (compositeType.hasField(fieldName)) {
-            Field field = compositeType.getField(fieldName);
-            if (field != null) {
-                try {
-                    Serializable fieldValue = null;
-                    Type fieldType = field.getType();
-                    if (fieldType.isComplexType()) {
-                        if (fieldType.getName().equals(CONTENT_FILED_TYPE_NAME)) {
-                            fieldValue = (Serializable) createBlobFromFilePath(stringValue);
-                            if (fieldValue == null) {
-                                logError(lineNumber, "The file '%s' does not exist",
-                                        LABEL_CSV_IMPORTER_NOT_EXISTING_FILE, stringValue);
-                                return null;
-                            }
-                        } else {
-                            fieldValue = (Serializable) ComplexTypeJSONDecoder.decode((ComplexType) fieldType,
-                                    stringValue);
-                            replaceBlobs((Map<String, Object>) fieldValue);
-                        }
-                    } else {
-                        if (fieldType.isListType()) {
-                            Type listFieldType = ((ListType) fieldType).getFieldType();
-                            if (listFieldType.isSimpleType()) {
-                                /*
-                                 * Array.
-                                 */
-                                fieldValue = stringValue.split(options.getListSeparatorRegex());
-                            } else {
-                                /*
-                                 * Complex list.
-                                 */
-                                fieldValue = (Serializable) ComplexTypeJSONDecoder.decodeList((ListType) fieldType,
-                                        stringValue);
-                                replaceBlobs((List<Object>) fieldValue);
-                            }
-                        } else {
-                            /*
-                             * Primitive type.
-                             */
-                            Type type = field.getType();
-                            if (type instanceof SimpleTypeImpl) {
-                                type = type.getSuperType();
-                            }
-                            if (type.isSimpleType()) {
-                                if (type instanceof StringType) {
-                                    fieldValue = stringValue;
-                                } else if (type instanceof IntegerType) {
-                                    fieldValue = Integer.valueOf(stringValue);
-                                } else if (type instanceof LongType) {
-                                    fieldValue = Long.valueOf(stringValue);
-                                } else if (type instanceof DoubleType) {
-                                    fieldValue = Double.valueOf(stringValue);
-                                } else if (type instanceof BooleanType) {
-                                    fieldValue = Boolean.valueOf(stringValue);
-                                } else if (type instanceof DateType) {
-                                    DateFormat dateFormat = options.getDateFormat();
-                                    fieldValue = dateFormat != null ? dateFormat.parse(stringValue) : stringValue;
-                                }
-                            }
-                        }
-                    }
-                    return fieldValue;
-                } catch (ParseException | NumberFormatException | IOException e) {
-                    logError(lineNumber, "Unable to convert field '%s' with value '%s'",
-                            LABEL_CSV_IMPORTER_CANNOT_CONVERT_FIELD_VALUE, headerValue, stringValue);
-                    log.debug(e, e);
+    protected long collectBulkImportLogs(String commandId) {
+        long errorCount = 0;
+        String prefix = BULK_LOGS_PARAM_PREFIX + commandId + ":";
+        for (Map.Entry<String, Serializable> entry : getStore().getParameters(id).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                continue;
+            }
+            for (CSVImportLog importLog : (List<CSVImportLog>) entry.getValue()) {
+                importLogs.add(importLog);
+                if (importLog.isSuccess()) {
+                    docsCreatedCount++;
+                } else if (importLog.isError()) {
+                    errorCount++;
                 }
             }
-        } else {
-            logError(lineNumber, "Field '%s' does not exist on type '%s'", LABEL_CSV_IMPORTER_NOT_EXISTING_FIELD,
-                    headerValue, compositeType.getName());
         }
-        return null;
+        return errorCount;
     }
 
     /**
-     * Creates a {@code Blob} from a relative file path. The File will be looked up in the folder registered by the
-     * {@code nuxeo.csv.blobs.folder} property.
+     * Gets the folder depth of the document imported by the given record, relatively to the import folder.
      *
-     * @since 9.3
+     * @since 10.10-HF58
      */
-    protected Blob createBlobFromFilePath(String fileRelativePath) throws IOException {
-        String blobsFolderPath = Framework.getProperty(NUXEO_CSV_BLOBS_FOLDER);
-        String path = FilenameUtils.normalize(blobsFolderPath + "/" + fileRelativePath);
-        File file = new File(path);
-        if (file.exists()) {
-            return Blobs.createBlob(file, null, null, FilenameUtils.getName(fileRelativePath));
-        } else {
-            return null;
-        }
+    static int getDepth(CSVRecord record) {
+        String name = record.isSet(CSV_NAME_COL) ? record.get(CSV_NAME_COL) : null;
+        return StringUtils.isBlank(name) ? 1 : new Path(name).segmentCount();
     }
 
     /**
-     * Creates a {@code Blob} from a {@code StringBlob}. Assume that the {@code StringBlob} content is the relative file
-     * path. The File will be looked up in the folder registered by the {@code nuxeo.csv.blobs.folder} property.
-     *
-     * @since 9.3
+     * @since 10.10-HF58
      */
-    protected Blob createBlobFromStringBlob(Blob stringBlob) throws IOException {
-        String fileRelativePath = stringBlob.getString();
-        Blob blob = createBlobFromFilePath(fileRelativePath);
-        if (blob == null) {
-            throw new IOException(String.format("File %s does not exist", fileRelativePath));
-        }
+    static Blob getCSVBlob(String id) {
+        return getStore().getBlobs(id).get(0);
+    }
 
-        blob.setMimeType(stringBlob.getMimeType());
-        blob.setEncoding(stringBlob.getEncoding());
-        String filename = stringBlob.getFilename();
-        if (filename != null) {
-            blob.setFilename(filename);
-        }
-        return blob;
+    /**
+     * @since 10.10-HF58
+     */
+    static String getBulkParentPath(String id) {
+        return (String) getStore().getParameter(id, BULK_PARENT_PATH_PARAM);
     }
 
     /**
-     * Recursively replaces all {@code Blob}s with {@code Blob}s created from Files stored in the folder registered by
-     * the {@code nuxeo.csv.blobs.folder} property.
-     *
-     * @since 9.3
+     * @since 10.10-HF58
+     */
+    static CSVImporterOptions getBulkOptions(String id) {
+        return (CSVImporterOptions) getStore().getParameter(id, BULK_OPTIONS_PARAM);
+    }
+
+    /**
+     * @since 10.10-HF58
      */
     @SuppressWarnings("unchecked")
-    protected void replaceBlobs(Map<String, Object> map) throws IOException {
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            Object value = entry.getValue();
-            if (value instanceof Blob) {
-                Blob blob = (Blob) value;
-                entry.setValue(createBlobFromStringBlob(blob));
-            } else if (value instanceof List) {
-                replaceBlobs((List<Object>) value);
-            } else if (value instanceof Map) {
-                replaceBlobs((Map<String, Object>) value);
-            }
-        }
+    static List<String> getBulkHeader(String id) {
+        return (List<String>) getStore().getParameter(id, BULK_HEADER_PARAM);
     }
 
     /**
-     * Recursively replaces all {@code Blob}s with {@code Blob}s created from Files stored in the folder registered by
-     * the {@code nuxeo.csv.blobs.folder} property.
+     * Stores the logs of a bucket processed by the {@link CSVImportAction} bulk action. A retried bucket replaces its
+     * previous logs.
      *
-     * @since 9.3
+     * @since 10.10-HF58
      */
-    @SuppressWarnings("unchecked")
-    protected void replaceBlobs(List<Object> list) throws IOException {
-        for (ListIterator<Object> it = list.listIterator(); it.hasNext();) {
-            Object value = it.next();
-            if (value instanceof Blob) {
-                Blob blob = (Blob) value;
-                it.set(createBlobFromStringBlob(blob));
-            } else if (value instanceof List) {
-                replaceBlobs((List<Object>) value);
-            } else if (value instanceof Map) {
-                replaceBlobs((Map<String, Object>) value);
-            }
-        }
+    static void putBulkImportLogs(String id, String bucketKey, ArrayList<CSVImportLog> logs) {
+        getStore().putParameter(id, BULK_LOGS_PARAM_PREFIX + bucketKey, logs);
     }
 
-    protected boolean createDocument(long lineNumber, String newParentPath, String name, String type,
-            Map<String, Serializable> properties) {
-        try {
-            DocumentRef parentRef = new PathRef(newParentPath);
-            if (session.exists(parentRef)) {
-                DocumentModel parent = session.getDocument(parentRef);
-
-                TypeManager typeManager = Framework.getService(TypeManager.class);
-                if (options.checkAllowedSubTypes() && !typeManager.isAllowedSubType(type, parent.getType())) {
-                    logError(lineNumber, "'%s' type is not allowed in '%s'", LABEL_CSV_IMPORTER_NOT_ALLOWED_SUB_TYPE,
-                            type, parent.getType());
-                } else {
-                    options.getCSVImporterDocumentFactory()
-                           .createDocument(session, newParentPath, name, type, properties);
-                    importLogs.add(new CSVImportLog(lineNumber, Status.SUCCESS, "Document created",
-                            LABEL_CSV_IMPORTER_DOCUMENT_CREATED));
-                    return true;
-                }
-            } else {
-                logError(lineNumber, "Parent document '%s' does not exist", LABEL_CSV_IMPORTER_PARENT_DOES_NOT_EXIST,
-                        newParentPath);
+    /**
+     * Creates the importer of the records, reporting its errors in the import status.
+     *
+     * @since 10.10-HF58
+     */
+    protected CSVRecordImporter newRecordImporter() {
+        return new CSVRecordImporter(session, parentPath, options, importLogs) {
+            @Override
+            protected void logError(long lineNumber, String message, String localizedMessage, String... params) {
+                CSVImporterWork.this.logError(lineNumber, message, localizedMessage, params);
             }
-        } catch (RuntimeException e) {
-            Throwable unwrappedException = unwrapException(e);
-            logError(lineNumber, "Unable to create document: %s", LABEL_CSV_IMPORTER_UNABLE_TO_CREATE,
-                    unwrappedException.getMessage());
-            log.debug(unwrappedException, unwrappedException);
-        }
-        return false;
+        };
     }
 
-    protected boolean updateDocument(long lineNumber, DocumentRef docRef, Map<String, Serializable> properties) {
-        if (options.updateExisting()) {
-            try {
-                options.getCSVImporterDocumentFactory().updateDocument(session, docRef, properties);
-                importLogs.add(new CSVImportLog(lineNumber, Status.SUCCESS, "Document updated",
-                        LABEL_CSV_IMPORTER_DOCUMENT_UPDATED));
-                return true;
-            } catch (RuntimeException e) {
-                Throwable unwrappedException = unwrapException(e);
-                logError(lineNumber, "Unable to update document: %s", LABEL_CSV_IMPORTER_UNABLE_TO_UPDATE,
-                        unwrappedException.getMessage());
-                log.debug(unwrappedException, unwrappedException);
-            }
-        } else {
-            importLogs.add(new CSVImportLog(lineNumber, Status.SKIPPED, "Document already exists",
-                    LABEL_CSV_IMPORTER_DOCUMENT_ALREADY_EXISTS));
-        }
-        return false;
+    // our code expects line numbers to start at 1 for the header and 2 for the line after,
+    // but since commons-csv 1.5 record numbers restart at 1 on the line after the header
+    // thus we need to add 1
+    protected long getLineNumber(CSVRecord record) {
+        return record.getRecordNumber() + 1;
+    }
+
+    protected long getLineNumber(CSVParser parser) {
+        return parser.getRecordNumber() + 1;
     }
 
     protected void logError(long lineNumber, String message, String localizedMessage, String... params) {
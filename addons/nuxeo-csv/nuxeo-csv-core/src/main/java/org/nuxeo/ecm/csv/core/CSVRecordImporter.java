@@ -0,0 +1,408 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.csv.core;
+
+import static org.nuxeo.ecm.csv.core.CSVImportLog.Status.ERROR;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.AUTHORIZED_HEADERS;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.CONTENT_FILED_TYPE_NAME;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_CANNOT_CONVERT_FIELD_VALUE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_DOCUMENT_ALREADY_EXISTS;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_DOCUMENT_CREATED;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_DOCUMENT_UPDATED;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_MISSING_NAME_VALUE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_MISSING_TYPE_VALUE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_NOT_ALLOWED_SUB_TYPE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_NOT_EXISTING_FIELD;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_NOT_EXISTING_FILE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_NOT_EXISTING_TYPE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_PARENT_DOES_NOT_EXIST;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_UNABLE_TO_CREATE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.LABEL_CSV_IMPORTER_UNABLE_TO_UPDATE;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.NUXEO_CSV_BLOBS_FOLDER;
+import static org.nuxeo.ecm.csv.core.CSVImporterWork.unwrapException;
+import static org.nuxeo.ecm.csv.core.Constants.CSV_NAME_COL;
+import static org.nuxeo.ecm.csv.core.Constants.CSV_TYPE_COL;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.common.utils.Path;
+import org.nuxeo.ecm.automation.core.util.ComplexTypeJSONDecoder;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.schema.DocumentType;
+import org.nuxeo.ecm.core.schema.SchemaManager;
+import org.nuxeo.ecm.core.schema.types.ComplexType;
+import org.nuxeo.ecm.core.schema.types.CompositeType;
+import org.nuxeo.ecm.core.schema.types.Field;
+import org.nuxeo.ecm.core.schema.types.ListType;
+import org.nuxeo.ecm.core.schema.types.SimpleTypeImpl;
+import org.nuxeo.ecm.core.schema.types.Type;
+import org.nuxeo.ecm.core.schema.types.primitives.BooleanType;
+import org.nuxeo.ecm.core.schema.types.primitives.DateType;
+import org.nuxeo.ecm.core.schema.types.primitives.DoubleType;
+import org.nuxeo.ecm.core.schema.types.primitives.IntegerType;
+import org.nuxeo.ecm.core.schema.types.primitives.LongType;
+import org.nuxeo.ecm.core.schema.types.primitives.StringType;
+import org.nuxeo.ecm.csv.core.CSVImportLog.Status;
+import org.nuxeo.ecm.platform.types.TypeManager;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Imports the records of a CSV file: converts their values and creates or updates their documents, adding a log for
+ * each record. Used by the {@link CSVImporterWork} and by the {@link CSVImportAction} bulk action.
+ *
+ * @since 10.10-HF58
+ */
+public class CSVRecordImporter {
+
+    private static final Logger log = LogManager.getLogger(CSVRecordImporter.class);
+
+    protected final CoreSession session;
+
+    protected final String parentPath;
+
+    protected final CSVImporterOptions options;
+
+    protected final List<CSVImportLog> importLogs;
+
+    /**
+     * @param importLogs the list to which the logs of the records are added
+     */
+    public CSVRecordImporter(CoreSession session, String parentPath, CSVImporterOptions options,
+            List<CSVImportLog> importLogs) {
+        this.session = session;
+        this.parentPath = parentPath;
+        this.options = options;
+        this.importLogs = importLogs;
+    }
+
+    /**
+     * Import a line from the CSV file.
+     *
+     * @return {@code true} if a document has been created or updated, {@code false} otherwise.
+     */
+    public boolean importRecord(CSVRecord record, Map<String, Integer> header) {
+        String name = record.get(CSV_NAME_COL);
+        if (StringUtils.isBlank(name)) {
+            log.debug("record.isSet={}", () -> record.isSet(CSV_NAME_COL));
+            logError(getLineNumber(record), "Missing 'name' value", LABEL_CSV_IMPORTER_MISSING_NAME_VALUE);
+            return false;
+        }
+
+        Path targetPath = new Path(parentPath).append(name);
+        name = targetPath.lastSegment();
+        String newParentPath = targetPath.removeLastSegments(1).toString();
+        boolean exists = options.getCSVImporterDocumentFactory().exists(session, newParentPath, name, null);
+
+        DocumentRef docRef = null;
+        String type = null;
+        if (exists) {
+            docRef = new PathRef(targetPath.toString());
+            type = session.getDocument(docRef).getType();
+        } else {
+            if (header.containsKey(CSV_TYPE_COL)) {
+                type = record.get(CSV_TYPE_COL);
+            }
+            if (StringUtils.isBlank(type)) {
+                log.debug("record.isSet={}", () -> record.isSet(CSV_TYPE_COL));
+                logError(getLineNumber(record), "Missing 'type' value", LABEL_CSV_IMPORTER_MISSING_TYPE_VALUE);
+                return false;
+            }
+        }
+
+        DocumentType docType = Framework.getService(SchemaManager.class).getDocumentType(type);
+        if (docType == null) {
+            logError(getLineNumber(record), "The type '%s' does not exist", LABEL_CSV_IMPORTER_NOT_EXISTING_TYPE, type);
+            return false;
+        }
+        Map<String, Serializable> properties = computePropertiesMap(record, docType, header);
+        if (properties == null) {
+            // skip this line
+            return false;
+        }
+
+        long lineNumber = getLineNumber(record);
+        if (exists) {
+            return updateDocument(lineNumber, docRef, properties);
+        } else {
+            return createDocument(lineNumber, newParentPath, name, type, properties);
+        }
+    }
+
+    protected Map<String, Serializable> computePropertiesMap(CSVRecord record, CompositeType compositeType,
+            Map<String, Integer> header) {
+        Map<String, Serializable> values = new HashMap<>();
+        for (String headerValue : header.keySet()) {
+            String lineValue = record.get(headerValue);
+            lineValue = lineValue.trim();
+            String fieldName = headerValue;
+            if (!CSV_NAME_COL.equals(headerValue) && !CSV_TYPE_COL.equals(headerValue)) {
+                if (AUTHORIZED_HEADERS.contains(headerValue) && !StringUtils.isBlank(lineValue)) {
+                    values.put(headerValue, lineValue);
+                } else {
+                    if (!compositeType.hasField(fieldName)) {
+                        fieldName = fieldName.split(":")[1];
+                    }
+                    if (compositeType.hasField(fieldName) && !StringUtils.isBlank(lineValue)) {
+                        Serializable convertedValue = convertValue(compositeType, fieldName, headerValue, lineValue,
+                                getLineNumber(record));
+                        if (convertedValue == null) {
+                            return null;
+                        }
+                        values.put(headerValue, convertedValue);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Serializable convertValue(CompositeType compositeType, String fieldName, String headerValue,
+            String stringValue, long lineNumber) {
+        if (compositeType.hasField(fieldName)) {
+            Field field = compositeType.getField(fieldName);
+            if (field != null) {
+                try {
+                    Serializable fieldValue = null;
+                    Type fieldType = field.getType();
+                    if (fieldType.isComplexType()) {
+                        if (fieldType.getName().equals(CONTENT_FILED_TYPE_NAME)) {
+                            fieldValue = (Serializable) createBlobFromFilePath(stringValue);
+                            if (fieldValue == null) {
+                                logError(lineNumber, "The file '%s' does not exist",
+                                        LABEL_CSV_IMPORTER_NOT_EXISTING_FILE, stringValue);
+                                return null;
+                            }
+                        } else {
+                            fieldValue = (Serializable) ComplexTypeJSONDecoder.decode((ComplexType) fieldType,
+                                    stringValue);
+                            replaceBlobs((Map<String, Object>) fieldValue);
+                        }
+                    } else {
+                        if (fieldType.isListType()) {
+                            Type listFieldType = ((ListType) fieldType).getFieldType();
+                            if (listFieldType.isSimpleType()) {
+                                /*
+                                 * Array.
+                                 */
+                                fieldValue = stringValue.split(options.getListSeparatorRegex());
+                            } else {
+                                /*
+                                 * Complex list.
+                                 */
+                                fieldValue = (Serializable) ComplexTypeJSONDecoder.decodeList((ListType) fieldType,
+                                        stringValue);
+                                replaceBlobs((List<Object>) fieldValue);
+                            }
+                        } else {
+                            /*
+                             * Primitive type.
+                             */
+                            Type type = field.getType();
+                            if (type instanceof SimpleTypeImpl) {
+                                type = type.getSuperType();
+                            }
+                            if (type.isSimpleType()) {
+                                if (type instanceof StringType) {
+                                    fieldValue = stringValue;
+                                } else if (type instanceof IntegerType) {
+                                    fieldValue = Integer.valueOf(stringValue);
+                                } else if (type instanceof LongType) {
+                                    fieldValue = Long.valueOf(stringValue);
+                                } else if (type instanceof DoubleType) {
+                                    fieldValue = Double.valueOf(stringValue);
+                                } else if (type instanceof BooleanType) {
+                                    fieldValue = Boolean.valueOf(stringValue);
+                                } else if (type instanceof DateType) {
+                                    DateFormat dateFormat = options.getDateFormat();
+                                    fieldValue = dateFormat != null ? dateFormat.parse(stringValue) : stringValue;
+                                }
+                            }
+                        }
+                    }
+                    return fieldValue;
+                } catch (ParseException | NumberFormatException | IOException e) {
+                    logError(lineNumber, "Unable to convert field '%s' with value '%s'",
+                            LABEL_CSV_IMPORTER_CANNOT_CONVERT_FIELD_VALUE, headerValue, stringValue);
+                    log.debug(e, e);
+                }
+            }
+        } else {
+            logError(lineNumber, "Field '%s' does not exist on type '%s'", LABEL_CSV_IMPORTER_NOT_EXISTING_FIELD,
+                    headerValue, compositeType.getName());
+        }
+        return null;
+    }
+
+    /**
+     * Creates a {@code Blob} from a relative file path. The File will be looked up in the folder registered by the
+     * {@code nuxeo.csv.blobs.folder} property.
+     */
+    protected Blob createBlobFromFilePath(String fileRelativePath) throws IOException {
+        String blobsFolderPath = Framework.getProperty(NUXEO_CSV_BLOBS_FOLDER);
+        String path = FilenameUtils.normalize(blobsFolderPath + "/" + fileRelativePath);
+        File file = new File(path);
+        if (file.exists()) {
+            return Blobs.createBlob(file, null, null, FilenameUtils.getName(fileRelativePath));
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a {@code Blob} from a {@code StringBlob}. Assume that the {@code StringBlob} content is the relative file
+     * path. The File will be looked up in the folder registered by the {@code nuxeo.csv.blobs.folder} property.
+     */
+    protected Blob createBlobFromStringBlob(Blob stringBlob) throws IOException {
+        String fileRelativePath = stringBlob.getString();
+        Blob blob = createBlobFromFilePath(fileRelativePath);
+        if (blob == null) {
+            throw new IOException(String.format("File %s does not exist", fileRelativePath));
+        }
+
+        blob.setMimeType(stringBlob.getMimeType());
+        blob.setEncoding(stringBlob.getEncoding());
+        String filename = stringBlob.getFilename();
+        if (filename != null) {
+            blob.setFilename(filename);
+        }
+        return blob;
+    }
+
+    /**
+     * Recursively replaces all {@code Blob}s with {@code Blob}s created from Files stored in the folder registered by
+     * the {@code nuxeo.csv.blobs.folder} property.
+     */
+    @SuppressWarnings("unchecked")
+    protected void replaceBlobs(Map<String, Object> map) throws IOException {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Blob) {
+                Blob blob = (Blob) value;
+                entry.setValue(createBlobFromStringBlob(blob));
+            } else if (value instanceof List) {
+                replaceBlobs((List<Object>) value);
+            } else if (value instanceof Map) {
+                replaceBlobs((Map<String, Object>) value);
+            }
+        }
+    }
+
+    /**
+     * Recursively replaces all {@code Blob}s with {@code Blob}s created from Files stored in the folder registered by
+     * the {@code nuxeo.csv.blobs.folder} property.
+     */
+    @SuppressWarnings("unchecked")
+    protected void replaceBlobs(List<Object> list) throws IOException {
+        for (ListIterator<Object> it = list.listIterator(); it.hasNext();) {
+            Object value = it.next();
+            if (value instanceof Blob) {
+                Blob blob = (Blob) value;
+                it.set(createBlobFromStringBlob(blob));
+            } else if (value instanceof List) {
+                replaceBlobs((List<Object>) value);
+            } else if (value instanceof Map) {
+                replaceBlobs((Map<String, Object>) value);
+            }
+        }
+    }
+
+    protected boolean createDocument(long lineNumber, String newParentPath, String name, String type,
+            Map<String, Serializable> properties) {
+        try {
+            DocumentRef parentRef = new PathRef(newParentPath);
+            if (session.exists(parentRef)) {
+                DocumentModel parent = session.getDocument(parentRef);
+
+                TypeManager typeManager = Framework.getService(TypeManager.class);
+                if (options.checkAllowedSubTypes() && !typeManager.isAllowedSubType(type, parent.getType())) {
+                    logError(lineNumber, "'%s' type is not allowed in '%s'", LABEL_CSV_IMPORTER_NOT_ALLOWED_SUB_TYPE,
+                            type, parent.getType());
+                } else {
+                    options.getCSVImporterDocumentFactory()
+                           .createDocument(session, newParentPath, name, type, properties);
+                    importLogs.add(new CSVImportLog(lineNumber, Status.SUCCESS, "Document created",
+                            LABEL_CSV_IMPORTER_DOCUMENT_CREATED));
+                    return true;
+                }
+            } else {
+                logError(lineNumber, "Parent document '%s' does not exist", LABEL_CSV_IMPORTER_PARENT_DOES_NOT_EXIST,
+                        newParentPath);
+            }
+        } catch (RuntimeException e) {
+            Throwable unwrappedException = unwrapException(e);
+            logError(lineNumber, "Unable to create document: %s", LABEL_CSV_IMPORTER_UNABLE_TO_CREATE,
+                    unwrappedException.getMessage());
+            log.debug(unwrappedException, unwrappedException);
+        }
+        return false;
+    }
+
+    protected boolean updateDocument(long lineNumber, DocumentRef docRef, Map<String, Serializable> properties) {
+        if (options.updateExisting()) {
+            try {
+                options.getCSVImporterDocumentFactory().updateDocument(session, docRef, properties);
+                importLogs.add(new CSVImportLog(lineNumber, Status.SUCCESS, "Document updated",
+                        LABEL_CSV_IMPORTER_DOCUMENT_UPDATED));
+                return true;
+            } catch (RuntimeException e) {
+                Throwable unwrappedException = unwrapException(e);
+                logError(lineNumber, "Unable to update document: %s", LABEL_CSV_IMPORTER_UNABLE_TO_UPDATE,
+                        unwrappedException.getMessage());
+                log.debug(unwrappedException, unwrappedException);
+            }
+        } else {
+            importLogs.add(new CSVImportLog(lineNumber, Status.SKIPPED, "Document already exists",
+                    LABEL_CSV_IMPORTER_DOCUMENT_ALREADY_EXISTS));
+        }
+        return false;
+    }
+
+    // our code expects line numbers to start at 1 for the header and 2 for the line after,
+    // but since commons-csv 1.5 record numbers restart at 1 on the line after the header
+    // thus we need to add 1
+    protected long getLineNumber(CSVRecord record) {
+        return record.getRecordNumber() + 1;
+    }
+
+    protected void logError(long lineNumber, String message, String localizedMessage, String... params) {
+        String errorMessage = String.format(message, (Object[]) params);
+        importLogs.add(new CSVImportLog(lineNumber, ERROR, errorMessage, localizedMessage, params));
+        log.error("Line {}: {}", lineNumber, errorMessage);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.csv.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.bulk.CoreBulkFeature;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * @since 10.10-HF58
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreBulkFeature.class)
+public class TestCSVImporterBulkMode extends AbstractCSVImporterTest {
+
+    private static final String DOCS_WITH_UNORDERED_FOLDERS_OK_CSV = "docs_with_unordered_folders_ok.csv";
+
+    @Test
+    public void shouldImportDirectoryStructureWithBulk() throws InterruptedException, IOException {
+        CSVImporterOptions options = new CSVImporterOptions.Builder().updateExisting(false).useBulk(true).build();
+        TransactionHelper.commitOrRollbackTransaction();
+        String importId = csvImporter.launchImport(session, "/", getCSVBlob(DOCS_WITH_UNORDERED_FOLDERS_OK_CSV),
+                options);
+        workManager.awaitCompletion(20, TimeUnit.SECONDS);
+        TransactionHelper.startTransaction();
+
+        List<CSVImportLog> importLogs = csvImporter.getImportLogs(importId);
+        assertEquals(5, importLogs.size());
+
+        // children are listed before their parents in the file
+        for (int i = 0; i < 4; i++) {
+            assertEquals(CSVImportLog.Status.SUCCESS, importLogs.get(i).getStatus());
+            assertEquals(i + 2, importLogs.get(i).getLine());
+        }
+        CSVImportLog importLog = importLogs.get(4);
+        assertEquals(CSVImportLog.Status.ERROR, importLog.getStatus());
+        assertEquals(6, importLog.getLine());
+        assertEquals("Parent document '/folder/folder' does not exist", importLog.getMessage());
+        assertEquals(CSVImportStatus.State.COMPLETED, csvImporter.getImportStatus(importId).getState());
+
+        assertTrue(session.exists(new PathRef("/folder")));
+        assertTrue(session.exists(new PathRef("/folder/doc1")));
+        assertTrue(session.exists(new PathRef("/folder/subfolder")));
+        assertTrue(session.exists(new PathRef("/folder/subfolder/doc2")));
+        assertFalse(session.exists(new PathRef("/folder/folder/doc3")));
+
+        DocumentModel doc = session.getDocument(new PathRef("/folder/subfolder"));
+        assertEquals("Folder", doc.getType());
+        assertEquals("Sub folder", doc.getTitle());
+        doc = session.getDocument(new PathRef("/folder/subfolder/doc2"));
+        assertEquals("File", doc.getType());
+        assertEquals("Second doc", doc.getTitle());
+    }
+
+}
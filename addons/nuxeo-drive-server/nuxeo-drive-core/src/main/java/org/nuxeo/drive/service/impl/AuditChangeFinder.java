@@ -18,7 +18,10 @@
  */
 package org.nuxeo.drive.service.impl;
 
+import static java.util.stream.Collectors.joining;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -60,6 +63,15 @@ public class AuditChangeFinder implements FileSystemChangeFinder {
 
     private static final Logger log = LogManager.getLogger(AuditChangeFinder.class);
 
+    /**
+     * Ids of the events of the {@code eventDocumentCategory} category impacting the file system items.
+     *
+     * @since 10.10-HF58
+     */
+    protected static final List<String> DOCUMENT_CHANGE_EVENT_IDS = Arrays.asList("documentCreated",
+            "documentModified", "documentMoved", "documentCreatedByCopy", "documentRestored", "addedToCollection",
+            "documentProxyPublished", "documentLocked", "documentUnlocked", "documentUntrashed", "blobDigestUpdated");
+
     protected Map<String, String> parameters = new HashMap<>();
 
     @Override
@@ -316,8 +328,10 @@ public class AuditChangeFinder implements FileSystemChangeFinder {
             auditQuerySb.append("(");
             auditQuerySb.append("log.category = 'eventDocumentCategory'");
             // TODO: don't hardcode event ids (contribute them?)
+            auditQuerySb.append(" and (");
             auditQuerySb.append(
-                    " and (log.eventId = 'documentCreated' or log.eventId = 'documentModified' or log.eventId = 'documentMoved' or log.eventId = 'documentCreatedByCopy' or log.eventId = 'documentRestored' or log.eventId = 'addedToCollection' or log.eventId = 'documentProxyPublished' or log.eventId = 'documentLocked' or log.eventId = 'documentUnlocked' or log.eventId = 'documentUntrashed' or log.eventId = 'blobDigestUpdated')");
+                    DOCUMENT_CHANGE_EVENT_IDS.stream().map(id -> "log.eventId = '" + id + "'").collect(joining(" or ")));
+            auditQuerySb.append(")");
             auditQuerySb.append(" or ");
             auditQuerySb.append("log.category = 'eventLifeCycleCategory'");
             auditQuerySb.append(" and log.eventId = 'lifecycle_transition_event' and log.docLifeCycle != 'deleted' ");
@@ -355,9 +369,15 @@ public class AuditChangeFinder implements FileSystemChangeFinder {
         log.debug("Querying audit log for changes: {} with params: {}", auditQuery, params);
 
         List<LogEntry> entries = (List<LogEntry>) auditService.nativeQuery(auditQuery, params, 1, limit);
+        return filterImpactedUser(session, entries);
+    }
 
-        // Post filter the output to remove (un)registration that are unrelated
-        // to the current user.
+    /**
+     * Post filters the entries to remove (un)registration that are unrelated to the current user.
+     *
+     * @since 10.10-HF58
+     */
+    protected List<LogEntry> filterImpactedUser(CoreSession session, List<LogEntry> entries) {
         List<LogEntry> postFilteredEntries = new ArrayList<>();
         String principalName = session.getPrincipal().getName();
         for (LogEntry entry : entries) {
@@ -0,0 +1,280 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.drive.service.impl;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.drive.service.NuxeoDriveEvents;
+import org.nuxeo.drive.service.SynchronizationRoots;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.platform.audit.api.AuditReader;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * {@link AuditChangeFinder} serving the changes from an in-memory feed of the recent audit entries impacting the file
+ * system items, instead of querying the audit log for each client.
+ * <p>
+ * The feed is refreshed from the audit log at most once every {@value #DEFAULT_REFRESH_DELAY} milliseconds (see the
+ * {@code refreshDelay} parameter) by a single incremental query, whatever the number of clients. It keeps up to
+ * {@value #DEFAULT_BUFFER_SIZE} entries per repository (see the {@code bufferSize} parameter) indexed by log id, so
+ * that a client reads the changes after its cursor at the cost of these changes only. Changes older than the feed,
+ * typically for a client which has not synchronized for a long time, are still read from the audit log.
+ *
+ * @since 10.10-HF58
+ */
+public class BufferedAuditChangeFinder extends AuditChangeFinder {
+
+    private static final Logger log = LogManager.getLogger(BufferedAuditChangeFinder.class);
+
+    public static final String BUFFER_SIZE_PARAMETER = "bufferSize";
+
+    public static final String REFRESH_DELAY_PARAMETER = "refreshDelay";
+
+    public static final int DEFAULT_BUFFER_SIZE = 10000;
+
+    public static final long DEFAULT_REFRESH_DELAY = 1000;
+
+    /** Maximum age of the entries taken into account to compute the upper bound when clustering is enabled. */
+    protected static final long RECENT_ENTRIES_MAX_AGE = 600_000;
+
+    protected int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    protected long refreshDelay = DEFAULT_REFRESH_DELAY;
+
+    protected final Map<String, ChangeBuffer> buffers = new ConcurrentHashMap<>();
+
+    /** Log id and date of the recent entries, to compute the upper bound when clustering is enabled. */
+    protected final ConcurrentSkipListMap<Long, Long> recentEntryDates = new ConcurrentSkipListMap<>();
+
+    /** The buffers hold all the relevant entries with a greater log id. */
+    protected volatile long floor;
+
+    /** The buffers hold all the relevant entries up to this log id. */
+    protected volatile long loadedUpperBound;
+
+    protected volatile long initTime = -1;
+
+    protected long lastRefreshTime;
+
+    @Override
+    public void handleParameters(Map<String, String> parameters) {
+        super.handleParameters(parameters);
+        String value = parameters.get(BUFFER_SIZE_PARAMETER);
+        if (value != null) {
+            bufferSize = Integer.parseInt(value);
+        }
+        value = parameters.get(REFRESH_DELAY_PARAMETER);
+        if (value != null) {
+            refreshDelay = Long.parseLong(value);
+        }
+    }
+
+    @Override
+    public long getUpperBound() {
+        refresh();
+        return loadedUpperBound;
+    }
+
+    @Override
+    public long getUpperBound(Set<String> repositoryNames) {
+        long clusteringDelay = getClusteringDelay(repositoryNames);
+        if (clusteringDelay <= -1) {
+            return getUpperBound();
+        }
+        refresh();
+        // Double the delay in case of overlapping, see https://jira.nuxeo.com/browse/NXP-14826
+        long lastClusteringInvalidationDate = System.currentTimeMillis() - 2 * clusteringDelay;
+        if (initTime > lastClusteringInvalidationDate) {
+            // the entries loaded at initialization may be too recent
+            return super.getUpperBound(repositoryNames);
+        }
+        // stop before the first relevant entry more recent than the last clustering invalidation
+        long upperBound = loadedUpperBound;
+        for (Map.Entry<Long, Long> entry : recentEntryDates.entrySet()) {
+            if (entry.getValue().longValue() >= lastClusteringInvalidationDate) {
+                upperBound = Math.min(upperBound, entry.getKey().longValue() - 1);
+                break;
+            }
+        }
+        return upperBound;
+    }
+
+    @Override
+    protected List<LogEntry> queryAuditEntries(CoreSession session, SynchronizationRoots activeRoots,
+            Set<String> collectionSyncRootMemberIds, long lowerBound, long upperBound, int limit) {
+        String repositoryName = session.getRepositoryName();
+        ChangeBuffer buffer = buffers.get(repositoryName);
+        long bufferFloor = Math.max(floor, buffer == null ? floor : buffer.floor);
+        if (initTime < 0 || lowerBound < bufferFloor || upperBound > loadedUpperBound) {
+            log.debug("Range ]{}, {}] not available from the change feed of repository {}, querying audit log",
+                    lowerBound, upperBound, repositoryName);
+            return super.queryAuditEntries(session, activeRoots, collectionSyncRootMemberIds, lowerBound, upperBound,
+                    limit);
+        }
+        if (buffer == null) {
+            return new ArrayList<>();
+        }
+        Set<String> rootPaths = activeRoots.getPaths();
+        List<LogEntry> entries = buffer.entries.subMap(lowerBound, false, upperBound, true)
+                                               .values()
+                                               .stream()
+                                               .filter(entry -> isDriveEvent(entry)
+                                                       || isUnderActiveRoots(entry, rootPaths,
+                                                               collectionSyncRootMemberIds))
+                                               .sorted(Comparator.comparing(LogEntry::getEventDate)
+                                                                 .thenComparing(LogEntry::getId)
+                                                                 .reversed())
+                                               .limit(limit)
+                                               .collect(Collectors.toList());
+        log.debug("Found {} entries in the change feed of repository {} for range ]{}, {}]", entries::size,
+                () -> repositoryName, () -> lowerBound, () -> upperBound);
+        return filterImpactedUser(session, entries);
+    }
+
+    protected boolean isUnderActiveRoots(LogEntry entry, Set<String> rootPaths,
+            Set<String> collectionSyncRootMemberIds) {
+        if (rootPaths.isEmpty() || !isDocumentChange(entry)) {
+            return false;
+        }
+        String docPath = entry.getDocPath();
+        if (docPath != null && rootPaths.stream().anyMatch(docPath::startsWith)) {
+            return true;
+        }
+        return collectionSyncRootMemberIds != null && collectionSyncRootMemberIds.contains(entry.getDocUUID());
+    }
+
+    /**
+     * Same as the document and lifecycle events selected by {@link #queryAuditEntries}.
+     */
+    protected boolean isDocumentChange(LogEntry entry) {
+        if ("eventDocumentCategory".equals(entry.getCategory())) {
+            return DOCUMENT_CHANGE_EVENT_IDS.contains(entry.getEventId());
+        }
+        return "eventLifeCycleCategory".equals(entry.getCategory())
+                && "lifecycle_transition_event".equals(entry.getEventId()) && entry.getDocLifeCycle() != null
+                && !"deleted".equals(entry.getDocLifeCycle());
+    }
+
+    /**
+     * Same as the Nuxeo Drive events selected by {@link #queryAuditEntries}.
+     */
+    protected boolean isDriveEvent(LogEntry entry) {
+        return NuxeoDriveEvents.EVENT_CATEGORY.equals(entry.getCategory())
+                && !NuxeoDriveEvents.ROOT_UNREGISTERED.equals(entry.getEventId());
+    }
+
+    /**
+     * Loads the relevant entries logged since the last refresh, unless it happened less than {@link #refreshDelay}
+     * milliseconds ago.
+     */
+    protected synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        if (initTime >= 0 && now - lastRefreshTime < refreshDelay) {
+            return;
+        }
+        lastRefreshTime = now;
+        recentEntryDates.values().removeIf(date -> date.longValue() < now - RECENT_ENTRIES_MAX_AGE);
+        long upperBound = super.getUpperBound();
+        if (initTime < 0) {
+            // start the feed from now on
+            floor = upperBound;
+            loadedUpperBound = upperBound;
+            initTime = now;
+            log.debug("Initialized change feed at log id {}", upperBound);
+            return;
+        }
+        if (upperBound <= loadedUpperBound) {
+            return;
+        }
+        List<LogEntry> entries = queryRelevantEntries(loadedUpperBound, upperBound);
+        if (entries.size() >= bufferSize) {
+            // too many changes at once, older ones are only available from the audit log
+            floor = entries.get(entries.size() - 1).getId() - 1;
+        }
+        // add in ascending order, so that buffers keep the most recent entries
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            LogEntry entry = entries.get(i);
+            buffers.computeIfAbsent(entry.getRepositoryId(), k -> new ChangeBuffer()).add(entry, bufferSize);
+            recentEntryDates.put(entry.getId(), entry.getLogDate().getTime());
+        }
+        loadedUpperBound = upperBound;
+        log.debug("Loaded {} entries in change feed up to log id {}", entries.size(), upperBound);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<LogEntry> queryRelevantEntries(long lowerBound, long upperBound) {
+        AuditReader auditService = Framework.getService(AuditReader.class);
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder auditQuerySb = new StringBuilder("from LogEntry log where (");
+        auditQuerySb.append("log.category = 'eventDocumentCategory' and (");
+        auditQuerySb.append(
+                DOCUMENT_CHANGE_EVENT_IDS.stream().map(id -> "log.eventId = '" + id + "'").collect(joining(" or ")));
+        auditQuerySb.append(") or ");
+        auditQuerySb.append("log.category = 'eventLifeCycleCategory'");
+        auditQuerySb.append(" and log.eventId = 'lifecycle_transition_event' and log.docLifeCycle != 'deleted'");
+        auditQuerySb.append(" or ");
+        auditQuerySb.append("log.category = '");
+        auditQuerySb.append(NuxeoDriveEvents.EVENT_CATEGORY);
+        auditQuerySb.append("' and log.eventId != 'rootUnregistered'");
+        auditQuerySb.append(") and (");
+        auditQuerySb.append(getJPARangeClause(lowerBound, upperBound, params));
+        auditQuerySb.append(") order by log.id desc");
+        String auditQuery = auditQuerySb.toString();
+        log.debug("Querying audit log for change feed: {} with params: {}", auditQuery, params);
+        return (List<LogEntry>) auditService.nativeQuery(auditQuery, params, 1, bufferSize);
+    }
+
+    /**
+     * The relevant entries of a repository, indexed by log id.
+     */
+    protected static class ChangeBuffer {
+
+        protected final ConcurrentSkipListMap<Long, LogEntry> entries = new ConcurrentSkipListMap<>();
+
+        /** The buffer holds all the relevant entries with a greater log id. */
+        protected volatile long floor = Long.MIN_VALUE;
+
+        protected int size;
+
+        /** Adds an entry, evicting the oldest one if the buffer is full. Not thread safe. */
+        protected void add(LogEntry entry, int maxSize) {
+            entries.put(entry.getId(), entry);
+            size++;
+            if (size > maxSize) {
+                floor = entries.pollFirstEntry().getKey().longValue();
+                size--;
+            }
+        }
+
+    }
+
+}
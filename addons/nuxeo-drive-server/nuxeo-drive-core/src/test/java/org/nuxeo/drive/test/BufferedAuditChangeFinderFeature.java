@@ -0,0 +1,32 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.drive.test;
+
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.RunnerFeature;
+
+/**
+ * Uses the {@link org.nuxeo.drive.service.impl.BufferedAuditChangeFinder}.
+ *
+ * @since 10.10-HF58
+ */
+@Deploy("org.nuxeo.drive.core:OSGI-INF/test-nuxeodrive-buffered-change-finder-contrib.xml")
+public class BufferedAuditChangeFinderFeature implements RunnerFeature {
+
+}
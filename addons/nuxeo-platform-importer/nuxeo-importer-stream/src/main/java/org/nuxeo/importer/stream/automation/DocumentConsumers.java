@@ -102,6 +102,14 @@ public class DocumentConsumers {
     @Param(name = "waitMessageTimeoutSeconds", required = false)
     protected Integer waitMessageTimeoutSeconds = 20;
 
+    /** @since 10.10-HF58 */
+    @Param(name = "blobProviderName", required = false)
+    protected String blobProviderName;
+
+    /** @since 10.10-HF58 */
+    @Param(name = "blobUploadThreads", required = false)
+    protected Integer blobUploadThreads = 0;
+
     @OperationMethod
     public void run() throws OperationException {
         RandomBlobProducers.checkAccess(ctx);
@@ -131,7 +139,8 @@ public class DocumentConsumers {
         StreamService service = Framework.getService(StreamService.class);
         LogManager manager = service.getLogManager(getLogConfig());
         try (DocumentConsumerPool<DocumentMessage> consumers = new DocumentConsumerPool<>(getLogName(), manager,
-                new DocumentMessageConsumerFactory(repositoryName, rootFolder), consumerPolicy)) {
+                new DocumentMessageConsumerFactory(repositoryName, rootFolder, blobProviderName, blobUploadThreads),
+                consumerPolicy)) {
             consumers.start().get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -18,11 +18,23 @@
  */
 package org.nuxeo.importer.stream.consumer;
 
-import static org.nuxeo.runtime.transaction.TransactionHelper.commitOrRollbackTransaction;
+import static org.nuxeo.common.concurrent.ThreadFactories.newThreadFactory;
+import static org.nuxeo.lib.stream.pattern.consumer.internals.ConsumerRunner.NUXEO_METRICS_REGISTRY_NAME;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.nuxeo.ecm.core.api.Blob;
@@ -30,15 +42,28 @@ import org.nuxeo.ecm.core.api.CloseableCoreSession;
 import org.nuxeo.ecm.core.api.CoreInstance;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.api.model.PropertyNotFoundException;
 import org.nuxeo.ecm.core.blob.BlobInfo;
+import org.nuxeo.ecm.core.blob.BlobManager;
+import org.nuxeo.ecm.core.blob.BlobProvider;
 import org.nuxeo.ecm.core.blob.SimpleManagedBlob;
 import org.nuxeo.importer.stream.message.DocumentMessage;
 import org.nuxeo.lib.stream.pattern.consumer.AbstractConsumer;
+import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.transaction.TransactionHelper;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
 /**
  * Consumes DocumentMessage and produce Nuxeo document.
+ * <p>
+ * The documents of a batch are created together on commit. When a blob provider and a number of upload threads are
+ * given, the blobs of the messages are uploaded to the blob provider by a bounded pool while the batch is accepted.
+ * The transaction creating the documents is only started once all the blobs are uploaded, so that it only references
+ * already stored blobs.
  *
  * @since 9.1
  */
@@ -51,15 +76,80 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
 
     protected CoreSession session;
 
+    /**
+     * Messages of the current batch, their documents are created all together on commit.
+     *
+     * @since 10.10-HF58
+     */
+    protected final List<DocumentMessage> pendingMessages = new ArrayList<>();
+
+    /**
+     * Blobs being uploaded for the messages of the current batch, by message index.
+     *
+     * @since 10.10-HF58
+     */
+    protected final Map<Integer, Future<Blob>> pendingBlobs = new HashMap<>();
+
+    /** @since 10.10-HF58 */
+    protected final String blobProviderName;
+
+    /** @since 10.10-HF58 */
+    protected BlobProvider blobProvider;
+
+    /** @since 10.10-HF58 */
+    protected ExecutorService blobUploadPool;
+
+    /** @since 10.10-HF58 */
+    protected final Timer blobUploadTimer;
+
+    /** @since 10.10-HF58 */
+    protected final Timer blobUploadWaitTimer;
+
+    /** @since 10.10-HF58 */
+    protected final Timer createTimer;
+
     public DocumentMessageConsumer(String consumerId, String repositoryName, String rootPath) {
+        this(consumerId, repositoryName, rootPath, null, 0);
+    }
+
+    /**
+     * @param blobProviderName the blob provider to upload the blobs to before creating the documents, if blank the
+     *            blobs are stored when creating the documents
+     * @param blobUploadThreads the number of threads uploading the blobs, if 0 the blobs are stored when creating the
+     *            documents
+     * @since 10.10-HF58
+     */
+    public DocumentMessageConsumer(String consumerId, String repositoryName, String rootPath, String blobProviderName,
+            int blobUploadThreads) {
         super(consumerId);
         this.rootPath = rootPath;
         this.repositoryName = repositoryName;
+        this.blobProviderName = blobProviderName;
+        if (!StringUtils.isBlank(blobProviderName) && blobUploadThreads > 0) {
+            blobProvider = Framework.getService(BlobManager.class).getBlobProvider(blobProviderName);
+            if (blobProvider == null) {
+                throw new IllegalArgumentException("Invalid blob provider: " + blobProviderName);
+            }
+            // bounded queue, the consumer thread uploads by itself when the pool is saturated
+            blobUploadPool = new ThreadPoolExecutor(blobUploadThreads, blobUploadThreads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(blobUploadThreads * 2), newThreadFactory("Nuxeo-Importer-BlobUpload"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(NUXEO_METRICS_REGISTRY_NAME);
+        blobUploadTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "importer", "stream", "consumer", "document", "blobUpload"));
+        blobUploadWaitTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "importer", "stream", "consumer", "document", "blobUploadWait"));
+        createTimer = registry.timer(
+                MetricRegistry.name("nuxeo", "importer", "stream", "consumer", "document", "create"));
     }
 
     @Override
     public void close() throws Exception {
         super.close();
+        if (blobUploadPool != null) {
+            blobUploadPool.shutdownNow();
+        }
         if (session != null) {
             ((CloseableCoreSession) session).close();
             TransactionHelper.commitOrRollbackTransaction();
@@ -68,18 +158,32 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
 
     @Override
     public void begin() {
-        TransactionHelper.startTransaction();
-        if (session == null) {
-            this.session = CoreInstance.openCoreSessionSystem(repositoryName);
-        }
+        // the transaction is started on commit, once the blobs are uploaded
+        clearPending();
     }
 
     @Override
     public void accept(DocumentMessage message) {
+        if (blobUploadPool != null && message.getBlob() != null) {
+            Blob blob = message.getBlob();
+            pendingBlobs.put(Integer.valueOf(pendingMessages.size()), blobUploadPool.submit(() -> uploadBlob(blob)));
+        }
+        pendingMessages.add(message);
+    }
+
+    /**
+     * Builds the document of a message.
+     *
+     * @param blob the blob to set on the document, or {@code null} to use the blob of the message
+     * @since 10.10-HF58
+     */
+    protected DocumentModel createDocumentModel(DocumentMessage message, Blob blob) {
         DocumentModel doc = session.createDocumentModel(rootPath + message.getParentPath(), message.getName(),
                 message.getType());
         doc.putContextData(CoreSession.SKIP_DESTINATION_CHECK_ON_CREATE, true);
-        Blob blob = getBlob(message);
+        if (blob == null) {
+            blob = getBlob(message);
+        }
         if (blob != null) {
             // doc.setProperty("file", "filename", blob.getFilename());
             doc.setProperty("file", "content", blob);
@@ -88,7 +192,7 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
         if (props != null && !props.isEmpty()) {
             setDocumentProperties(doc, props);
         }
-        doc = session.createDocument(doc);
+        return doc;
     }
 
     protected Blob getBlob(DocumentMessage message) {
@@ -102,19 +206,87 @@ public class DocumentMessageConsumer extends AbstractConsumer<DocumentMessage> {
         return blob;
     }
 
+    /**
+     * Stores the blob in the blob provider, like the {@link BlobMessageConsumer} does.
+     *
+     * @return a blob referencing the stored blob
+     * @since 10.10-HF58
+     */
+    protected Blob uploadBlob(Blob blob) throws IOException {
+        try (Timer.Context ignore = blobUploadTimer.time()) {
+            String digest = blobProvider.writeBlob(blob);
+            BlobInfo bi = new BlobInfo();
+            bi.digest = digest;
+            bi.key = blobProviderName + ":" + digest;
+            bi.length = blob.getLength();
+            bi.filename = blob.getFilename();
+            bi.mimeType = blob.getMimeType();
+            bi.encoding = blob.getEncoding();
+            return new SimpleManagedBlob(bi);
+        }
+    }
+
+    /**
+     * Waits for the blobs of the current batch to be uploaded.
+     *
+     * @return the uploaded blobs, by message index
+     * @since 10.10-HF58
+     */
+    protected Map<Integer, Blob> getUploadedBlobs() {
+        Map<Integer, Blob> blobs = new HashMap<>();
+        try (Timer.Context ignore = blobUploadWaitTimer.time()) {
+            for (Map.Entry<Integer, Future<Blob>> entry : pendingBlobs.entrySet()) {
+                blobs.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NuxeoException("Interrupted while uploading blobs", e);
+        } catch (ExecutionException e) {
+            throw new NuxeoException("Unable to upload blob", e.getCause());
+        }
+        pendingBlobs.clear();
+        return blobs;
+    }
+
     @Override
     public void commit() {
         log.debug("commit");
-        session.save();
+        Map<Integer, Blob> blobs = getUploadedBlobs();
+        TransactionHelper.startTransaction();
+        if (session == null) {
+            this.session = CoreInstance.openCoreSessionSystem(repositoryName);
+        }
+        try (Timer.Context ignore = createTimer.time()) {
+            List<DocumentModel> docs = new ArrayList<>(pendingMessages.size());
+            for (int i = 0; i < pendingMessages.size(); i++) {
+                docs.add(createDocumentModel(pendingMessages.get(i), blobs.get(Integer.valueOf(i))));
+            }
+            session.createDocuments(docs);
+            pendingMessages.clear();
+            session.save();
+        }
         // TODO: here if tx is in rollback we must throw something
-        commitOrRollbackTransaction();
+        TransactionHelper.commitOrRollbackTransaction();
     }
 
     @Override
     public void rollback() {
         log.info("rollback");
-        TransactionHelper.setTransactionRollbackOnly();
-        TransactionHelper.commitOrRollbackTransaction();
+        clearPending();
+        if (TransactionHelper.isTransactionActiveOrMarkedRollback()) {
+            // failed while creating the documents
+            TransactionHelper.setTransactionRollbackOnly();
+            TransactionHelper.commitOrRollbackTransaction();
+        }
+    }
+
+    /**
+     * @since 10.10-HF58
+     */
+    protected void clearPending() {
+        pendingBlobs.values().forEach(future -> future.cancel(true));
+        pendingBlobs.clear();
+        pendingMessages.clear();
     }
 
     protected void setDocumentProperties(DocumentModel doc, Map<String, Serializable> properties) {
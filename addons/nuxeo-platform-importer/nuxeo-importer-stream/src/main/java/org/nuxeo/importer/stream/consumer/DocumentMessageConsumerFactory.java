@@ -30,13 +30,32 @@ public class DocumentMessageConsumerFactory implements ConsumerFactory<DocumentM
 
     protected final String rootPath;
 
+    /** @since 10.10-HF58 */
+    protected final String blobProviderName;
+
+    /** @since 10.10-HF58 */
+    protected final int blobUploadThreads;
+
     public DocumentMessageConsumerFactory(String repositoryName, String rootPath) {
+        this(repositoryName, rootPath, null, 0);
+    }
+
+    /**
+     * Creates consumers uploading the blobs of the messages to the given blob provider, using the given number of
+     * threads per consumer, before creating the documents.
+     *
+     * @since 10.10-HF58
+     */
+    public DocumentMessageConsumerFactory(String repositoryName, String rootPath, String blobProviderName,
+            int blobUploadThreads) {
         this.repositoryName = repositoryName;
         this.rootPath = rootPath;
+        this.blobProviderName = blobProviderName;
+        this.blobUploadThreads = blobUploadThreads;
     }
 
     @Override
     public Consumer<DocumentMessage> createConsumer(String consumerId) {
-        return new DocumentMessageConsumer(consumerId, repositoryName, rootPath);
+        return new DocumentMessageConsumer(consumerId, repositoryName, rootPath, blobProviderName, blobUploadThreads);
     }
 }
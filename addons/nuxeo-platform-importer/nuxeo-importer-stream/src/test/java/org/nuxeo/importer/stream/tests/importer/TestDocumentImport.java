@@ -20,6 +20,7 @@ package org.nuxeo.importer.stream.tests.importer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -35,15 +36,20 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.blob.ManagedBlob;
 import org.nuxeo.ecm.core.redis.RedisExecutor;
 import org.nuxeo.ecm.core.redis.RedisFeature;
 import org.nuxeo.ecm.core.test.CoreFeature;
 import org.nuxeo.ecm.core.work.api.WorkManager;
 import org.nuxeo.importer.stream.consumer.BlobInfoWriter;
 import org.nuxeo.importer.stream.consumer.BlobMessageConsumerFactory;
+import org.nuxeo.importer.stream.consumer.DocumentMessageConsumer;
 import org.nuxeo.importer.stream.consumer.DocumentMessageConsumerFactory;
 import org.nuxeo.importer.stream.consumer.LogBlobInfoWriter;
 import org.nuxeo.importer.stream.consumer.RedisDocumentMessageConsumerFactory;
@@ -110,6 +116,87 @@ public abstract class TestDocumentImport {
         }
     }
 
+    @Test
+    public void testDocumentMessageConsumer() throws Exception {
+        testDocumentMessageConsumer(new DocumentMessageConsumer("consumer", session.getRepositoryName(), "/"));
+    }
+
+    @Test
+    public void testDocumentMessageConsumerWithBlobUpload() throws Exception {
+        testDocumentMessageConsumer(
+                new DocumentMessageConsumer("consumer", session.getRepositoryName(), "/", "test", 2));
+        DocumentModel doc = session.getDocument(new PathRef("/file0"));
+        Blob blob = (Blob) doc.getPropertyValue("file:content");
+        assertTrue(blob instanceof ManagedBlob);
+        assertEquals("test", ((ManagedBlob) blob).getProviderId());
+    }
+
+    /**
+     * Runs the consumer outside of any transaction, as done by the consumer pool.
+     */
+    protected void testDocumentMessageConsumer(DocumentMessageConsumer consumer) throws Exception {
+        TransactionHelper.commitOrRollbackTransaction();
+        try {
+            // a rolled back batch creates nothing
+            consumer.begin();
+            consumer.accept(DocumentMessage.builder("File", "", "rolledback")
+                                           .setBlob(Blobs.createBlob("rolled back"))
+                                           .build());
+            consumer.rollback();
+            // a committed batch creates its documents
+            consumer.begin();
+            for (int i = 0; i < 3; i++) {
+                consumer.accept(DocumentMessage.builder("File", "", "file" + i)
+                                               .setBlob(Blobs.createBlob("content " + i))
+                                               .build());
+            }
+            // blobs are uploaded before the transaction creating the documents is started
+            assertFalse(TransactionHelper.isTransactionActiveOrMarkedRollback());
+            consumer.commit();
+        } finally {
+            consumer.close();
+            TransactionHelper.startTransaction();
+        }
+        assertFalse(session.exists(new PathRef("/rolledback")));
+        for (int i = 0; i < 3; i++) {
+            DocumentModel doc = session.getDocument(new PathRef("/file" + i));
+            assertEquals("content " + i, ((Blob) doc.getPropertyValue("file:content")).getString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void twoStepsImportWithBlobUpload() throws Exception {
+        final int NB_QUEUE = 2;
+        final short NB_PRODUCERS = 2;
+        final int NB_DOCUMENTS = 50;
+        try (LogManager manager = getManager()) {
+            // 1. generate documents with blobs
+            manager.createIfNotExists("document-import-upload", NB_QUEUE);
+            ProducerPool<DocumentMessage> producers = new ProducerPool<>("document-import-upload", manager,
+                    new RandomDocumentMessageProducerFactory(NB_DOCUMENTS, "en_US", 2), NB_PRODUCERS);
+            List<ProducerStatus> ret = producers.start().get();
+            assertEquals(NB_PRODUCERS * NB_DOCUMENTS, ret.stream().mapToLong(r -> r.nbProcessed).sum());
+
+            // 2. import documents, uploading the blobs before the document transaction
+            DocumentModel root = session.getRootDocument();
+            ConsumerPool<DocumentMessage> consumers = new ConsumerPool<>("document-import-upload", manager,
+                    new DocumentMessageConsumerFactory(root.getRepositoryName(), root.getPathAsString(), "test", 2),
+                    ConsumerPolicy.BOUNDED);
+            List<ConsumerStatus> ret2 = consumers.start().get();
+            assertEquals(NB_QUEUE, (long) ret2.size());
+            assertEquals(NB_PRODUCERS * NB_DOCUMENTS, ret2.stream().mapToLong(r -> r.committed).sum());
+        }
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        DocumentModelList docs = session.query("SELECT * FROM File WHERE content/name LIKE '%.txt'", 1);
+        assertFalse(docs.isEmpty());
+        Blob blob = (Blob) docs.get(0).getPropertyValue("file:content");
+        assertNotNull(blob.getString());
+        assertTrue(blob instanceof ManagedBlob);
+        assertEquals("test", ((ManagedBlob) blob).getProviderId());
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void fourStepsImport() throws Exception {
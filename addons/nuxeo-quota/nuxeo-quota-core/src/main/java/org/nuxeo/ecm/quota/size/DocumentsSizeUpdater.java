@@ -21,6 +21,7 @@ package org.nuxeo.ecm.quota.size;
 
 import static org.nuxeo.ecm.core.api.versioning.VersioningService.VERSIONING_OPTION;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.apache.commons.logging.LogFactory;
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
 import org.nuxeo.ecm.core.api.IdRef;
 import org.nuxeo.ecm.core.api.PathRef;
 import org.nuxeo.ecm.core.api.ScrollResult;
@@ -84,6 +86,14 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
     /** @since 9.10-HF to 10.10-HF */
     public static final String CHECK_QUOTA_ON_ABOUT_TO_CHECK_IN = "nuxeo.quota.size.check.on.aboutToCheckIn";
 
+    /**
+     * Framework property enabling the asynchronous update of the ancestors sizes, through the
+     * {@link QuotaSizeDeltaCollector}. The {@link QuotaSizeDeltaProcessor} only runs when it's enabled.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String ASYNC_UPDATE_PROP = "nuxeo.quota.size.async";
+
     @Override
     public void computeInitialStatistics(CoreSession session, QuotaStatsInitialWork currentWorker, String path) {
         log.debug("Starting initial Quota computation for path: " + path);
@@ -173,7 +183,10 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
         boolean isDeleted = doc.isTrashed();
         long size = getBlobsSize(doc);
         long versionsSize = getVersionsSize(session, doc);
-        updateDocumentAndAncestors(session, doc, size, size + versionsSize, isDeleted ? size : 0, versionsSize);
+        long trashSize = isDeleted ? size : 0;
+        updateDocument(doc, size, size + versionsSize, trashSize, versionsSize);
+        // always synchronous as ancestors are then recomputed from their children
+        updateAncestorsSync(session, doc, size + versionsSize, trashSize, versionsSize);
     }
 
     protected void initDocumentFromChildren(DocumentModel doc) {
@@ -305,7 +318,14 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
         // add on new ancestors
         updateAncestors(session, doc, size, 0, versionsSize);
         // remove from old ancestors
-        if (sourceParent != null) {
+        if (sourceParent == null) {
+            return;
+        }
+        if (isAsyncUpdate()) {
+            List<String> ids = getAncestorIds(session, sourceParent);
+            ids.add(0, sourceParent.getId());
+            QuotaSizeDeltaCollector.add(session.getRepositoryName(), ids, -size, 0, -versionsSize);
+        } else {
             updateDocumentAndAncestors(session, sourceParent, 0, -size, 0, -versionsSize);
         }
     }
@@ -415,6 +435,7 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
         if (delta <= 0) {
             return;
         }
+        boolean async = isAsyncUpdate();
         for (DocumentModel parent : getAncestors(session, doc)) {
             if (log.isTraceEnabled()) {
                 log.trace("processing " + parent.getId() + " " + parent.getPathAsString());
@@ -425,7 +446,12 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
             if (quotaDoc == null || quotaDoc.getMaxQuota() <= 0 || USER_WORKSPACES_ROOT.equals(parent.getType())) {
                 continue;
             }
-            if (quotaDoc.getTotalSize() + delta > quotaDoc.getMaxQuota()) {
+            long totalSize = quotaDoc.getTotalSize();
+            if (async) {
+                // ancestors sizes are not up to date yet
+                totalSize += QuotaSizeDeltaCollector.getPendingTotalSize(session.getRepositoryName(), parent.getId());
+            }
+            if (totalSize + delta > quotaDoc.getMaxQuota()) {
                 log.info("Raising Quota Exception on " + doc.getId() + " (" + doc.getPathAsString() + ")");
                 throw new QuotaExceededException(parent, doc, quotaDoc.getMaxQuota());
             }
@@ -510,12 +536,53 @@ public class DocumentsSizeUpdater extends AbstractQuotaStatsUpdater {
             // avoids computing ancestors if there's no update to do
             return;
         }
+        if (isAsyncUpdate()) {
+            QuotaSizeDeltaCollector.add(session.getRepositoryName(), getAncestorIds(session, doc), deltaTotal,
+                    deltaTrash, deltaVersions);
+        } else {
+            updateAncestorsSync(session, doc, deltaTotal, deltaTrash, deltaVersions);
+        }
+    }
+
+    /**
+     * Updates the ancestors sizes in the current transaction.
+     *
+     * @since 10.10-HF58
+     */
+    protected void updateAncestorsSync(CoreSession session, DocumentModel doc, long deltaTotal, long deltaTrash,
+            long deltaVersions) {
+        if (deltaTotal == 0 && deltaTrash == 0 && deltaVersions == 0) {
+            return;
+        }
         List<DocumentModel> ancestors = getAncestors(session, doc);
         for (DocumentModel ancestor : ancestors) {
             updateDocument(ancestor, 0, deltaTotal, deltaTrash, deltaVersions);
         }
     }
 
+    /**
+     * Gets the ids of all the ancestors of the document, including the root, without loading them.
+     *
+     * @since 10.10-HF58
+     */
+    protected List<String> getAncestorIds(CoreSession session, DocumentModel doc) {
+        DocumentRef[] refs = session.getParentDocumentRefs(doc.getRef());
+        List<String> ids = new ArrayList<>(refs.length + 1);
+        for (DocumentRef ref : refs) {
+            ids.add(ref.reference().toString());
+        }
+        return ids;
+    }
+
+    /**
+     * Checks whether the ancestors sizes are updated asynchronously.
+     *
+     * @since 10.10-HF58
+     */
+    protected boolean isAsyncUpdate() {
+        return Framework.isBooleanPropertyTrue(ASYNC_UPDATE_PROP);
+    }
+
     protected void updateDocumentAndAncestors(CoreSession session, DocumentModel doc, long deltaInner, long deltaTotal,
             long deltaTrash, long deltaVersions) {
         updateDocument(doc, deltaInner, deltaTotal, deltaTrash, deltaVersions);
@@ -48,6 +48,13 @@ public class QuotaAwareDocument implements QuotaAware {
 
     public static final String DOCUMENTS_SIZE_MAX_SIZE_PROPERTY = "dss:maxSize";
 
+    /**
+     * Ids of the last deltas applied asynchronously to the document.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String DOCUMENTS_SIZE_APPLIED_DELTA_IDS_PROPERTY = "dss:appliedDeltaIds";
+
     protected DocumentModel doc;
 
     protected static final Log log = LogFactory.getLog(QuotaAwareDocument.class);
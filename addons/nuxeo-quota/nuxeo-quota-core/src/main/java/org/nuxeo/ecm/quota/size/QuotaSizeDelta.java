@@ -0,0 +1,151 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.quota.size;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.UUID;
+
+import org.nuxeo.lib.stream.computation.Record;
+
+/**
+ * Size deltas to apply to the statistics of a document, used when quota sizes are updated asynchronously.
+ *
+ * @since 10.10-HF58
+ */
+public class QuotaSizeDelta {
+
+    protected static final String SEP = ":";
+
+    protected final String repositoryName;
+
+    protected final String docId;
+
+    protected long total;
+
+    protected long trash;
+
+    protected long versions;
+
+    protected final String id;
+
+    public QuotaSizeDelta(String repositoryName, String docId, long total, long trash, long versions) {
+        this(repositoryName, docId, total, trash, versions, null);
+    }
+
+    /**
+     * @param id the id identifying this delta across the cluster, see {@link #newId()}
+     */
+    public QuotaSizeDelta(String repositoryName, String docId, long total, long trash, long versions, String id) {
+        this.repositoryName = repositoryName;
+        this.docId = docId;
+        this.total = total;
+        this.trash = trash;
+        this.versions = versions;
+        this.id = id;
+    }
+
+    /**
+     * Generates a new delta id, unique across the cluster.
+     */
+    public static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public String getDocId() {
+        return docId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getTrash() {
+        return trash;
+    }
+
+    public long getVersions() {
+        return versions;
+    }
+
+    /**
+     * Gets the id of this delta, written with it to the stream.
+     *
+     * @return the id, or {@code null} if this delta is not meant to be written to the stream
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Adds the given deltas to this one.
+     */
+    public void add(long total, long trash, long versions) {
+        this.total += total;
+        this.trash += trash;
+        this.versions += versions;
+    }
+
+    public boolean isEmpty() {
+        return total == 0 && trash == 0 && versions == 0;
+    }
+
+    /**
+     * Gets a key identifying the document across repositories.
+     */
+    public String getKey() {
+        return getKey(repositoryName, docId);
+    }
+
+    public static String getKey(String repositoryName, String docId) {
+        return repositoryName + SEP + docId;
+    }
+
+    /**
+     * Builds a record keyed by document, so that all the deltas of a document are aggregated by the same consumer.
+     */
+    public Record toRecord() {
+        if (id == null) {
+            throw new IllegalStateException("Quota size delta without id: " + this);
+        }
+        String data = String.join(SEP, repositoryName, docId, String.valueOf(total), String.valueOf(trash),
+                String.valueOf(versions), id);
+        return Record.of(getKey(), data.getBytes(UTF_8));
+    }
+
+    public static QuotaSizeDelta fromRecord(Record record) {
+        String[] parts = new String(record.getData(), UTF_8).split(SEP);
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Invalid quota size delta: " + record);
+        }
+        return new QuotaSizeDelta(parts[0], parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]),
+                Long.parseLong(parts[4]), parts[5]);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getKey() + ", id=" + id + ", total=" + total + ", trash=" + trash
+                + ", versions=" + versions + ")";
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.quota.size;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.log.LogAppender;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.stream.StreamService;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Collects the size deltas to apply to the ancestors of the updated documents when quota sizes are updated
+ * asynchronously.
+ * <p>
+ * Deltas are aggregated per document during the transaction, then written to a stream after commit, where they are
+ * applied by the {@link QuotaSizeDeltaProcessor}. Until they are applied, the total size deltas are kept as pending in
+ * a Key/Value store so that quota checks stay accurate.
+ *
+ * @since 10.10-HF58
+ */
+public class QuotaSizeDeltaCollector implements Synchronization {
+
+    private static final Log log = LogFactory.getLog(QuotaSizeDeltaCollector.class);
+
+    public static final String STREAM_NAME = "quotaSize";
+
+    public static final String LOG_CONFIG_PROP = "nuxeo.quota.size.async.log.config";
+
+    public static final String DEFAULT_LOG_CONFIG = "quota";
+
+    public static final String KEY_VALUE_STORE_NAME = "quota";
+
+    protected static final String PENDING_PREFIX = "pending:";
+
+    protected static final ThreadLocal<QuotaSizeDeltaCollector> CURRENT = new ThreadLocal<>();
+
+    protected final Map<String, QuotaSizeDelta> deltas = new LinkedHashMap<>();
+
+    /**
+     * Adds size deltas to the given documents, they will be applied asynchronously once the current transaction is
+     * committed, or right away if there is no transaction.
+     */
+    public static void add(String repositoryName, Collection<String> docIds, long deltaTotal, long deltaTrash,
+            long deltaVersions) {
+        if (deltaTotal == 0 && deltaTrash == 0 && deltaVersions == 0) {
+            return;
+        }
+        if (TransactionHelper.isTransactionMarkedRollback()) {
+            // nothing will be committed
+            return;
+        }
+        QuotaSizeDeltaCollector collector = CURRENT.get();
+        boolean transactional = TransactionHelper.isTransactionActive();
+        if (collector == null) {
+            collector = new QuotaSizeDeltaCollector();
+            if (transactional) {
+                TransactionHelper.registerSynchronization(collector);
+                CURRENT.set(collector);
+            }
+        }
+        for (String docId : docIds) {
+            collector.deltas.computeIfAbsent(QuotaSizeDelta.getKey(repositoryName, docId),
+                    k -> new QuotaSizeDelta(repositoryName, docId, 0, 0, 0, QuotaSizeDelta.newId()))
+                            .add(deltaTotal, deltaTrash, deltaVersions);
+        }
+        if (!transactional) {
+            collector.flush();
+        }
+    }
+
+    /**
+     * Gets the total size delta not yet applied to the given document, including the one of the current transaction.
+     */
+    public static long getPendingTotalSize(String repositoryName, String docId) {
+        String key = QuotaSizeDelta.getKey(repositoryName, docId);
+        Long pending = getKeyValueStore().getLong(PENDING_PREFIX + key);
+        long total = pending == null ? 0 : pending.longValue();
+        QuotaSizeDeltaCollector collector = CURRENT.get();
+        if (collector != null) {
+            QuotaSizeDelta delta = collector.deltas.get(key);
+            if (delta != null) {
+                total += delta.getTotal();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Removes the given delta from the pending ones, once it has been applied.
+     */
+    public static void removePending(QuotaSizeDelta delta) {
+        if (delta.getTotal() != 0) {
+            getKeyValueStore().addAndGet(PENDING_PREFIX + delta.getKey(), -delta.getTotal());
+        }
+    }
+
+    protected static KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KEY_VALUE_STORE_NAME);
+    }
+
+    protected static LogAppender<Record> getAppender() {
+        String logConfig = Framework.getProperty(LOG_CONFIG_PROP, DEFAULT_LOG_CONFIG);
+        return Framework.getService(StreamService.class).getLogManager(logConfig).getAppender(STREAM_NAME);
+    }
+
+    @Override
+    public void beforeCompletion() {
+        // nothing to do
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        CURRENT.remove();
+        if (status == Status.STATUS_COMMITTED) {
+            flush();
+        }
+    }
+
+    protected void flush() {
+        KeyValueStore store = getKeyValueStore();
+        LogAppender<Record> appender = getAppender();
+        for (QuotaSizeDelta delta : deltas.values()) {
+            if (delta.isEmpty()) {
+                continue;
+            }
+            try {
+                Record record = delta.toRecord();
+                appender.append(record.getKey(), record);
+                // the delta may already be applied, pending total sizes are only consistent once summed up
+                if (delta.getTotal() != 0) {
+                    store.addAndGet(PENDING_PREFIX + delta.getKey(), delta.getTotal());
+                }
+            } catch (RuntimeException e) {
+                log.error("Unable to write quota size delta: " + delta, e);
+            }
+        }
+        deltas.clear();
+    }
+
+}
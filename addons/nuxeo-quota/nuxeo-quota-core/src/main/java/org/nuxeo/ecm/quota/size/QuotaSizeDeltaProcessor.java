@@ -0,0 +1,240 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.quota.size;
+
+import static org.nuxeo.ecm.quota.size.QuotaAwareDocument.DOCUMENTS_SIZE_APPLIED_DELTA_IDS_PROPERTY;
+import static org.nuxeo.ecm.quota.size.QuotaAwareDocument.DOCUMENTS_SIZE_STATISTICS_FACET;
+import static org.nuxeo.ecm.quota.size.QuotaSizeDeltaCollector.STREAM_NAME;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.lib.stream.computation.AbstractBatchComputation;
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.stream.StreamProcessorTopology;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Computation that consumes the size deltas written by the {@link QuotaSizeDeltaCollector} and applies them to the
+ * quota statistics of the documents.
+ * <p>
+ * Deltas of a batch are summed up per document, so that each document is saved once per batch whatever the number of
+ * updates below it.
+ * <p>
+ * Records may be delivered again if the processing fails after the documents are saved but before the consumer
+ * position is committed. The ids of the last deltas applied to a document are therefore saved with its sizes, and
+ * deltas with one of these ids are skipped. The ids are generated when the deltas are collected, so they stay unique
+ * whatever the node and the log the deltas are written to. Only the records read since the last committed position
+ * are delivered again, that is at most one batch, so the ids of the last batch size deltas are enough.
+ *
+ * @since 10.10-HF58
+ */
+public class QuotaSizeDeltaProcessor implements StreamProcessorTopology {
+
+    private static final Log log = LogFactory.getLog(QuotaSizeDeltaProcessor.class);
+
+    public static final String COMPUTATION_NAME = "QuotaSizeUpdater";
+
+    public static final String BATCH_SIZE_PROP = "nuxeo.quota.size.async.batch.size";
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    @Override
+    public Topology getTopology(Map<String, String> options) {
+        return Topology.builder()
+                       .addComputation(() -> new QuotaSizeUpdaterComputation(COMPUTATION_NAME),
+                               Collections.singletonList("i1:" + STREAM_NAME))
+                       .build();
+    }
+
+    public static class QuotaSizeUpdaterComputation extends AbstractBatchComputation {
+
+        /**
+         * The maximum number of delta ids kept on a document, at least the number of records of a batch.
+         */
+        protected final int maxAppliedIds;
+
+        public QuotaSizeUpdaterComputation(String name) {
+            super(name, 1, 0);
+            maxAppliedIds = Math.max(DEFAULT_BATCH_SIZE,
+                    Integer.parseInt(Framework.getProperty(BATCH_SIZE_PROP, String.valueOf(DEFAULT_BATCH_SIZE))));
+        }
+
+        @Override
+        protected void batchProcess(ComputationContext context, String inputStreamName, List<Record> records) {
+            Map<String, List<QuotaSizeDelta>> byRepository = new LinkedHashMap<>();
+            for (Record record : records) {
+                QuotaSizeDelta delta;
+                try {
+                    delta = QuotaSizeDelta.fromRecord(record);
+                } catch (IllegalArgumentException e) {
+                    log.error("Discard invalid record: " + record, e);
+                    continue;
+                }
+                byRepository.computeIfAbsent(delta.getRepositoryName(), k -> new ArrayList<>()).add(delta);
+            }
+            for (List<QuotaSizeDelta> repositoryDeltas : byRepository.values()) {
+                applyDeltas(repositoryDeltas);
+            }
+        }
+
+        @Override
+        public void batchFailure(ComputationContext context, String inputStreamName, List<Record> records) {
+            // error log already done by abstract
+        }
+
+        /**
+         * Applies the deltas of a repository in a transaction, the applied deltas are removed from the pending ones
+         * once this transaction is committed.
+         */
+        public void applyDeltas(List<QuotaSizeDelta> deltas) {
+            String repositoryName = deltas.get(0).getRepositoryName();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Applying %d quota size deltas on repository %s", deltas.size(),
+                        repositoryName));
+            }
+            TransactionHelper.runInTransaction(
+                    () -> CoreInstance.doPrivileged(repositoryName, (CoreSession session) -> {
+                        List<QuotaSizeDelta> applied = applyDeltas(session, deltas);
+                        // only once committed
+                        TransactionHelper.registerSynchronization(new RemovePendingSynchronization(applied));
+                    }));
+        }
+
+        /**
+         * Applies the deltas, in the order of their records, skipping the ones already applied.
+         *
+         * @return the deltas applied, summed up per document
+         */
+        protected List<QuotaSizeDelta> applyDeltas(CoreSession session, List<QuotaSizeDelta> deltas) {
+            Map<String, List<QuotaSizeDelta>> byDocument = new LinkedHashMap<>();
+            for (QuotaSizeDelta delta : deltas) {
+                byDocument.computeIfAbsent(delta.getDocId(), k -> new ArrayList<>()).add(delta);
+            }
+            List<QuotaSizeDelta> applied = new ArrayList<>(byDocument.size());
+            for (Map.Entry<String, List<QuotaSizeDelta>> es : byDocument.entrySet()) {
+                QuotaSizeDelta delta = applyDeltas(session, es.getKey(), es.getValue());
+                if (delta != null) {
+                    applied.add(delta);
+                }
+            }
+            return applied;
+        }
+
+        /**
+         * Applies the deltas of a document not applied yet, and saves their ids with its sizes.
+         *
+         * @return the sum of the deltas applied, or {@code null} if none was applied
+         */
+        protected QuotaSizeDelta applyDeltas(CoreSession session, String docId, List<QuotaSizeDelta> deltas) {
+            IdRef ref = new IdRef(docId);
+            if (!session.exists(ref)) {
+                // removed meanwhile
+                return null;
+            }
+            DocumentModel doc = session.getDocument(ref);
+            String[] appliedIds = doc.hasFacet(DOCUMENTS_SIZE_STATISTICS_FACET)
+                    ? (String[]) doc.getPropertyValue(DOCUMENTS_SIZE_APPLIED_DELTA_IDS_PROPERTY)
+                    : null;
+            Set<String> ids = new LinkedHashSet<>();
+            if (appliedIds != null) {
+                ids.addAll(Arrays.asList(appliedIds));
+            }
+            QuotaSizeDelta sum = new QuotaSizeDelta(session.getRepositoryName(), docId, 0, 0, 0);
+            for (QuotaSizeDelta delta : deltas) {
+                if (delta.getId() != null && !ids.add(delta.getId())) {
+                    log.debug("Skip quota size delta already applied: " + delta);
+                    continue;
+                }
+                sum.add(delta.getTotal(), delta.getTrash(), delta.getVersions());
+            }
+            if (sum.isEmpty()) {
+                return null;
+            }
+            QuotaAware quotaDoc = doc.getAdapter(QuotaAware.class);
+            if (quotaDoc == null) {
+                quotaDoc = QuotaAwareDocumentFactory.make(doc);
+            }
+            if (sum.getTotal() != 0) {
+                quotaDoc.addTotalSize(sum.getTotal());
+            }
+            if (sum.getTrash() != 0) {
+                quotaDoc.addTrashSize(sum.getTrash());
+            }
+            if (sum.getVersions() != 0) {
+                quotaDoc.addVersionsSize(sum.getVersions());
+            }
+            // keep the ids of the last deltas, the oldest ones can't be delivered again
+            List<String> lastIds = new ArrayList<>(ids);
+            lastIds = lastIds.subList(Math.max(0, lastIds.size() - maxAppliedIds), lastIds.size());
+            quotaDoc.getDoc()
+                    .setPropertyValue(DOCUMENTS_SIZE_APPLIED_DELTA_IDS_PROPERTY, lastIds.toArray(new String[0]));
+            quotaDoc.save();
+            return sum;
+        }
+
+    }
+
+    /**
+     * Removes the applied deltas from the pending ones, only if they are committed.
+     * <p>
+     * Deltas skipped because already applied are not removed again. If the process stops between the commit and the
+     * removal, the pending sizes stay higher than they should, which only makes quota checks stricter.
+     */
+    protected static class RemovePendingSynchronization implements Synchronization {
+
+        protected final List<QuotaSizeDelta> deltas;
+
+        protected RemovePendingSynchronization(List<QuotaSizeDelta> deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            // nothing to do
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+                deltas.forEach(QuotaSizeDeltaCollector::removePending);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,393 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.quota.count;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.nuxeo.ecm.quota.size.QuotaAwareDocument.DOCUMENTS_SIZE_STATISTICS_FACET;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.VersioningOption;
+import org.nuxeo.ecm.core.api.trash.TrashService;
+import org.nuxeo.ecm.core.api.versioning.VersioningService;
+import org.nuxeo.ecm.core.bulk.CoreBulkFeature;
+import org.nuxeo.ecm.core.event.EventService;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.ecm.core.work.api.WorkManager;
+import org.nuxeo.ecm.platform.userworkspace.api.UserWorkspaceService;
+import org.nuxeo.ecm.quota.QuotaStatsService;
+import org.nuxeo.ecm.quota.size.DocumentsSizeUpdater;
+import org.nuxeo.ecm.quota.size.QuotaAware;
+import org.nuxeo.ecm.quota.size.QuotaSizeDeltaCollector;
+import org.nuxeo.ecm.quota.size.QuotaSizeDeltaProcessor;
+import org.nuxeo.lib.stream.log.LogManager;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.stream.StreamService;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Base class of the tests verifying that quota sizes are updated according to various operations, providing a document
+ * tree and helpers to update it.
+ */
+@RunWith(FeaturesRunner.class)
+@Features({ QuotaFeature.class, CoreBulkFeature.class })
+public abstract class AbstractDocumentsSizeUpdaterTest {
+
+    @Inject
+    protected QuotaStatsService quotaStatsService;
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected CoreFeature coreFeature;
+
+    @Inject
+    protected EventService eventService;
+
+    @Inject
+    protected UserWorkspaceService uwm;
+
+    @Inject
+    protected WorkManager workManager;
+
+    protected DocumentRef wsRef;
+
+    protected DocumentRef firstFolderRef;
+
+    protected DocumentRef secondFolderRef;
+
+    protected DocumentRef firstSubFolderRef;
+
+    protected DocumentRef secondSubFolderRef;
+
+    protected DocumentRef firstFileRef;
+
+    protected DocumentRef secondFileRef;
+
+    protected void next() {
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        eventService.waitForAsyncCompletion(TimeUnit.MINUTES.toMillis(1));
+        coreFeature.waitForAsyncCompletion();
+        waitForAsyncSizeUpdates();
+    }
+
+    protected void waitForAsyncSizeUpdates() {
+        if (!Framework.isBooleanPropertyTrue(DocumentsSizeUpdater.ASYNC_UPDATE_PROP)) {
+            return;
+        }
+        LogManager logManager = Framework.getService(StreamService.class)
+                                         .getLogManager(QuotaSizeDeltaCollector.DEFAULT_LOG_CONFIG);
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (logManager.getLag(QuotaSizeDeltaCollector.STREAM_NAME, QuotaSizeDeltaProcessor.COMPUTATION_NAME)
+                         .lag() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timeout waiting for quota size updates");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+        // read the updates done by the processor
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+    }
+
+    protected Blob getFakeBlob(int size) {
+        StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            sb.append('a');
+        }
+        Blob blob = Blobs.createBlob(sb.toString());
+        blob.setFilename("FakeBlob_" + size + ".txt");
+        return blob;
+    }
+
+    protected void addContent() {
+        addContent(false);
+    }
+
+    protected void addContent(final boolean checkInFirstFile) {
+        DocumentModel ws = session.createDocumentModel("/", "ws", "Workspace");
+        ws = session.createDocument(ws);
+        ws = session.saveDocument(ws);
+        wsRef = ws.getRef();
+
+        DocumentModel firstFolder = session.createDocumentModel(ws.getPathAsString(), "folder1", "Folder");
+        firstFolder = session.createDocument(firstFolder);
+        firstFolderRef = firstFolder.getRef();
+
+        DocumentModel firstSubFolder = session.createDocumentModel(firstFolder.getPathAsString(), "subfolder1",
+                "Folder");
+        firstSubFolder = session.createDocument(firstSubFolder);
+
+        firstSubFolderRef = firstSubFolder.getRef();
+
+        DocumentModel firstFile = session.createDocumentModel(firstSubFolder.getPathAsString(), "file1", "File");
+        firstFile.setPropertyValue("file:content", (Serializable) getFakeBlob(100));
+        firstFile = session.createDocument(firstFile);
+        if (checkInFirstFile) {
+            firstFile.checkIn(VersioningOption.MINOR, null);
+        }
+
+        firstFileRef = firstFile.getRef();
+
+        DocumentModel secondFile = session.createDocumentModel(firstSubFolder.getPathAsString(), "file2", "File");
+        secondFile.setPropertyValue("file:content", (Serializable) getFakeBlob(200));
+
+        secondFile = session.createDocument(secondFile);
+        secondFileRef = secondFile.getRef();
+
+        DocumentModel secondSubFolder = session.createDocumentModel(firstFolder.getPathAsString(), "subfolder2",
+                "Folder");
+        secondSubFolder = session.createDocument(secondSubFolder);
+        secondSubFolderRef = secondSubFolder.getRef();
+
+        DocumentModel secondFolder = session.createDocumentModel(ws.getPathAsString(), "folder2", "Folder");
+        secondFolder = session.createDocument(secondFolder);
+        secondFolderRef = secondFolder.getRef();
+        next();
+    }
+
+    protected void doMoveContent() {
+        session.move(firstFileRef, secondSubFolderRef, null);
+        next();
+    }
+
+    protected void doMoveFolderishContent() {
+        session.move(firstSubFolderRef, secondFolderRef, null);
+        next();
+    }
+
+    protected void doMoveFileContent() {
+        session.move(firstFileRef, secondFolderRef, null);
+        next();
+    }
+
+    protected void doUpdateContent() {
+        DocumentModel ws = session.getDocument(wsRef);
+        DocumentModel firstFile = session.getDocument(firstFileRef);
+
+        ws.setPropertyValue("file:content", (Serializable) getFakeBlob(50));
+        ws = session.saveDocument(ws);
+
+        List<Map<String, Serializable>> files = new ArrayList<>();
+
+        for (int i = 1; i < 5; i++) {
+            Map<String, Serializable> files_entry = new HashMap<>();
+            files_entry.put("file", (Serializable) getFakeBlob(70));
+            files.add(files_entry);
+        }
+
+        firstFile.setPropertyValue("files:files", (Serializable) files);
+        firstFile = session.saveDocument(firstFile);
+        next();
+    }
+
+    protected void doCheckIn() {
+        DocumentModel firstFile = session.getDocument(firstFileRef);
+        firstFile.checkIn(VersioningOption.MINOR, null);
+        next();
+    }
+
+    protected void doCheckOut() {
+        DocumentModel firstFile = session.getDocument(firstFileRef);
+        firstFile.checkOut();
+        next();
+    }
+
+    protected void doUpdateAndVersionContent() {
+        DocumentModel ws = session.getDocument(wsRef);
+        DocumentModel firstFile = session.getDocument(firstFileRef);
+
+        ws.setPropertyValue("file:content", (Serializable) getFakeBlob(50));
+        ws = session.saveDocument(ws);
+
+        List<Map<String, Serializable>> files = new ArrayList<>();
+
+        for (int i = 1; i < 5; i++) {
+            Map<String, Serializable> files_entry = new HashMap<>();
+            files_entry.put("file", (Serializable) getFakeBlob(70));
+            files.add(files_entry);
+        }
+
+        firstFile.setPropertyValue("files:files", (Serializable) files);
+        // create minor version
+        firstFile.putContextData(VersioningService.VERSIONING_OPTION, VersioningOption.MINOR);
+        firstFile = session.saveDocument(firstFile);
+        next();
+    }
+
+    protected void doSimpleVersion() {
+        DocumentModel firstFile = session.getDocument(firstFileRef);
+        firstFile.setPropertyValue("dc:title", "a version");
+        firstFile.putContextData(VersioningService.VERSIONING_OPTION, VersioningOption.MINOR);
+        firstFile = session.saveDocument(firstFile);
+        next();
+    }
+
+    protected void doRemoveFirstVersion() {
+        List<DocumentModel> versions = session.getVersions(firstFileRef);
+        session.removeDocument(versions.get(0).getRef());
+        next();
+    }
+
+    protected void doRemoveContent() {
+        session.removeDocument(firstFileRef);
+        next();
+    }
+
+    protected void doRemoveFolderishContent() {
+        session.removeDocument(firstSubFolderRef);
+        next();
+    }
+
+    protected void doDeleteFileContent() {
+        List<DocumentModel> docs = new ArrayList<>();
+        docs.add(session.getDocument(firstFileRef));
+        Framework.getService(TrashService.class).trashDocuments(docs);
+        next();
+    }
+
+    protected void doDeleteFileContent(final DocumentRef fileRef) {
+        DocumentModel doc = session.getDocument(fileRef);
+        Framework.getService(TrashService.class).trashDocument(doc);
+        next();
+    }
+
+    protected void doUndeleteFileContent() {
+        DocumentModel doc = session.getDocument(firstFileRef);
+        Framework.getService(TrashService.class).untrashDocument(doc);
+        next();
+    }
+
+    protected void doCopyContent() {
+        session.copy(firstFileRef, secondSubFolderRef, null);
+        next();
+    }
+
+    protected void doCopyFolderishContent() {
+        session.copy(firstSubFolderRef, secondFolderRef, null);
+        next();
+    }
+
+    protected void dump() {
+        if (Boolean.TRUE.booleanValue()) {
+            return;
+        }
+        System.out.println("\n####################################\n");
+        DocumentModelList docs = session.query("select * from Document order by ecm:path");
+        for (DocumentModel doc : docs) {
+            if (doc.isVersion()) {
+                System.out.print(" --version ");
+            }
+            System.out.print(doc.getId() + " " + doc.getPathAsString());
+            if (doc.hasSchema("uid")) {
+                System.out.print(" (" + doc.getPropertyValue("uid:major_version") + "."
+                        + doc.getPropertyValue("uid:minor_version") + ")");
+            }
+
+            if (doc.hasFacet(DOCUMENTS_SIZE_STATISTICS_FACET)) {
+                QuotaAware qa = doc.getAdapter(QuotaAware.class);
+                System.out.println(" " + qa.getQuotaInfo());
+                // System.out.println(" with Quota facet");
+            } else {
+                System.out.println(" no Quota facet !!!");
+            }
+        }
+
+    }
+
+    protected void assertQuota(DocumentModel doc, long innerSize, long totalSize) {
+        assertTrue(doc.hasFacet(DOCUMENTS_SIZE_STATISTICS_FACET));
+        QuotaAware qa = doc.getAdapter(QuotaAware.class);
+        assertNotNull(qa);
+        assertEquals("inner:", innerSize, qa.getInnerSize());
+        assertEquals("total:", totalSize, qa.getTotalSize());
+    }
+
+    protected void assertQuota(DocumentModel doc, long innerSize, long totalSize, long trashSize) {
+        QuotaAware qa = doc.getAdapter(QuotaAware.class);
+        assertNotNull(qa);
+        assertEquals("inner:", innerSize, qa.getInnerSize());
+        assertEquals("total:", totalSize, qa.getTotalSize());
+        assertEquals("trash:", trashSize, qa.getTrashSize());
+    }
+
+    protected void assertQuota(DocumentModel doc, long innerSize, long totalSize, long trashSize, long versionsSize) {
+        QuotaAware qa = doc.getAdapter(QuotaAware.class);
+        assertNotNull(qa);
+        assertEquals("inner:", innerSize, qa.getInnerSize());
+        assertEquals("total:", totalSize, qa.getTotalSize());
+        assertEquals("trash:", trashSize, qa.getTrashSize());
+        assertEquals("versions: ", versionsSize, qa.getVersionsSize());
+    }
+
+    protected DocumentModel getWorkspace() {
+        return session.getDocument(wsRef);
+    }
+
+    protected DocumentModel getFirstSubFolder() {
+        return session.getDocument(firstSubFolderRef);
+    }
+
+    protected DocumentModel getSecondSubFolder() {
+        return session.getDocument(secondSubFolderRef);
+    }
+
+    protected DocumentModel getFirstFolder() {
+        return session.getDocument(firstFolderRef);
+    }
+
+    protected DocumentModel getSecondFolder() {
+        return session.getDocument(secondFolderRef);
+    }
+
+    protected DocumentModel getSecondFile() {
+        return session.getDocument(secondFileRef);
+    }
+
+    protected DocumentModel getFirstFile() {
+        return session.getDocument(firstFileRef);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.quota.count;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.nuxeo.ecm.quota.size.DocumentsSizeUpdater.ASYNC_UPDATE_PROP;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.quota.size.QuotaAware;
+import org.nuxeo.ecm.quota.size.QuotaExceededException;
+import org.nuxeo.ecm.quota.size.QuotaSizeDelta;
+import org.nuxeo.ecm.quota.size.QuotaSizeDeltaCollector;
+import org.nuxeo.ecm.quota.size.QuotaSizeDeltaProcessor;
+import org.nuxeo.ecm.quota.size.QuotaSizeDeltaProcessor.QuotaSizeUpdaterComputation;
+import org.nuxeo.runtime.test.runner.WithFrameworkProperty;
+import org.nuxeo.runtime.transaction.TransactionHelper;
+
+/**
+ * Tests the asynchronous update of the quota sizes of the ancestors.
+ *
+ * @since 10.10-HF58
+ */
+@WithFrameworkProperty(name = ASYNC_UPDATE_PROP, value = "true")
+public class TestDocumentsSizeUpdaterAsync extends AbstractDocumentsSizeUpdaterTest {
+
+    @Test
+    public void testQuotaOnAddModifyAndMoveContent() {
+
+        addContent();
+
+        assertQuota(getFirstFile(), 100L, 100L);
+        assertQuota(getSecondFile(), 200L, 200L);
+        assertQuota(getFirstSubFolder(), 0L, 300L);
+        assertQuota(getFirstFolder(), 0L, 300L);
+        assertQuota(getWorkspace(), 0L, 300L);
+
+        doUpdateContent();
+
+        assertQuota(getFirstFile(), 380L, 380L);
+        assertQuota(getSecondFile(), 200L, 200L);
+        assertQuota(getFirstSubFolder(), 0L, 580L);
+        assertQuota(getFirstFolder(), 0L, 580L);
+        assertQuota(getWorkspace(), 50L, 630L);
+
+        doMoveContent();
+
+        assertQuota(getFirstFile(), 380L, 380L);
+        assertQuota(getFirstSubFolder(), 0L, 200L);
+        assertQuota(getSecondSubFolder(), 0L, 380L);
+        assertQuota(getFirstFolder(), 0L, 580L);
+        assertQuota(getWorkspace(), 50L, 630L);
+    }
+
+    @Test
+    public void testQuotaExceeded() {
+
+        addContent();
+
+        QuotaAware qa = getWorkspace().getAdapter(QuotaAware.class);
+        qa.setMaxQuota(400);
+        qa.save();
+        next();
+
+        // the sizes of the current transaction are taken into account before being applied to the ancestors
+        DocumentModel file = session.createDocumentModel(getFirstSubFolder().getPathAsString(), "file3", "File");
+        file.setPropertyValue("file:content", (Serializable) getFakeBlob(60));
+        session.createDocument(file);
+        assertQuota(getWorkspace(), 0L, 300L);
+        boolean canNotExceedQuota = false;
+        try {
+            file = session.createDocumentModel(getFirstSubFolder().getPathAsString(), "file4", "File");
+            file.setPropertyValue("file:content", (Serializable) getFakeBlob(60));
+            session.createDocument(file);
+            fail("Should have failed due to quota exceeded");
+        } catch (Exception e) {
+            if (QuotaExceededException.isQuotaExceededException(e)) {
+                canNotExceedQuota = true;
+            }
+            TransactionHelper.setTransactionRollbackOnly();
+        }
+        assertTrue(canNotExceedQuota);
+        next();
+
+        // nothing applied on rollback
+        assertQuota(getWorkspace(), 0L, 300L);
+    }
+
+    @Test
+    public void testRedeliveredDeltasAreAppliedOnce() {
+
+        addContent();
+
+        String repositoryName = session.getRepositoryName();
+        String wsId = getWorkspace().getId();
+        long pending = QuotaSizeDeltaCollector.getPendingTotalSize(repositoryName, wsId);
+        List<QuotaSizeDelta> deltas = Collections.singletonList(
+                new QuotaSizeDelta(repositoryName, wsId, 10, 0, 0, QuotaSizeDelta.newId()));
+        QuotaSizeUpdaterComputation computation = new QuotaSizeUpdaterComputation(
+                QuotaSizeDeltaProcessor.COMPUTATION_NAME);
+        TransactionHelper.commitOrRollbackTransaction();
+        computation.applyDeltas(deltas);
+        // delivered again, as when the consumer position couldn't be committed
+        computation.applyDeltas(deltas);
+        // another delta, possibly written by another node, is still applied
+        computation.applyDeltas(Collections.singletonList(
+                new QuotaSizeDelta(repositoryName, wsId, 5, 0, 0, QuotaSizeDelta.newId())));
+        TransactionHelper.startTransaction();
+
+        assertQuota(getWorkspace(), 0L, 315L);
+        assertEquals(pending - 15, QuotaSizeDeltaCollector.getPendingTotalSize(repositoryName, wsId));
+    }
+
+}
@@ -185,16 +185,32 @@ public class XMap {
     }
 
     private void scan(XAnnotatedObject xob) {
-        scanClass(xob, xob.klass);
+        for (ScannedMember member : SCANNED_MEMBERS.get(xob.klass)) {
+            xob.addMember(member.create(this));
+        }
     }
 
-    private void scanClass(XAnnotatedObject xob, Class<?> aClass) {
+    /**
+     * The annotated members of each class, shared by all the XMap instances so that a class is introspected only once.
+     * This only saves the reflection done when registering a class, the mappings and the binding are still per XMap.
+     *
+     * @since 10.10-HF58
+     */
+    private static final ClassValue<List<ScannedMember>> SCANNED_MEMBERS = new ClassValue<List<ScannedMember>>() {
+        @Override
+        protected List<ScannedMember> computeValue(Class<?> type) {
+            List<ScannedMember> members = new ArrayList<>();
+            scanClass(members, type);
+            return members;
+        }
+    };
+
+    private static void scanClass(List<ScannedMember> members, Class<?> aClass) {
         Field[] fields = aClass.getDeclaredFields();
         for (Field field : fields) {
             Annotation anno = checkMemberAnnotation(field);
             if (anno != null) {
-                XAnnotatedMember member = createFieldMember(field, anno);
-                xob.addMember(member);
+                members.add(new ScannedMember(field, null, anno, aClass));
             }
         }
 
@@ -207,17 +223,47 @@ public class XMap {
             }
             Annotation anno = checkMemberAnnotation(method);
             if (anno != null) {
-                XAnnotatedMember member = createMethodMember(method, anno, aClass);
-                xob.addMember(member);
+                members.add(new ScannedMember(null, method, anno, aClass));
             }
         }
 
         // scan superClass annotations
         if (aClass.getSuperclass() != null) {
-            scanClass(xob, aClass.getSuperclass());
+            scanClass(members, aClass.getSuperclass());
         }
     }
 
+    /**
+     * An annotated field or method found when scanning a class.
+     *
+     * @since 10.10-HF58
+     */
+    private static final class ScannedMember {
+
+        final Field field;
+
+        final Method method;
+
+        final Annotation annotation;
+
+        final Class<?> klass;
+
+        ScannedMember(Field field, Method method, Annotation annotation, Class<?> klass) {
+            this.field = field;
+            this.method = method;
+            this.annotation = annotation;
+            this.klass = klass;
+        }
+
+        XAnnotatedMember create(XMap xmap) {
+            if (field != null) {
+                return xmap.createFieldMember(field, annotation);
+            }
+            return xmap.createMethodMember(method, annotation, klass);
+        }
+
+    }
+
     /**
      * Processes the XML file at the given URL using a default context.
      *
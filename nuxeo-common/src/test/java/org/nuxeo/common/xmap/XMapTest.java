@@ -57,6 +57,19 @@ public class XMapTest {
         assertEquals("test1", inheritedAuthor.inheritedId);
     }
 
+    @Test
+    public void testMappingWithSeveralXMaps() throws Exception {
+        URL url = Thread.currentThread().getContextClassLoader().getResource("second-test-xmap.xml");
+        // the scanned classes are shared, the mappings are not
+        for (int i = 0; i < 2; i++) {
+            XMap xmap = new XMap();
+            xmap.register(InheritedAuthor.class);
+            InheritedAuthor inheritedAuthor = (InheritedAuthor) xmap.load(url);
+            checkAuthor(inheritedAuthor);
+            assertEquals("dummyContent", inheritedAuthor.notInherited);
+        }
+    }
+
     protected void checkAuthor(Author author) {
         assertEquals("First test 22", author.title);
         assertEquals("bla bla", author.description);
@@ -223,6 +223,17 @@ public interface CoreSession {
     Collection<String> filterGrantedPermissions(NuxeoPrincipal principal, DocumentRef docRef,
             Collection<String> permissions);
 
+    /**
+     * Filters the supplied permissions based on whether they are granted to a given principal for the given documents.
+     * <p>
+     * The documents referenced by id are loaded in batches. Documents that cannot be found are skipped.
+     *
+     * @return the granted permissions, by document reference
+     * @since 10.10-HF58
+     */
+    Map<DocumentRef, Collection<String>> filterGrantedPermissions(NuxeoPrincipal principal, List<DocumentRef> docRefs,
+            Collection<String> permissions);
+
     /**
      * Gets the root document of this repository.
      *
@@ -526,6 +537,20 @@ public interface CoreSession {
      */
     DocumentModel[] createDocument(DocumentModel[] docModels);
 
+    /**
+     * Creates several documents, in order, using the given document models for initialization.
+     * <p>
+     * This is equivalent to calling {@link #createDocument(DocumentModel)} for each document model, but the parents are
+     * resolved and checked for {@code AddChildren} permission once for all the documents sharing them, which makes it
+     * the preferred way to create many documents, typically during an import. A document may be the parent of the
+     * following ones. Each document still fires its own {@code aboutToCreate} and {@code documentCreated} events.
+     *
+     * @param docModels the document models to use for initialization
+     * @return the created documents, in the same order
+     * @since 10.10-HF58
+     */
+    List<DocumentModel> createDocuments(List<DocumentModel> docModels);
+
     /**
      * Low-level import of documents, reserved for the administrator.
      * <p>
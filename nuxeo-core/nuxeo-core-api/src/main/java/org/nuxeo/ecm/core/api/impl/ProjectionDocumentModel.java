@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.api.impl;
+
+import static org.nuxeo.ecm.core.schema.types.ComplexTypeImpl.canonicalXPath;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.nuxeo.common.utils.Path;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.Lock;
+import org.nuxeo.ecm.core.api.model.DocumentPart;
+import org.nuxeo.ecm.core.api.model.Property;
+import org.nuxeo.ecm.core.api.model.impl.DocumentPartImpl;
+
+/**
+ * Lightweight document built from the result of a projection query, holding only some of its properties and state.
+ * <p>
+ * The projected values are returned without loading the document. Any other property is loaded on demand from the
+ * session, the whole schema being loaded at once as for a regular document, after what the loaded values take
+ * precedence over the projected ones. The projected properties are read-only.
+ * <p>
+ * The facets and schemas are the ones of the document type, instance facets are not known.
+ *
+ * @since 10.10-HF58
+ */
+public class ProjectionDocumentModel extends DocumentModelImpl {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Projected values by schema and field name. */
+    protected final Map<String, Map<String, Serializable>> projection = new HashMap<>();
+
+    protected transient Map<String, DocumentPart> projectionParts;
+
+    /** Whether the state is the projected one, until the document is refreshed. */
+    protected boolean projectedState;
+
+    public ProjectionDocumentModel(String sid, String type, String id, Path path, DocumentRef parentRef,
+            String repositoryName) {
+        super(sid, type, id, path, new IdRef(id), parentRef, null, null, null, repositoryName, false);
+    }
+
+    /**
+     * Sets the value of a projected property.
+     *
+     * @param schema the schema name
+     * @param name the field name, without prefix
+     * @param value the value
+     */
+    public void setProjectedValue(String schema, String name, Serializable value) {
+        projection.computeIfAbsent(schema, k -> new HashMap<>()).put(name, value);
+        projectionParts = null;
+    }
+
+    /**
+     * Sets the projected state of the document, returned until it is refreshed.
+     */
+    public void setProjectedState(String lifeCycleState, boolean isCheckedOut, boolean isTrashed, boolean isRecord,
+            Calendar retainUntil, boolean hasLegalHold, Lock lock) {
+        currentLifeCycleState = lifeCycleState;
+        this.isCheckedOut = isCheckedOut;
+        this.isTrashed = isTrashed;
+        this.isRecord = isRecord;
+        this.retainUntil = retainUntil;
+        this.hasLegalHold = hasLegalHold;
+        this.lock = lock;
+        projectedState = true;
+    }
+
+    protected boolean isProjected(String schema, String name) {
+        Map<String, Serializable> values = projection.get(schema);
+        return values != null && values.containsKey(name) && !isSchemaLoaded(schema);
+    }
+
+    protected DocumentPart getProjectionPart(String schema) {
+        if (projectionParts == null) {
+            projectionParts = new HashMap<>();
+        }
+        return projectionParts.computeIfAbsent(schema, k -> {
+            DocumentPart part = new DocumentPartImpl(getSchemaManager().getSchema(schema));
+            projection.get(schema).forEach((name, value) -> {
+                Property property = part.get(name);
+                property.init(value);
+                property.setReadOnly(true);
+            });
+            return part;
+        });
+    }
+
+    @Override
+    public boolean isPrefetched(String xpath) {
+        String[] returnName = new String[1];
+        String schema = getXPathSchemaName(canonicalXPath(xpath), schemas, returnName);
+        return schema != null && isPrefetched(schema, returnName[0]);
+    }
+
+    @Override
+    public boolean isPrefetched(String schemaName, String name) {
+        Map<String, Serializable> values = projection.get(schemaName);
+        return values != null && values.containsKey(name);
+    }
+
+    @Override
+    public Object getProperty(String schemaName, String name) {
+        if (isProjected(schemaName, name)) {
+            return projection.get(schemaName).get(name);
+        }
+        return super.getProperty(schemaName, name);
+    }
+
+    @Override
+    public Property getProperty(String xpath) {
+        if (xpath != null) {
+            String cxpath = canonicalXPath(xpath);
+            String[] returnName = new String[1];
+            String schema = cxpath.indexOf('/') < 0 ? getXPathSchemaName(cxpath, schemas, returnName) : null;
+            if (schema != null && schemas.contains(schema) && isProjected(schema, returnName[0])) {
+                return getProjectionPart(schema).get(returnName[0]);
+            }
+        }
+        return super.getProperty(xpath);
+    }
+
+    @Override
+    public boolean isCheckedOut() {
+        return projectedState ? isCheckedOut : super.isCheckedOut();
+    }
+
+    @Override
+    public boolean isTrashed() {
+        return projectedState ? isTrashed : super.isTrashed();
+    }
+
+    @Override
+    public boolean isRecord() {
+        return projectedState ? isRecord : super.isRecord();
+    }
+
+    @Override
+    public Calendar getRetainUntil() {
+        return projectedState ? retainUntil : super.getRetainUntil();
+    }
+
+    @Override
+    public boolean hasLegalHold() {
+        return projectedState ? hasLegalHold : super.hasLegalHold();
+    }
+
+    @Override
+    public void refresh(int refreshFlags, String[] schemas) {
+        projection.clear();
+        projectionParts = null;
+        projectedState = false;
+        super.refresh(refreshFlags, schemas);
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.PropertyException;
 import org.nuxeo.ecm.core.api.model.InvalidPropertyValueException;
 import org.nuxeo.ecm.core.api.model.Property;
@@ -50,6 +51,13 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     protected Map<String, Property> children;
 
+    /**
+     * Values of the children not created yet, see {@link #initChildrenLazily(Map)}.
+     *
+     * @since 10.10-HF58
+     */
+    protected Map<String, Serializable> pendingValues;
+
     protected ComplexProperty(Property parent) {
         super(parent);
         children = new HashMap<String, Property>();
@@ -101,6 +109,14 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
     public final Property getNonPhantomChild(Field field) {
         String name = field.getName().getPrefixedName();
         Property property = children.get(name);
+        if (property == null && pendingValues != null && pendingValues.containsKey(name)) {
+            property = getRoot().createProperty(this, field, IS_PHANTOM);
+            initChild(property, pendingValues.remove(name));
+            children.put(name, property);
+            if (pendingValues.isEmpty()) {
+                pendingValues = null;
+            }
+        }
         if (property == null) {
             property = internalGetChild(field);
             if (property == null) {
@@ -145,6 +161,92 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
         return Collections.unmodifiableCollection(children.values());
     }
 
+    /**
+     * Initializes the children of this property from values read from the storage, creating each child only when it
+     * is first accessed.
+     * <p>
+     * A child is initialized with its value as with {@link Property#init(Serializable)}. The value of a complex child
+     * is either a {@link Blob}, for blob properties, or the map of the values of its own children, which are also
+     * created lazily. Complex children are never phantom once read.
+     *
+     * @param values the values of the children, by name
+     * @since 10.10-HF58
+     */
+    public void initChildrenLazily(Map<String, Serializable> values) throws PropertyException {
+        boolean phantom = true;
+        for (Entry<String, Serializable> entry : values.entrySet()) {
+            String name = entry.getKey();
+            Serializable value = entry.getValue();
+            Property child = children.get(name);
+            if (child != null) {
+                initChild(child, value);
+            } else {
+                if (pendingValues == null) {
+                    pendingValues = new HashMap<>();
+                }
+                pendingValues.put(name, value);
+            }
+            if (phantom && !isPhantomValue(getType().getField(name), value)) {
+                phantom = false;
+            }
+        }
+        if (!phantom) {
+            // as creating a non phantom child would do
+            removePhantomFlag();
+        }
+    }
+
+    /**
+     * Initializes a child with a value passed to {@link #initChildrenLazily(Map)}.
+     *
+     * @since 10.10-HF58
+     */
+    @SuppressWarnings("unchecked")
+    protected void initChild(Property child, Serializable value) throws PropertyException {
+        if (child.getType().isComplexType()) {
+            if (value instanceof Map && child instanceof ComplexProperty) {
+                ((ComplexProperty) child).initChildrenLazily((Map<String, Serializable>) value);
+            } else {
+                child.init(value);
+            }
+            ((AbstractProperty) child).removePhantomFlag();
+        } else {
+            child.init(value);
+        }
+    }
+
+    /**
+     * Checks whether a child initialized with the given value is a phantom.
+     *
+     * @since 10.10-HF58
+     */
+    protected boolean isPhantomValue(Field field, Serializable value) {
+        if (field != null && field.getType().isComplexType()) {
+            return false;
+        }
+        return value == null || (value instanceof Object[] && ((Object[]) value).length == 0);
+    }
+
+    /**
+     * Creates the children whose creation was deferred by {@link #initChildrenLazily(Map)}.
+     *
+     * @since 10.10-HF58
+     */
+    protected void createPendingChildren() {
+        if (pendingValues == null) {
+            return;
+        }
+        for (Field field : getType().getFields()) {
+            if (pendingValues == null) {
+                break;
+            }
+            if (pendingValues.containsKey(field.getName().getPrefixedName())) {
+                getNonPhantomChild(field);
+            }
+        }
+        pendingValues = null;
+    }
+
     @Override
     public Property get(String name) throws PropertyNotFoundException {
         Field field = getType().getField(name);
@@ -164,6 +266,9 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
             }
             return;
         }
+        if (pendingValues != null) {
+            pendingValues.remove(property.getName());
+        }
         children.put(property.getName(), property);
         setIsModified();
     }
@@ -221,6 +326,7 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
             throw new ReadOnlyPropertyException(
                     String.format("Cannot set the value of property: %s since it is readonly", getXPath()));
         }
+        createPendingChildren();
         if (value == null) {
             remove();
             // completly clear this property
@@ -353,21 +459,25 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     @Override
     public Set<Entry<String, Property>> entrySet() {
+        createPendingChildren();
         return children.entrySet();
     }
 
     @Override
     public Property get(Object key) {
+        createPendingChildren();
         return children.get(key);
     }
 
     @Override
     public boolean isEmpty() {
+        createPendingChildren();
         return children.isEmpty();
     }
 
     @Override
     public Set<String> keySet() {
+        createPendingChildren();
         return children.keySet();
     }
 
@@ -397,6 +507,7 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     @Override
     public Collection<Property> values() {
+        createPendingChildren();
         return children.values();
     }
 
@@ -259,6 +259,19 @@ public interface Session<T extends QueryFilter> {
      */
     void updateReadACLs(Collection<String> docIds);
 
+    /**
+     * Updates the Read ACLs of a document and of the descendants inheriting them, without recursing into the subtrees
+     * of the descendants having their own ACP.
+     * <p>
+     * The descendants having their own ACP are the roots of the other regions sharing the same Read ACLs, they must be
+     * updated by separate calls.
+     *
+     * @param id the document id
+     * @return the number of updated descendants
+     * @since 10.10-HF58
+     */
+    long updateInheritedReadACLs(String id);
+
     /**
      * Checks if fulltext extracted from the binary fields is internally stored as a blob.
      *
@@ -759,6 +759,58 @@ public class TestPropertyModel {
         assertEquals(2, dp.get("references").size());
     }
 
+    @Test
+    public void testInitChildrenLazily() throws Exception {
+        HashMap<String, Serializable> fileName = new HashMap<>();
+        fileName.put("name", null);
+        fileName.put("extension", "xml");
+        HashMap<String, Serializable> file = new HashMap<>();
+        file.put("fileName", fileName);
+        file.put("blob", null);
+        HashMap<String, Serializable> map = new HashMap<>();
+        map.put("book:title", "My Title");
+        map.put("book:price", null);
+        map.put("book:keywords", new String[] { "a", "b" });
+        map.put("book:file", file);
+
+        dp.initChildrenLazily(map);
+
+        assertFalse(dp.isPhantom());
+        assertFalse(dp.isDirty());
+        assertEquals("My Title", dp.getValue("title"));
+        assertFalse(dp.get("title").isPhantom());
+        assertTrue(dp.get("price").isPhantom());
+        assertEquals(111L, dp.getValue("price"));
+        Object[] ar = (Object[]) dp.getValue("keywords");
+        assertEquals(2, ar.length);
+        assertEquals("a", ar[0]);
+        // complex properties are not phantom once read
+        assertFalse(dp.get("file").isPhantom());
+        assertFalse(dp.get("file").get("blob").isPhantom());
+        assertFalse(dp.get("file").get("fileName").isPhantom());
+        assertTrue(dp.get("file").get("fileName").get("name").isPhantom());
+        assertEquals("xml", dp.getValue("file/fileName/extension"));
+        assertFalse(dp.get("file").get("fileName").get("extension").isDirty());
+
+        // only touched properties are dirty
+        dp.setValue("title", "New Title");
+        assertTrue(dp.get("title").isDirty());
+        assertFalse(dp.get("keywords").isDirty());
+        assertFalse(dp.get("references").isDirty());
+
+        // children not created yet survive serialization
+        DocumentPartImpl lazy = new DocumentPartImpl(schema);
+        lazy.initChildrenLazily(map);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+            out.writeObject(lazy);
+        }
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        DocumentPartImpl lazy2 = (DocumentPartImpl) in.readObject();
+        assertEquals("My Title", lazy2.getValue("title"));
+        assertEquals("xml", lazy2.getValue("file/fileName/extension"));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testExport() throws Exception {
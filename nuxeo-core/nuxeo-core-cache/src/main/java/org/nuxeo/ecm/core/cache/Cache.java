@@ -20,7 +20,12 @@
 package org.nuxeo.ecm.core.cache;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -64,6 +69,39 @@ public interface Cache {
         return value;
     }
 
+    /**
+     * Retrieves the values of the given keys from the cache. The values missing from the cache are retrieved all at
+     * once from the {@code loader} and put into the cache.
+     *
+     * @param keys the keys, must not contain {@code null}
+     * @param loader the function loading the values of the given missing keys, keys without value may be absent from
+     *            the returned map
+     * @return the values by key, keys without value are absent
+     * @since 10.10-HF58
+     */
+    default Map<String, Serializable> getAll(Collection<String> keys,
+            Function<Set<String>, Map<String, ? extends Serializable>> loader) {
+        Map<String, Serializable> values = new HashMap<>();
+        Set<String> missingKeys = new LinkedHashSet<>();
+        for (String key : keys) {
+            Serializable value = get(key);
+            if (value == null) {
+                missingKeys.add(key);
+            } else {
+                values.put(key, value);
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            loader.apply(missingKeys).forEach((key, value) -> {
+                if (value != null) {
+                    put(key, value);
+                    values.put(key, value);
+                }
+            });
+        }
+        return values;
+    }
+
     /**
      * Returns the set of all keys stored in the cache.
      *
@@ -55,6 +55,44 @@ public class CacheDescriptor implements Descriptor {
     /** @since 9.3 */
     public static final String OPTION_CONCURRENCY_LEVEL = "concurrencyLevel";
 
+    /**
+     * Maximum total weight of the entries, in bytes of their estimated serialized size. When set, takes precedence over
+     * {@link #OPTION_MAX_SIZE} for the caches supporting it.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String OPTION_MAX_WEIGHT = "maxWeight";
+
+    /**
+     * Delay in seconds after which frequently read entries are reloaded asynchronously, before their expiration.
+     * Disabled by default.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String OPTION_REFRESH_AFTER = "refreshAfter";
+
+    /**
+     * Name of the Key/Value store holding the entries of a cache shared between nodes.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String OPTION_KEY_VALUE_STORE = "keyValueStore";
+
+    /**
+     * Maximum number of entries kept on-heap in front of a shared cache. Disabled by default.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String OPTION_NEAR_CACHE_MAX_SIZE = "nearCacheMaxSize";
+
+    /**
+     * Maximum delay in seconds during which an entry kept on-heap in front of a shared cache is used without being read
+     * again from the shared cache, in case an invalidation from another node was missed.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String OPTION_NEAR_CACHE_STALENESS = "nearCacheStaleness";
+
     @XNode("@name")
     public String name;
 
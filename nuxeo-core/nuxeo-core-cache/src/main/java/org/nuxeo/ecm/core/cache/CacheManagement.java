@@ -46,6 +46,16 @@ public interface CacheManagement extends Cache {
      */
     long getSize();
 
+    /**
+     * Returns the number of entries evicted from this cache because of its size limit, or {@code -1} if unknown.
+     *
+     * @return the number of evicted entries, or {@code -1}
+     * @since 10.10-HF58
+     */
+    default long getEvictionCount() {
+        return -1;
+    }
+
     /**
      * Stores a {@link Serializable} value into the cache locally. Does not propagate invalidations.
      *
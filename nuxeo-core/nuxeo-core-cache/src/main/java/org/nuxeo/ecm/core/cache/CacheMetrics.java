@@ -17,6 +17,11 @@
 package org.nuxeo.ecm.core.cache;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.nuxeo.runtime.metrics.MetricsService;
 
@@ -25,6 +30,7 @@ import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
 
 public class CacheMetrics extends CacheWrapper {
 
@@ -44,6 +50,12 @@ public class CacheMetrics extends CacheWrapper {
 
     protected Gauge<Long> size;
 
+    /** @since 10.10-HF58 */
+    protected Timer load;
+
+    /** @since 10.10-HF58 */
+    protected Gauge<Long> evictions;
+
     protected final String READ_HIT_NAME = nameOf("read-hit-counter");
 
     protected final String READ_HIT_RATIO_NAME = nameOf("read-hit-ratio");
@@ -58,6 +70,12 @@ public class CacheMetrics extends CacheWrapper {
 
     protected final String SIZE_NAME = nameOf("size");
 
+    /** @since 10.10-HF58 */
+    protected final String LOAD_NAME = nameOf("load-timer");
+
+    /** @since 10.10-HF58 */
+    protected final String EVICTION_NAME = nameOf("eviction-count");
+
     protected String nameOf(String name) {
         return MetricRegistry.name("nuxeo", "cache", getName(), name);
     }
@@ -68,6 +86,7 @@ public class CacheMetrics extends CacheWrapper {
 
     @Override
     public void start() {
+        super.start();
         registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
         read = registry.counter(READ_NAME);
         read_hit = registry.counter(READ_HIT_NAME);
@@ -89,6 +108,14 @@ public class CacheMetrics extends CacheWrapper {
                 return Long.valueOf(getSize());
             }
         });
+        load = registry.timer(LOAD_NAME);
+        registry.register(EVICTION_NAME, evictions = new Gauge<Long>() {
+
+            @Override
+            public Long getValue() {
+                return Long.valueOf(getEvictionCount());
+            }
+        });
     }
 
     @Override
@@ -100,6 +127,9 @@ public class CacheMetrics extends CacheWrapper {
         registry.remove(WRITE_NAME);
         registry.remove(INVALIDATE_ALL_NAME);
         registry.remove(SIZE_NAME);
+        registry.remove(LOAD_NAME);
+        registry.remove(EVICTION_NAME);
+        super.stop();
     }
 
     @Override
@@ -114,6 +144,26 @@ public class CacheMetrics extends CacheWrapper {
         return value;
     }
 
+    @Override
+    public Map<String, Serializable> getAll(Collection<String> keys,
+            Function<Set<String>, Map<String, ? extends Serializable>> loader) {
+        Thread caller = Thread.currentThread();
+        AtomicInteger misses = new AtomicInteger();
+        Map<String, Serializable> values = super.getAll(keys, missingKeys -> {
+            if (Thread.currentThread() == caller) {
+                // don't count asynchronous refreshes as misses
+                misses.addAndGet(missingKeys.size());
+            }
+            try (Timer.Context context = load.time()) {
+                return loader.apply(missingKeys);
+            }
+        });
+        read.inc(keys.size());
+        read_hit.inc(keys.size() - misses.get());
+        read_miss.inc(misses.get());
+        return values;
+    }
+
     @Override
     public void put(String key, Serializable value) {
         try {
@@ -17,7 +17,10 @@
 package org.nuxeo.ecm.core.cache;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * @since 9.1
@@ -40,6 +43,18 @@ public class CacheWrapper implements CacheManagement {
         return cache.get(key);
     }
 
+    /**
+     * Delegates to the wrapped cache so that the values are loaded by the cache implementation, which stores them
+     * locally.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public Map<String, Serializable> getAll(Collection<String> keys,
+            Function<Set<String>, Map<String, ? extends Serializable>> loader) {
+        return cache.getAll(keys, loader);
+    }
+
     @Override
     public Set<String> keySet() {
         return cache.keySet();
@@ -95,6 +110,11 @@ public class CacheWrapper implements CacheManagement {
         return cache.getSize();
     }
 
+    @Override
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "(" + cache + ")";
@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Probabilistic estimate of the access frequency of keys, used to decide whether a new cache entry is worth evicting
+ * an existing one (TinyLFU admission policy).
+ * <p>
+ * This is a count-min sketch of 4-bit counters, 16 counters being packed in each long. Once the number of recorded
+ * accesses reaches ten times the expected number of entries, all the counters are halved so that the frequency of the
+ * keys which are no longer accessed decays.
+ * <p>
+ * The sketch is thread-safe and lock-free. Accesses recorded during a reset may be lost, which is acceptable for an
+ * estimate.
+ *
+ * @since 10.10-HF58
+ */
+public class FrequencySketch {
+
+    protected static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L };
+
+    /** Mask keeping the 3 low bits of each 4-bit counter after a right shift. */
+    protected static final long RESET_MASK = 0x7777777777777777L;
+
+    protected static final int MAX_FREQUENCY = 15;
+
+    protected final AtomicLongArray table;
+
+    protected final int tableMask;
+
+    protected final int sampleSize;
+
+    protected final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param expectedEntries the expected maximum number of entries in the cache
+     */
+    public FrequencySketch(long expectedEntries) {
+        int capacity = (int) Math.max(16, Math.min(expectedEntries, 1 << 30));
+        int tableSize = Integer.highestOneBit(capacity - 1) << 1;
+        table = new AtomicLongArray(tableSize);
+        tableMask = tableSize - 1;
+        sampleSize = (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of accesses to the given key, between 0 and 15.
+     */
+    public int frequency(Object key) {
+        int hashCode = key.hashCode();
+        int frequency = MAX_FREQUENCY;
+        for (long seed : SEEDS) {
+            long hash = hash(hashCode, seed);
+            int shift = getShift(hash);
+            long counters = table.get(getIndex(hash));
+            frequency = Math.min(frequency, (int) ((counters >>> shift) & 0xfL));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the given key.
+     */
+    public void increment(Object key) {
+        int hashCode = key.hashCode();
+        boolean added = false;
+        for (long seed : SEEDS) {
+            long hash = hash(hashCode, seed);
+            added |= incrementAt(getIndex(hash), getShift(hash));
+        }
+        if (added && size.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    protected boolean incrementAt(int index, int shift) {
+        long mask = 0xfL << shift;
+        for (;;) {
+            long counters = table.get(index);
+            if ((counters & mask) == mask) {
+                // counter saturated
+                return false;
+            }
+            if (table.compareAndSet(index, counters, counters + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves all the counters.
+     */
+    protected synchronized void reset() {
+        if (size.get() < sampleSize) {
+            // already reset by another thread
+            return;
+        }
+        for (int i = 0; i < table.length(); i++) {
+            long counters = table.get(i);
+            table.compareAndSet(i, counters, (counters >>> 1) & RESET_MASK);
+        }
+        size.set(size.get() / 2);
+    }
+
+    protected int getIndex(long hash) {
+        return (int) (hash >>> 32) & tableMask;
+    }
+
+    protected int getShift(long hash) {
+        // one of the 16 counters of the long
+        return (int) (hash & 0xfL) << 2;
+    }
+
+    protected static long hash(int hashCode, long seed) {
+        long hash = (hashCode + seed) * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 29;
+        hash *= 0xbf58476d1ce4e5b9L;
+        return hash ^ (hash >>> 32);
+    }
+
+}
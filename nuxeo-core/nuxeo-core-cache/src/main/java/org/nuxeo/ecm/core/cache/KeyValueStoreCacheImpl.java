@@ -0,0 +1,445 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_KEY_VALUE_STORE;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_NEAR_CACHE_MAX_SIZE;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_NEAR_CACHE_STALENESS;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.kv.KeyValueStoreProvider;
+import org.nuxeo.runtime.pubsub.AbstractPubSubBroker;
+import org.nuxeo.runtime.pubsub.SerializableMessage;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache implementation storing its entries in a Key/Value store, shared between all the nodes of a cluster (for
+ * instance a Redis or SQL Key/Value store).
+ * <p>
+ * The Key/Value store is given by the {@code keyValueStore} option (default {@code default}), entries expire after
+ * the cache TTL.
+ * <p>
+ * When the {@code nearCacheMaxSize} option is set, the most recently used entries are also kept on-heap to avoid a
+ * network round trip on each read. Writes on a node are propagated to the on-heap tier of the other nodes through the
+ * {@link org.nuxeo.runtime.pubsub.PubSubService PubSubService}. Each write is stamped with a version taken from a
+ * cluster-wide counter, so that an invalidation only evicts the on-heap entries older than the write, and so that an
+ * entry read from the shared store while an invalidation is received is not kept on-heap. The {@code
+ * nearCacheStaleness} option (in seconds, default 10) bounds the time during which an on-heap entry is used in case an
+ * invalidation is missed. All the nodes must use the same configuration.
+ * <p>
+ * The local operations of {@link CacheManagement} only apply to the on-heap tier: {@link #putLocal} writes to the
+ * shared store without notifying the other nodes, {@link #invalidateLocal} and {@link #invalidateLocalAll} leave the
+ * shared store untouched.
+ *
+ * @since 10.10-HF58
+ */
+public class KeyValueStoreCacheImpl extends AbstractCache {
+
+    private static final Logger log = LogManager.getLogger(KeyValueStoreCacheImpl.class);
+
+    public static final String DEFAULT_KEY_VALUE_STORE = "default";
+
+    public static final long DEFAULT_NEAR_CACHE_STALENESS = 10; // seconds
+
+    public static final String NEAR_CACHE_INVAL_PUBSUB_TOPIC_PREFIX = "nearcacheinval-";
+
+    protected static final String ALL_KEYS = "__ALL__";
+
+    protected final String keyValueStoreName;
+
+    /** Prefix of the Key/Value store keys holding the entries. */
+    protected final String entryPrefix;
+
+    /** Key/Value store key holding the version counter. */
+    protected final String versionKey;
+
+    protected final long ttlSeconds;
+
+    /** The on-heap tier, or {@code null} if disabled. */
+    protected final Cache<String, VersionedValue> nearCache;
+
+    /** Number of on-heap invalidations, used to detect those happening while reading from the shared store. */
+    protected final AtomicLong invalidationCount = new AtomicLong();
+
+    protected NearCacheInvalidator invalidator;
+
+    protected static class VersionedValue {
+
+        protected final Serializable value;
+
+        protected final long version;
+
+        protected VersionedValue(Serializable value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Invalidation of an on-heap entry, caused by a write with the given version.
+     */
+    public static class NearCacheInvalidation implements SerializableMessage {
+
+        private static final long serialVersionUID = 1L;
+
+        protected static final String SEP = "/";
+
+        public final String key;
+
+        public final long version;
+
+        public NearCacheInvalidation(String key, long version) {
+            this.key = key;
+            this.version = version;
+        }
+
+        @Override
+        public void serialize(OutputStream out) throws IOException {
+            IOUtils.write(version + SEP + key, out, UTF_8);
+        }
+
+        public static NearCacheInvalidation deserialize(InputStream in) throws IOException {
+            String string = IOUtils.toString(in, UTF_8);
+            String[] parts = string.split(SEP, 2);
+            if (parts.length != 2) {
+                throw new IOException("Invalid invalidation: " + string);
+            }
+            try {
+                return new NearCacheInvalidation(parts[1], Long.parseLong(parts[0]));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid invalidation: " + string, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "(" + key + "," + version + ")";
+        }
+    }
+
+    protected class NearCacheInvalidator extends AbstractPubSubBroker<NearCacheInvalidation> {
+
+        @Override
+        public NearCacheInvalidation deserialize(InputStream in) throws IOException {
+            return NearCacheInvalidation.deserialize(in);
+        }
+
+        @Override
+        public void receivedMessage(NearCacheInvalidation invalidation) {
+            receivedInvalidation(invalidation);
+        }
+    }
+
+    public KeyValueStoreCacheImpl(CacheDescriptor desc) {
+        super(desc);
+        Map<String, String> options = desc.options;
+        keyValueStoreName = options.getOrDefault(OPTION_KEY_VALUE_STORE, DEFAULT_KEY_VALUE_STORE);
+        entryPrefix = "cache:" + name + ":entry:";
+        versionKey = "cache:" + name + ":version";
+        ttlSeconds = TimeUnit.MINUTES.toSeconds(desc.getTTL());
+        long nearCacheMaxSize = Long.parseLong(options.getOrDefault(OPTION_NEAR_CACHE_MAX_SIZE, "0"));
+        if (nearCacheMaxSize > 0) {
+            long staleness = Long.parseLong(
+                    options.getOrDefault(OPTION_NEAR_CACHE_STALENESS, String.valueOf(DEFAULT_NEAR_CACHE_STALENESS)));
+            nearCache = CacheBuilder.newBuilder()
+                                    .maximumSize(nearCacheMaxSize)
+                                    .expireAfterWrite(staleness, TimeUnit.SECONDS)
+                                    .build();
+        } else {
+            nearCache = null;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (nearCache != null) {
+            // each instance has its own discriminator, messages are received by all the other instances
+            invalidator = new NearCacheInvalidator();
+            invalidator.initialize(NEAR_CACHE_INVAL_PUBSUB_TOPIC_PREFIX + name, UUID.randomUUID().toString());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (invalidator != null) {
+            invalidator.close();
+            invalidator = null;
+        }
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(keyValueStoreName);
+    }
+
+    protected void receivedInvalidation(NearCacheInvalidation invalidation) {
+        invalidationCount.incrementAndGet();
+        if (ALL_KEYS.equals(invalidation.key)) {
+            nearCache.invalidateAll();
+            return;
+        }
+        VersionedValue current = nearCache.getIfPresent(invalidation.key);
+        if (current != null && current.version < invalidation.version) {
+            // entries written after the invalidating write are still valid
+            nearCache.asMap().remove(invalidation.key, current);
+        }
+    }
+
+    protected void sendInvalidation(String key, long version) {
+        NearCacheInvalidator inv = invalidator;
+        if (inv != null) {
+            inv.sendMessage(new NearCacheInvalidation(key, version));
+        }
+    }
+
+    /**
+     * Gets a new version from the cluster-wide counter, only needed when there is an on-heap tier.
+     */
+    protected long nextVersion() {
+        return nearCache == null ? 0 : getKeyValueStore().addAndGet(versionKey, 1);
+    }
+
+    /**
+     * Keeps on-heap a value read from the shared store, unless an invalidation was received since the given count.
+     */
+    protected void putNear(String key, VersionedValue value, long count) {
+        if (nearCache != null && invalidationCount.get() == count) {
+            nearCache.asMap().merge(key, value, (a, b) -> a.version >= b.version ? a : b);
+        }
+    }
+
+    protected VersionedValue getNear(String key) {
+        return nearCache == null ? null : nearCache.getIfPresent(key);
+    }
+
+    @Override
+    public Serializable get(String key) {
+        if (key == null) {
+            return null;
+        }
+        VersionedValue value = getNear(key);
+        if (value != null) {
+            return value.value;
+        }
+        long count = invalidationCount.get();
+        value = deserialize(key, getKeyValueStore().get(entryPrefix + key));
+        if (value == null) {
+            return null;
+        }
+        putNear(key, value, count);
+        return value.value;
+    }
+
+    @Override
+    public Map<String, Serializable> getAll(Collection<String> keys,
+            Function<Set<String>, Map<String, ? extends Serializable>> loader) {
+        Map<String, Serializable> values = new HashMap<>();
+        List<String> sharedKeys = new ArrayList<>();
+        for (String key : keys) {
+            VersionedValue value = getNear(key);
+            if (value == null) {
+                sharedKeys.add(entryPrefix + key);
+            } else {
+                values.put(key, value.value);
+            }
+        }
+        Set<String> missingKeys = new LinkedHashSet<>();
+        if (!sharedKeys.isEmpty()) {
+            long count = invalidationCount.get();
+            // single round trip for all the keys not kept on-heap
+            Map<String, byte[]> bytes = getKeyValueStore().get(sharedKeys);
+            for (String sharedKey : sharedKeys) {
+                String key = sharedKey.substring(entryPrefix.length());
+                VersionedValue value = deserialize(key, bytes.get(sharedKey));
+                if (value == null) {
+                    missingKeys.add(key);
+                } else {
+                    putNear(key, value, count);
+                    values.put(key, value.value);
+                }
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            Map<String, ? extends Serializable> loaded = loader.apply(missingKeys);
+            if (!loaded.isEmpty()) {
+                long version = nextVersion();
+                loaded.forEach((key, value) -> {
+                    if (value != null) {
+                        write(key, value, version);
+                        values.put(key, value);
+                    }
+                });
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void put(String key, Serializable value) {
+        if (checkPut(key, value)) {
+            long version = nextVersion();
+            write(key, value, version);
+            sendInvalidation(key, version);
+        }
+    }
+
+    @Override
+    public void putLocal(String key, Serializable value) {
+        if (checkPut(key, value)) {
+            write(key, value, nextVersion());
+        }
+    }
+
+    protected boolean checkPut(String key, Serializable value) {
+        if (key == null || value == null) {
+            log.warn("Can't put a null key nor a null value in the cache '{}'!", name);
+            return false;
+        }
+        return true;
+    }
+
+    protected void write(String key, Serializable value, long version) {
+        byte[] bytes = serialize(key, value, version);
+        if (bytes == null) {
+            return;
+        }
+        getKeyValueStore().put(entryPrefix + key, bytes, ttlSeconds);
+        if (nearCache != null) {
+            nearCache.asMap().merge(key, new VersionedValue(value, version), (a, b) -> a.version > b.version ? a : b);
+        }
+    }
+
+    protected byte[] serialize(String key, Serializable value, long version) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeLong(version);
+            oos.writeObject(value);
+        } catch (IOException e) {
+            log.warn("Cannot serialize the value for key: {} in cache: {}", key, name, e);
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    protected VersionedValue deserialize(String key, byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            long version = ois.readLong();
+            return new VersionedValue((Serializable) ois.readObject(), version);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Cannot deserialize the value for key: {} in cache: {}", key, name, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        if (key == null) {
+            log.warn("Can't invalidate a null key for the cache '{}'!", name);
+            return;
+        }
+        long version = nextVersion();
+        getKeyValueStore().put(entryPrefix + key, (byte[]) null);
+        invalidateLocal(key);
+        sendInvalidation(key, version);
+    }
+
+    @Override
+    public void invalidateLocal(String key) {
+        if (nearCache != null && key != null) {
+            invalidationCount.incrementAndGet();
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        long version = nextVersion();
+        KeyValueStore store = getKeyValueStore();
+        getSharedKeys().forEach(key -> store.put(key, (byte[]) null));
+        invalidateLocalAll();
+        sendInvalidation(ALL_KEYS, version);
+    }
+
+    @Override
+    public void invalidateLocalAll() {
+        if (nearCache != null) {
+            invalidationCount.incrementAndGet();
+            nearCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Gets the Key/Value store keys holding the entries. This may be slow, depending on the Key/Value store.
+     */
+    protected List<String> getSharedKeys() {
+        KeyValueStore store = getKeyValueStore();
+        if (!(store instanceof KeyValueStoreProvider)) {
+            throw new UnsupportedOperationException(
+                    "Key/Value store: " + keyValueStoreName + " cannot list its keys, for cache: " + name);
+        }
+        return ((KeyValueStoreProvider) store).keyStream(entryPrefix).collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return getSharedKeys().stream().map(key -> key.substring(entryPrefix.length())).collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean hasEntry(String key) {
+        return getNear(key) != null || getKeyValueStore().get(entryPrefix + key) != null;
+    }
+
+    @Override
+    public long getSize() {
+        return getSharedKeys().size();
+    }
+
+}
@@ -0,0 +1,397 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.cache;
+
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.DEFAULT_MAX_SIZE;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_CONCURRENCY_LEVEL;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_MAX_SIZE;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_MAX_WEIGHT;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_REFRESH_AFTER;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.Sets;
+
+/**
+ * In memory cache implementation bounded by the estimated size of its entries, with a frequency based admission
+ * policy.
+ * <p>
+ * New entries first go to a small admission window (1% of the capacity). When evicted from the window, an entry is
+ * admitted in the main cache only if there is room for it, or if it has been accessed more frequently than the last
+ * entry evicted from the main cache (W-TinyLFU). This keeps the frequently read entries when a large number of entries
+ * are read only once, for instance while listing all the entries of a directory.
+ * <p>
+ * The capacity is given by the {@code maxWeight} option, in bytes of estimated serialized size, or by the
+ * {@code maxSize} option, in number of entries. When the {@code refreshAfter} option is set, frequently read entries
+ * older than this delay (in seconds) are reloaded asynchronously when read through
+ * {@link #getAll(Collection, Function)}, so that they don't expire while still in use. The loader must then be usable
+ * from another thread.
+ * <p>
+ * Both the window and the main cache are lock-striped Guava caches, see the {@code concurrencyLevel} option.
+ *
+ * @since 10.10-HF58
+ */
+public class WeightedInMemoryCacheImpl extends AbstractCache {
+
+    private static final Logger log = LogManager.getLogger(WeightedInMemoryCacheImpl.class);
+
+    /** Percentage of the capacity used by the admission window. */
+    protected static final int WINDOW_PERCENT = 1;
+
+    /** Estimated weight of an entry, used to size the frequency sketch of a weighted cache. */
+    protected static final int ESTIMATED_ENTRY_WEIGHT = 1024;
+
+    /** Minimum estimated frequency of the entries to refresh ahead of their expiration. */
+    protected static final int REFRESH_MIN_FREQUENCY = 3;
+
+    protected final boolean weighted;
+
+    protected final long mainMaxWeight;
+
+    protected final Cache<String, CacheEntry> window;
+
+    protected final Cache<String, CacheEntry> main;
+
+    protected final FrequencySketch sketch;
+
+    protected final LongAdder mainWeight = new LongAdder();
+
+    protected final LongAdder evictions = new LongAdder();
+
+    /** The last key evicted from the main cache, compared to the candidates for admission. */
+    protected volatile String victim;
+
+    protected final long ttlMillis;
+
+    protected final long refreshAfterMillis;
+
+    protected final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    protected ExecutorService refreshExecutor;
+
+    protected static class CacheEntry {
+
+        protected final Serializable value;
+
+        protected final int weight;
+
+        protected final long writeTime;
+
+        protected CacheEntry(Serializable value, int weight, long writeTime) {
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+        }
+    }
+
+    public WeightedInMemoryCacheImpl(CacheDescriptor desc) {
+        super(desc);
+        Map<String, String> options = desc.options;
+        long maxWeight;
+        if (options.containsKey(OPTION_MAX_WEIGHT)) {
+            weighted = true;
+            maxWeight = Long.parseLong(options.get(OPTION_MAX_WEIGHT));
+        } else {
+            weighted = false;
+            maxWeight = Long.parseLong(options.getOrDefault(OPTION_MAX_SIZE, String.valueOf(DEFAULT_MAX_SIZE)));
+        }
+        long windowMaxWeight = maxWeight == 0 ? 0 : Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+        mainMaxWeight = maxWeight - windowMaxWeight;
+        window = newBuilder(desc, windowMaxWeight).removalListener(this::onWindowRemoval).build();
+        main = newBuilder(desc, mainMaxWeight).removalListener(this::onMainRemoval).build();
+        sketch = new FrequencySketch(weighted ? maxWeight / ESTIMATED_ENTRY_WEIGHT : maxWeight);
+        ttlMillis = TimeUnit.MINUTES.toMillis(desc.getTTL());
+        refreshAfterMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault(OPTION_REFRESH_AFTER, "0")));
+    }
+
+    protected CacheBuilder<String, CacheEntry> newBuilder(CacheDescriptor desc, long maxWeight) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        builder = builder.expireAfterWrite(desc.getTTL(), TimeUnit.MINUTES);
+        if (desc.options.containsKey(OPTION_CONCURRENCY_LEVEL)) {
+            builder = builder.concurrencyLevel(Integer.parseInt(desc.options.get(OPTION_CONCURRENCY_LEVEL)));
+        }
+        Weigher<String, CacheEntry> weigher = (key, entry) -> entry.weight;
+        return builder.maximumWeight(maxWeight).weigher(weigher);
+    }
+
+    @Override
+    public void start() {
+        if (refreshAfterMillis > 0) {
+            refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "Nuxeo-Cache-Refresh-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
+        }
+    }
+
+    protected void onWindowRemoval(RemovalNotification<String, CacheEntry> notification) {
+        if (notification.getCause() != RemovalCause.SIZE) {
+            return;
+        }
+        String key = notification.getKey();
+        CacheEntry entry = notification.getValue();
+        if (window.asMap().containsKey(key) || isExpired(entry, System.currentTimeMillis())) {
+            // replaced concurrently by a newer value, or useless
+            return;
+        }
+        if (admit(key, entry)) {
+            putMain(key, entry);
+        } else {
+            evictions.increment();
+        }
+    }
+
+    protected void onMainRemoval(RemovalNotification<String, CacheEntry> notification) {
+        mainWeight.add(-notification.getValue().weight);
+        if (notification.getCause() == RemovalCause.SIZE) {
+            evictions.increment();
+            victim = notification.getKey();
+        }
+    }
+
+    /**
+     * Decides whether the given entry evicted from the window is worth entering the main cache.
+     */
+    protected boolean admit(String key, CacheEntry entry) {
+        if (mainWeight.sum() + entry.weight <= mainMaxWeight) {
+            return true;
+        }
+        String currentVictim = victim;
+        return currentVictim == null || sketch.frequency(key) > sketch.frequency(currentVictim);
+    }
+
+    protected void putMain(String key, CacheEntry entry) {
+        mainWeight.add(entry.weight);
+        main.put(key, entry);
+    }
+
+    protected boolean isExpired(CacheEntry entry, long now) {
+        // entries moved from the window to the main cache keep their original write time
+        return now - entry.writeTime >= ttlMillis;
+    }
+
+    protected CacheEntry getEntry(String key, long now) {
+        // the window holds the most recent value in case of concurrent admission
+        CacheEntry entry = window.getIfPresent(key);
+        if (entry == null) {
+            entry = main.getIfPresent(key);
+        }
+        if (entry != null && isExpired(entry, now)) {
+            return null;
+        }
+        return entry;
+    }
+
+    @Override
+    public Serializable get(String key) {
+        if (key == null) {
+            return null;
+        }
+        sketch.increment(key);
+        CacheEntry entry = getEntry(key, System.currentTimeMillis());
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public Map<String, Serializable> getAll(Collection<String> keys,
+            Function<Set<String>, Map<String, ? extends Serializable>> loader) {
+        long now = System.currentTimeMillis();
+        Map<String, Serializable> values = new HashMap<>();
+        Set<String> missingKeys = new LinkedHashSet<>();
+        Set<String> refreshKeys = new HashSet<>();
+        for (String key : keys) {
+            sketch.increment(key);
+            CacheEntry entry = getEntry(key, now);
+            if (entry == null) {
+                missingKeys.add(key);
+            } else {
+                values.put(key, entry.value);
+                if (mustRefresh(key, entry, now)) {
+                    refreshKeys.add(key);
+                }
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            loader.apply(missingKeys).forEach((key, value) -> {
+                if (value != null) {
+                    putLocal(key, value);
+                    values.put(key, value);
+                }
+            });
+        }
+        if (!refreshKeys.isEmpty()) {
+            refresh(refreshKeys, loader);
+        }
+        return values;
+    }
+
+    protected boolean mustRefresh(String key, CacheEntry entry, long now) {
+        return refreshAfterMillis > 0 && now - entry.writeTime >= refreshAfterMillis
+                && sketch.frequency(key) >= REFRESH_MIN_FREQUENCY && refreshing.add(key);
+    }
+
+    /**
+     * Reloads asynchronously the given keys, keys no longer having a value are invalidated.
+     */
+    protected void refresh(Set<String> keys, Function<Set<String>, Map<String, ? extends Serializable>> loader) {
+        ExecutorService executor = refreshExecutor;
+        try {
+            if (executor == null) {
+                throw new RejectedExecutionException("Cache not started");
+            }
+            executor.execute(() -> {
+                try {
+                    Map<String, ? extends Serializable> values = loader.apply(keys);
+                    for (String key : keys) {
+                        Serializable value = values.get(key);
+                        if (value == null) {
+                            invalidateLocal(key);
+                        } else {
+                            putLocal(key, value);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh keys: {} of cache: {}", keys, name, e);
+                } finally {
+                    refreshing.removeAll(keys);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.removeAll(keys);
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Sets.union(window.asMap().keySet(), main.asMap().keySet());
+    }
+
+    @Override
+    public void invalidate(String key) {
+        invalidateLocal(key);
+    }
+
+    @Override
+    public void invalidateLocal(String key) {
+        if (key != null) {
+            window.invalidate(key);
+            main.invalidate(key);
+        } else {
+            log.warn("Can't invalidate a null key for the cache '{}'!", name);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidateLocalAll();
+    }
+
+    @Override
+    public void invalidateLocalAll() {
+        window.invalidateAll();
+        main.invalidateAll();
+    }
+
+    @Override
+    public void put(String key, Serializable value) {
+        putLocal(key, value);
+    }
+
+    @Override
+    public void putLocal(String key, Serializable value) {
+        if (key == null || value == null) {
+            log.warn("Can't put a null key nor a null value in the cache '{}'!", name);
+            return;
+        }
+        sketch.increment(key);
+        CacheEntry entry = new CacheEntry(value, weigh(key, value), System.currentTimeMillis());
+        if (main.asMap().containsKey(key)) {
+            putMain(key, entry);
+        } else {
+            window.put(key, entry);
+        }
+    }
+
+    /**
+     * Computes the weight of an entry: its estimated serialized size for a weighted cache, 1 otherwise.
+     */
+    protected int weigh(String key, Serializable value) {
+        if (!weighted) {
+            return 1;
+        }
+        CountingOutputStream out = new CountingOutputStream(NullOutputStream.NULL_OUTPUT_STREAM);
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(value);
+        } catch (IOException e) {
+            log.debug("Cannot compute the size of the value for key: {} in cache: {}", key, name, e);
+            return ESTIMATED_ENTRY_WEIGHT;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, 2L * key.length() + out.getByteCount());
+    }
+
+    @Override
+    public boolean hasEntry(String key) {
+        return window.asMap().containsKey(key) || main.asMap().containsKey(key);
+    }
+
+    @Override
+    public long getSize() {
+        return window.size() + main.size();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+}
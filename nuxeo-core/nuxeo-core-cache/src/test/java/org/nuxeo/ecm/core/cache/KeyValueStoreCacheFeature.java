@@ -0,0 +1,44 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.cache;
+
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStoreProvider;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.RunnerFeature;
+
+/**
+ * @since 10.10-HF58
+ */
+@Features(CacheFeature.class)
+@Deploy("org.nuxeo.runtime.kv")
+@Deploy("org.nuxeo.runtime.pubsub")
+@Deploy("org.nuxeo.ecm.core.cache:keyvaluestore-cache-config.xml")
+public class KeyValueStoreCacheFeature implements RunnerFeature {
+
+    @Override
+    public void afterTeardown(FeaturesRunner runner) {
+        // local invalidations don't clear the shared store
+        ((KeyValueStoreProvider) Framework.getService(KeyValueService.class).getKeyValueStore("default")).clear();
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_NEAR_CACHE_MAX_SIZE;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.cache.KeyValueStoreCacheImpl.NearCacheInvalidation;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * Tests the on-heap tier of {@link KeyValueStoreCacheImpl}, using two instances to simulate two nodes.
+ *
+ * @since 10.10-HF58
+ */
+@RunWith(FeaturesRunner.class)
+@Features(KeyValueStoreCacheFeature.class)
+public class TestKeyValueStoreCacheImpl {
+
+    protected static final String CACHE_NAME = "near-test-cache";
+
+    protected KeyValueStoreCacheImpl node1;
+
+    protected KeyValueStoreCacheImpl node2;
+
+    @Before
+    public void setUp() {
+        node1 = newCache();
+        node2 = newCache();
+    }
+
+    @After
+    public void tearDown() {
+        node1.stop();
+        node2.stop();
+    }
+
+    protected KeyValueStoreCacheImpl newCache() {
+        CacheDescriptor desc = new CacheDescriptor();
+        desc.name = CACHE_NAME;
+        desc.options.put(OPTION_NEAR_CACHE_MAX_SIZE, "10");
+        KeyValueStoreCacheImpl cache = new KeyValueStoreCacheImpl(desc);
+        cache.start();
+        return cache;
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore("default");
+    }
+
+    @Test
+    public void testSharedBetweenNodes() {
+        node1.put("key", "val");
+        assertEquals("val", node2.get("key"));
+        assertTrue(node2.hasEntry("key"));
+        assertEquals(Collections.singleton("key"), node2.keySet());
+
+        node2.invalidate("key");
+        assertNull(node1.get("key"));
+        assertFalse(node1.hasEntry("key"));
+    }
+
+    @Test
+    public void testNearCacheAvoidsSharedRead() {
+        node1.put("key", "val");
+        assertEquals("val", node2.get("key"));
+        // remove from the shared store behind the back of the caches
+        getKeyValueStore().put(node2.entryPrefix + "key", (byte[]) null);
+        assertEquals("val", node1.get("key"));
+        assertEquals("val", node2.get("key"));
+        // local invalidation only clears the on-heap tier
+        node2.invalidateLocal("key");
+        assertNull(node2.get("key"));
+    }
+
+    @Test
+    public void testNearCacheInvalidatedByOtherNode() {
+        node1.put("key", "val1");
+        assertEquals("val1", node2.get("key"));
+        node1.put("key", "val2");
+        assertEquals("val2", node2.get("key"));
+
+        node1.invalidateAll();
+        assertNull(node2.get("key"));
+    }
+
+    @Test
+    public void testOlderInvalidationKeepsNewerEntry() {
+        node1.put("key", "val1");
+        long version = node1.getNear("key").version;
+        node2.put("key", "val2");
+        assertEquals("val2", node1.get("key"));
+
+        // a late invalidation for the first write doesn't evict the newer value
+        node1.receivedInvalidation(new NearCacheInvalidation("key", version));
+        assertTrue(node1.nearCache.asMap().containsKey("key"));
+        // a newer one does
+        node1.receivedInvalidation(new NearCacheInvalidation("key", node1.getNear("key").version + 1));
+        assertFalse(node1.nearCache.asMap().containsKey("key"));
+        assertEquals("val2", node1.get("key"));
+    }
+
+    @Test
+    public void testGetAll() {
+        node1.put("key1", "val1");
+        node2.put("key2", "val2");
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, Serializable> values = node1.getAll(Arrays.asList("key1", "key2", "key3", "key4"), keys -> {
+            loads.incrementAndGet();
+            assertEquals(Arrays.asList("key3", "key4"), keys.stream().sorted().collect(Collectors.toList()));
+            return Collections.singletonMap("key3", "val3");
+        });
+        assertEquals(1, loads.get());
+        assertEquals(3, values.size());
+        assertEquals("val1", values.get("key1"));
+        assertEquals("val2", values.get("key2"));
+        assertEquals("val3", values.get("key3"));
+        // loaded values are shared
+        assertEquals("val3", node2.get("key3"));
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+
+package org.nuxeo.ecm.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_CONCURRENCY_LEVEL;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_MAX_SIZE;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_MAX_WEIGHT;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+/**
+ * @since 10.10-HF58
+ */
+public class TestWeightedInMemoryCacheImpl {
+
+    protected static WeightedInMemoryCacheImpl newCache(String option, String value) {
+        CacheDescriptor desc = new CacheDescriptor();
+        desc.name = "weighted-test-cache";
+        desc.options.put(option, value);
+        // a single segment to get exact limits
+        desc.options.put(OPTION_CONCURRENCY_LEVEL, "1");
+        return new WeightedInMemoryCacheImpl(desc);
+    }
+
+    @Test
+    public void testEvictionByWeight() {
+        WeightedInMemoryCacheImpl cache = newCache(OPTION_MAX_WEIGHT, "100000");
+        String value = StringUtils.repeat('x', 1000);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, value);
+        }
+        // each entry weighs more than 1000 bytes
+        assertTrue(cache.getSize() > 0);
+        assertTrue(String.valueOf(cache.getSize()), cache.getSize() < 100);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        WeightedInMemoryCacheImpl cache = newCache(OPTION_MAX_SIZE, "100");
+        List<String> hotKeys = new ArrayList<>();
+        for (int i = 0; i < 99; i++) {
+            String key = "hot" + i;
+            hotKeys.add(key);
+            cache.put(key, key);
+        }
+        for (int n = 0; n < 5; n++) {
+            hotKeys.forEach(cache::get);
+        }
+        // entries read only once must not evict the frequently read ones
+        for (int i = 0; i < 1000; i++) {
+            cache.put("cold" + i, "cold");
+        }
+        long remaining = hotKeys.stream().filter(cache::hasEntry).count();
+        assertTrue(String.valueOf(remaining), remaining >= 90);
+    }
+
+    @Test
+    public void testGetAll() {
+        WeightedInMemoryCacheImpl cache = newCache(OPTION_MAX_SIZE, "100");
+        cache.put("a", "va");
+        Set<String> loadedKeys = new HashSet<>();
+        Map<String, Serializable> values = cache.getAll(Arrays.asList("a", "b", "c"), keys -> {
+            loadedKeys.addAll(keys);
+            return Collections.singletonMap("b", "vb");
+        });
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), loadedKeys);
+        assertEquals(2, values.size());
+        assertEquals("va", values.get("a"));
+        assertEquals("vb", values.get("b"));
+        assertEquals("vb", cache.get("b"));
+
+        // keys without value are not cached
+        loadedKeys.clear();
+        values = cache.getAll(Arrays.asList("b", "c"), keys -> {
+            loadedKeys.addAll(keys);
+            return Collections.emptyMap();
+        });
+        assertEquals(Collections.singleton("c"), loadedKeys);
+        assertNull(values.get("c"));
+    }
+
+}
@@ -129,4 +129,14 @@ public interface Paginable<T> extends List<T> {
      */
     long getResultsCountLimit();
 
+    /**
+     * Returns the cursor of the page following the current one, or {@code null} if keyset pagination is not used or if
+     * there is no next page.
+     *
+     * @since 10.10-HF58
+     */
+    default String getNextPageCursor() {
+        return null;
+    }
+
 }
@@ -133,4 +133,10 @@ public class PaginablePageProvider<T> extends ArrayList<T> implements Paginable<
     public long getResultsCountLimit() {
         return pageProvider.getResultsCountLimit();
     }
+
+    @Override
+    public String getNextPageCursor() {
+        return pageProvider.getNextPageCursor();
+    }
+
 }
@@ -116,12 +116,16 @@ public abstract class DefaultListJsonWriter<EntityType> extends AbstractJsonWrit
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void write(List<EntityType> list, JsonGenerator jg) throws IOException {
         jg.writeStartObject();
         ctx.setParameterValues(RenderingContext.RESPONSE_HEADER_ENTITY_TYPE_KEY, this.entityType);
         jg.writeStringField(ENTITY_FIELD_NAME, entityType);
         writePaginationInfos(list, jg);
         Writer<EntityType> documentWriter = registry.getWriter(ctx, elClazz, elGenericType, APPLICATION_JSON_TYPE);
+        if (documentWriter instanceof ExtensibleEntityJsonWriter) {
+            ((ExtensibleEntityJsonWriter<EntityType>) documentWriter).prefetch(list);
+        }
         jg.writeArrayFieldStart("entries");
         for (EntityType entity : list) {
             documentWriter.write(entity, elClazz, elClazz, APPLICATION_JSON_TYPE, new OutputStreamWithJsonWriter(jg));
@@ -142,6 +146,10 @@ public abstract class DefaultListJsonWriter<EntityType> extends AbstractJsonWrit
             jg.writeNumberField("currentPageSize", paginable.getCurrentPageSize());
             jg.writeNumberField("currentPageIndex", paginable.getCurrentPageIndex());
             jg.writeNumberField("currentPageOffset", paginable.getCurrentPageOffset());
+            String nextPageCursor = paginable.getNextPageCursor();
+            if (nextPageCursor != null) {
+                jg.writeStringField("nextPageCursor", nextPageCursor);
+            }
             jg.writeNumberField("numberOfPages", paginable.getNumberOfPages());
             jg.writeBooleanField("isPreviousPageAvailable", paginable.isPreviousPageAvailable());
             jg.writeBooleanField("isNextPageAvailable", paginable.isNextPageAvailable());
@@ -27,7 +27,12 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -41,6 +46,7 @@ import org.nuxeo.ecm.core.api.CoreInstance;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.Lock;
+import org.nuxeo.ecm.core.api.impl.ProjectionDocumentModel;
 import org.nuxeo.ecm.core.api.model.Property;
 import org.nuxeo.ecm.core.io.marshallers.json.ExtensibleEntityJsonWriter;
 import org.nuxeo.ecm.core.io.marshallers.json.OutputStreamWithJsonWriter;
@@ -86,14 +92,14 @@ import com.thoughtworks.xstream.io.json.JsonWriter;
  *   "retainUntil": "RETAIN_UNTIL_DATE", <-- or null
  *   "hasLegalHold": true|false,
  *   "isUnderRetentionOrLegalHold": true|false,
- *   "changeToken": null|"CHANGE_TOKEN",
+ *   "changeToken": null|"CHANGE_TOKEN",  <-- null for a lightweight ProjectionDocumentModel
  *   "isCheckedOut": true|false,
  *   "title": "DOCUMENT_TITLE",
  *   "lastModified": "DATE_UPDATE",  <-- if dublincore is present and if dc:modified is not null
  *   "versionLabel": "DOCUMENT_VERSION",  <-- only activated with parameter fetch.document=versionLabel or system property nuxeo.document.json.fetch.heavy=true
  *   "lockOwner": "LOCK_OWNER",  <-- only activated if locked and with parameter fetch.document=lock or system property nuxeo.document.json.fetch.heavy=true
  *   "lockCreated": "LOCK_DATE",  <-- only activated if locked and with parameter fetch.document=lock or system property nuxeo.document.json.fetch.heavy=true
- *   "properties": {   <-- only present with parameter properties=schema1,schema2,... see {@link DocumentPropertyJsonWriter} for format
+ *   "properties": {   <-- only present with parameter properties=schema1,schema2,... see {@link DocumentPropertyJsonWriter} for format, only the projected ones for a ProjectionDocumentModel
  *     "schemaPrefix:stringProperty": "stringPropertyValue",  <-- each property may be fetched if a resolver is associated with that property and if a parameter fetch.document=propXPath is present, in this case, an object will be marshalled as value
  *     "schemaPrefix:booleanProperty": true|false,
  *     "schemaPrefix:integerProperty": 123,
@@ -145,6 +151,63 @@ public class DocumentModelJsonWriter extends ExtensibleEntityJsonWriter<Document
         super(ENTITY_TYPE, DocumentModel.class);
     }
 
+    /**
+     * Also resolves at once the references of the properties to fetch for all the documents. Only the written fields
+     * which have an object resolver and are fetched are loaded, the other properties are left to lazy loading.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public void prefetch(List<DocumentModel> docs) throws IOException {
+        super.prefetch(docs);
+        Set<String> schemas = ctx.getProperties();
+        if (docs.isEmpty() || schemas.isEmpty() || ctx.getFetched(ENTITY_TYPE).isEmpty()) {
+            return;
+        }
+        Writer<Property> writer = registry.getWriter(ctx, Property.class, APPLICATION_JSON_TYPE);
+        if (!(writer instanceof DocumentPropertyJsonWriter)) {
+            return;
+        }
+        DocumentPropertyJsonWriter propertyWriter = (DocumentPropertyJsonWriter) writer;
+        try (Closeable resource = ctx.wrap().controlDepth().open()) {
+            // the resolver context is the session of the document holding the property
+            Map<CoreSession, List<Property>> propertiesBySession = new LinkedHashMap<>();
+            for (DocumentModel doc : docs) {
+                CoreSession session = doc.getCoreSession();
+                if (session == null) {
+                    continue;
+                }
+                List<Property> properties = propertiesBySession.computeIfAbsent(session, k -> new ArrayList<>());
+                String[] docSchemas = schemas.contains(WILDCARD_VALUE) ? doc.getSchemas()
+                        : schemas.stream().filter(doc::hasSchema).toArray(String[]::new);
+                for (String schemaName : docSchemas) {
+                    Schema schema = schemaManager.getSchema(schemaName);
+                    String prefix = schema.getNamespace().prefix;
+                    if (prefix == null || prefix.length() == 0) {
+                        prefix = schemaName;
+                    }
+                    for (Field field : schema.getFields()) {
+                        String name = field.getName().getLocalName();
+                        String prefixedName = prefix + ":" + name;
+                        if (!mustWriteProperty(doc, schemaName, name)
+                                || !propertyWriter.mayFetch(field, prefixedName)) {
+                            continue;
+                        }
+                        Property property = doc.getProperty(prefixedName);
+                        if (!DocumentPropertyJsonWriter.skipProperty(ctx, property)) {
+                            properties.add(property);
+                        }
+                    }
+                }
+            }
+            for (Entry<CoreSession, List<Property>> entry : propertiesBySession.entrySet()) {
+                propertyWriter.prefetch(entry.getValue(), entry.getKey());
+            }
+        } catch (MaxDepthReachedException e) {
+            // do not load properties
+        }
+    }
+
     @Override
     protected void writeEntityBody(DocumentModel doc, JsonGenerator jg) throws IOException {
         if (doc.getSessionId() == null || doc.getId() == null || doc.getRef() == null) {
@@ -179,7 +242,8 @@ public class DocumentModelJsonWriter extends ExtensibleEntityJsonWriter<Document
         if (isVersion || isProxy) {
             jg.writeStringField("versionableId", doc.getVersionSeriesId());
         }
-        jg.writeStringField("changeToken", doc.getChangeToken());
+        // projected documents are listed read-only, don't fetch their change token
+        jg.writeStringField("changeToken", doc instanceof ProjectionDocumentModel ? null : doc.getChangeToken());
         jg.writeBooleanField("isTrashed", doc.getRef() != null && doc.isTrashed());
         jg.writeStringField("title", doc.getTitle());
         if (mustFetch("versionLabel")) {
@@ -259,6 +323,9 @@ public class DocumentModelJsonWriter extends ExtensibleEntityJsonWriter<Document
             }
             prefix = prefix + ":";
             for (Field field : schema.getFields()) {
+                if (!mustWriteProperty(doc, schemaName, field.getName().getLocalName())) {
+                    continue;
+                }
                 String prefixedName = prefix + field.getName().getLocalName();
                 Property property = doc.getProperty(prefixedName);
                 if (!DocumentPropertyJsonWriter.skipProperty(ctx, property)) {
@@ -270,6 +337,20 @@ public class DocumentModelJsonWriter extends ExtensibleEntityJsonWriter<Document
         }
     }
 
+    /**
+     * Checks whether a property of the document is written: a {@link ProjectionDocumentModel} only writes its
+     * projected properties, unless their schema has been loaded.
+     *
+     * @since 10.10-HF58
+     */
+    protected boolean mustWriteProperty(DocumentModel doc, String schemaName, String name) {
+        if (doc instanceof ProjectionDocumentModel) {
+            ProjectionDocumentModel projection = (ProjectionDocumentModel) doc;
+            return projection.isPrefetched(schemaName, name) || projection.isSchemaLoaded(schemaName);
+        }
+        return true;
+    }
+
     protected void withDocumentAttached(DocumentModel doc, ThrowableRunnable<IOException> runnable) throws IOException {
         String repositoryName = doc.getRepositoryName();
         CoreSession currentSession = ctx.getSession(doc).getSession();
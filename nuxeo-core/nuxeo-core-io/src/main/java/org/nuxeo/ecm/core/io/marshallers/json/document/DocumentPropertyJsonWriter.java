@@ -30,8 +30,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.commons.logging.Log;
@@ -50,8 +57,11 @@ import org.nuxeo.ecm.core.io.marshallers.json.enrichers.Enriched;
 import org.nuxeo.ecm.core.io.registry.MarshallingException;
 import org.nuxeo.ecm.core.io.registry.Writer;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
 import org.nuxeo.ecm.core.io.registry.context.WrappedContext;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
+import org.nuxeo.ecm.core.schema.types.ComplexType;
+import org.nuxeo.ecm.core.schema.types.Field;
 import org.nuxeo.ecm.core.schema.types.ListType;
 import org.nuxeo.ecm.core.schema.types.SimpleType;
 import org.nuxeo.ecm.core.schema.types.Type;
@@ -98,6 +108,13 @@ public class DocumentPropertyJsonWriter extends AbstractJsonWriter<Property> {
      */
     public static final String OMIT_PHANTOM_SECURED_PROPERTY = "omitPhantomSecuredProperty";
 
+    /**
+     * {@link RenderingContextCache} region holding the entities fetched through property resolvers.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String FETCH_REGION = "fetch";
+
     private static final Log log = LogFactory.getLog(DocumentPropertyJsonWriter.class);
 
     @Override
@@ -153,21 +170,11 @@ public class DocumentPropertyJsonWriter extends AbstractJsonWriter<Property> {
         }
         boolean fetched = false;
         if (resolver != null) {
-            String genericPropertyPath = path.replaceAll("/[0-9]*/", "/*/");
-            Set<String> fetchElements = ctx.getFetched(ENTITY_TYPE);
-            boolean fetch = false;
-            for (String fetchElement : fetchElements) {
-                if ("properties".equals(fetchElement) || path.startsWith(fetchElement)
-                        || genericPropertyPath.startsWith(fetchElement)) {
-                    fetch = true;
-                    break;
-                }
-            }
-            if (fetch) {
+            if (isFetched(path)) {
                 // use the current doc's session as the resolver context to fetch properties
                 DocumentModel doc = ctx.getParameter(ENTITY_TYPE);
                 CoreSession context = doc == null ? null : doc.getCoreSession();
-                Object object = resolver.fetch(value, context);
+                Object object = fetchReference(resolver, value, context);
                 if (object != null) {
                     try {
                         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -183,6 +190,136 @@ public class DocumentPropertyJsonWriter extends AbstractJsonWriter<Property> {
         return fetched;
     }
 
+    /**
+     * Resolves the given reference, the resolved entity is cached in the {@link RenderingContextCache} as the same
+     * references are usually fetched for all the documents of a list.
+     *
+     * @since 10.10-HF58
+     */
+    protected Object fetchReference(ObjectResolver resolver, Object value, CoreSession context) {
+        Object key = getFetchKey(resolver, value, context);
+        return RenderingContextCache.get(ctx).computeIfAbsent(FETCH_REGION, key, k -> resolver.fetch(value, context));
+    }
+
+    /**
+     * @since 10.10-HF58
+     */
+    protected Object getFetchKey(ObjectResolver resolver, Object value, CoreSession context) {
+        // resolvers check the permissions of the session user
+        return Arrays.asList(resolver.getName(), resolver.getParameters(),
+                context == null ? value : RenderingContextCache.getKey(context, value));
+    }
+
+    /**
+     * Checks whether the property at the given path has to be fetched, according to the {@code fetch.document}
+     * parameter.
+     *
+     * @since 10.10-HF58
+     */
+    protected boolean isFetched(String path) {
+        String genericPropertyPath = path.replaceAll("/[0-9]*/", "/*/");
+        Set<String> fetchElements = ctx.getFetched(ENTITY_TYPE);
+        for (String fetchElement : fetchElements) {
+            if ("properties".equals(fetchElement) || path.startsWith(fetchElement)
+                    || genericPropertyPath.startsWith(fetchElement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given schema field may hold references to fetch: the field or one of its sub-fields has an
+     * object resolver, and a property at or under the given path is fetched according to the {@code fetch.document}
+     * parameter.
+     * <p>
+     * Only the schema is looked at, so that the document properties don't need to be loaded.
+     *
+     * @param field the schema field
+     * @param path the prefixed name of the field
+     * @since 10.10-HF58
+     */
+    public boolean mayFetch(Field field, String path) {
+        if (!hasObjectResolver(field.getType())) {
+            return false;
+        }
+        for (String fetchElement : ctx.getFetched(ENTITY_TYPE)) {
+            if ("properties".equals(fetchElement) || path.startsWith(fetchElement)
+                    || fetchElement.startsWith(path + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected boolean hasObjectResolver(Type type) {
+        if (type.getObjectResolver() != null) {
+            return true;
+        } else if (type.isListType()) {
+            return hasObjectResolver(((ListType) type).getFieldType());
+        } else if (type.isComplexType()) {
+            return ((ComplexType) type).getFields().stream().map(Field::getType).anyMatch(this::hasObjectResolver);
+        }
+        return false;
+    }
+
+    /**
+     * Resolves at once, for each resolver, all the references to fetch found in the given properties. The resolved
+     * entities are put in the {@link RenderingContextCache} for the subsequent calls to {@link #write}.
+     *
+     * @param properties the properties which will be written
+     * @param context the session of the documents holding the properties
+     * @since 10.10-HF58
+     */
+    public void prefetch(Collection<Property> properties, CoreSession context) {
+        Map<ObjectResolver, Set<Object>> references = new LinkedHashMap<>();
+        for (Property property : properties) {
+            collectReferences(property, references);
+        }
+        RenderingContextCache cache = RenderingContextCache.get(ctx);
+        for (Entry<ObjectResolver, Set<Object>> entry : references.entrySet()) {
+            ObjectResolver resolver = entry.getKey();
+            List<Object> values = entry.getValue()
+                                       .stream()
+                                       .filter(value -> !cache.contains(FETCH_REGION,
+                                               getFetchKey(resolver, value, context)))
+                                       .collect(Collectors.toList());
+            if (values.isEmpty()) {
+                continue;
+            }
+            resolver.fetchAll(values, context)
+                    .forEach((value, object) -> cache.put(FETCH_REGION, getFetchKey(resolver, value, context),
+                            object));
+        }
+    }
+
+    protected void collectReferences(Property prop, Map<ObjectResolver, Set<Object>> references) {
+        if (prop.isScalar()) {
+            collectReference(prop.getType().getObjectResolver(), prop.getValue(), prop.getXPath(), references);
+        } else if (prop instanceof ArrayProperty) {
+            Object[] values = (Object[]) prop.getValue();
+            ObjectResolver resolver = ((ListType) prop.getType()).getFieldType().getObjectResolver();
+            if (values != null && resolver != null) {
+                for (Object value : values) {
+                    collectReference(resolver, value, prop.getXPath(), references);
+                }
+            }
+        } else if (prop.isList() || (prop.isComplex() && !(prop instanceof BlobProperty))) {
+            for (Property p : prop.getChildren()) {
+                if (!skipProperty(ctx, p)) {
+                    collectReferences(p, references);
+                }
+            }
+        }
+    }
+
+    protected void collectReference(ObjectResolver resolver, Object value, String path,
+            Map<ObjectResolver, Set<Object>> references) {
+        if (resolver != null && value != null && isFetched(path)) {
+            references.computeIfAbsent(resolver, k -> new LinkedHashSet<>()).add(value);
+        }
+    }
+
     protected void writeListProperty(JsonGenerator jg, Property prop) throws IOException {
         jg.writeStartArray();
         if (prop instanceof ArrayProperty) {
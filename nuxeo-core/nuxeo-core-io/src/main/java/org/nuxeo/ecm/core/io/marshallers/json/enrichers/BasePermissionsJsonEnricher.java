@@ -27,11 +27,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.IdRef;
 import org.nuxeo.ecm.core.api.security.PermissionProvider;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 
 import org.nuxeo.runtime.api.Framework;
@@ -66,7 +70,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
  * @since 7.2
  */
 @Setup(mode = SINGLETON, priority = REFERENCE)
-public class BasePermissionsJsonEnricher extends AbstractJsonEnricher<DocumentModel> {
+public class BasePermissionsJsonEnricher extends AbstractJsonEnricher<DocumentModel>
+        implements BatchJsonEnricher<DocumentModel> {
 
     public static final String NAME = "permissions";
 
@@ -77,22 +82,54 @@ public class BasePermissionsJsonEnricher extends AbstractJsonEnricher<DocumentMo
     @Override
     public void write(JsonGenerator jg, DocumentModel document) throws IOException {
         try (SessionWrapper wrapper = ctx.getSession(document)) {
-            if (!wrapper.getSession().exists(document.getRef())) {
+            CoreSession session = wrapper.getSession();
+            RenderingContextCache cache = RenderingContextCache.get(ctx);
+            if (!cache.exists(session, document)) {
                 return;
             }
+            Collection<String> permissions = cache.computeIfAbsent(NAME, session, document,
+                    doc -> getPermissionsInSession(doc, session));
             jg.writeArrayFieldStart(NAME);
-            for (String permission : getPermissionsInSession(document, wrapper.getSession())) {
+            for (String permission : permissions) {
                 jg.writeString(permission);
             }
             jg.writeEndArray();
         }
     }
 
+    /**
+     * Checks the granted permissions of all the documents sharing a session in one batch.
+     */
+    @Override
+    public void prefetch(List<DocumentModel> documents) throws IOException {
+        RenderingContextCache cache = RenderingContextCache.get(ctx);
+        RenderingContextCache.forEachSession(ctx, documents, (session, docs) -> {
+            cache.prefetchExists(session, docs);
+            List<DocumentRef> docRefs = new ArrayList<>();
+            for (DocumentModel doc : docs) {
+                String id = doc.getId();
+                if (id != null && !cache.contains(NAME, RenderingContextCache.getKey(session, id))) {
+                    docRefs.add(new IdRef(id));
+                }
+            }
+            if (docRefs.isEmpty()) {
+                return;
+            }
+            Map<DocumentRef, Collection<String>> granted = session.filterGrantedPermissions(session.getPrincipal(),
+                    docRefs, getPermissions());
+            granted.forEach((docRef, permissions) -> cache.put(NAME,
+                    RenderingContextCache.getKey(session, docRef.reference()), permissions));
+        });
+    }
+
     private Collection<String> getPermissionsInSession(DocumentModel doc, CoreSession session) {
+        return session.filterGrantedPermissions(session.getPrincipal(), doc.getRef(), getPermissions());
+    }
+
+    private List<String> getPermissions() {
         PermissionProvider permissionProvider = Framework.getService(PermissionProvider.class);
         // Convert into real list to avoid UnsupportedOperationException if permissions are added or removed
-        List<String> permissions = new ArrayList<String>(Arrays.asList(permissionProvider.getPermissions()));
-        return session.filterGrantedPermissions(session.getPrincipal(), doc.getRef(), permissions);
+        return new ArrayList<String>(Arrays.asList(permissionProvider.getPermissions()));
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.io.marshallers.json.enrichers;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.nuxeo.ecm.core.io.marshallers.json.DefaultListJsonWriter;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
+
+/**
+ * An enricher able to prefetch the data it needs for a whole list of entities.
+ * <p>
+ * When a list is marshalled by a {@link DefaultListJsonWriter}, {@link #prefetch(List)} is called once on each
+ * activated enricher implementing this interface, before the entities are written. Implementations typically load
+ * their data in one query and store it in the {@link RenderingContextCache} where
+ * {@link AbstractJsonEnricher#write(com.fasterxml.jackson.core.JsonGenerator, Object)} will find it.
+ * </p>
+ *
+ * @param <EntityType> The Java type to enrich.
+ * @since 10.10-HF58
+ */
+public interface BatchJsonEnricher<EntityType> {
+
+    /**
+     * Prefetches the data needed to enrich the given entities.
+     *
+     * @param entities the entities which are about to be written
+     */
+    void prefetch(List<EntityType> entities) throws IOException;
+
+}
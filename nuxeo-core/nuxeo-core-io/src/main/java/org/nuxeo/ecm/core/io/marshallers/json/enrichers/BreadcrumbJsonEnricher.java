@@ -19,16 +19,28 @@
 
 package org.nuxeo.ecm.core.io.marshallers.json.enrichers;
 
+import static org.nuxeo.ecm.core.api.security.SecurityConstants.READ;
 import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
 import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
 import org.nuxeo.ecm.core.api.impl.DocumentModelListImpl;
 import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelListJsonWriter;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -60,7 +72,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
  * @since 7.2
  */
 @Setup(mode = SINGLETON, priority = REFERENCE)
-public class BreadcrumbJsonEnricher extends AbstractJsonEnricher<DocumentModel> {
+public class BreadcrumbJsonEnricher extends AbstractJsonEnricher<DocumentModel>
+        implements BatchJsonEnricher<DocumentModel> {
 
     public static final String NAME = "breadcrumb";
 
@@ -72,14 +85,102 @@ public class BreadcrumbJsonEnricher extends AbstractJsonEnricher<DocumentModel>
     public void write(JsonGenerator jg, DocumentModel document) throws IOException {
         List<DocumentModel> parentDocuments = null;
         try (SessionWrapper wrapper = ctx.getSession(document)) {
-            if (!wrapper.getSession().exists(document.getRef())) {
+            CoreSession session = wrapper.getSession();
+            RenderingContextCache cache = RenderingContextCache.get(ctx);
+            if (!cache.exists(session, document)) {
                 return;
             }
-            parentDocuments = wrapper.getSession().getParentDocuments(document.getRef());
+            parentDocuments = cache.computeIfAbsent(NAME, session, document,
+                    doc -> session.getParentDocuments(doc.getRef()));
         }
         DocumentModelListImpl documentList = new DocumentModelListImpl(parentDocuments);
         jg.writeFieldName(NAME);
         writeEntity(documentList, jg);
     }
 
+    /**
+     * Fetches the breadcrumbs of all the documents sharing a session level by level: the parents of a level are fetched
+     * in batches of {@link RenderingContextCache#QUERY_BATCH_SIZE}, whatever the number of documents.
+     */
+    @Override
+    public void prefetch(List<DocumentModel> documents) throws IOException {
+        RenderingContextCache cache = RenderingContextCache.get(ctx);
+        RenderingContextCache.forEachSession(ctx, documents, (session, docs) -> {
+            cache.prefetchExists(session, docs);
+            List<String> ids = new ArrayList<>();
+            for (DocumentModel doc : docs) {
+                String id = doc.getId();
+                if (id != null && !cache.contains(NAME, RenderingContextCache.getKey(session, id))
+                        && cache.exists(session, doc)) {
+                    ids.add(id);
+                }
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            Map<String, DocumentModel> readable = getReadableAncestors(session, ids);
+            for (String id : ids) {
+                cache.put(NAME, RenderingContextCache.getKey(session, id), getParentDocuments(readable, id));
+            }
+        });
+    }
+
+    /**
+     * Gets the given documents and their ancestors the current user can read, by id. The root is excluded.
+     */
+    protected Map<String, DocumentModel> getReadableAncestors(CoreSession session, Collection<String> ids) {
+        Map<String, DocumentModel> readable = new HashMap<>();
+        Set<String> requested = new HashSet<>(ids);
+        Set<String> level = new HashSet<>(ids);
+        while (!level.isEmpty()) {
+            Set<String> nextLevel = new HashSet<>();
+            for (List<String> batch : RenderingContextCache.partition(level)) {
+                for (DocumentModel doc : getReadableDocuments(session, batch)) {
+                    if ("/".equals(doc.getPathAsString())) {
+                        continue;
+                    }
+                    readable.put(doc.getId(), doc);
+                    DocumentRef parentRef = doc.getParentRef();
+                    if (parentRef != null && requested.add(parentRef.toString())) {
+                        nextLevel.add(parentRef.toString());
+                    }
+                }
+            }
+            level = nextLevel;
+        }
+        return readable;
+    }
+
+    /**
+     * Gets the documents with the given ids the current user can read, as {@link CoreSession#getParentDocuments}
+     * only returns these ones.
+     */
+    protected List<DocumentModel> getReadableDocuments(CoreSession session, List<String> ids) {
+        String query = "SELECT * FROM Document WHERE " + RenderingContextCache.getIdsClause(ids);
+        List<DocumentModel> docs = session.query(query);
+        List<DocumentRef> docRefs = docs.stream().map(DocumentModel::getRef).collect(Collectors.toList());
+        // the query only checks the BROWSE permission
+        Map<DocumentRef, Collection<String>> granted = session.filterGrantedPermissions(session.getPrincipal(),
+                docRefs, Collections.singletonList(READ));
+        return docs.stream()
+                   .filter(doc -> granted.getOrDefault(doc.getRef(), Collections.emptyList()).contains(READ))
+                   .collect(Collectors.toList());
+    }
+
+    /**
+     * Same as {@link CoreSession#getParentDocuments(DocumentRef)}, but from the readable documents fetched by
+     * {@link #getReadableAncestors(CoreSession, Collection)}.
+     */
+    protected List<DocumentModel> getParentDocuments(Map<String, DocumentModel> readable, String id) {
+        List<DocumentModel> parentDocuments = new ArrayList<>();
+        DocumentModel doc = readable.get(id);
+        while (doc != null) {
+            parentDocuments.add(doc);
+            DocumentRef parentRef = doc.getParentRef();
+            doc = parentRef == null ? null : readable.get(parentRef.toString());
+        }
+        Collections.reverse(parentDocuments);
+        return parentDocuments;
+    }
+
 }
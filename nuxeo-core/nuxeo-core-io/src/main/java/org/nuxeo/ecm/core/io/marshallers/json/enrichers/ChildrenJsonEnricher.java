@@ -24,10 +24,12 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.IOException;
 
+import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentModelList;
 import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelListJsonWriter;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -71,7 +73,9 @@ public class ChildrenJsonEnricher extends AbstractJsonEnricher<DocumentModel> {
     public void write(JsonGenerator jg, DocumentModel document) throws IOException {
         DocumentModelList children = null;
         try (SessionWrapper wrapper = ctx.getSession(document)) {
-            children = wrapper.getSession().getChildren(document.getRef());
+            CoreSession session = wrapper.getSession();
+            children = RenderingContextCache.get(ctx).computeIfAbsent(NAME, session, document,
+                    doc -> session.getChildren(doc.getRef()));
         }
         jg.writeFieldName(NAME);
         writeEntity(children, jg);
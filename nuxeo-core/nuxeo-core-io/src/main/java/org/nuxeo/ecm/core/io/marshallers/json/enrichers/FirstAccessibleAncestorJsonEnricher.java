@@ -22,10 +22,13 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
 import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.IOException;
+import java.util.List;
 
+import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.trash.TrashService;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 import org.nuxeo.runtime.api.Framework;
 
@@ -39,7 +42,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
  * @since 10.1
  */
 @Setup(mode = SINGLETON, priority = REFERENCE)
-public class FirstAccessibleAncestorJsonEnricher extends AbstractJsonEnricher<DocumentModel> {
+public class FirstAccessibleAncestorJsonEnricher extends AbstractJsonEnricher<DocumentModel>
+        implements BatchJsonEnricher<DocumentModel> {
 
     public static final String NAME = "firstAccessibleAncestor";
 
@@ -50,15 +54,24 @@ public class FirstAccessibleAncestorJsonEnricher extends AbstractJsonEnricher<Do
     @Override
     public void write(JsonGenerator jg, DocumentModel document) throws IOException {
         try (SessionWrapper wrapper = ctx.getSession(document)) {
-            if (!wrapper.getSession().exists(document.getRef())) {
+            CoreSession session = wrapper.getSession();
+            RenderingContextCache cache = RenderingContextCache.get(ctx);
+            if (!cache.exists(session, document)) {
                 return;
             }
             TrashService trashService = Framework.getService(TrashService.class);
-            DocumentModel above = trashService.getAboveDocument(document, wrapper.getSession().getPrincipal());
+            DocumentModel above = cache.computeIfAbsent(NAME, session, document,
+                    doc -> trashService.getAboveDocument(doc, session.getPrincipal()));
             if (above != null) {
                 writeEntityField(NAME, above, jg);
             }
         }
     }
 
+    @Override
+    public void prefetch(List<DocumentModel> documents) throws IOException {
+        RenderingContextCache cache = RenderingContextCache.get(ctx);
+        RenderingContextCache.forEachSession(ctx, documents, cache::prefetchExists);
+    }
+
 }
@@ -24,8 +24,10 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.IOException;
 
+import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 import org.nuxeo.ecm.core.query.sql.NXQL;
 
@@ -50,13 +52,19 @@ public class HasFolderishChildJsonEnricher extends AbstractJsonEnricher<Document
             return;
         }
         try (SessionWrapper wrapper = ctx.getSession(document)) {
-            String fetchFolderishChildQuery = "SELECT * FROM Document WHERE ecm:mixinType = 'Folderish'"
-                    + " AND ecm:mixinType != 'HiddenInNavigation' AND ecm:isTrashed = 0"
-                    + " AND ecm:parentId = " + NXQL.escapeString(document.getId());
-            // Limit result set to 1 as we just want to know if there's at least one Folderish child
-            boolean hasChildren = !wrapper.getSession().queryProjection(fetchFolderishChildQuery, 1, 0).isEmpty();
-            jg.writeBooleanField(NAME, hasChildren);
+            CoreSession session = wrapper.getSession();
+            Boolean hasChildren = RenderingContextCache.get(ctx).computeIfAbsent(NAME, session, document,
+                    doc -> Boolean.valueOf(hasFolderishChild(session, doc)));
+            jg.writeBooleanField(NAME, hasChildren.booleanValue());
         }
     }
 
+    protected boolean hasFolderishChild(CoreSession session, DocumentModel document) {
+        String fetchFolderishChildQuery = "SELECT * FROM Document WHERE ecm:mixinType = 'Folderish'"
+                + " AND ecm:mixinType != 'HiddenInNavigation' AND ecm:isTrashed = 0"
+                + " AND ecm:parentId = " + NXQL.escapeString(document.getId());
+        // Limit result set to 1 as we just want to know if there's at least one Folderish child
+        return !session.queryProjection(fetchFolderishChildQuery, 1, 0).isEmpty();
+    }
+
 }
@@ -89,4 +89,11 @@ public interface MarshallingConstants {
      */
     String DEPTH_CONTROL_KEY_PREFIX = "_DepthControlKey_";
 
+    /**
+     * Key used to store the {@link org.nuxeo.ecm.core.io.registry.context.RenderingContextCache} in the context.
+     *
+     * @since 10.10-HF58
+     */
+    String RENDERING_CONTEXT_CACHE = "_RenderingContextCache";
+
 }
@@ -0,0 +1,255 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.io.registry.context;
+
+import static org.nuxeo.ecm.core.io.registry.MarshallingConstants.RENDERING_CONTEXT_CACHE;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.PartialList;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+
+/**
+ * A cache scoped to a {@link RenderingContext}, used by marshallers and enrichers to avoid fetching the same data
+ * several times while rendering a single response (typically a list of documents sharing the same parent).
+ * <p>
+ * Values are stored by region and key. A region groups values of the same nature, for instance document existence,
+ * parent documents or granted permissions. Loaded {@code null} values are cached too.
+ * </p>
+ * <p>
+ * The cache lives as long as the {@link RenderingContext} it is attached to, so it must only hold data which is not
+ * expected to change during the rendering.
+ * </p>
+ *
+ * @since 10.10-HF58
+ */
+public class RenderingContextCache {
+
+    /**
+     * Region holding the result of {@link CoreSession#exists(org.nuxeo.ecm.core.api.DocumentRef)} by document id.
+     */
+    public static final String EXISTS_REGION = "exists";
+
+    /**
+     * Maximum number of ids in the {@code IN} clause of a prefetch query, databases limiting the number of values or
+     * parameters of a query.
+     */
+    public static final int QUERY_BATCH_SIZE = 100;
+
+    protected static final Object NULL = new Object();
+
+    protected final Map<String, Map<Object, Object>> regions = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the cache attached to the given {@link RenderingContext}, creating it if needed.
+     *
+     * @param ctx the rendering context
+     * @return the cache attached to the context
+     */
+    public static RenderingContextCache get(RenderingContext ctx) {
+        Object cache = ctx.getParameter(RENDERING_CONTEXT_CACHE);
+        if (cache instanceof RenderingContextCache) {
+            return (RenderingContextCache) cache;
+        }
+        RenderingContextCache newCache = new RenderingContextCache();
+        ctx.setParameterValues(RENDERING_CONTEXT_CACHE, newCache);
+        return newCache;
+    }
+
+    protected Map<Object, Object> getRegion(String region) {
+        return regions.computeIfAbsent(region, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Gets the value cached for the given key, or loads it with the given loader and caches it.
+     * <p>
+     * The loader may itself use this cache.
+     *
+     * @param region the cache region
+     * @param key the key in the region
+     * @param loader the function computing the value if it's not cached yet
+     * @return the cached or loaded value, may be {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> V computeIfAbsent(String region, K key, Function<K, V> loader) {
+        Map<Object, Object> values = getRegion(region);
+        Object value = values.get(key);
+        if (value == null) {
+            // don't use Map#computeIfAbsent as the loader may re-enter the cache
+            value = loader.apply(key);
+            values.putIfAbsent(key, value == null ? NULL : value);
+        }
+        return value == NULL ? null : (V) value;
+    }
+
+    /**
+     * Gets the value cached for the given document, or loads it with the given loader and caches it.
+     * <p>
+     * Values are cached by repository and document id, the loader is always called for documents without id.
+     *
+     * @param region the cache region
+     * @param session the session used to load the value
+     * @param document the document
+     * @param loader the function computing the value if it's not cached yet
+     * @return the cached or loaded value, may be {@code null}
+     */
+    public <V> V computeIfAbsent(String region, CoreSession session, DocumentModel document,
+            Function<DocumentModel, V> loader) {
+        if (document.getId() == null) {
+            return loader.apply(document);
+        }
+        return computeIfAbsent(region, getKey(session, document.getId()), k -> loader.apply(document));
+    }
+
+    /**
+     * Puts a value in the cache, replacing any existing one.
+     */
+    public <K, V> void put(String region, K key, V value) {
+        getRegion(region).put(key, value == null ? NULL : value);
+    }
+
+    /**
+     * Checks whether a value, possibly {@code null}, is cached for the given key.
+     */
+    public boolean contains(String region, Object key) {
+        Map<Object, Object> values = regions.get(region);
+        return values != null && values.containsKey(key);
+    }
+
+    /**
+     * Cached version of {@link CoreSession#exists(org.nuxeo.ecm.core.api.DocumentRef)}.
+     */
+    public boolean exists(CoreSession session, DocumentModel document) {
+        Boolean exists = computeIfAbsent(EXISTS_REGION, session, document,
+                doc -> Boolean.valueOf(session.exists(doc.getRef())));
+        return exists.booleanValue();
+    }
+
+    /**
+     * Checks the existence of all the given documents in one query and caches the result for
+     * {@link #exists(CoreSession, DocumentModel)}.
+     * <p>
+     * As for {@link CoreSession#exists(org.nuxeo.ecm.core.api.DocumentRef)}, a document is considered as existing if
+     * the current user can browse it.
+     */
+    public void prefetchExists(CoreSession session, Collection<DocumentModel> documents) {
+        String repositoryName = session.getRepositoryName();
+        Set<String> ids = documents.stream()
+                                   .filter(doc -> repositoryName.equals(doc.getRepositoryName()))
+                                   .map(DocumentModel::getId)
+                                   .filter(Objects::nonNull)
+                                   .filter(id -> !contains(EXISTS_REGION, getKey(session, id)))
+                                   .collect(Collectors.toSet());
+        for (List<String> batch : partition(ids)) {
+            String query = "SELECT " + NXQL.ECM_UUID + " FROM Document WHERE " + getIdsClause(batch);
+            PartialList<Map<String, Serializable>> result = session.queryProjection(query, 0, 0);
+            Set<String> existing = result.stream()
+                                         .map(m -> (String) m.get(NXQL.ECM_UUID))
+                                         .collect(Collectors.toSet());
+            for (String id : batch) {
+                put(EXISTS_REGION, getKey(session, id), Boolean.valueOf(existing.contains(id)));
+            }
+        }
+    }
+
+    /**
+     * Splits the given ids into lists of at most {@link #QUERY_BATCH_SIZE} ids, to be queried in one batch each.
+     */
+    public static List<List<String>> partition(Collection<String> ids) {
+        List<String> list = new ArrayList<>(ids);
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += QUERY_BATCH_SIZE) {
+            batches.add(list.subList(i, Math.min(i + QUERY_BATCH_SIZE, list.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Builds the NXQL clause matching the documents with the given ids.
+     */
+    public static String getIdsClause(Collection<String> ids) {
+        return NXQL.ECM_UUID + " IN "
+                + ids.stream().map(NXQL::escapeString).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    /**
+     * Calls the given action for each group of documents sharing the same session, the session being the one
+     * {@link RenderingContext#getSession(DocumentModel)} returns for the documents of the group.
+     *
+     * @param ctx the rendering context
+     * @param documents the documents
+     * @param action the action to call with a session and the documents to process with it
+     */
+    public static void forEachSession(RenderingContext ctx, List<DocumentModel> documents,
+            BiConsumer<CoreSession, List<DocumentModel>> action) throws IOException {
+        Map<Object, List<DocumentModel>> groups = new LinkedHashMap<>();
+        for (DocumentModel document : documents) {
+            groups.computeIfAbsent(getSessionKey(document), k -> new ArrayList<>()).add(document);
+        }
+        for (List<DocumentModel> group : groups.values()) {
+            try (SessionWrapper wrapper = ctx.getSession(group.get(0))) {
+                action.accept(wrapper.getSession(), group);
+            }
+        }
+    }
+
+    /**
+     * Gets the document session if available, otherwise its repository name.
+     */
+    protected static Object getSessionKey(DocumentModel document) {
+        try {
+            CoreSession session = document.getCoreSession();
+            if (session != null) {
+                return session;
+            }
+        } catch (UnsupportedOperationException e) {
+            // do nothing
+        }
+        try {
+            return document.getRepositoryName();
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a cache key for an object related to a repository and seen by a user, so that documents from several
+     * repositories or sessions can be rendered with the same context.
+     */
+    public static Object getKey(CoreSession session, Object key) {
+        return Arrays.asList(session.getRepositoryName(), session.getPrincipal().getName(), key);
+    }
+
+}
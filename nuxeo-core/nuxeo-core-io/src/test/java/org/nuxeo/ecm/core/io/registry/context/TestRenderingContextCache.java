@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+
+package org.nuxeo.ecm.core.io.registry.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @since 10.10-HF58
+ */
+public class TestRenderingContextCache {
+
+    private static final String REGION = "test";
+
+    @Test
+    public void sameCacheForSameContext() throws Exception {
+        RenderingContext ctx = RenderingContext.CtxBuilder.get();
+        RenderingContextCache cache = RenderingContextCache.get(ctx);
+        assertSame(cache, RenderingContextCache.get(ctx));
+        try (Closeable resource = ctx.wrap().with("entity", "value").open()) {
+            assertSame(cache, RenderingContextCache.get(ctx));
+        }
+    }
+
+    @Test
+    public void differentCacheForDifferentContexts() {
+        RenderingContextCache cache1 = RenderingContextCache.get(RenderingContext.CtxBuilder.get());
+        RenderingContextCache cache2 = RenderingContextCache.get(RenderingContext.CtxBuilder.get());
+        assertTrue(cache1 != cache2);
+    }
+
+    @Test
+    public void valuesAreLoadedOnce() {
+        RenderingContextCache cache = RenderingContextCache.get(RenderingContext.CtxBuilder.get());
+        AtomicInteger loads = new AtomicInteger();
+        assertFalse(cache.contains(REGION, "key"));
+        assertEquals("value", cache.computeIfAbsent(REGION, "key", k -> {
+            loads.incrementAndGet();
+            return "value";
+        }));
+        assertEquals("value", cache.computeIfAbsent(REGION, "key", k -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, loads.get());
+        assertTrue(cache.contains(REGION, "key"));
+        assertFalse(cache.contains("other", "key"));
+    }
+
+    @Test
+    public void nullValuesAreCached() {
+        RenderingContextCache cache = RenderingContextCache.get(RenderingContext.CtxBuilder.get());
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertNull(cache.computeIfAbsent(REGION, "key", k -> {
+                loads.incrementAndGet();
+                return null;
+            }));
+        }
+        assertEquals(1, loads.get());
+        assertTrue(cache.contains(REGION, "key"));
+        cache.put(REGION, "key", "value");
+        assertEquals("value", cache.computeIfAbsent(REGION, "key", k -> null));
+    }
+
+}
@@ -78,6 +78,21 @@ public interface PageProvider<T> extends Serializable {
      */
     public static final String SKIP_AGGREGATES_PROP = "skipAggregates";
 
+    /**
+     * Page provider property holding the cursor of the page to fetch, used when no cursor is set through
+     * {@link #setCurrentPageCursor(String)}.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String CURRENT_PAGE_CURSOR_PROP = "currentPageCursor";
+
+    /**
+     * Cursor of the first page, to start a keyset pagination.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String FIRST_PAGE_CURSOR = "*";
+
     /**
      * Returns the provider identifier
      */
@@ -473,4 +488,38 @@ public interface PageProvider<T> extends Serializable {
      * @since 9.3
      */
     long getResultsCountLimit();
+
+    /**
+     * Sets the cursor of the page to fetch, to use keyset pagination: instead of skipping the entries of the previous
+     * pages, the page is fetched by seeking after the sort values of the last entry of the previous page.
+     * <p>
+     * {@link #FIRST_PAGE_CURSOR} fetches the first page, following pages are fetched with the cursor returned by
+     * {@link #getNextPageCursor()}. A {@code null} cursor goes back to offset pagination.
+     *
+     * @throws UnsupportedOperationException if this provider does not support keyset pagination
+     * @since 10.10-HF58
+     */
+    default void setCurrentPageCursor(String cursor) {
+        throw new UnsupportedOperationException("Keyset pagination is not supported by page provider: " + getName());
+    }
+
+    /**
+     * Returns the cursor of the current page, or {@code null} if keyset pagination is not used.
+     *
+     * @since 10.10-HF58
+     */
+    default String getCurrentPageCursor() {
+        return null;
+    }
+
+    /**
+     * Returns the cursor of the page following the current one, or {@code null} if keyset pagination is not used or if
+     * there is no next page.
+     *
+     * @since 10.10-HF58
+     */
+    default String getNextPageCursor() {
+        return null;
+    }
+
 }
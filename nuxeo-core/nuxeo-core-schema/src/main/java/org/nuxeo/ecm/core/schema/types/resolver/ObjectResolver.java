@@ -21,6 +21,8 @@ package org.nuxeo.ecm.core.schema.types.resolver;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -126,6 +128,27 @@ public interface ObjectResolver extends Serializable {
         return fetch(value);
     }
 
+    /**
+     * Provides the entities referenced by several values, in the given context.
+     * <p>
+     * Resolvers able to fetch several entities at once should override this method, the default implementation calls
+     * {@link #fetch(Object, Object)} for each value.
+     *
+     * @param values The references.
+     * @param context A resolver-specific context allowing resolution of the values.
+     * @return The referenced entities by reference, in the order of the given values, with a null entity for values
+     *         matching no entity.
+     * @throws IllegalStateException If this resolver has not been configured.
+     * @since 10.10-HF58
+     */
+    default Map<Object, Object> fetchAll(Collection<?> values, Object context) {
+        Map<Object, Object> entities = new LinkedHashMap<>();
+        for (Object value : values) {
+            entities.put(value, fetch(value, context));
+        }
+        return entities;
+    }
+
     /**
      * Provides the entity referenced by a value, return the entity as expected type.
      *
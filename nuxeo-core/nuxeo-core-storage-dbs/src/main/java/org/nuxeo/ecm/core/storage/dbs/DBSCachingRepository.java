@@ -224,6 +224,17 @@ public class DBSCachingRepository implements DBSRepository {
         invalidate(id);
     }
 
+    @Override
+    public Stream<State> getChildren(String parentId, Set<String> keys) {
+        return repository.getChildren(parentId, keys);
+    }
+
+    @Override
+    public void updateStates(Collection<String> ids, String key, Serializable value) {
+        repository.updateStates(ids, key, value);
+        invalidateAll(ids);
+    }
+
     @Override
     public void deleteStates(Set<String> ids) {
         repository.deleteStates(ids);
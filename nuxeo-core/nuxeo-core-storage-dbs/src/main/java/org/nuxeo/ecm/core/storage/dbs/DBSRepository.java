@@ -18,8 +18,11 @@
  */
 package org.nuxeo.ecm.core.storage.dbs;
 
+import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_PARENT_ID;
+
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -248,6 +251,38 @@ public interface DBSRepository extends Repository, LockManager {
         return getDescendants(id, keys);
     }
 
+    /**
+     * Gets the children of a given parent document, with only the given keys (and the id) filled.
+     *
+     * @param parentId the parent document id
+     * @param keys the keys to fetch
+     * @return a stream of partial states for the children of the parent document
+     * @since 10.10-HF58
+     */
+    default Stream<State> getChildren(String parentId, Set<String> keys) {
+        // default implementation fetches full states, override for a more efficient implementation
+        return queryKeyValue(KEY_PARENT_ID, parentId, Collections.emptySet()).stream();
+    }
+
+    /**
+     * Sets the same value on several documents.
+     * <p>
+     * This bypasses the transient space, callers are responsible for saving the session before calling it.
+     *
+     * @param ids the ids of the documents to update
+     * @param key the key to update
+     * @param value the value to set
+     * @since 10.10-HF58
+     */
+    default void updateStates(Collection<String> ids, String key, Serializable value) {
+        // default implementation updates documents one by one, override for a more efficient implementation
+        for (String id : ids) {
+            StateDiff diff = new StateDiff();
+            diff.put(key, value);
+            updateState(id, diff, null);
+        }
+    }
+
     /**
      * Queries the repository to check if there are documents having key = value.
      *
@@ -1316,6 +1316,11 @@ public class DBSSession extends BaseSession {
         transaction.updateReadACLs(docIds);
     }
 
+    @Override
+    public long updateInheritedReadACLs(String id) {
+        return transaction.updateInheritedReadACLs(id);
+    }
+
     @Override
     public boolean isNegativeAclAllowed() {
         return false;
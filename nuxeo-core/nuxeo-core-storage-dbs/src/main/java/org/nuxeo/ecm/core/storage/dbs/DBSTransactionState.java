@@ -51,13 +51,18 @@ import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_PROXY_VERSION_SERIE
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_READ_ACL;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_SYS_CHANGE_TOKEN;
 import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_VERSION_SERIES_ID;
+import static org.nuxeo.ecm.core.storage.dbs.action.ReadAclRegionScroll.PARAM_REPOSITORY;
+import static org.nuxeo.ecm.core.storage.dbs.action.ReadAclRegionScroll.SCROLL_NAME;
+import static org.nuxeo.ecm.core.storage.dbs.action.UpdateReadAclRegionsAction.UPDATE_READ_ACL_REGIONS_ACTION;
 import static org.nuxeo.ecm.core.storage.dbs.action.UpdateReadAclsAction.UPDATE_READ_ACLS_ACTION;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -67,6 +72,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
@@ -87,6 +93,7 @@ import org.nuxeo.ecm.core.model.BaseSession;
 import org.nuxeo.ecm.core.model.BaseSession.VersionAclMode;
 import org.nuxeo.ecm.core.query.QueryFilter;
 import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.schema.DocumentType;
 import org.nuxeo.ecm.core.schema.SchemaManager;
 import org.nuxeo.ecm.core.schema.types.Schema;
 import org.nuxeo.ecm.core.security.SecurityService;
@@ -124,6 +131,13 @@ public class DBSTransactionState {
     protected static final Set<String> READ_ACL_RECURSION_KEYS = new HashSet<>(
             Arrays.asList(KEY_READ_ACL, KEY_ACP, KEY_IS_VERSION, KEY_VERSION_SERIES_ID, KEY_PARENT_ID));
 
+    /** Keys used when walking a region of documents inheriting the same Read ACLs. */
+    protected static final Set<String> READ_ACL_REGION_KEYS = new HashSet<>(
+            Arrays.asList(KEY_READ_ACL, KEY_ACP, KEY_PRIMARY_TYPE));
+
+    /** Number of documents updated at once when walking a region of documents inheriting the same Read ACLs. */
+    protected static final int READ_ACL_REGION_BATCH_SIZE = 500;
+
     public static final String READ_ACL_ASYNC_ENABLED_PROPERTY = "nuxeo.core.readacl.async.enabled";
 
     public static final String READ_ACL_ASYNC_ENABLED_DEFAULT = "true";
@@ -139,6 +153,14 @@ public class DBSTransactionState {
      */
     public static final String UPDATE_READ_ACL_BAF_IMPL_PROPERTY = "nuxeo.core.readacl.impl.baf";
 
+    /**
+     * Set this property to true to update asynchronously the Read ACLs by regions of documents inheriting the same
+     * Read ACLs, instead of document by document.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String UPDATE_READ_ACL_REGIONS_PROPERTY = "nuxeo.core.readacl.impl.regions";
+
     protected final DBSRepository repository;
 
     protected final DBSSession session;
@@ -564,7 +586,15 @@ public class DBSTransactionState {
             }
 
             nxql = String.format("SELECT ecm:uuid FROM Document WHERE ecm:ancestorId = '%s'", id);
-            if (Framework.isBooleanPropertyFalse(UPDATE_READ_ACL_BAF_IMPL_PROPERTY)) {
+            if (Framework.isBooleanPropertyTrue(UPDATE_READ_ACL_REGIONS_PROPERTY)) {
+                // bulk action to do the whole tree, computing the Read ACLs once per region
+                BulkService service = Framework.getService(BulkService.class);
+                String repositoryName = session.getRepositoryName();
+                BulkCommand.Builder builder = new BulkCommand.Builder(UPDATE_READ_ACL_REGIONS_ACTION, id);
+                builder.user(SYSTEM_USERNAME).repository(repositoryName).useGenericScroller().scroller(SCROLL_NAME);
+                builder.param(PARAM_REPOSITORY, repositoryName);
+                service.submit(builder.build());
+            } else if (Framework.isBooleanPropertyFalse(UPDATE_READ_ACL_BAF_IMPL_PROPERTY)) {
                 // asynchronous work to do the whole tree
                 Work work = new FindReadAclsWork(repository.getName(), nxql, null);
                 Framework.getService(WorkManager.class).schedule(work);
@@ -662,6 +692,61 @@ public class DBSTransactionState {
         docIds.forEach(id -> updateDocumentReadAclsNoCache(id));
     }
 
+    /**
+     * Updates the Read ACLs on a document, then sets the Read ACLs it passes on by inheritance on all its descendants
+     * except the ones having their own ACP, and their subtrees.
+     * <p>
+     * The Read ACLs are computed once for the whole region. The region is walked down from its root through the
+     * children of the folderish documents, without entering the subtrees of the documents having their own ACP, and
+     * the documents whose Read ACLs differ are updated by batches.
+     *
+     * @return the number of updated descendants
+     * @since 10.10-HF58
+     */
+    public long updateInheritedReadACLs(String id) {
+        String[] racl = updateDocumentReadAclsNoCache(id);
+        if (racl == null) {
+            return 0;
+        }
+        SchemaManager schemaManager = Framework.getService(SchemaManager.class);
+        long count = 0;
+        List<String> batch = new ArrayList<>(READ_ACL_REGION_BATCH_SIZE);
+        Deque<String> parentIds = new ArrayDeque<>();
+        parentIds.add(id);
+        while (!parentIds.isEmpty()) {
+            String parentId = parentIds.poll();
+            // descendants with an ACP start other regions, their subtrees are not walked
+            List<State> children;
+            try (Stream<State> states = repository.getChildren(parentId, READ_ACL_REGION_KEYS)) {
+                // we collect the children first to avoid reentrancy to the repository
+                children = states.filter(state -> state.get(KEY_ACP) == null).collect(Collectors.toList());
+            }
+            for (State child : children) {
+                String childId = (String) child.get(KEY_ID);
+                if (!StateHelper.equalsStrict(child.get(KEY_READ_ACL), racl)) {
+                    batch.add(childId);
+                    if (batch.size() >= READ_ACL_REGION_BATCH_SIZE) {
+                        repository.updateStates(batch, KEY_READ_ACL, racl);
+                        count += batch.size();
+                        batch.clear();
+                    }
+                }
+                DocumentType type = schemaManager.getDocumentType((String) child.get(KEY_PRIMARY_TYPE));
+                if (type == null || type.isFolder()) {
+                    parentIds.add(childId);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            repository.updateStates(batch, KEY_READ_ACL, racl);
+            count += batch.size();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Updated Read ACLs of " + count + " descendants of: " + id);
+        }
+        return count;
+    }
+
     /**
      * Updates the Read ACLs on a document (not recursively)
      */
@@ -675,21 +760,29 @@ public class DBSTransactionState {
      * <p>
      * When fetching parents recursively to compute inheritance, the regular transient space and repository caching are
      * used.
+     *
+     * @return the Read ACLs of the document, or {@code null} if it doesn't exist
      */
-    protected void updateDocumentReadAclsNoCache(String id) {
+    protected String[] updateDocumentReadAclsNoCache(String id) {
         // no transient for state read, and we don't want to trash caches
         // fetch from repository only the properties needed for Read ACL computation and recursion
         State state = repository.readPartialState(id, READ_ACL_RECURSION_KEYS);
+        if (state == null) {
+            // document removed in the meantime
+            return null;
+        }
         State oldState = new State(1);
         oldState.put(KEY_READ_ACL, state.get(KEY_READ_ACL));
         // compute new value
+        String[] racl = getReadACL(state);
         State newState = new State(1);
-        newState.put(KEY_READ_ACL, getReadACL(state));
+        newState.put(KEY_READ_ACL, racl);
         StateDiff diff = StateHelper.diff(oldState, newState);
         if (!diff.isEmpty()) {
             // no transient for state write, we write directly and just invalidate caches
             repository.updateState(id, diff, null);
         }
+        return racl;
     }
 
     /**
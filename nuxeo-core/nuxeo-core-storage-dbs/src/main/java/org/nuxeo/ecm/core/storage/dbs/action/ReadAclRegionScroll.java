@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.storage.dbs.action;
+
+import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_ACP;
+import static org.nuxeo.ecm.core.storage.dbs.DBSDocument.KEY_ID;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.scroll.Scroll;
+import org.nuxeo.ecm.core.api.scroll.ScrollRequest;
+import org.nuxeo.ecm.core.model.Repository;
+import org.nuxeo.ecm.core.repository.RepositoryService;
+import org.nuxeo.ecm.core.scroll.GenericScrollRequest;
+import org.nuxeo.ecm.core.storage.State;
+import org.nuxeo.ecm.core.storage.dbs.DBSRepository;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Scrolls the roots of the regions of a tree sharing the same Read ACLs: the root of the tree, then its descendants
+ * having their own ACP.
+ * <p>
+ * The scroll query is the id of the root of the tree, the {@value #PARAM_REPOSITORY} option is the name of the DBS
+ * repository.
+ *
+ * @since 10.10-HF58
+ */
+public class ReadAclRegionScroll implements Scroll {
+
+    private static final Log log = LogFactory.getLog(ReadAclRegionScroll.class);
+
+    public static final String SCROLL_NAME = "readAclRegions";
+
+    public static final String PARAM_REPOSITORY = "repository";
+
+    protected String rootId;
+
+    protected int size;
+
+    protected Stream<State> descendants;
+
+    protected Iterator<String> iterator;
+
+    @Override
+    public void init(ScrollRequest scrollRequest, Map<String, String> options) {
+        if (!(scrollRequest instanceof GenericScrollRequest)) {
+            throw new IllegalArgumentException(
+                    "Requires a GenericScrollRequest got a " + scrollRequest.getClass().getCanonicalName());
+        }
+        GenericScrollRequest request = (GenericScrollRequest) scrollRequest;
+        rootId = request.getQuery();
+        Serializable repositoryName = request.getOptions().get(PARAM_REPOSITORY);
+        if (repositoryName == null) {
+            throw new IllegalArgumentException(
+                    "Missing " + PARAM_REPOSITORY + " option for Read ACL regions: " + rootId);
+        }
+        Repository repository = Framework.getService(RepositoryService.class).getRepository(repositoryName.toString());
+        if (!(repository instanceof DBSRepository)) {
+            throw new IllegalArgumentException("Not a DBS repository: " + repositoryName);
+        }
+        size = request.getSize();
+        descendants = ((DBSRepository) repository).getDescendants(rootId, Collections.singleton(KEY_ACP));
+        iterator = Stream.concat(Stream.of(rootId),
+                descendants.filter(state -> state.get(KEY_ACP) != null).map(state -> (String) state.get(KEY_ID)))
+                         .iterator();
+        if (log.isDebugEnabled()) {
+            log.debug("Scroll init: " + rootId + ", size: " + size);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public List<String> next() {
+        List<String> ret = new ArrayList<>(size);
+        while (ret.size() < size && iterator.hasNext()) {
+            ret.add(iterator.next());
+        }
+        if (ret.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        if (descendants != null) {
+            descendants.close();
+            descendants = null;
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.core.storage.dbs.action;
+
+import static org.nuxeo.ecm.core.bulk.BulkServiceImpl.STATUS_STREAM;
+import static org.nuxeo.lib.stream.computation.AbstractComputation.INPUT_1;
+import static org.nuxeo.lib.stream.computation.AbstractComputation.OUTPUT_1;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.AbstractSession;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.bulk.action.computation.AbstractBulkComputation;
+import org.nuxeo.ecm.core.model.Session;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.runtime.stream.StreamProcessorTopology;
+
+/**
+ * Action to update the Read ACLs of a tree by regions sharing the same Read ACLs, scrolled by
+ * {@link ReadAclRegionScroll}.
+ * <p>
+ * Each region is updated with one call to the repository, so that the progress of the command counts the regions.
+ *
+ * @since 10.10-HF58
+ */
+public class UpdateReadAclRegionsAction implements StreamProcessorTopology {
+
+    public static final String UPDATE_READ_ACL_REGIONS_ACTION = "updateReadAclRegions";
+
+    public static final String ACTION_FULL_NAME = UPDATE_READ_ACL_REGIONS_ACTION;
+
+    @Override
+    public Topology getTopology(Map<String, String> options) {
+        return Topology.builder()
+                       .addComputation(UpdateReadAclRegionsComputation::new,
+                               Arrays.asList(INPUT_1 + ":" + ACTION_FULL_NAME, OUTPUT_1 + ":" + STATUS_STREAM))
+                       .build();
+    }
+
+    public static class UpdateReadAclRegionsComputation extends AbstractBulkComputation {
+
+        private static final Log log = LogFactory.getLog(UpdateReadAclRegionsComputation.class);
+
+        public UpdateReadAclRegionsComputation() {
+            super(ACTION_FULL_NAME);
+        }
+
+        @Override
+        protected void compute(CoreSession session, List<String> ids, Map<String, Serializable> properties) {
+            Session modelSession = ((AbstractSession) session).getSession();
+            for (String id : ids) {
+                long count = modelSession.updateInheritedReadACLs(id);
+                if (log.isDebugEnabled()) {
+                    log.debug("Updated Read ACLs of region: " + id + ", descendants: " + count);
+                }
+            }
+        }
+
+    }
+
+}
@@ -777,6 +777,35 @@ public class MongoDBRepository extends DBSRepositoryBase {
         return stream(filter, fields, limit);
     }
 
+    @Override
+    public Stream<State> getChildren(String parentId, Set<String> keys) {
+        Bson filter = converter.filterEq(KEY_PARENT_ID, parentId);
+        Document fields = new Document();
+        if (useCustomId) {
+            fields.put(MONGODB_ID, ZERO);
+        }
+        fields.put(idKey, ONE);
+        keys.forEach(key -> fields.put(converter.keyToBson(key), ONE));
+        return stream(filter, fields);
+    }
+
+    @Override
+    public void updateStates(Collection<String> ids, String key, Serializable value) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Bson filter = converter.filterIn(KEY_ID, ids);
+        Document update = new Document(MONGODB_SET,
+                new Document(converter.keyToBson(key), converter.valueToBson(key, value)));
+        if (log.isTraceEnabled()) {
+            log.trace("MongoDB: UPDATE " + ids + ": " + update);
+        }
+        UpdateResult w = coll.updateMany(filter, update);
+        if (log.isTraceEnabled()) {
+            log.trace("MongoDB:    -> " + w.getModifiedCount() + " documents");
+        }
+    }
+
     @Override
     public boolean queryKeyValuePresence(String key, String value, Set<String> ignored) {
         Document filter = new Document();
@@ -412,6 +412,20 @@ public class RepositoryDescriptor {
         return readAclMaxSize == null ? 0 : readAclMaxSize.intValue();
     }
 
+    /**
+     * Whether read ACLs are updated incrementally: only the read ACLs of the documents with modified ACLs are
+     * recomputed, then propagated to their descendants until a read ACL is unchanged.
+     *
+     * @since 10.10-HF58
+     */
+    @XNode("aclOptimizations@incremental")
+    private Boolean aclOptimizationsIncremental;
+
+    /** @since 10.10-HF58 */
+    public boolean getAclOptimizationsIncremental() {
+        return defaultFalse(aclOptimizationsIncremental);
+    }
+
     @XNode("usersSeparator@key")
     public String usersSeparatorKey;
 
@@ -465,6 +479,7 @@ public class RepositoryDescriptor {
         pathOptimizationsVersion = other.pathOptimizationsVersion;
         aclOptimizationsEnabled = other.aclOptimizationsEnabled;
         readAclMaxSize = other.readAclMaxSize;
+        aclOptimizationsIncremental = other.aclOptimizationsIncremental;
         usersSeparatorKey = other.usersSeparatorKey;
         changeTokenEnabled = other.changeTokenEnabled;
     }
@@ -569,6 +584,9 @@ public class RepositoryDescriptor {
         if (other.readAclMaxSize != null) {
             readAclMaxSize = other.readAclMaxSize;
         }
+        if (other.aclOptimizationsIncremental != null) {
+            aclOptimizationsIncremental = other.aclOptimizationsIncremental;
+        }
         if (other.usersSeparatorKey != null) {
             usersSeparatorKey = other.usersSeparatorKey;
         }
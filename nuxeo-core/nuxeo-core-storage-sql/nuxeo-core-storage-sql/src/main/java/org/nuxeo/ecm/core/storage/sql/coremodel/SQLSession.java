@@ -688,6 +688,18 @@ public class SQLSession extends BaseSession {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * The Read ACLs inherited by the descendants are maintained by the database when ACLs are saved, this only applies
+     * the pending Read ACL updates.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public long updateInheritedReadACLs(String id) {
+        session.updateReadAcls();
+        return 0;
+    }
+
     @Override
     public void setACP(Document doc, ACP acp, boolean overwrite) {
         if (!overwrite && acp == null) {
@@ -176,6 +176,11 @@ public abstract class Dialect {
 
     protected final boolean aclOptimizationsEnabled;
 
+    /**
+     * @since 10.10-HF58
+     */
+    protected final boolean aclOptimizationsIncremental;
+
     /**
      * @since 5.7
      */
@@ -261,6 +266,7 @@ public abstract class Dialect {
             fulltextDisabled = true;
             fulltextSearchDisabled = true;
             aclOptimizationsEnabled = false;
+            aclOptimizationsIncremental = false;
             readAclMaxSize = 0;
             clusteringEnabled = false;
             softDeleteEnabled = false;
@@ -270,6 +276,7 @@ public abstract class Dialect {
             fulltextDisabled = fulltextDescriptor.getFulltextDisabled();
             fulltextSearchDisabled = fulltextDescriptor.getFulltextSearchDisabled();
             aclOptimizationsEnabled = repositoryDescriptor.getAclOptimizationsEnabled();
+            aclOptimizationsIncremental = repositoryDescriptor.getAclOptimizationsIncremental();
             readAclMaxSize = repositoryDescriptor.getReadAclMaxSize();
             clusteringEnabled = repositoryDescriptor.getClusteringEnabled();
             softDeleteEnabled = repositoryDescriptor.getSoftDeleteEnabled();
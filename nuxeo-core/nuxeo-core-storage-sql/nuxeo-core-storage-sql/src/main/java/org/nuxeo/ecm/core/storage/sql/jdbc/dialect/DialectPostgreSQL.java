@@ -833,6 +833,9 @@ public class DialectPostgreSQL extends Dialect {
 
     @Override
     public String getUpdateReadAclsSql() {
+        if (aclOptimizationsIncremental) {
+            return "SELECT nx_update_read_acls_incremental();";
+        }
         return "SELECT nx_update_read_acls();";
     }
 
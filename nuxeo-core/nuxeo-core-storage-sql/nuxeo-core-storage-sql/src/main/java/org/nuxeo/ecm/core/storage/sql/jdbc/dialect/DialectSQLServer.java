@@ -710,6 +710,9 @@ public class DialectSQLServer extends Dialect {
 
     @Override
     public String getUpdateReadAclsSql() {
+        if (aclOptimizationsIncremental) {
+            return "EXEC dbo.nx_update_read_acls_incremental";
+        }
         return "EXEC dbo.nx_update_read_acls";
     }
 
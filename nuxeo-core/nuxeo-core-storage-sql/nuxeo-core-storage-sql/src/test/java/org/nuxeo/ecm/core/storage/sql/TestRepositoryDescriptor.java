@@ -61,6 +61,15 @@ public class TestRepositoryDescriptor {
         assertEquals("foo", desc.name);
         assertTrue(desc.getClusteringEnabled());
         assertEquals(1234, desc.getClusteringDelay());
+        assertTrue(desc.getAclOptimizationsEnabled());
+        assertTrue(desc.getAclOptimizationsIncremental());
+    }
+
+    @Test
+    public void testAclOptimizationsDefaults() throws Exception {
+        desc = new RepositoryDescriptor();
+        assertTrue(desc.getAclOptimizationsEnabled());
+        assertFalse(desc.getAclOptimizationsIncremental());
     }
 
     @Test
@@ -149,6 +158,7 @@ public class TestRepositoryDescriptor {
         RepositoryDescriptor desc2 = (RepositoryDescriptor) xmap.load(getResource("test-repository-descriptor2.xml"));
         desc.merge(desc2);
         assertFalse(desc.getClusteringEnabled());
+        assertTrue(desc.getAclOptimizationsIncremental());
         assertEquals(Arrays.asList("file1", "file2", "file3"), desc.sqlInitFiles);
         assertTrue(desc.getPathOptimizationsEnabled());
         assertEquals(2, desc.getPathOptimizationsVersion());
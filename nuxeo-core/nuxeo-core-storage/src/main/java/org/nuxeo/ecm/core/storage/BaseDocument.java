@@ -705,9 +705,95 @@ public abstract class BaseDocument<T extends StateAccessor> implements Document
 
     /**
      * Reads state into a complex property.
+     * <p>
+     * The values are read from the state right away, but most child properties are only created when first accessed,
+     * see {@link ComplexProperty#initChildrenLazily}.
      */
     protected void readComplexProperty(T state, ComplexProperty complexProperty) throws PropertyException {
-        readComplexProperty(state, complexProperty, null);
+        if (state == null || complexProperty instanceof BlobProperty) {
+            readComplexProperty(state, complexProperty, null);
+            return;
+        }
+        ComplexType complexType = complexProperty.getType();
+        Map<String, Serializable> values = readComplexValues(state, complexType, null);
+        complexProperty.initChildrenLazily(values);
+        // fields not read as values are read directly into their property
+        if (values.size() < complexType.getFieldsCount()) {
+            for (Field field : complexType.getFields()) {
+                if (!values.containsKey(field.getName().getPrefixedName())) {
+                    readChildProperty(state, complexProperty, complexProperty.getChild(field), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the values of the fields of a complex type, in the form expected by
+     * {@link ComplexProperty#initChildrenLazily}.
+     * <p>
+     * The fields whose value can only be computed through properties, i.e. complex lists or complex properties
+     * containing them, are skipped.
+     *
+     * @since 10.10-HF58
+     */
+    protected Map<String, Serializable> readComplexValues(T state, ComplexType complexType, String xpath)
+            throws PropertyException {
+        Map<String, Serializable> values = new HashMap<>();
+        for (Field field : complexType.getFields()) {
+            Type type = field.getType();
+            if (isReadThroughProperty(type)) {
+                continue;
+            }
+            String prefixedName = field.getName().getPrefixedName();
+            String name = internalName(prefixedName);
+            String xp = xpath == null ? name : xpath + '/' + name;
+            Serializable value;
+            try {
+                if (type.isSimpleType()) {
+                    // simple property
+                    value = (Serializable) state.getSingle(name);
+                } else if (type.isComplexType()) {
+                    // complex property
+                    T childState = getChild(state, name, type);
+                    if (childState == null) {
+                        value = null;
+                    } else if (TypeConstants.isContentType(type)) {
+                        value = (Serializable) getValueBlob(childState, xp);
+                    } else {
+                        value = (Serializable) readComplexValues(childState, (ComplexType) type, xp);
+                    }
+                } else {
+                    // array
+                    ListType listType = (ListType) type;
+                    value = typedArray(listType.getFieldType(), state.getArray(name));
+                }
+            } catch (ClassCastException e) {
+                throw new PropertyConversionException(
+                        String.format("Unable to read property: %s for document: %s", xp, getUUID()), e);
+            }
+            values.put(prefixedName, value);
+        }
+        return values;
+    }
+
+    /**
+     * Checks whether a value of the given type must be read through a property: complex lists, whose item values
+     * depend on their properties, and complex types containing them.
+     *
+     * @since 10.10-HF58
+     */
+    protected static boolean isReadThroughProperty(Type type) {
+        if (type.isListType()) {
+            return !((ListType) type).getFieldType().isSimpleType();
+        }
+        if (type.isComplexType() && !TypeConstants.isContentType(type)) {
+            for (Field field : ((ComplexType) type).getFields()) {
+                if (isReadThroughProperty(field.getType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     protected void readComplexProperty(T state, ComplexProperty complexProperty, String xpath)
@@ -722,49 +808,58 @@ public abstract class BaseDocument<T extends StateAccessor> implements Document
             return;
         }
         for (Property property : complexProperty) {
-            String name = property.getField().getName().getPrefixedName();
-            name = internalName(name);
-            String xp = xpath == null ? name : xpath + '/' + name;
-            Type type = property.getType();
-            try {
-                if (type.isSimpleType()) {
-                    // simple property
-                    Object value = state.getSingle(name);
-                    property.init((Serializable) value);
-                } else if (type.isComplexType()) {
-                    // complex property
-                    T childState = getChild(state, name, type);
-                    readComplexProperty(childState, (ComplexProperty) property, xp);
-                    ((ComplexProperty) property).removePhantomFlag();
+            readChildProperty(state, complexProperty, property, xpath);
+        }
+    }
+
+    /**
+     * Reads state into a child property of a complex property.
+     *
+     * @since 10.10-HF58
+     */
+    protected void readChildProperty(T state, ComplexProperty complexProperty, Property property, String xpath)
+            throws PropertyException {
+        String name = property.getField().getName().getPrefixedName();
+        name = internalName(name);
+        String xp = xpath == null ? name : xpath + '/' + name;
+        Type type = property.getType();
+        try {
+            if (type.isSimpleType()) {
+                // simple property
+                Object value = state.getSingle(name);
+                property.init((Serializable) value);
+            } else if (type.isComplexType()) {
+                // complex property
+                T childState = getChild(state, name, type);
+                readComplexProperty(childState, (ComplexProperty) property, xp);
+                ((ComplexProperty) property).removePhantomFlag();
+            } else {
+                ListType listType = (ListType) type;
+                if (listType.getFieldType().isSimpleType()) {
+                    // array
+                    Object[] array = state.getArray(name);
+                    array = typedArray(listType.getFieldType(), array);
+                    property.init(array);
                 } else {
-                    ListType listType = (ListType) type;
-                    if (listType.getFieldType().isSimpleType()) {
-                        // array
-                        Object[] array = state.getArray(name);
-                        array = typedArray(listType.getFieldType(), array);
-                        property.init(array);
-                    } else {
-                        // complex list
-                        Field listField = listType.getField();
-                        List<T> childStates = getChildAsList(state, name);
-                        // TODO property.init(null) if null children in DBS
-                        List<Object> list = new ArrayList<>(childStates.size());
-                        int i = 0;
-                        for (T childState : childStates) {
-                            String xpi = xp + '/' + i++;
-                            ComplexProperty p = (ComplexProperty) complexProperty.getRoot()
-                                                                                 .createProperty(property, listField,
-                                                                                         0);
-                            readComplexProperty(childState, p, xpi);
-                            list.add(p.getValue());
-                        }
-                        property.init((Serializable) list);
+                    // complex list
+                    Field listField = listType.getField();
+                    List<T> childStates = getChildAsList(state, name);
+                    // TODO property.init(null) if null children in DBS
+                    List<Object> list = new ArrayList<>(childStates.size());
+                    int i = 0;
+                    for (T childState : childStates) {
+                        String xpi = xp + '/' + i++;
+                        ComplexProperty p = (ComplexProperty) complexProperty.getRoot()
+                                                                             .createProperty(property, listField, 0);
+                        readComplexProperty(childState, p, xpi);
+                        list.add(p.getValue());
                     }
+                    property.init((Serializable) list);
                 }
-            } catch (ClassCastException e) {
-                throw new PropertyConversionException(
-                        String.format("Unable to read property: %s for document: %s", xp, getUUID()), e);
             }
+        } catch (ClassCastException e) {
+            throw new PropertyConversionException(
+                    String.format("Unable to read property: %s for document: %s", xp, getUUID()), e);
         }
     }
 
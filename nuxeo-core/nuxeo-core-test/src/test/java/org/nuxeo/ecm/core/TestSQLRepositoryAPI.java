@@ -334,6 +334,31 @@ public class TestSQLRepositoryAPI {
         assertFalse(session.exists(child.getRef()));
     }
 
+    @Test
+    public void testCreateDocuments() {
+        DocumentModel folder = session.createDocumentModel("/", "folder", "Folder");
+        DocumentModel file1 = session.createDocumentModel("/folder", "file1", "File");
+        file1.setPropertyValue("dc:title", "File 1");
+        DocumentModel file2 = session.createDocumentModel("/folder", "file2", "File");
+        file2.setPropertyValue("dc:title", "File 2");
+        DocumentModel note = session.createDocumentModel("/", "note", "Note");
+
+        List<DocumentModel> docs = session.createDocuments(Arrays.asList(folder, file1, file2, note));
+        session.save();
+
+        assertEquals(4, docs.size());
+        assertEquals("/folder", docs.get(0).getPathAsString());
+        assertEquals("/folder/file1", docs.get(1).getPathAsString());
+        assertEquals("/folder/file2", docs.get(2).getPathAsString());
+        assertEquals("/note", docs.get(3).getPathAsString());
+        assertEquals(docs.get(0).getRef(), docs.get(2).getParentRef());
+
+        reopenSession();
+        assertEquals("File 1", session.getDocument(new PathRef("/folder/file1")).getTitle());
+        assertEquals("File 2", session.getDocument(new PathRef("/folder/file2")).getTitle());
+        assertEquals(2, session.getChildren(new PathRef("/folder")).size());
+    }
+
     @Test
     public void testLists() {
         DocumentModel root = session.getRootDocument();
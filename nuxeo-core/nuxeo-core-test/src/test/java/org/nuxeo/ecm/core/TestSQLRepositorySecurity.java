@@ -40,6 +40,7 @@ import static org.nuxeo.ecm.core.api.security.SecurityConstants.WRITE;
 import static org.nuxeo.ecm.core.api.security.SecurityConstants.WRITE_PROPERTIES;
 import static org.nuxeo.ecm.core.api.security.SecurityConstants.WRITE_SECURITY;
 import static org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.UPDATE_READ_ACL_BAF_IMPL_PROPERTY;
+import static org.nuxeo.ecm.core.storage.dbs.DBSTransactionState.UPDATE_READ_ACL_REGIONS_PROPERTY;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -880,6 +881,161 @@ public class TestSQLRepositorySecurity {
         }
     }
 
+    @Test
+    public void testReadAclOnLargeTreeRegions() {
+        String enabledProp = "nuxeo.core.readacl.async.enabled";
+        String thresholdProp = "nuxeo.core.readacl.async.threshold";
+        Framework.getProperties().put(enabledProp, "true");
+        Framework.getProperties().put(thresholdProp, "10");
+        Framework.getProperties().put(UPDATE_READ_ACL_REGIONS_PROPERTY, "true");
+        try {
+            doTestReadAclOnLargeTree();
+        } finally {
+            Framework.getProperties().remove(enabledProp);
+            Framework.getProperties().remove(thresholdProp);
+            Framework.getProperties().remove(UPDATE_READ_ACL_REGIONS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testReadAclOnLargeTreeRegionsWithLocalAcls() {
+        String enabledProp = "nuxeo.core.readacl.async.enabled";
+        String thresholdProp = "nuxeo.core.readacl.async.threshold";
+        Framework.getProperties().put(enabledProp, "true");
+        Framework.getProperties().put(thresholdProp, "10");
+        Framework.getProperties().put(UPDATE_READ_ACL_REGIONS_PROPERTY, "true");
+        try {
+            DocumentModel rootFolder = session.createDocumentModel("/", "folder", "Folder");
+            rootFolder = session.createDocument(rootFolder);
+            String firstUser = "mickey";
+            String secondUser = "minnie";
+            String thirdUser = "donald";
+
+            ACP acp = new ACPImpl();
+            acp.addACE(ACL.LOCAL_ACL, new ACE(firstUser, READ, true));
+            rootFolder.setACP(acp, true);
+
+            // folder-2 adds a permission, folder-5 blocks inheritance
+            int nbLevels = 10;
+            int nbPerLevel = 10;
+            DocumentModel parent = rootFolder;
+            for (int level = 0; level < nbLevels; level++) {
+                DocumentModel folder = session.createDocumentModel(parent.getPathAsString(), "folder-" + level,
+                        "Folder");
+                folder = session.createDocument(folder);
+                if (level == 2) {
+                    ACP localAcp = new ACPImpl();
+                    localAcp.addACE(ACL.LOCAL_ACL, new ACE(thirdUser, READ, true));
+                    folder.setACP(localAcp, true);
+                } else if (level == 5) {
+                    ACP localAcp = new ACPImpl();
+                    localAcp.addACE(ACL.LOCAL_ACL, new ACE(firstUser, READ, true));
+                    localAcp.addACE(ACL.LOCAL_ACL, ACE.BLOCK);
+                    folder.setACP(localAcp, true);
+                }
+                for (int i = 0; i < nbPerLevel; i++) {
+                    DocumentModel doc = session.createDocumentModel(folder.getPathAsString(),
+                            "doc-" + level + "-" + i, "File");
+                    session.createDocument(doc);
+                }
+                parent = folder;
+            }
+            session.save();
+            int nbDocs = 1 + nbLevels * (nbPerLevel + 1);
+            assertEquals(nbDocs, numberOfReadableDocuments(firstUser));
+            assertEquals(0, numberOfReadableDocuments(secondUser));
+            assertEquals(3 * (nbPerLevel + 1), numberOfReadableDocuments(thirdUser));
+
+            // set ACL for second user on root folder
+            acp.addACE(ACL.LOCAL_ACL, new ACE(secondUser, READ, true));
+            rootFolder.setACP(acp, true);
+            session.save();
+
+            coreFeature.waitForAsyncCompletion();
+
+            // second user is stopped by the blocking folder, other regions are unchanged
+            assertEquals(nbDocs, numberOfReadableDocuments(firstUser));
+            assertEquals(1 + 5 * (nbPerLevel + 1), numberOfReadableDocuments(secondUser));
+            assertEquals(3 * (nbPerLevel + 1), numberOfReadableDocuments(thirdUser));
+        } finally {
+            Framework.getProperties().remove(enabledProp);
+            Framework.getProperties().remove(thresholdProp);
+            Framework.getProperties().remove(UPDATE_READ_ACL_REGIONS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testReadAclOnLargeTreeRegionsKeepsOtherTrees() {
+        String enabledProp = "nuxeo.core.readacl.async.enabled";
+        String thresholdProp = "nuxeo.core.readacl.async.threshold";
+        Framework.getProperties().put(enabledProp, "true");
+        Framework.getProperties().put(thresholdProp, "10");
+        Framework.getProperties().put(UPDATE_READ_ACL_REGIONS_PROPERTY, "true");
+        try {
+            String firstUser = "mickey";
+            String secondUser = "minnie";
+            String thirdUser = "donald";
+            String fourthUser = "goofy";
+
+            // tree with nested ACLs
+            DocumentModel rootFolder = session.createDocumentModel("/", "folder", "Folder");
+            rootFolder = session.createDocument(rootFolder);
+            ACP acp = new ACPImpl();
+            acp.addACE(ACL.LOCAL_ACL, new ACE(firstUser, READ, true));
+            rootFolder.setACP(acp, true);
+            DocumentModel nested = session.createDocumentModel("/folder", "nested", "Folder");
+            nested = session.createDocument(nested);
+            ACP nestedAcp = new ACPImpl();
+            nestedAcp.addACE(ACL.LOCAL_ACL, new ACE(thirdUser, READ, true));
+            nested.setACP(nestedAcp, true);
+            DocumentModel deeper = session.createDocumentModel("/folder/nested", "deeper", "Folder");
+            deeper = session.createDocument(deeper);
+            ACP deeperAcp = new ACPImpl();
+            deeperAcp.addACE(ACL.LOCAL_ACL, new ACE(firstUser, READ, true));
+            deeperAcp.addACE(ACL.LOCAL_ACL, ACE.BLOCK);
+            deeper.setACP(deeperAcp, true);
+            int nbPerFolder = 5;
+            for (String path : Arrays.asList("/folder", "/folder/nested", "/folder/nested/deeper")) {
+                for (int i = 0; i < nbPerFolder; i++) {
+                    session.createDocument(session.createDocumentModel(path, "doc-" + i, "File"));
+                }
+            }
+
+            // other tree, outside of the updated regions, with its own ACL
+            DocumentModel otherFolder = session.createDocumentModel("/", "other", "Folder");
+            otherFolder = session.createDocument(otherFolder);
+            ACP otherAcp = new ACPImpl();
+            otherAcp.addACE(ACL.LOCAL_ACL, new ACE(fourthUser, READ, true));
+            otherFolder.setACP(otherAcp, true);
+            session.createDocument(session.createDocumentModel("/other", "child", "Folder"));
+            for (int i = 0; i < nbPerFolder; i++) {
+                session.createDocument(session.createDocumentModel("/other/child", "doc-" + i, "File"));
+            }
+            session.save();
+            int nbOtherDocs = 2 + nbPerFolder;
+            assertEquals(nbOtherDocs, numberOfReadableDocuments(fourthUser));
+            assertEquals(0, numberOfReadableDocuments(secondUser));
+
+            // set ACL for second user on root folder
+            acp.addACE(ACL.LOCAL_ACL, new ACE(secondUser, READ, true));
+            rootFolder.setACP(acp, true);
+            session.save();
+
+            coreFeature.waitForAsyncCompletion();
+
+            // second user reads the root region and the nested one, but neither the blocking folder nor the other tree
+            assertEquals(1 + nbPerFolder + 1 + nbPerFolder, numberOfReadableDocuments(secondUser));
+            assertEquals(1 + nbPerFolder, numberOfReadableDocuments(thirdUser));
+            assertEquals(3 * (1 + nbPerFolder), numberOfReadableDocuments(firstUser));
+            // the other tree keeps its own Read ACLs
+            assertEquals(nbOtherDocs, numberOfReadableDocuments(fourthUser));
+        } finally {
+            Framework.getProperties().remove(enabledProp);
+            Framework.getProperties().remove(thresholdProp);
+            Framework.getProperties().remove(UPDATE_READ_ACL_REGIONS_PROPERTY);
+        }
+    }
+
     protected void doTestReadAclOnLargeTree() {
         DocumentModel rootFolder = session.createDocumentModel("/", "folder", "Folder");
         rootFolder = session.createDocument(rootFolder);
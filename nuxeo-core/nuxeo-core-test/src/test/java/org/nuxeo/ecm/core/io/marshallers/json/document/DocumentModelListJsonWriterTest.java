@@ -19,6 +19,10 @@
 
 package org.nuxeo.ecm.core.io.marshallers.json.document;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,8 +32,13 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 import org.junit.Test;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.impl.DocumentModelImpl;
 import org.nuxeo.ecm.core.io.marshallers.json.AbstractJsonWriterTest;
 import org.nuxeo.ecm.core.io.marshallers.json.JsonAssert;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext.CtxBuilder;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContextCache;
+import org.nuxeo.ecm.core.schema.types.resolver.ObjectResolver;
 import org.nuxeo.ecm.core.test.CoreFeature;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
@@ -68,4 +77,54 @@ public class DocumentModelListJsonWriterTest extends
         json.childrenContains("title", "myDoc1", "myDoc2", "myDoc3");
     }
 
+    /**
+     * @since 10.10-HF58
+     */
+    @Test
+    public void testFetchedPropertiesArePrefetched() throws Exception {
+        String fetchedProp = "dr:docRepoAndIdRef";
+        String notFetchedProp = "dr:docRepoAndPathRef";
+        DocumentModel target = session.createDocumentModel("/", "target", "RefDoc");
+        target = session.createDocument(target);
+        String idRef = session.getRepositoryName() + ":" + target.getId();
+        List<DocumentModel> elements = new ArrayList<>();
+        for (DocumentModel element : getElements()) {
+            element.setPropertyValue(fetchedProp, idRef);
+            element.setPropertyValue(notFetchedProp, "/target");
+            elements.add(session.saveDocument(element));
+        }
+        session.save();
+        // reload the documents so that their schemas are loaded lazily
+        List<DocumentModel> documents = new ArrayList<>();
+        for (DocumentModel element : elements) {
+            documents.add(session.getDocument(element.getRef()));
+        }
+
+        RenderingContext ctx = CtxBuilder.properties("*").fetchInDoc(fetchedProp).get();
+        registry.getInstance(ctx, DocumentModelJsonWriter.class).prefetch(documents);
+
+        DocumentPropertyJsonWriter propertyWriter = registry.getInstance(ctx, DocumentPropertyJsonWriter.class);
+        ObjectResolver resolver = documents.get(0).getProperty(fetchedProp).getType().getObjectResolver();
+        RenderingContextCache cache = RenderingContextCache.get(ctx);
+        assertTrue(cache.contains(DocumentPropertyJsonWriter.FETCH_REGION,
+                propertyWriter.getFetchKey(resolver, idRef, session)));
+        resolver = documents.get(0).getProperty(notFetchedProp).getType().getObjectResolver();
+        assertFalse(cache.contains(DocumentPropertyJsonWriter.FETCH_REGION,
+                propertyWriter.getFetchKey(resolver, "/target", session)));
+        for (DocumentModel document : documents) {
+            // only the schemas with fetched references are loaded
+            assertTrue(((DocumentModelImpl) document).isSchemaLoaded("documentResolver"));
+            assertFalse(((DocumentModelImpl) document).isSchemaLoaded("noPrefix"));
+        }
+
+        JsonAssert json = jsonAssert(documents, ctx);
+        json = json.has("entries").length(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            JsonAssert fetched = json.has(i).has("properties." + fetchedProp).isObject();
+            fetched.has("entity-type").isEquals("document");
+            fetched.has("uid").isEquals(target.getId());
+            json.has(i).has("properties." + notFetchedProp).isEquals("/target");
+        }
+    }
+
 }
@@ -0,0 +1,236 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.nuxeo.ecm.core.io.marshallers.json.enrichers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.CloseableCoreSession;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.PathRef;
+import org.nuxeo.ecm.core.api.security.ACE;
+import org.nuxeo.ecm.core.api.security.ACL;
+import org.nuxeo.ecm.core.api.security.ACP;
+import org.nuxeo.ecm.core.api.security.PermissionProvider;
+import org.nuxeo.ecm.core.api.security.SecurityConstants;
+import org.nuxeo.ecm.core.io.marshallers.json.AbstractJsonWriterTest;
+import org.nuxeo.ecm.core.io.marshallers.json.JsonAssert;
+import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelListJsonWriter;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext.CtxBuilder;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+
+/**
+ * Checks that the enrichers implementing {@link BatchJsonEnricher} don't query the repository once per document when
+ * a list of documents is rendered.
+ *
+ * @since 10.10-HF58
+ */
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.core.io:OSGI-INF/doc-type-contrib.xml")
+public class BatchJsonEnricherTest
+        extends AbstractJsonWriterTest.Local<DocumentModelListJsonWriter, List<DocumentModel>> {
+
+    protected static final int NB_DOCS = 5;
+
+    public BatchJsonEnricherTest() {
+        super(DocumentModelListJsonWriter.class, List.class, TypeUtils.parameterize(List.class, DocumentModel.class));
+    }
+
+    @Inject
+    private CoreSession session;
+
+    @Before
+    public void setup() {
+        DocumentModel folder = session.createDocumentModel("/", "folder1", "MyFolder");
+        session.createDocument(folder);
+        folder = session.createDocumentModel("/folder1", "sub1", "MyFolder");
+        session.createDocument(folder);
+        folder = session.createDocumentModel("/folder1", "sub2", "MyFolder");
+        session.createDocument(folder);
+        for (String parent : Arrays.asList("/folder1/sub1", "/folder1/sub2")) {
+            for (int i = 0; i < NB_DOCS; i++) {
+                DocumentModel document = session.createDocumentModel(parent, "doc" + i, "RefDoc");
+                session.createDocument(document);
+            }
+        }
+        // user1 can only read sub1
+        ACP acp = session.getACP(new PathRef("/folder1/sub1"));
+        ACL localACL = acp.getOrCreateACL(ACL.LOCAL_ACL);
+        localACL.add(new ACE("user1", SecurityConstants.READ));
+        session.setACP(new PathRef("/folder1/sub1"), acp, true);
+        session.save();
+    }
+
+    @Test
+    public void testBreadcrumbIsFetchedInBatch() throws Exception {
+        SessionCounter counter = new SessionCounter(session);
+        List<DocumentModel> documents = getDetachedDocuments(session, "/folder1/sub1", "/folder1/sub2");
+        // the breadcrumb shows the stored document, not the one being rendered
+        documents.get(0).setPropertyValue("dc:title", "not saved");
+        JsonAssert json = jsonAssert(documents, getContext(counter, BreadcrumbJsonEnricher.NAME));
+        json = json.has("entries").length(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            JsonAssert breadcrumb = json.has(i).has("contextParameters").has(BreadcrumbJsonEnricher.NAME);
+            breadcrumb = breadcrumb.has("entries").length(3);
+            breadcrumb.has(0).has("path").isEquals("/folder1");
+            breadcrumb.has(2).has("uid").isEquals(documents.get(i).getId());
+            breadcrumb.has(2).has("title").isEquals(documents.get(i).getName());
+        }
+        // one existence query, then the documents and each level of parents, whatever the number of documents
+        assertEquals(1, counter.get("queryProjection"));
+        assertEquals(0, counter.get("exists"));
+        assertEquals(4, counter.get("query"));
+        assertEquals(4, counter.get("filterGrantedPermissions"));
+        assertEquals(0, counter.get("getDocuments"));
+        assertEquals(0, counter.get("getParentDocuments"));
+    }
+
+    @Test
+    public void testBreadcrumbStopsAtFirstUnreadableAncestor() throws Exception {
+        try (CloseableCoreSession userSession = CoreInstance.openCoreSession(session.getRepositoryName(), "user1")) {
+            SessionCounter counter = new SessionCounter(userSession);
+            List<DocumentModel> documents = getDetachedDocuments(userSession, "/folder1/sub1");
+            JsonAssert json = jsonAssert(documents, getContext(counter, BreadcrumbJsonEnricher.NAME));
+            json = json.has("entries").length(NB_DOCS);
+            for (int i = 0; i < NB_DOCS; i++) {
+                DocumentModel document = documents.get(i);
+                List<DocumentModel> expected = userSession.getParentDocuments(document.getRef());
+                // folder1 is not readable
+                assertEquals(2, expected.size());
+                JsonAssert breadcrumb = json.has(i).has("contextParameters").has(BreadcrumbJsonEnricher.NAME);
+                breadcrumb = breadcrumb.has("entries").length(expected.size());
+                breadcrumb.childrenContains("uid", expected.stream().map(DocumentModel::getId).toArray(String[]::new));
+            }
+            assertEquals(0, counter.get("getParentDocuments"));
+        }
+    }
+
+    @Test
+    public void testPermissionsAreFetchedInBatch() throws Exception {
+        try (CloseableCoreSession userSession = CoreInstance.openCoreSession(session.getRepositoryName(), "user1")) {
+            SessionCounter counter = new SessionCounter(userSession);
+            List<DocumentModel> documents = getDetachedDocuments(userSession, "/folder1/sub1");
+            JsonAssert json = jsonAssert(documents, getContext(counter, BasePermissionsJsonEnricher.NAME));
+            String[] expected = getGrantedPermissions(userSession, documents.get(0).getRef());
+            json = json.has("entries").length(NB_DOCS);
+            for (int i = 0; i < NB_DOCS; i++) {
+                JsonAssert permissions = json.has(i).has("contextParameters").has(BasePermissionsJsonEnricher.NAME);
+                permissions.contains(expected);
+            }
+            assertEquals(1, counter.get("queryProjection"));
+            assertEquals(0, counter.get("exists"));
+            assertEquals(1, counter.get("filterGrantedPermissions"));
+        }
+    }
+
+    @Test
+    public void testPermissionsUseDocumentSession() throws Exception {
+        try (CloseableCoreSession userSession = CoreInstance.openCoreSession(session.getRepositoryName(), "user1")) {
+            PathRef docRef = new PathRef("/folder1/sub1/doc0");
+            String[] userPermissions = getGrantedPermissions(userSession, docRef);
+            assertFalse(Arrays.asList(userPermissions).contains(SecurityConstants.WRITE));
+            List<DocumentModel> documents = Arrays.asList(session.getDocument(docRef),
+                    userSession.getDocument(docRef));
+            JsonAssert json = jsonAssert(documents, CtxBuilder.enrichDoc(BasePermissionsJsonEnricher.NAME).get());
+            json = json.has("entries").length(2);
+            json.has(0)
+                .has("contextParameters")
+                .has(BasePermissionsJsonEnricher.NAME)
+                .contains(getGrantedPermissions(session, docRef));
+            json.has(1).has("contextParameters").has(BasePermissionsJsonEnricher.NAME).contains(userPermissions);
+        }
+    }
+
+    protected String[] getGrantedPermissions(CoreSession coreSession, DocumentRef docRef) {
+        PermissionProvider permissionProvider = Framework.getService(PermissionProvider.class);
+        List<String> permissions = new ArrayList<>(Arrays.asList(permissionProvider.getPermissions()));
+        return coreSession.filterGrantedPermissions(coreSession.getPrincipal(), docRef, permissions)
+                          .toArray(new String[0]);
+    }
+
+    protected List<DocumentModel> getDetachedDocuments(CoreSession coreSession, String... parentPaths) {
+        List<DocumentModel> documents = new ArrayList<>();
+        for (String parentPath : parentPaths) {
+            for (DocumentModel document : coreSession.getChildren(new PathRef(parentPath))) {
+                // detached documents are rendered with the session of the rendering context
+                document.detach(true);
+                documents.add(document);
+            }
+        }
+        return documents;
+    }
+
+    protected RenderingContext getContext(SessionCounter counter, String enricher) {
+        return CtxBuilder.session(counter.getSession()).enrichDoc(enricher).get();
+    }
+
+    /**
+     * Counts the calls made to a {@link CoreSession}.
+     */
+    protected static class SessionCounter implements InvocationHandler {
+
+        protected final CoreSession session;
+
+        protected final Map<String, Integer> counts = new HashMap<>();
+
+        public SessionCounter(CoreSession session) {
+            this.session = session;
+        }
+
+        public CoreSession getSession() {
+            return (CoreSession) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { CoreSession.class }, this);
+        }
+
+        public int get(String methodName) {
+            return counts.getOrDefault(methodName, 0);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            counts.merge(method.getName(), 1, Integer::sum);
+            try {
+                return method.invoke(session, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+}
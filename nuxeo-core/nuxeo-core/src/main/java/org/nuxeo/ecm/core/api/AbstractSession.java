@@ -147,6 +147,13 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
     public static final String BINARY_TEXT_SYS_PROP = "fulltextBinary";
 
+    /**
+     * Maximum number of ids in a query loading documents by id.
+     *
+     * @since 10.10-HF58
+     */
+    protected static final int GET_DOCUMENTS_BATCH_SIZE = 100;
+
     private Boolean limitedResults;
 
     private Long maxResults;
@@ -313,6 +320,25 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         return getSecurityService().filterGrantedPermissions(doc, principal, permissions);
     }
 
+    @Override
+    public Map<DocumentRef, Collection<String>> filterGrantedPermissions(NuxeoPrincipal principal,
+            List<DocumentRef> docRefs, Collection<String> permissions) {
+        SecurityService securityService = getSecurityService();
+        Map<String, Document> docsById = getDocumentsById(docRefs);
+        Map<DocumentRef, Collection<String>> granted = new HashMap<>();
+        for (DocumentRef docRef : docRefs) {
+            Document doc;
+            try {
+                doc = resolveReference(docRef, docsById);
+            } catch (DocumentNotFoundException e) {
+                continue;
+            }
+            // the security service may remove permissions from the given collection
+            granted.put(docRef, securityService.filterGrantedPermissions(doc, principal, new ArrayList<>(permissions)));
+        }
+        return granted;
+    }
+
     protected final boolean hasPermission(Document doc, String permission) {
         // TODO: optimize this - usually ACP is already available when calling
         // this method.
@@ -344,6 +370,55 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         }
     }
 
+    /**
+     * Same as {@link #resolveReference(DocumentRef)}, but first looks up the documents already loaded by
+     * {@link #getDocumentsById(Collection)}.
+     *
+     * @since 10.10-HF58
+     */
+    protected Document resolveReference(DocumentRef docRef, Map<String, Document> docsById) {
+        if (docRef != null && docRef.type() == DocumentRef.ID) {
+            Document doc = docsById.get(docRef.reference());
+            if (doc != null) {
+                return doc;
+            }
+        }
+        return resolveReference(docRef);
+    }
+
+    /**
+     * Loads the documents referenced by id in queries of at most {@link #GET_DOCUMENTS_BATCH_SIZE} ids, without
+     * checking permissions.
+     * <p>
+     * Documents which don't exist are absent from the returned map.
+     *
+     * @since 10.10-HF58
+     */
+    protected Map<String, Document> getDocumentsById(Collection<DocumentRef> docRefs) {
+        List<String> ids = docRefs.stream()
+                                  .filter(docRef -> docRef != null && docRef.type() == DocumentRef.ID)
+                                  .map(docRef -> (String) docRef.reference())
+                                  .distinct()
+                                  .collect(Collectors.toList());
+        if (ids.size() < 2) {
+            // nothing to batch
+            return Collections.emptyMap();
+        }
+        Map<String, Document> docsById = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += GET_DOCUMENTS_BATCH_SIZE) {
+            // databases limit the number of values or parameters of a query
+            List<String> batch = ids.subList(i, Math.min(i + GET_DOCUMENTS_BATCH_SIZE, ids.size()));
+            String query = "SELECT * FROM Document WHERE " + NXQL.ECM_UUID + " IN "
+                    + batch.stream().map(NXQL::escapeString).collect(Collectors.joining(", ", "(", ")"));
+            @SuppressWarnings("unchecked")
+            PartialList<Document> docs = getSession().query(query, NXQL.NXQL, QueryFilter.EMPTY, 0);
+            for (Document doc : docs) {
+                docsById.put(doc.getUUID(), doc);
+            }
+        }
+        return docsById;
+    }
+
     /**
      * Gets the document model for the given core document.
      *
@@ -690,6 +765,16 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
     @Override
     public DocumentModel createDocument(DocumentModel docModel) {
+        return createDocument(docModel, null);
+    }
+
+    /**
+     * Creates a document, resolving its parent through the given cache if not {@code null}.
+     *
+     * @param parents the parents already resolved and checked for {@link SecurityConstants#ADD_CHILDREN}, by reference
+     * @since 10.10-HF58
+     */
+    protected DocumentModel createDocument(DocumentModel docModel, Map<DocumentRef, Document> parents) {
 
         // start by removing disallowed characters
         CharacterFilteringService charFilteringService = Framework.getService(CharacterFilteringService.class);
@@ -710,7 +795,7 @@ public abstract class AbstractSession implements CoreSession, Serializable {
         String childName = docModel.getName();
         Map<String, Serializable> options = getContextMapEventInfo(docModel);
 
-        Document parent = fillCreateOptions(parentRef, childName, options);
+        Document parent = fillCreateOptions(parentRef, childName, options, parents);
 
         // get initial life cycle state info
         String initialLifecycleState = null;
@@ -775,6 +860,16 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
     protected Document fillCreateOptions(DocumentRef parentRef, String childName, Map<String, Serializable> options)
             throws DocumentSecurityException {
+        return fillCreateOptions(parentRef, childName, options, null);
+    }
+
+    /**
+     * @param parents the parents already resolved and checked for {@link SecurityConstants#ADD_CHILDREN}, by reference,
+     *            or {@code null}
+     * @since 10.10-HF58
+     */
+    protected Document fillCreateOptions(DocumentRef parentRef, String childName, Map<String, Serializable> options,
+            Map<DocumentRef, Document> parents) throws DocumentSecurityException {
         Document parent;
         if (parentRef == null || EMPTY_PATH.equals(parentRef)) {
             parent = getSession().getNullDocument();
@@ -783,8 +878,14 @@ public abstract class AbstractSession implements CoreSession, Serializable {
             options.put(CoreEventConstants.DESTINATION_NAME, childName);
             options.put(CoreEventConstants.DESTINATION_EXISTS, false);
         } else {
-            parent = resolveReference(parentRef);
-            checkPermission(parent, ADD_CHILDREN);
+            parent = parents == null ? null : parents.get(parentRef);
+            if (parent == null) {
+                parent = resolveReference(parentRef);
+                checkPermission(parent, ADD_CHILDREN);
+                if (parents != null) {
+                    parents.put(parentRef, parent);
+                }
+            }
             options.put(CoreEventConstants.DESTINATION_REF, parentRef);
             options.put(CoreEventConstants.DESTINATION_PATH, parent.getPath());
             options.put(CoreEventConstants.DESTINATION_NAME, childName);
@@ -856,11 +957,16 @@ public abstract class AbstractSession implements CoreSession, Serializable {
 
     @Override
     public DocumentModel[] createDocument(DocumentModel[] docModels) {
-        DocumentModel[] models = new DocumentModel[docModels.length];
-        int i = 0;
-        // TODO: optimize this (do not call at each iteration createDocument())
+        return createDocuments(Arrays.asList(docModels)).toArray(new DocumentModel[0]);
+    }
+
+    @Override
+    public List<DocumentModel> createDocuments(List<DocumentModel> docModels) {
+        // the storage already writes the created documents by batch when flushing the session
+        Map<DocumentRef, Document> parents = new HashMap<>();
+        List<DocumentModel> models = new ArrayList<>(docModels.size());
         for (DocumentModel docModel : docModels) {
-            models[i++] = createDocument(docModel);
+            models.add(createDocument(docModel, parents));
         }
         return models;
     }
@@ -95,6 +95,10 @@ public class CommandLineDescriptor implements Serializable {
     @XNode("timeout")
     public Duration timeout;
 
+    // @since 10.10-HF58
+    @XNode("pool")
+    protected CommandPoolDescriptor pool;
+
     public String getName() {
         if (name == null) {
             return getCommand();
@@ -151,9 +155,22 @@ public class CommandLineDescriptor implements Serializable {
     }
 
     public String getExecutor() {
+        if (pool != null && pool.isEnabled()) {
+            return CommandLineExecutorComponent.POOLED_EXECUTOR;
+        }
         return CommandLineExecutorComponent.DEFAULT_EXECUTOR;
     }
 
+    /**
+     * Returns the pool of worker processes used to run the command, or {@code null} if the command runs a new process
+     * each time.
+     *
+     * @since 10.10-HF58
+     */
+    public CommandPoolDescriptor getPool() {
+        return pool;
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
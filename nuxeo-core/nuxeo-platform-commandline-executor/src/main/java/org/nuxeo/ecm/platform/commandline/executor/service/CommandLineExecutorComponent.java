@@ -37,6 +37,7 @@ import org.nuxeo.ecm.platform.commandline.executor.api.ExecResult;
 import org.nuxeo.ecm.platform.commandline.executor.service.cmdtesters.CommandTestResult;
 import org.nuxeo.ecm.platform.commandline.executor.service.cmdtesters.CommandTester;
 import org.nuxeo.ecm.platform.commandline.executor.service.executors.Executor;
+import org.nuxeo.ecm.platform.commandline.executor.service.executors.PooledExecutor;
 import org.nuxeo.ecm.platform.commandline.executor.service.executors.ShellExecutor;
 import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.ComponentInstance;
@@ -59,6 +60,13 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
 
     public static final String DEFAULT_EXECUTOR = "ShellExecutor";
 
+    /**
+     * Executor of the commands having a pool of worker processes.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String POOLED_EXECUTOR = "PooledExecutor";
+
     protected static Map<String, CommandLineDescriptor> commandDescriptors = new HashMap<>();
 
     protected static EnvironmentDescriptor env = new EnvironmentDescriptor();
@@ -87,6 +95,16 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
     public void start(ComponentContext context) {
         super.start(context);
         executors.put(DEFAULT_EXECUTOR, new ShellExecutor(useTimeout));
+        executors.put(POOLED_EXECUTOR, new PooledExecutor(useTimeout));
+    }
+
+    @Override
+    public void stop(ComponentContext context) throws InterruptedException {
+        Executor executor = executors.remove(POOLED_EXECUTOR);
+        if (executor instanceof PooledExecutor) {
+            ((PooledExecutor) executor).close();
+        }
+        super.stop(context);
     }
 
     @Override
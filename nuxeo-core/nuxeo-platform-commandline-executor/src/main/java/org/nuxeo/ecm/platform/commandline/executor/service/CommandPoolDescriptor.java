@@ -0,0 +1,147 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.commandline.executor.service;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.nuxeo.common.xmap.annotation.XNode;
+import org.nuxeo.common.xmap.annotation.XObject;
+
+/**
+ * XMap descriptor for the pool of long-lived worker processes of a {@link CommandLineDescriptor}.
+ * <p>
+ * Each execution of the command leases a worker of the pool, and runs the command line with the additional
+ * {@code #{workerId}} and {@code #{workerPort}} parameters so that it can delegate the actual work to the worker, for
+ * instance a client connecting to a listening office instance.
+ *
+ * @since 10.10-HF58
+ */
+@XObject("pool")
+public class CommandPoolDescriptor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Duration DEFAULT_START_TIMEOUT = Duration.ofSeconds(30);
+
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofMinutes(5);
+
+    @XNode("@enabled")
+    protected boolean enabled = true;
+
+    @XNode("@size")
+    protected int size = 1;
+
+    @XNode("workerCommandLine")
+    protected String workerCommand;
+
+    @XNode("workerParameterString")
+    protected String workerParameterString = "";
+
+    @XNode("winWorkerCommand")
+    protected String winWorkerCommand;
+
+    @XNode("winWorkerParameterString")
+    protected String winWorkerParameterString;
+
+    @XNode("basePort")
+    protected int basePort;
+
+    @XNode("maxJobs")
+    protected int maxJobs;
+
+    @XNode("maxMemory")
+    protected long maxMemory;
+
+    @XNode("startTimeout")
+    protected Duration startTimeout;
+
+    @XNode("acquireTimeout")
+    protected Duration acquireTimeout;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of workers, which is also the maximum number of concurrent executions of the command.
+     */
+    public int getSize() {
+        return Math.max(1, size);
+    }
+
+    public String getWorkerCommand() {
+        if (SystemUtils.IS_OS_WINDOWS && winWorkerCommand != null) {
+            return winWorkerCommand;
+        }
+        return workerCommand;
+    }
+
+    public String getWorkerParametersString() {
+        if (SystemUtils.IS_OS_WINDOWS && winWorkerParameterString != null) {
+            return winWorkerParameterString;
+        }
+        return workerParameterString;
+    }
+
+    /**
+     * Returns the port of the first worker, the following ones listening on the next ports, or 0 if the workers don't
+     * listen on a port. When set, a worker is ready and healthy when it accepts connections on its port.
+     */
+    public int getBasePort() {
+        return basePort;
+    }
+
+    /**
+     * Returns the number of jobs after which a worker is recycled, 0 for no limit.
+     */
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    /**
+     * Returns the resident memory in MB above which a worker is recycled, 0 for no limit.
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Returns the time to wait for a worker to be ready after it is started.
+     */
+    public Duration getStartTimeout() {
+        return startTimeout == null ? DEFAULT_START_TIMEOUT : startTimeout;
+    }
+
+    /**
+     * Returns the time to wait for a worker to be available before failing the execution.
+     */
+    public Duration getAcquireTimeout() {
+        return acquireTimeout == null ? DEFAULT_ACQUIRE_TIMEOUT : acquireTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+
+}
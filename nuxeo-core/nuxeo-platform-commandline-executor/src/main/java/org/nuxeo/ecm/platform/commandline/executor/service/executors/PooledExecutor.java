@@ -0,0 +1,383 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.commandline.executor.service.executors;
+
+import static org.nuxeo.common.concurrent.ThreadFactories.newThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.platform.commandline.executor.api.CmdParameters;
+import org.nuxeo.ecm.platform.commandline.executor.api.CommandLineExecutorService;
+import org.nuxeo.ecm.platform.commandline.executor.api.ExecResult;
+import org.nuxeo.ecm.platform.commandline.executor.service.CommandLineDescriptor;
+import org.nuxeo.ecm.platform.commandline.executor.service.CommandPoolDescriptor;
+import org.nuxeo.ecm.platform.commandline.executor.service.EnvironmentDescriptor;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
+/**
+ * {@link Executor} running the commands having a {@link CommandPoolDescriptor pool} of long-lived worker processes.
+ * <p>
+ * The workers are started in the background on the first execution of the command and kept warm between executions.
+ * Each execution leases a worker, then runs the command line as the {@link ShellExecutor} does, with the additional
+ * {@code #{workerId}} and {@code #{workerPort}} parameters. A worker is restarted when it is found unhealthy, and
+ * recycled after its maximum number of jobs or when its resident memory exceeds the configured maximum.
+ * <p>
+ * The time spent waiting for a worker and running the command are reported to the
+ * {@code nuxeo.commandline.<command>.queue} and {@code nuxeo.commandline.<command>.exec} timers.
+ *
+ * @since 10.10-HF58
+ */
+public class PooledExecutor extends ShellExecutor implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(PooledExecutor.class);
+
+    public static final String WORKER_ID_PARAMETER = "workerId";
+
+    public static final String WORKER_PORT_PARAMETER = "workerPort";
+
+    protected static final long HEALTH_CHECK_TIMEOUT_MS = 1000;
+
+    protected static final long STOP_TIMEOUT_S = 10;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final Map<String, WorkerPool> pools = new ConcurrentHashMap<>();
+
+    protected final ExecutorService starter = Executors.newCachedThreadPool(
+            newThreadFactory("Nuxeo-CommandLine-Worker-Starter"));
+
+    public PooledExecutor(boolean useTimeout) {
+        super(useTimeout);
+    }
+
+    @Override
+    public ExecResult exec(CommandLineDescriptor cmdDesc, CmdParameters params, EnvironmentDescriptor env) {
+        WorkerPool pool = pools.computeIfAbsent(cmdDesc.getName(), k -> new WorkerPool(cmdDesc, env));
+        long t0 = System.nanoTime();
+        Worker worker;
+        try {
+            worker = pool.acquire();
+        } catch (IOException e) {
+            return new ExecResult(cmdDesc.getCommand(), e);
+        }
+        long t1 = System.nanoTime();
+        pool.queueTimer.update(t1 - t0, TimeUnit.NANOSECONDS);
+        boolean successful = false;
+        try {
+            ExecResult result = super.exec(cmdDesc, worker.getParameters(params), env);
+            successful = result.isSuccessful();
+            return result;
+        } finally {
+            pool.execTimer.update(System.nanoTime() - t1, TimeUnit.NANOSECONDS);
+            pool.release(worker, successful);
+        }
+    }
+
+    /**
+     * Stops all the workers.
+     */
+    @Override
+    public void close() {
+        starter.shutdownNow();
+        pools.values().forEach(WorkerPool::close);
+        pools.clear();
+    }
+
+    /**
+     * The workers of a command.
+     */
+    protected class WorkerPool implements AutoCloseable {
+
+        protected final CommandLineDescriptor cmdDesc;
+
+        protected final CommandPoolDescriptor poolDesc;
+
+        protected final EnvironmentDescriptor env;
+
+        protected final List<Worker> workers = new ArrayList<>();
+
+        protected final BlockingQueue<Worker> idleWorkers;
+
+        protected final Timer queueTimer;
+
+        protected final Timer execTimer;
+
+        protected WorkerPool(CommandLineDescriptor cmdDesc, EnvironmentDescriptor env) {
+            this.cmdDesc = cmdDesc;
+            this.env = env;
+            poolDesc = cmdDesc.getPool();
+            queueTimer = registry.timer(MetricRegistry.name("nuxeo", "commandline", cmdDesc.getName(), "queue"));
+            execTimer = registry.timer(MetricRegistry.name("nuxeo", "commandline", cmdDesc.getName(), "exec"));
+            int size = poolDesc.getSize();
+            idleWorkers = new ArrayBlockingQueue<>(size);
+            for (int i = 0; i < size; i++) {
+                Worker worker = new Worker(this, i);
+                workers.add(worker);
+                starter.execute(() -> warmUp(worker));
+            }
+        }
+
+        /**
+         * Starts the worker, then makes it available. A worker failing to start is made available anyway, the next
+         * execution leasing it will try to start it again.
+         */
+        protected void warmUp(Worker worker) {
+            try {
+                worker.start();
+            } catch (IOException e) {
+                log.warn("Unable to start worker: " + worker.id + " of command: " + cmdDesc.getName(), e);
+            } finally {
+                idleWorkers.add(worker);
+            }
+        }
+
+        protected Worker acquire() throws IOException {
+            Worker worker;
+            try {
+                worker = idleWorkers.poll(poolDesc.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a worker of command: " + cmdDesc.getName(), e);
+            }
+            if (worker == null) {
+                throw new IOException("No worker of command: " + cmdDesc.getName() + " available after: "
+                        + poolDesc.getAcquireTimeout());
+            }
+            try {
+                if (!worker.isHealthy()) {
+                    log.debug("Restarting unhealthy worker: " + worker.id);
+                    worker.stop();
+                    worker.start();
+                }
+            } catch (IOException | RuntimeException e) {
+                idleWorkers.add(worker);
+                throw e;
+            }
+            return worker;
+        }
+
+        protected void release(Worker worker, boolean successful) {
+            worker.jobs++;
+            // a failed job may only be due to its input, check the worker before recycling it
+            if (worker.needsRecycling() || !successful && !worker.isHealthy()) {
+                log.debug("Recycling worker: " + worker.id + " after " + worker.jobs + " jobs");
+                worker.stop();
+                try {
+                    starter.execute(() -> warmUp(worker));
+                    return;
+                } catch (RuntimeException e) {
+                    // executor shut down, the worker will be started on next use
+                }
+            }
+            idleWorkers.add(worker);
+        }
+
+        @Override
+        public void close() {
+            workers.forEach(Worker::stop);
+        }
+
+    }
+
+    /**
+     * A long-lived worker process.
+     */
+    protected class Worker {
+
+        protected final WorkerPool pool;
+
+        protected final String id;
+
+        protected final int port;
+
+        protected volatile Process process;
+
+        protected int jobs;
+
+        protected Worker(WorkerPool pool, int index) {
+            this.pool = pool;
+            id = pool.cmdDesc.getName() + "-" + index;
+            int basePort = pool.poolDesc.getBasePort();
+            port = basePort > 0 ? basePort + index : 0;
+        }
+
+        protected CmdParameters getParameters(CmdParameters params) {
+            CmdParameters workerParams = new CmdParameters();
+            workerParams.getParameters().putAll(params.getParameters());
+            workerParams.addNamedParameter(WORKER_ID_PARAMETER, id);
+            workerParams.addNamedParameter(WORKER_PORT_PARAMETER, String.valueOf(port));
+            return workerParams;
+        }
+
+        protected synchronized void start() throws IOException {
+            CmdParameters params = getParameters(
+                    Framework.getService(CommandLineExecutorService.class).getDefaultCmdParameters());
+            List<String> command = new ArrayList<>();
+            String workerCommand = pool.poolDesc.getWorkerCommand();
+            command.add(SystemUtils.IS_OS_WINDOWS ? getCommandAbsolutePath(workerCommand) : workerCommand);
+            command.addAll(splitParameters(pool.poolDesc.getWorkerParametersString(), params));
+            if (log.isDebugEnabled()) {
+                log.debug("Starting worker: " + id + " with: " + command);
+            }
+
+            ProcessBuilder processBuilder = new ProcessBuilder(command);
+            processBuilder.directory(new File(pool.env.getWorkingDirectory()));
+            processBuilder.environment().putAll(pool.env.getParameters());
+            processBuilder.redirectErrorStream(true);
+            Process newProcess = processBuilder.start();
+            IOUtils.closeQuietly(newProcess.getOutputStream());
+            // the output is not used but must be consumed so that the worker never blocks on it
+            pipe(newProcess.getInputStream(), NullOutputStream.NULL_OUTPUT_STREAM);
+            process = newProcess;
+            jobs = 0;
+            waitReady();
+        }
+
+        protected void waitReady() throws IOException {
+            long deadline = System.nanoTime() + pool.poolDesc.getStartTimeout().toNanos();
+            while (!isHealthy()) {
+                if (!process.isAlive()) {
+                    throw new IOException("Worker: " + id + " exited with code: " + process.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    stop();
+                    throw new IOException("Worker: " + id + " not ready after: " + pool.poolDesc.getStartTimeout());
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stop();
+                    throw new IOException("Interrupted while starting worker: " + id, e);
+                }
+            }
+        }
+
+        protected boolean isHealthy() {
+            Process p = process;
+            if (p == null || !p.isAlive()) {
+                return false;
+            }
+            if (port <= 0) {
+                return true;
+            }
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                        (int) HEALTH_CHECK_TIMEOUT_MS);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        protected boolean needsRecycling() {
+            int maxJobs = pool.poolDesc.getMaxJobs();
+            if (maxJobs > 0 && jobs >= maxJobs) {
+                return true;
+            }
+            long maxMemory = pool.poolDesc.getMaxMemory();
+            return maxMemory > 0 && getResidentMemory() > maxMemory;
+        }
+
+        /**
+         * Returns the resident memory of the worker process in MB, or -1 if it cannot be read on this system.
+         */
+        protected long getResidentMemory() {
+            long pid = getPid(process);
+            if (pid < 0) {
+                return -1;
+            }
+            Path status = Paths.get("/proc", String.valueOf(pid), "status");
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) {
+                        // VmRSS:    123456 kB
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                log.trace("Unable to read the memory of worker: " + id, e);
+            }
+            return -1;
+        }
+
+        protected synchronized void stop() {
+            Process p = process;
+            process = null;
+            if (p == null || !p.isAlive()) {
+                return;
+            }
+            p.destroy();
+            try {
+                if (!p.waitFor(STOP_TIMEOUT_S, TimeUnit.SECONDS)) {
+                    p.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                p.destroyForcibly();
+            }
+        }
+
+    }
+
+    /**
+     * Returns the pid of a process, or -1 if unknown.
+     */
+    protected static long getPid(Process process) {
+        if (process == null) {
+            return -1;
+        }
+        try {
+            // no Process#pid before Java 9
+            Field field = process.getClass().getDeclaredField("pid");
+            field.setAccessible(true);
+            return field.getLong(process);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+}
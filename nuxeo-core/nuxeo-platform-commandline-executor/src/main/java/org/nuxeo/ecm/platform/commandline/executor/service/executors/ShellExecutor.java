@@ -116,19 +116,7 @@ public class ShellExecutor implements Executor {
             }
         }
         list.add(cmdDesc.getCommand());
-        Matcher m = COMMAND_SPLIT.matcher(cmdDesc.getParametersString());
-        while (m.find()) {
-            String word;
-            if (m.group(1) != null) {
-                word = m.group(1); // double-quoted
-            } else if (m.group(2) != null) {
-                word = m.group(2); // single-quoted
-            } else {
-                word = m.group(); // word
-            }
-            List<String> words = replaceParams(word, params);
-            list.addAll(words);
-        }
+        list.addAll(splitParameters(cmdDesc.getParametersString(), params));
 
         List<Process> processes = new LinkedList<>();
         List<Thread> pipes = new LinkedList<>();
@@ -208,6 +196,29 @@ public class ShellExecutor implements Executor {
         return new ExecResult(null, output, 0, returnCode);
     }
 
+    /**
+     * Splits a contributed parameter string while keeping quoted parts intact, and expands the parameters of each word.
+     *
+     * @since 10.10-HF58
+     */
+    protected static List<String> splitParameters(String parametersString, CmdParameters params) {
+        List<String> list = new ArrayList<>();
+        Matcher m = COMMAND_SPLIT.matcher(parametersString);
+        while (m.find()) {
+            String word;
+            if (m.group(1) != null) {
+                word = m.group(1); // double-quoted
+            } else if (m.group(2) != null) {
+                word = m.group(2); // single-quoted
+            } else {
+                word = m.group(); // word
+            }
+            List<String> words = replaceParams(word, params);
+            list.addAll(words);
+        }
+        return list;
+    }
+
     protected int getTimeout(CommandLineDescriptor cmdDesc) {
         int timeout = cmdDesc.getTimeout() != null ? Math.toIntExact(cmdDesc.getTimeout().getSeconds()) : DEFAULT_TIMEOUT_S;
         int ttl = TransactionHelper.getTransactionTimeToLive();
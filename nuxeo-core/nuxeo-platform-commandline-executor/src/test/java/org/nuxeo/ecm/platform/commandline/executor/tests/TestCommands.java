@@ -27,7 +27,9 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.inject.Inject;
 
@@ -41,6 +43,7 @@ import org.nuxeo.ecm.platform.commandline.executor.api.CommandLineExecutorServic
 import org.nuxeo.ecm.platform.commandline.executor.api.ExecResult;
 import org.nuxeo.ecm.platform.commandline.executor.service.executors.ShellExecutor;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
@@ -48,6 +51,9 @@ import org.nuxeo.runtime.test.runner.TransactionalFeature;
 import org.nuxeo.runtime.transaction.TransactionHelper;
 import org.nuxeo.runtime.transaction.TransactionRuntimeException;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 /**
  * Tests commands parsing.
  *
@@ -166,4 +172,30 @@ public class TestCommands {
         TransactionHelper.startTransaction();
     }
 
+    @Test
+    @Deploy("org.nuxeo.ecm.platform.commandline.executor:OSGI-INF/commandline-pool-test-contrib.xml")
+    public void testPooledCommand() throws Exception {
+        Assume.assumeFalse("Requires sleep", SystemUtils.IS_OS_WINDOWS);
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        long count = registry.timer(MetricRegistry.name("nuxeo", "commandline", "pooledEcho", "exec")).getCount();
+
+        // more executions than workers and jobs per worker, so that workers are reused and recycled
+        Set<String> workerIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            ExecResult result = cles.execCommand("pooledEcho", cles.getDefaultCmdParameters());
+            assertTrue(String.valueOf(result.getError()), result.isSuccessful());
+            assertEquals(1, result.getOutput().size());
+            workerIds.add(result.getOutput().get(0));
+        }
+        assertTrue(workerIds.toString(), workerIds.size() <= 2);
+        for (String workerId : workerIds) {
+            assertTrue(workerId, workerId.startsWith("pooledEcho-"));
+        }
+
+        assertEquals(count + 5,
+                registry.timer(MetricRegistry.name("nuxeo", "commandline", "pooledEcho", "exec")).getCount());
+        assertEquals(count + 5,
+                registry.timer(MetricRegistry.name("nuxeo", "commandline", "pooledEcho", "queue")).getCount());
+    }
+
 }
@@ -26,9 +26,6 @@ import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -36,11 +33,6 @@ import org.apache.commons.io.IOUtils;
 import org.mvel2.MVEL;
 import org.nuxeo.ecm.automation.OperationContext;
 import org.nuxeo.ecm.automation.OperationException;
-import org.nuxeo.ecm.automation.context.ContextService;
-import org.nuxeo.ecm.automation.core.Constants;
-import org.nuxeo.ecm.core.api.DocumentModel;
-import org.nuxeo.ecm.core.api.DocumentModelList;
-import org.nuxeo.runtime.api.Framework;
 
 import groovy.lang.Binding;
 
@@ -89,46 +81,13 @@ public class Scripting {
         }
     }
 
+    /**
+     * Gets the bindings used to evaluate scripts and expressions, the variables are resolved when read.
+     *
+     * @see ScriptingBindings
+     */
     public static Map<String, Object> initBindings(OperationContext ctx) {
-        Object input = ctx.getInput(); // get last output
-        Map<String, Object> map = new HashMap<>(ctx.getVars());
-        map.put("CurrentDate", new DateWrapper());
-        map.put("Context", ctx);
-        if (ctx.get(Constants.VAR_WORKFLOW) != null) {
-            map.put(Constants.VAR_WORKFLOW, ctx.get(Constants.VAR_WORKFLOW));
-        }
-        if (ctx.get(Constants.VAR_WORKFLOW_NODE) != null) {
-            map.put(Constants.VAR_WORKFLOW_NODE, ctx.get(Constants.VAR_WORKFLOW_NODE));
-        }
-        map.put("This", input);
-        map.put("Session", ctx.getCoreSession());
-        PrincipalWrapper principalWrapper = new PrincipalWrapper(ctx.getPrincipal());
-        map.put("CurrentUser", principalWrapper);
-        // Alias
-        map.put("currentUser", principalWrapper);
-        map.put("Env", Framework.getProperties());
-
-        // Helpers injection
-        ContextService contextService = Framework.getService(ContextService.class);
-        map.putAll(contextService.getHelperFunctions());
-
-        if (input instanceof DocumentModel) {
-            DocumentWrapper documentWrapper = new DocumentWrapper(ctx.getCoreSession(), (DocumentModel) input);
-            map.put("Document", documentWrapper);
-            // Alias
-            map.put("currentDocument", documentWrapper);
-        }
-        if (input instanceof DocumentModelList) {
-            List<DocumentWrapper> docs = new ArrayList<>();
-            for (DocumentModel doc : (DocumentModelList) input) {
-                docs.add(new DocumentWrapper(ctx.getCoreSession(), doc));
-            }
-            map.put("Documents", docs);
-            if (!docs.isEmpty()) {
-                map.put("Document", docs.get(0));
-            }
-        }
-        return map;
+        return new ScriptingBindings(ctx);
     }
 
     public interface Script {
@@ -0,0 +1,263 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.automation.core.scripting;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.nuxeo.ecm.automation.OperationContext;
+import org.nuxeo.ecm.automation.context.ContextHelper;
+import org.nuxeo.ecm.automation.context.ContextService;
+import org.nuxeo.ecm.automation.core.Constants;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Bindings of the scripting expressions, resolving the variables of an {@link OperationContext} only when they are
+ * read.
+ * <p>
+ * MVEL reads its variables through {@link #containsKey} and {@link #get}, so that evaluating an expression only
+ * creates the wrappers of the variables it actually uses. The bindings contain the same variables as an eager map built
+ * from the context: the context variables, overridden by the built-in variables ({@code CurrentDate}, {@code Context},
+ * {@code This}, {@code Session}, {@code CurrentUser}, {@code Env}...), overridden by the context helpers, overridden by
+ * the {@code Document}/{@code Documents} wrappers of the input.
+ * <p>
+ * Resolved values are kept for the lifetime of the bindings. Iterating over the bindings resolves all the variables,
+ * the entry set is a snapshot.
+ *
+ * @since 10.10-HF58
+ */
+public class ScriptingBindings extends AbstractMap<String, Object> {
+
+    protected static final Object NOT_FOUND = new Object();
+
+    protected static final Set<String> BUILTIN_NAMES = new HashSet<>(Arrays.asList("CurrentDate", "Context", "This",
+            "Session", "CurrentUser", "currentUser", "Env"));
+
+    protected final OperationContext ctx;
+
+    protected final Object input;
+
+    /** Resolved or explicitly put values. */
+    protected final Map<String, Object> values = new HashMap<>();
+
+    protected Set<String> removed;
+
+    protected Map<String, ContextHelper> helpers;
+
+    protected PrincipalWrapper principalWrapper;
+
+    protected DocumentWrapper documentWrapper;
+
+    public ScriptingBindings(OperationContext ctx) {
+        this.ctx = ctx;
+        input = ctx.getInput(); // get last output
+    }
+
+    /**
+     * Resolves the variable, keeping its value for later reads.
+     *
+     * @return the value, or {@link #NOT_FOUND}
+     */
+    protected Object lookup(Object key) {
+        if (values.containsKey(key)) {
+            return values.get(key);
+        }
+        if (!(key instanceof String) || removed != null && removed.contains(key)) {
+            return NOT_FOUND;
+        }
+        String name = (String) key;
+        Object value = resolve(name);
+        if (value != NOT_FOUND) {
+            values.put(name, value);
+        }
+        return value;
+    }
+
+    protected Object resolve(String name) {
+        Object value = resolveDocument(name);
+        if (value != NOT_FOUND) {
+            return value;
+        }
+        ContextHelper helper = getHelpers().get(name);
+        if (helper != null) {
+            return helper;
+        }
+        if (BUILTIN_NAMES.contains(name)) {
+            return resolveBuiltin(name);
+        }
+        if (Constants.VAR_WORKFLOW.equals(name) || Constants.VAR_WORKFLOW_NODE.equals(name)) {
+            value = ctx.get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        Map<String, Object> vars = ctx.getVars();
+        value = vars.get(name);
+        return value != null || vars.containsKey(name) ? value : NOT_FOUND;
+    }
+
+    protected Object resolveDocument(String name) {
+        if (input instanceof DocumentModel) {
+            if ("Document".equals(name) || "currentDocument".equals(name)) {
+                if (documentWrapper == null) {
+                    documentWrapper = new DocumentWrapper(ctx.getCoreSession(), (DocumentModel) input);
+                }
+                return documentWrapper;
+            }
+        } else if (input instanceof DocumentModelList) {
+            DocumentModelList docs = (DocumentModelList) input;
+            if ("Documents".equals(name)) {
+                List<DocumentWrapper> wrappers = new ArrayList<>(docs.size());
+                for (DocumentModel doc : docs) {
+                    wrappers.add(new DocumentWrapper(ctx.getCoreSession(), doc));
+                }
+                return wrappers;
+            } else if ("Document".equals(name) && !docs.isEmpty()) {
+                return new DocumentWrapper(ctx.getCoreSession(), docs.get(0));
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    protected Object resolveBuiltin(String name) {
+        switch (name) {
+        case "CurrentDate":
+            return new DateWrapper();
+        case "Context":
+            return ctx;
+        case "This":
+            return input;
+        case "Session":
+            return ctx.getCoreSession();
+        case "CurrentUser":
+        case "currentUser":
+            if (principalWrapper == null) {
+                principalWrapper = new PrincipalWrapper(ctx.getPrincipal());
+            }
+            return principalWrapper;
+        case "Env":
+            return Framework.getProperties();
+        default:
+            return NOT_FOUND;
+        }
+    }
+
+    protected Map<String, ContextHelper> getHelpers() {
+        if (helpers == null) {
+            helpers = Framework.getService(ContextService.class).getHelperFunctions();
+        }
+        return helpers;
+    }
+
+    /**
+     * Gets the names of all the variables.
+     */
+    protected Set<String> getNames() {
+        Set<String> names = new LinkedHashSet<>(ctx.getVars().keySet());
+        for (String name : Arrays.asList(Constants.VAR_WORKFLOW, Constants.VAR_WORKFLOW_NODE)) {
+            if (ctx.get(name) != null) {
+                names.add(name);
+            }
+        }
+        names.addAll(BUILTIN_NAMES);
+        names.addAll(getHelpers().keySet());
+        if (input instanceof DocumentModel) {
+            names.add("Document");
+            names.add("currentDocument");
+        } else if (input instanceof DocumentModelList) {
+            names.add("Documents");
+            if (!((DocumentModelList) input).isEmpty()) {
+                names.add("Document");
+            }
+        }
+        names.addAll(values.keySet());
+        if (removed != null) {
+            names.removeAll(removed);
+        }
+        return names;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return lookup(key) != NOT_FOUND;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = lookup(key);
+        return value == NOT_FOUND ? null : value;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        values.put(key, value);
+        if (removed != null) {
+            removed.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        values.remove(key);
+        if (key instanceof String) {
+            if (removed == null) {
+                removed = new HashSet<>();
+            }
+            removed.add((String) key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        removed = new HashSet<>(getNames());
+        values.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(getNames());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> map = new HashMap<>();
+        for (String name : getNames()) {
+            Object value = lookup(name);
+            if (value != NOT_FOUND) {
+                map.put(name, value);
+            }
+        }
+        return Collections.unmodifiableMap(map).entrySet();
+    }
+
+}
@@ -62,6 +62,13 @@ public class Call {
 
     protected final Details details;
 
+    /**
+     * Duration of the operation in nanoseconds, or -1 if unknown.
+     *
+     * @since 10.10-HF58
+     */
+    protected long duration = -1;
+
     protected Call(OperationType chain, OperationType op, Details details) {
         type = op;
         chainId = chain.getId();
@@ -194,6 +201,22 @@ public class Call {
         return aliases;
     }
 
+    /**
+     * Gets the duration of the operation in nanoseconds, or -1 if unknown.
+     *
+     * @since 10.10-HF58
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @since 10.10-HF58
+     */
+    protected static String formatDuration(long duration) {
+        return String.format("%.3f ms", duration / 1_000_000d);
+    }
+
     /**
      * @since 9.3
      */
@@ -223,6 +246,11 @@ public class Call {
             writer.append(LF);
             writer.append("Input: ");
             writer.append(getInput() == null ? "null" : getInput().toString());
+            if (duration >= 0) {
+                writer.append(LF);
+                writer.append("Duration: ");
+                writer.append(formatDuration(duration));
+            }
             if (!getParameters().isEmpty()) {
                 writer.append(LF);
                 writer.append("Parameters ");
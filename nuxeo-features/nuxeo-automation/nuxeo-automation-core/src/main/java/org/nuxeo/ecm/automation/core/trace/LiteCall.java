@@ -35,9 +35,23 @@ public class LiteCall extends Call {
         super(chain, op);
     }
 
+    /**
+     * @param duration the duration of the operation in nanoseconds, or -1 if unknown
+     * @since 10.10-HF58
+     */
+    public LiteCall(OperationType chain, OperationType op, long duration) {
+        super(chain, op);
+        this.duration = duration;
+    }
+
     @Override
     public void print(BufferedWriter writer) throws IOException {
         writer.append(getType().getType().getName());
+        if (duration >= 0) {
+            writer.append(" (");
+            writer.append(formatDuration(duration));
+            writer.append(")");
+        }
         writer.append(LF);
     }
 }
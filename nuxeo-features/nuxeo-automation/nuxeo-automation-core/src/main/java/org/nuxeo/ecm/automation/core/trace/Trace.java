@@ -53,13 +53,29 @@ public class Trace {
 
     protected final Exception error;
 
+    /**
+     * Duration of the chain in nanoseconds, or -1 if unknown.
+     *
+     * @since 10.10-HF58
+     */
+    protected final long duration;
+
     protected Trace(Call parent, OperationType chain, List<Call> calls, Object input, Object output, Exception error) {
+        this(parent, chain, calls, input, output, error, -1);
+    }
+
+    /**
+     * @since 10.10-HF58
+     */
+    protected Trace(Call parent, OperationType chain, List<Call> calls, Object input, Object output, Exception error,
+            long duration) {
         this.parent = parent;
         this.chain = chain;
         this.calls = new ArrayList<>(calls);
         this.input = input;
         this.output = output;
         this.error = error;
+        this.duration = duration;
     }
 
     public Call getParent() {
@@ -86,6 +102,26 @@ public class Trace {
         return calls;
     }
 
+    /**
+     * Gets the duration of the chain in nanoseconds, or -1 if unknown.
+     *
+     * @since 10.10-HF58
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @since 10.10-HF58
+     */
+    protected void printDuration(BufferedWriter writer) throws IOException {
+        if (duration >= 0) {
+            writer.append(LF);
+            writer.append("Duration: ");
+            writer.append(Call.formatDuration(duration));
+        }
+    }
+
     @Override
     public String toString() {
         return print(true);
@@ -110,6 +146,7 @@ public class Trace {
             writer.append("Aliases: ");
             writer.append(Arrays.toString(getChain().getAliases()));
         }
+        printDuration(writer);
         if (error != null) {
             writer.append(LF);
             writer.append("Exception: ");
@@ -185,6 +222,7 @@ public class Trace {
             writer.append("Produced output type: ");
             writer.append(output == null ? "Void" : output.getClass().getSimpleName());
         }
+        printDuration(writer);
         writer.append(LF);
         writer.append("****** Hierarchy calls ******");
         writer.append(LF);
@@ -20,7 +20,11 @@
 
 package org.nuxeo.ecm.automation.core.trace;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
@@ -31,27 +35,108 @@ import org.nuxeo.ecm.automation.core.impl.InvokableMethod;
 
 /**
  * Automation Abstract tracer recording all automation execution traces.
+ * <p>
+ * Chain and operation durations are always timed and reported to the factory. When the recording is disabled, the
+ * operations are only kept in arrays of the chain context, and a trace is built only if the chain fails or is slow.
  *
  * @since 5.9.1
  */
 public class Tracer implements OperationCallback {
 
+    protected static final int INITIAL_OPERATIONS_CAPACITY = 8;
+
     protected final TracerFactory factory;
 
     protected Stack<Context> stack = new Stack<Context>();
 
     class Context {
-        final Call parent;
-
         final OperationType typeof;
 
         final LinkedList<Call> calls = new LinkedList<Call>();
 
+        final boolean recording;
+
+        final long start;
+
+        OperationType[] operations = new OperationType[INITIAL_OPERATIONS_CAPACITY];
+
+        long[] durations = new long[INITIAL_OPERATIONS_CAPACITY];
+
+        int size;
+
+        long operationStart;
+
+        boolean operating;
+
+        /** Traces of the failed or slow sub chains by operation index, when not recording. */
+        Map<Integer, List<Trace>> nested;
+
+        Object output;
+
         Exception error;
 
-        Context(Call parent, OperationType oftype) {
-            this.parent = parent;
+        Context(OperationType oftype, boolean recording) {
             typeof = oftype;
+            this.recording = recording;
+            start = System.nanoTime();
+        }
+
+        void enterOperation(OperationType type) {
+            if (size == operations.length) {
+                operations = Arrays.copyOf(operations, size * 2);
+                durations = Arrays.copyOf(durations, size * 2);
+            }
+            operations[size] = type;
+            durations[size] = -1;
+            size++;
+            operating = true;
+            operationStart = System.nanoTime();
+        }
+
+        void exitOperation() {
+            if (!operating) {
+                return;
+            }
+            operating = false;
+            long duration = System.nanoTime() - operationStart;
+            durations[size - 1] = duration;
+            if (recording && !calls.isEmpty()) {
+                calls.getLast().duration = duration;
+            }
+            factory.updateOperationTimer(operations[size - 1], duration);
+        }
+
+        Call getCurrentCall() {
+            if (recording) {
+                return calls.peekLast();
+            }
+            return size == 0 ? null : new LiteCall(typeof, operations[size - 1]);
+        }
+
+        void addNested(Trace trace) {
+            if (recording) {
+                Call call = calls.peekLast();
+                if (call != null) {
+                    call.nested.add(trace);
+                }
+            } else if (size > 0) {
+                if (nested == null) {
+                    nested = new HashMap<>();
+                }
+                nested.computeIfAbsent(Integer.valueOf(size - 1), k -> new ArrayList<>()).add(trace);
+            }
+        }
+
+        List<Call> newLiteCalls() {
+            List<Call> liteCalls = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                LiteCall call = new LiteCall(typeof, operations[i], durations[i]);
+                if (nested != null && nested.containsKey(Integer.valueOf(i))) {
+                    call.nested.addAll(nested.get(Integer.valueOf(i)));
+                }
+                liteCalls.add(call);
+            }
+            return liteCalls;
         }
 
     }
@@ -61,17 +146,28 @@ public class Tracer implements OperationCallback {
     }
 
     protected void pushContext(OperationType chain) {
-        stack.push(new Context(stack.isEmpty() ? null : stack.peek().calls.peekLast(), chain));
+        stack.push(new Context(chain, factory.getRecordingState()));
     }
 
     protected void popContext() {
         Context context = stack.pop();
-        Trace trace = factory.newTrace(context.parent, context.typeof, context.calls,
-                context.calls.getLast().getOutput(), context.error);
+        context.exitOperation();
+        long duration = System.nanoTime() - context.start;
+        factory.updateChainTimer(context.typeof, duration);
+        List<Call> calls;
+        if (context.recording) {
+            calls = context.calls;
+        } else if (context.error != null || factory.isSlow(duration)) {
+            calls = context.newLiteCalls();
+        } else {
+            return;
+        }
+        Call parent = stack.isEmpty() ? null : stack.peek().getCurrentCall();
+        Trace trace = factory.newTrace(parent, context.typeof, calls, context.output, context.error, duration);
         if (stack.isEmpty()) {
             factory.onTrace(trace);
         } else {
-            context.parent.nested.add(trace);
+            stack.peek().addNested(trace);
         }
     }
 
@@ -88,12 +184,21 @@ public class Tracer implements OperationCallback {
     @Override
     public void onOperationEnter(OperationContext context, OperationType type, InvokableMethod method,
             Map<String, Object> params) {
-        stack.peek().calls.add(factory.newCall(stack.peek().typeof, context, type, method, params));
+        Context current = stack.peek();
+        if (current.recording) {
+            current.calls.add(factory.newCall(current.typeof, context, type, method, params));
+        }
+        current.enterOperation(type);
     }
 
     @Override
     public void onOperationExit(Object output) {
-        stack.peek().calls.peekLast().details.output = output;
+        Context current = stack.peek();
+        current.exitOperation();
+        current.output = output;
+        if (current.recording) {
+            current.calls.peekLast().details.output = output;
+        }
     }
 
     @Override
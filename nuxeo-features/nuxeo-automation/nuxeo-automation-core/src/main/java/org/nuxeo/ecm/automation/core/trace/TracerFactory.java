@@ -19,10 +19,14 @@
  */
 package org.nuxeo.ecm.automation.core.trace;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -34,12 +38,20 @@ import org.nuxeo.ecm.automation.OperationContext;
 import org.nuxeo.ecm.automation.OperationType;
 import org.nuxeo.ecm.automation.core.impl.InvokableMethod;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 
 /**
  * @since 5.7.3 The Automation tracer factory service.
+ *        <p>
+ *        Whether the recording is enabled or not, the duration of each chain and operation is reported to the
+ *        {@code nuxeo.automation.chains.<id>} and {@code nuxeo.automation.operations.<id>} timers, and the lite traces
+ *        of the chains lasting more than the slow trace threshold are kept.
  */
 public class TracerFactory implements TracerFactoryMBean {
 
@@ -47,6 +59,26 @@ public class TracerFactory implements TracerFactoryMBean {
 
     public static final String AUTOMATION_TRACE_PRINTABLE_PROPERTY = "org.nuxeo.automation.trace.printable";
 
+    /**
+     * Duration in milliseconds above which the trace of a chain is kept as a slow trace, 0 to disable.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String AUTOMATION_TRACE_SLOW_THRESHOLD_PROPERTY = "org.nuxeo.automation.trace.slow.threshold";
+
+    /** @since 10.10-HF58 */
+    public static final String DEFAULT_SLOW_THRESHOLD = "1000";
+
+    /**
+     * Maximum number of slow traces kept, the oldest ones being dropped.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String AUTOMATION_TRACE_SLOW_MAX_PROPERTY = "org.nuxeo.automation.trace.slow.max";
+
+    /** @since 10.10-HF58 */
+    public static final String DEFAULT_SLOW_MAX = "20";
+
     protected static final Integer CACHE_CONCURRENCY_LEVEL = 10;
 
     protected static final Integer CACHE_MAXIMUM_SIZE = 1000;
@@ -63,6 +95,23 @@ public class TracerFactory implements TracerFactoryMBean {
 
     protected Trace lastError;
 
+    /** @since 10.10-HF58 */
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    /** @since 10.10-HF58 */
+    protected final Map<String, Timer> chainTimers = new ConcurrentHashMap<>();
+
+    /** @since 10.10-HF58 */
+    protected final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+
+    /** Slow trace threshold in nanoseconds. */
+    protected volatile long slowThreshold;
+
+    protected final int slowMax;
+
+    /** Printed slow traces, most recent first. */
+    protected final Deque<String> slowTraces = new ArrayDeque<>();
+
     public TracerFactory() {
         tracesCache = CacheBuilder.newBuilder()
                                   .concurrencyLevel(CACHE_CONCURRENCY_LEVEL)
@@ -71,6 +120,9 @@ public class TracerFactory implements TracerFactoryMBean {
                                   .build();
         recording = Framework.isBooleanPropertyTrue(AUTOMATION_TRACE_PROPERTY);
         setPrintableTraces(Framework.getProperty(AUTOMATION_TRACE_PRINTABLE_PROPERTY, "*"));
+        String threshold = Framework.getProperty(AUTOMATION_TRACE_SLOW_THRESHOLD_PROPERTY, DEFAULT_SLOW_THRESHOLD);
+        setSlowTraceThreshold(Long.parseLong(threshold));
+        slowMax = Integer.parseInt(Framework.getProperty(AUTOMATION_TRACE_SLOW_MAX_PROPERTY, DEFAULT_SLOW_MAX));
     }
 
     protected static class ChainTraces {
@@ -126,6 +178,63 @@ public class TracerFactory implements TracerFactoryMBean {
         return new Trace(parent, typeof, calls, calls.get(0).details.input, output, error);
     }
 
+    /**
+     * @param duration the duration of the chain in nanoseconds
+     * @since 10.10-HF58
+     */
+    public Trace newTrace(Call parent, OperationType typeof, List<Call> calls, Object output, Exception error,
+            long duration) {
+        Object input = calls.isEmpty() ? null : calls.get(0).details.input;
+        return new Trace(parent, typeof, calls, input, output, error, duration);
+    }
+
+    /**
+     * Reports the duration in nanoseconds of a chain execution.
+     *
+     * @since 10.10-HF58
+     */
+    public void updateChainTimer(OperationType chain, long duration) {
+        getTimer(chainTimers, "chains", chain.getId()).update(duration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reports the duration in nanoseconds of an operation execution.
+     *
+     * @since 10.10-HF58
+     */
+    public void updateOperationTimer(OperationType operation, long duration) {
+        getTimer(operationTimers, "operations", operation.getId()).update(duration, TimeUnit.NANOSECONDS);
+    }
+
+    protected Timer getTimer(Map<String, Timer> timers, String kind, String id) {
+        Timer timer = timers.get(id);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(id,
+                    k -> registry.timer(MetricRegistry.name("nuxeo", "automation", kind, k)));
+        }
+        return timer;
+    }
+
+    /**
+     * Checks whether a chain lasting the given duration in nanoseconds is slow.
+     *
+     * @since 10.10-HF58
+     */
+    public boolean isSlow(long duration) {
+        long threshold = slowThreshold;
+        return threshold > 0 && duration >= threshold;
+    }
+
+    protected void recordSlowTrace(Trace trace) {
+        String printed = trace.print(true);
+        synchronized (slowTraces) {
+            slowTraces.addFirst(printed);
+            while (slowTraces.size() > slowMax) {
+                slowTraces.removeLast();
+            }
+        }
+    }
+
     protected void recordTrace(Trace trace) {
         String chainId = trace.chain.getId();
         ChainTraces chainTraces = tracesCache.getIfPresent(chainId);
@@ -180,6 +289,27 @@ public class TracerFactory implements TracerFactoryMBean {
     @Override
     public void clearTraces() {
         tracesCache.invalidateAll();
+        synchronized (slowTraces) {
+            slowTraces.clear();
+        }
+    }
+
+    @Override
+    public List<String> getSlowTraces() {
+        synchronized (slowTraces) {
+            return new ArrayList<>(slowTraces);
+        }
+    }
+
+    @Override
+    public long getSlowTraceThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThreshold);
+    }
+
+    @Override
+    public long setSlowTraceThreshold(long threshold) {
+        slowThreshold = TimeUnit.MILLISECONDS.toNanos(threshold);
+        return threshold;
     }
 
     protected static String formatKey(OperationType chain, int index) {
@@ -187,6 +317,9 @@ public class TracerFactory implements TracerFactoryMBean {
     }
 
     public void onTrace(Trace trace) {
+        if (isSlow(trace.duration)) {
+            recordSlowTrace(trace);
+        }
         boolean containsError = trace.error != null;
         if (!(recording || containsError)) {
             return;
@@ -19,6 +19,8 @@
  */
 package org.nuxeo.ecm.automation.core.trace;
 
+import java.util.List;
+
 import javax.management.MXBean;
 
 /**
@@ -36,4 +38,25 @@ public interface TracerFactoryMBean {
     String getPrintableTraces();
 
     String setPrintableTraces(String printableTraces);
+
+    /**
+     * Gets the lite traces of the last chains which lasted more than the slow trace threshold, most recent first.
+     *
+     * @since 10.10-HF58
+     */
+    List<String> getSlowTraces();
+
+    /**
+     * Gets the duration in milliseconds above which a chain trace is kept as a slow trace, 0 if disabled.
+     *
+     * @since 10.10-HF58
+     */
+    long getSlowTraceThreshold();
+
+    /**
+     * Sets the duration in milliseconds above which a chain trace is kept as a slow trace, 0 to disable.
+     *
+     * @since 10.10-HF58
+     */
+    long setSlowTraceThreshold(long threshold);
 }
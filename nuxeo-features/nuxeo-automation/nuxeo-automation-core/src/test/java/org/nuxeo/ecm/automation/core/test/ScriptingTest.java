@@ -20,6 +20,9 @@ package org.nuxeo.ecm.automation.core.test;
 
 import static org.junit.Assert.assertNotNull;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import javax.inject.Inject;
 
 import org.junit.After;
@@ -82,6 +85,38 @@ public class ScriptingTest {
         assertNotNull(Scripting.newExpression("CurrentUser.name").eval(ctx));
     }
 
+    @Test
+    public void testBindings() throws Exception {
+        ctx.put("myVar", "myValue");
+        ctx.put("nullVar", null);
+        Assert.assertEquals("myValue", Scripting.newExpression("myVar").eval(ctx));
+        Assert.assertEquals("Source", Scripting.newExpression("Document.title").eval(ctx));
+        Assert.assertEquals("Source - myValue", Scripting.newTemplate("${currentDocument.title} - ${myVar}").eval(ctx));
+        Assert.assertNull(Scripting.newExpression("nullVar").eval(ctx));
+
+        Map<String, Object> bindings = Scripting.initBindings(ctx);
+        Assert.assertTrue(bindings.containsKey("nullVar"));
+        Assert.assertFalse(bindings.containsKey("Documents"));
+        Assert.assertFalse(bindings.containsKey("unknownVar"));
+        Assert.assertSame(bindings.get("Document"), bindings.get("currentDocument"));
+        Assert.assertSame(src, bindings.get("This"));
+        bindings.put("This", "overridden");
+        Assert.assertEquals("overridden", bindings.get("This"));
+        bindings.remove("myVar");
+        Assert.assertFalse(bindings.containsKey("myVar"));
+        Assert.assertTrue(bindings.keySet().containsAll(Arrays.asList("CurrentUser", "Env", "Document", "nullVar")));
+    }
+
+    @Test
+    @Deploy("org.nuxeo.ecm.automation.core:test-helpers-override.xml")
+    public void testHelperShadowsBuiltin() throws Exception {
+        Assert.assertEquals("helper", Scripting.newExpression("Env.name()").eval(ctx));
+        Map<String, Object> bindings = Scripting.initBindings(ctx);
+        Assert.assertTrue(bindings.get("Env") instanceof EnvHelper);
+        // other built-ins are unchanged
+        Assert.assertSame(ctx, bindings.get("Context"));
+    }
+
     @Test
     public void testEmptyExpression() throws Exception {
         OperationContext ctx = new OperationContext(session);
@@ -135,4 +135,9 @@ public class PaginableWithDelegate<T> extends ArrayList<T> implements Paginable<
         return delegate.getResultsCountLimit();
     }
 
+    @Override
+    public String getNextPageCursor() {
+        return delegate.getNextPageCursor();
+    }
+
 }
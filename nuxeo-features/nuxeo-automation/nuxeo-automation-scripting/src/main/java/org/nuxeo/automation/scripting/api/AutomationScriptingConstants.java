@@ -35,6 +35,16 @@ public class AutomationScriptingConstants {
 
     public static final String DEFAULT_PRECOMPILE_STATUS = "true";
 
+    /**
+     * Maximum number of compiled scripts kept in memory.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String AUTOMATION_SCRIPTING_CACHE_SIZE = "automation.scripting.cache.size";
+
+    /** @since 10.10-HF58 */
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
     public static final String XP_OPERATION = "operation";
 
     public static final String NX_NASHORN = "nx-nashorn";
@@ -16,17 +16,20 @@
  */
 package org.nuxeo.automation.scripting.internals;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.AUTOMATION_SCRIPTING_CACHE_SIZE;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.AUTOMATION_SCRIPTING_PRECOMPILE;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.COMPLIANT_JAVA_VERSION_CACHE;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.COMPLIANT_JAVA_VERSION_CLASS_FILTER;
+import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.DEFAULT_CACHE_SIZE;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.DEFAULT_PRECOMPILE_STATUS;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.NASHORN_JAVA_VERSION;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.NASHORN_WARN_CACHE;
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.NASHORN_WARN_CLASS_FILTER;
 import static org.nuxeo.launcher.config.ConfigurationGenerator.checkJavaVersion;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -39,13 +42,26 @@ import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.nuxeo.automation.scripting.api.AutomationScriptingService;
+import org.nuxeo.automation.scripting.internals.AutomationMapper.ScriptBuilder;
 import org.nuxeo.ecm.automation.OperationContext;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import jdk.nashorn.api.scripting.ClassFilter;
 import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
 import jdk.nashorn.api.scripting.ScriptObjectMirror;
@@ -54,6 +70,8 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
 
     private static final Log log = LogFactory.getLog(AutomationScriptingServiceImpl.class);
 
+    protected static final String NASHORN_GLOBAL = "nashorn.global";
+
     protected final ScriptEngine engine = getScriptEngine();
 
     protected AutomationScriptingParamsInjector paramsInjector;
@@ -61,6 +79,22 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
     // updated in-place only by extension points, so no concurrency issues
     protected Set<String> allowedClassNames = new HashSet<>();
 
+    /**
+     * Compiled scripts by hash of their source.
+     *
+     * @since 10.10-HF58
+     */
+    protected final Cache<String, CompiledScript> compiledScripts = CacheBuilder.newBuilder()
+            .maximumSize(getIntProperty(AUTOMATION_SCRIPTING_CACHE_SIZE, DEFAULT_CACHE_SIZE))
+            .build();
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final Timer compileTimer = registry.timer(
+            MetricRegistry.name("nuxeo", "automation", "scripting", "compile"));
+
+    protected final Timer evalTimer = registry.timer(MetricRegistry.name("nuxeo", "automation", "scripting", "eval"));
+
     @Override
     public Session get(CoreSession session) {
         return get(new OperationContext(session));
@@ -73,27 +107,30 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
 
     class Bridge implements Session {
 
-        final CompiledScript mapperScript = AutomationMapper.compile((Compilable) engine);
-
         final Compilable compilable = ((Compilable) engine);
 
         final Invocable invocable = ((Invocable) engine);
 
-        final ScriptContext scriptContext = engine.getContext();
+        // own context so that concurrent sessions don't share their bindings, nor their global
+        final ScriptContext scriptContext = new SimpleScriptContext();
 
         final AutomationMapper mapper;
 
         final ScriptObjectMirror global;
 
+        boolean closed;
+
         Bridge(OperationContext operationContext) {
             mapper = new AutomationMapper(operationContext);
+            scriptContext.setBindings(mapper, ScriptContext.ENGINE_SCOPE);
+            // Nashorn creates a new global during the evaluation, unless the session is opened by another script
+            // whose global is available in the operation context
             try {
-                mapperScript.eval(mapper);
+                compile(new ScriptBuilder().source()).eval(scriptContext);
             } catch (ScriptException cause) {
-                throw new NuxeoException("Cannot execute mapper " + mapperScript, cause);
+                throw new NuxeoException("Cannot execute mapper initialization script", cause);
             }
-            global = (ScriptObjectMirror) mapper.get("nashorn.global");
-            scriptContext.setBindings(mapper, ScriptContext.ENGINE_SCOPE);
+            global = (ScriptObjectMirror) mapper.get(NASHORN_GLOBAL);
         }
 
         @Override
@@ -116,8 +153,11 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
         @Override
         public Object run(InputStream input) {
             try {
-                return mapper.unwrap(engine.eval(new InputStreamReader(input), mapper));
-            } catch (ScriptException cause) {
+                CompiledScript script = compile(IOUtils.toString(input, UTF_8));
+                try (Timer.Context context = evalTimer.time()) {
+                    return mapper.unwrap(script.eval(scriptContext));
+                }
+            } catch (IOException | ScriptException cause) {
                 throw new NuxeoException("Cannot evaluate automation script", cause);
             }
         }
@@ -142,10 +182,36 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
 
         @Override
         public void close() throws Exception {
+            if (closed) {
+                return;
+            }
+            closed = true;
             mapper.flush();
         }
     }
 
+    /**
+     * Compiles the given script, or gets it from the cache of compiled scripts.
+     *
+     * @since 10.10-HF58
+     */
+    protected CompiledScript compile(String source) throws ScriptException {
+        String key = DigestUtils.sha256Hex(source);
+        CompiledScript script = compiledScripts.getIfPresent(key);
+        if (script == null) {
+            try (Timer.Context context = compileTimer.time()) {
+                script = ((Compilable) engine).compile(source);
+            }
+            compiledScripts.put(key, script);
+        }
+        return script;
+    }
+
+    protected static int getIntProperty(String name, int defaultValue) {
+        String value = Framework.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
     protected ScriptEngine getScriptEngine() {
         String version = Framework.getProperty("java.version");
         // Check if jdk8
@@ -51,9 +51,12 @@ import org.nuxeo.automation.scripting.AutomationScriptingFeature;
 import org.nuxeo.automation.scripting.api.AutomationScriptingService;
 import org.nuxeo.automation.scripting.internals.ScriptObjectMirrors;
 import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
 
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Charsets;
 
 import jdk.nashorn.api.scripting.ScriptObjectMirror;
@@ -251,6 +254,50 @@ public class TestCompileAndContext {
 
     }
 
+    @Test
+    public void testCompiledScriptsAreCached() throws Exception {
+        Timer compileTimer = SharedMetricRegistries.getOrCreate(MetricsService.class.getName())
+                                                   .timer("nuxeo.automation.scripting.compile");
+        String script = "var t = " + System.nanoTime() + "; t;";
+        try (AutomationScriptingService.Session scripting = pool.get(session)) {
+            long count = compileTimer.getCount();
+            scripting.run(new ByteArrayInputStream(script.getBytes(UTF_8)));
+            assertEquals(count + 1, compileTimer.getCount());
+        }
+        try (AutomationScriptingService.Session scripting = pool.get(session)) {
+            long count = compileTimer.getCount();
+            scripting.run(new ByteArrayInputStream(script.getBytes(UTF_8)));
+            assertEquals(count, compileTimer.getCount());
+        }
+    }
+
+    @Test
+    public void testOperationsRestoredBetweenSessions() throws Exception {
+        try (AutomationScriptingService.Session scripting = pool.get(session)) {
+            scripting.run(new ByteArrayInputStream("Document.Fetch = \"toto\";".getBytes(UTF_8)));
+        }
+        try (AutomationScriptingService.Session scripting = pool.get(session)) {
+            Object type = scripting.run(new ByteArrayInputStream("typeof Document.Fetch;".getBytes(UTF_8)));
+            assertEquals("function", type);
+        }
+    }
+
+    @Test
+    public void testGlobalsNotSharedBetweenSessions() throws Exception {
+        try (AutomationScriptingService.Session scripting = pool.get(session)) {
+            scripting.run(new ByteArrayInputStream(
+                    "var leaked = 'secret'; function leakedFn() { return 1; } Array.prototype.leakedProto = 1;".getBytes(
+                            UTF_8)));
+            assertEquals("string", scripting.run(new ByteArrayInputStream("typeof leaked;".getBytes(UTF_8))));
+        }
+        try (AutomationScriptingService.Session scripting = pool.get(session)) {
+            assertEquals("undefined", scripting.run(new ByteArrayInputStream("typeof leaked;".getBytes(UTF_8))));
+            assertEquals("undefined", scripting.run(new ByteArrayInputStream("typeof leakedFn;".getBytes(UTF_8))));
+            assertEquals("undefined",
+                    scripting.run(new ByteArrayInputStream("typeof [].leakedProto;".getBytes(UTF_8))));
+        }
+    }
+
     @Test
     public void testAutomationCtxSharing() throws Exception {
 
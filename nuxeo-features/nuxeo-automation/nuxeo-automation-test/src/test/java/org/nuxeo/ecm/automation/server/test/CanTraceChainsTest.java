@@ -58,10 +58,14 @@ import org.nuxeo.ecm.automation.core.trace.TracerFactory;
 import org.nuxeo.ecm.automation.test.AutomationFeature;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 /**
  * @since 5.7.3
  */
@@ -132,6 +136,40 @@ public class CanTraceChainsTest {
         assertEquals(3, calls.size());
     }
 
+    @Test
+    public void testSlowChainTraceWithoutRecording() throws Exception {
+        factory.toggleRecording();
+        assertFalse(factory.getRecordingState());
+        long threshold = factory.getSlowTraceThreshold();
+        // consider any chain as slow
+        Whitebox.setInternalState(factory, "slowThreshold", 1L);
+        try {
+            OperationChain chain = new OperationChain("slowChain");
+            chain.add(DummyOperation.ID);
+            chain.add(DummyOperation.ID);
+            context.setInput(DummyOperation.ID);
+            service.run(context, chain);
+
+            // not recorded as a full trace
+            assertNull(factory.getTrace("slowChain"));
+            List<String> slowTraces = factory.getSlowTraces();
+            assertFalse(slowTraces.isEmpty());
+            String slowTrace = slowTraces.get(0);
+            assertTrue(slowTrace, slowTrace.contains("Name: slowChain"));
+            assertTrue(slowTrace, slowTrace.contains("Duration: "));
+            assertTrue(slowTrace, slowTrace.contains(DummyOperation.class.getName() + " ("));
+        } finally {
+            factory.setSlowTraceThreshold(threshold);
+            factory.clearTraces();
+        }
+        assertTrue(factory.getSlowTraces().isEmpty());
+
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        assertEquals(1, registry.timer(MetricRegistry.name("nuxeo", "automation", "chains", "slowChain")).getCount());
+        assertTrue(registry.timer(MetricRegistry.name("nuxeo", "automation", "operations", DummyOperation.ID))
+                           .getCount() >= 2);
+    }
+
     @Test
     public void testSubchainsTrace() throws Exception {
         final String chainid = "traceSubchains";
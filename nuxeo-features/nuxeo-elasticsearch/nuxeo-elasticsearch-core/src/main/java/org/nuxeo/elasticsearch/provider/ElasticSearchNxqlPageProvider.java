@@ -81,6 +81,7 @@ public class ElasticSearchNxqlPageProvider extends CoreQueryDocumentPageProvider
         if (currentPageDocuments != null) {
             return currentPageDocuments;
         }
+        checkNoCursor();
         error = null;
         errorMessage = null;
         log.debug("Perform query for provider '{}': with pageSize={}, offset={}", this::getName,
@@ -243,6 +244,30 @@ public class ElasticSearchNxqlPageProvider extends CoreQueryDocumentPageProvider
         return false;
     }
 
+    @Override
+    public void setCurrentPageCursor(String cursor) {
+        throw new UnsupportedOperationException("Keyset pagination is not supported by page provider: " + getName());
+    }
+
+    @Override
+    public String getCurrentPageCursor() {
+        checkNoCursor();
+        return null;
+    }
+
+    /**
+     * Rejects a cursor passed through the page provider properties: keyset pagination is not implemented on
+     * Elasticsearch, don't fall back silently to offset pagination.
+     *
+     * @since 10.10-HF58
+     */
+    protected void checkNoCursor() {
+        if (getProperties().get(CURRENT_PAGE_CURSOR_PROP) != null) {
+            throw new UnsupportedOperationException(
+                    "Keyset pagination is not supported by page provider: " + getName());
+        }
+    }
+
     @Override
     public long getPageLimit() {
         return getMaxResultWindow() / getPageSize();
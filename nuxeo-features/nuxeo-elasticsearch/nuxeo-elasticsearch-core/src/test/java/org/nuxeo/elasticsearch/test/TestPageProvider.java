@@ -22,6 +22,7 @@ package org.nuxeo.elasticsearch.test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -992,6 +993,21 @@ public class TestPageProvider {
         assertEquals(PageProviderType.ELASTIC, pageProviderService.getPageProviderType(pageProvider));
     }
 
+    @Test
+    public void testKeysetPaginationIsRejected() {
+        PageProviderDefinition ppdef = pageProviderService.getPageProviderDefinition("NXQL_PP_PATTERN");
+        HashMap<String, Serializable> props = new HashMap<>();
+        props.put(ElasticSearchNativePageProvider.CORE_SESSION_PROPERTY, (Serializable) session);
+        props.put(PageProvider.CURRENT_PAGE_CURSOR_PROP, PageProvider.FIRST_PAGE_CURSOR);
+        PageProvider<?> pp = pageProviderService.getPageProvider("NXQL_PP_PATTERN", ppdef, null, null, 2L, 0L, props);
+        try {
+            pp.getCurrentPage();
+            fail("Keyset pagination should be rejected");
+        } catch (UnsupportedOperationException e) {
+            assertEquals("Keyset pagination is not supported by page provider: NXQL_PP_PATTERN", e.getMessage());
+        }
+    }
+
     protected void assertEqualsEvenUnderWindows(String expected, String actual) {
         if (SystemUtils.IS_OS_WINDOWS) {
             // make tests pass under Windows
@@ -19,6 +19,7 @@
  */
 package org.nuxeo.ecm.platform.picture;
 
+import static org.nuxeo.common.concurrent.ThreadFactories.newThreadFactory;
 import static org.nuxeo.ecm.platform.picture.api.ImagingConvertConstants.CONVERSION_FORMAT;
 import static org.nuxeo.ecm.platform.picture.api.ImagingConvertConstants.JPEG_CONVERSATION_FORMAT;
 import static org.nuxeo.ecm.platform.picture.api.ImagingConvertConstants.OPERATION_RESIZE;
@@ -32,9 +33,15 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -85,8 +92,31 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
 
     public static final String PICTURE_CONVERSIONS_EP = "pictureConversions";
 
+    /**
+     * Configuration parameter enabling the cascaded computation of the picture views: each resized view is computed
+     * from the smallest larger view computed by the same chain instead of the original blob, so that the original blob
+     * is decoded as few times as possible, and the independent conversions are run in parallel.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String CASCADE_CONVERSIONS_PARAMETER = "cascadeConversions";
+
+    /**
+     * Configuration parameter holding the maximum number of picture conversions run in parallel on this node in
+     * cascaded mode.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String CONVERSION_THREADS_PARAMETER = "conversionThreads";
+
+    /** @since 10.10-HF58 */
+    public static final int DEFAULT_CONVERSION_THREADS = 2;
+
     protected Map<String, String> configurationParameters = new HashMap<>();
 
+    /** @since 10.10-HF58 */
+    protected ExecutorService conversionExecutor;
+
     protected PictureConversionRegistry pictureConversionRegistry = new PictureConversionRegistry();
 
     private LibrarySelector librarySelector;
@@ -187,6 +217,19 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         return imageInfo;
     }
 
+    @Override
+    public void stop(ComponentContext context) throws InterruptedException {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = conversionExecutor;
+            conversionExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
     @Override
     public void registerContribution(Object contribution, String extensionPoint, ComponentInstance contributor) {
         if (CONFIGURATION_PARAMETERS_EP.equals(extensionPoint)) {
@@ -262,6 +305,9 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         if (imageInfo == null) {
             imageInfo = getImageInfo(blob);
         }
+        if (convert && isCascadeConversions()) {
+            return computeCascadedViews(null, blob, pictureConversions, imageInfo);
+        }
         List<PictureView> views = new ArrayList<>();
         for (PictureConversion pictureConversion : pictureConversions) {
             try {
@@ -378,6 +424,22 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
 
     protected PictureView computeView(DocumentModel doc, Blob blob, PictureConversion pictureConversion,
             ImageInfo imageInfo) {
+        return computeView(doc, blob, blob, pictureConversion, imageInfo);
+    }
+
+    /**
+     * Computes a picture view by converting a source blob, which is either the original blob or a larger view of it.
+     *
+     * @param doc the picture document, may be {@code null} or detached
+     * @param blob the original blob, used to name the view
+     * @param sourceBlob the blob to convert
+     * @param pictureConversion the picture conversion
+     * @param sourceImageInfo the image info of the source blob
+     * @since 10.10-HF58
+     */
+    protected PictureView computeView(DocumentModel doc, Blob blob, Blob sourceBlob,
+            PictureConversion pictureConversion, ImageInfo sourceImageInfo) {
+        ImageInfo imageInfo = sourceImageInfo;
 
         String title = pictureConversion.getId();
 
@@ -399,7 +461,8 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         // Use the registered conversion format
         String conversionFormat = getConfigurationValue(CONVERSION_FORMAT, JPEG_CONVERSATION_FORMAT);
 
-        Blob viewBlob = callPictureConversionChain(doc, blob, pictureConversion, imageInfo, size, conversionFormat);
+        Blob viewBlob = callPictureConversionChain(doc, sourceBlob, pictureConversion, imageInfo, size,
+                conversionFormat);
 
         // If the extension of the generated binary is empty, it's fetched from the mimetype
         String extension = FilenameUtils.getExtension(viewBlob.getFilename());
@@ -446,9 +509,7 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         boolean txWasActive = false;
         try (OperationContext context = new OperationContext()) {
             if (doc != null) {
-                DocumentModel pictureDocument = doc.getCoreSession().getDocument(doc.getRef());
-                pictureDocument.detach(true);
-                context.put("pictureDocument", pictureDocument);
+                context.put("pictureDocument", getDetachedDocument(doc));
             }
             context.setInput(blob);
 
@@ -471,10 +532,34 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         }
     }
 
+    /**
+     * Gets a detached copy of the picture document, or the document itself if it is already detached.
+     *
+     * @since 10.10-HF58
+     */
+    protected DocumentModel getDetachedDocument(DocumentModel doc) {
+        CoreSession session = doc.getCoreSession();
+        if (session == null) {
+            return doc;
+        }
+        DocumentModel pictureDocument = session.getDocument(doc.getRef());
+        pictureDocument.detach(true);
+        return pictureDocument;
+    }
+
     @Override
     public List<PictureView> computeViewsFor(DocumentModel doc, Blob blob, ImageInfo imageInfo, boolean convert)
             throws IOException {
         List<PictureConversion> pictureConversions = getPictureConversions();
+        if (convert && isCascadeConversions()) {
+            List<PictureConversion> applicableConversions = new ArrayList<>(pictureConversions.size());
+            for (PictureConversion pictureConversion : pictureConversions) {
+                if (canApplyPictureConversion(pictureConversion, doc)) {
+                    applicableConversions.add(pictureConversion);
+                }
+            }
+            return computeCascadedViews(doc, blob, applicableConversions, imageInfo);
+        }
         List<PictureView> pictureViews = new ArrayList<>(pictureConversions.size());
 
         for (PictureConversion pictureConversion : pictureConversions) {
@@ -493,6 +578,104 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         return pictureViews;
     }
 
+    /**
+     * @since 10.10-HF58
+     */
+    protected boolean isCascadeConversions() {
+        return Boolean.parseBoolean(getConfigurationValue(CASCADE_CONVERSIONS_PARAMETER));
+    }
+
+    /**
+     * Gets the executor running the picture conversions in cascaded mode, shared by all the picture views computations
+     * of this node.
+     *
+     * @since 10.10-HF58
+     */
+    protected synchronized ExecutorService getConversionExecutor() {
+        if (conversionExecutor == null) {
+            int threads = Integer.parseInt(
+                    getConfigurationValue(CONVERSION_THREADS_PARAMETER, String.valueOf(DEFAULT_CONVERSION_THREADS)));
+            conversionExecutor = Executors.newFixedThreadPool(threads, newThreadFactory("Nuxeo-Picture-Conversion"));
+        }
+        return conversionExecutor;
+    }
+
+    /**
+     * Computes the picture views in cascade.
+     * <p>
+     * The conversions are processed from the largest to the smallest. A conversion with a max size is computed from the
+     * view of the previous conversion running the same chain, if any, otherwise from the original blob. The conversions
+     * not depending on each other are run in parallel by the {@link #getConversionExecutor() conversion executor}.
+     *
+     * @param doc the picture document, may be {@code null}
+     * @return the computed views, in the order of the given conversions
+     * @since 10.10-HF58
+     */
+    protected List<PictureView> computeCascadedViews(DocumentModel doc, Blob blob,
+            List<PictureConversion> pictureConversions, ImageInfo imageInfo) {
+        // conversions without max size keep the original size
+        List<PictureConversion> sortedConversions = new ArrayList<>(pictureConversions);
+        sortedConversions.sort(Comparator.comparing(PictureConversion::getMaxSize,
+                Comparator.nullsFirst(Comparator.reverseOrder())));
+        // the conversions run outside of the current thread, they must not use its session
+        DocumentModel pictureDocument = doc == null ? null : getDetachedDocument(doc);
+        ExecutorService executor = getConversionExecutor();
+
+        Map<String, PictureConversion> lastConversionByChain = new HashMap<>();
+        Map<PictureConversion, CompletableFuture<PictureView>> futures = new HashMap<>();
+        for (PictureConversion pictureConversion : sortedConversions) {
+            String chainId = pictureConversion.getChainId();
+            PictureConversion sourceConversion = null;
+            if (pictureConversion.getMaxSize() != null && StringUtils.isNotBlank(chainId)) {
+                sourceConversion = lastConversionByChain.get(chainId);
+                lastConversionByChain.put(chainId, pictureConversion);
+            }
+            CompletableFuture<PictureView> future;
+            if (sourceConversion == null) {
+                future = CompletableFuture.supplyAsync(
+                        () -> computeView(pictureDocument, blob, blob, pictureConversion, imageInfo), executor);
+            } else {
+                future = futures.get(sourceConversion).handleAsync((sourceView, e) -> {
+                    if (sourceView == null || sourceView.getBlob() == null || sourceView.getImageInfo() == null) {
+                        // the source view failed, fall back to the original blob
+                        return computeView(pictureDocument, blob, blob, pictureConversion, imageInfo);
+                    }
+                    return computeView(pictureDocument, blob, sourceView.getBlob(), pictureConversion,
+                            sourceView.getImageInfo());
+                }, executor);
+            }
+            futures.put(pictureConversion, future);
+        }
+
+        // don't keep the transaction open while waiting for the conversions
+        boolean txWasActive = false;
+        if (TransactionHelper.isTransactionActive()) {
+            txWasActive = true;
+            TransactionHelper.commitOrRollbackTransaction();
+        }
+        try {
+            List<PictureView> pictureViews = new ArrayList<>(pictureConversions.size());
+            for (PictureConversion pictureConversion : pictureConversions) {
+                try {
+                    pictureViews.add(futures.get(pictureConversion).join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (!(cause instanceof NuxeoException)) {
+                        throw cause instanceof RuntimeException ? (RuntimeException) cause : new NuxeoException(cause);
+                    }
+                    log.warn(String.format("Unable to compute view: %s for document: %s exception message: %s",
+                            pictureConversion.getId(), doc, cause.getMessage()));
+                    log.debug(cause, cause);
+                }
+            }
+            return pictureViews;
+        } finally {
+            if (txWasActive && !TransactionHelper.isTransactionActiveOrMarkedRollback()) {
+                TransactionHelper.startTransaction();
+            }
+        }
+    }
+
     protected boolean canApplyPictureConversion(PictureConversion pictureConversion, DocumentModel doc) {
         ActionManager actionService = Framework.getService(ActionManager.class);
         return actionService.checkFilters(pictureConversion.getFilterIds(), createActionContext(doc));
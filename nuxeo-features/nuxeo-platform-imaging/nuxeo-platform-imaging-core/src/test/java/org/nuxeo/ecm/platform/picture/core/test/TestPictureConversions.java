@@ -25,6 +25,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Point;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -49,6 +50,7 @@ import org.nuxeo.ecm.platform.picture.api.ImagingService;
 import org.nuxeo.ecm.platform.picture.api.PictureConversion;
 import org.nuxeo.ecm.platform.picture.api.PictureView;
 import org.nuxeo.ecm.platform.picture.api.adapters.MultiviewPicture;
+import org.nuxeo.ecm.platform.picture.magick.utils.ImageResizer;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
@@ -249,6 +251,32 @@ public class TestPictureConversions {
         }
     }
 
+    @Test
+    @Deploy("org.nuxeo.ecm.platform.picture.core:OSGI-INF/imaging-cascade-conversions.xml")
+    public void shouldComputeCascadedPictureViews() throws IOException {
+        Blob blob = Blobs.createBlob(FileUtils.getResourceFileFromContext("images/test.jpg"), "image/jpeg", null,
+                "MyTest.jpg");
+        ImageInfo imageInfo = imagingService.getImageInfo(blob);
+        List<PictureConversion> pictureConversions = imagingService.getPictureConversions();
+
+        List<PictureView> pictureViews = imagingService.computeViewsFor(blob, pictureConversions, imageInfo, true);
+        assertEquals(pictureConversions.size(), pictureViews.size());
+        for (int i = 0; i < pictureViews.size(); i++) {
+            PictureConversion pictureConversion = pictureConversions.get(i);
+            PictureView pictureView = pictureViews.get(i);
+            assertEquals(pictureConversion.getId(), pictureView.getTitle());
+            assertEquals(pictureConversion.getId() + "_MyTest.jpg", pictureView.getFilename());
+            // views computed from a larger view have the same size as if computed from the original, give or take
+            // the rounding
+            Point expected = new Point(imageInfo.getWidth(), imageInfo.getHeight());
+            if (pictureConversion.getMaxSize() != null) {
+                expected = ImageResizer.scaleToMax(expected.x, expected.y, pictureConversion.getMaxSize());
+            }
+            assertTrue(pictureView.getTitle(), Math.abs(expected.x - pictureView.getWidth()) <= 1);
+            assertTrue(pictureView.getTitle(), Math.abs(expected.y - pictureView.getHeight()) <= 1);
+        }
+    }
+
     protected Blob getCatBlob() throws IOException {
         return Blobs.createBlob(FileUtils.getResourceFileFromContext("images/cat.gif"), "image/gif", null, "cat.gif");
     }
@@ -24,11 +24,14 @@ package org.nuxeo.ecm.platform.ec.notification;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.mail.MessagingException;
@@ -52,6 +55,8 @@ import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
 import org.nuxeo.ecm.core.event.impl.ShallowDocumentModel;
 import org.nuxeo.ecm.core.io.download.DownloadService;
 import org.nuxeo.ecm.platform.ec.notification.email.EmailHelper;
+import org.nuxeo.ecm.platform.ec.notification.email.NotificationEmail;
+import org.nuxeo.ecm.platform.ec.notification.email.NotificationEmailProcessor;
 import org.nuxeo.ecm.platform.ec.notification.service.NotificationService;
 import org.nuxeo.ecm.platform.ec.notification.service.NotificationServiceHelper;
 import org.nuxeo.ecm.platform.notification.api.Notification;
@@ -151,9 +156,7 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
 
         for (Notification notif : targetUsers.keySet()) {
             if (!notif.getAutoSubscribed()) {
-                for (String user : targetUsers.get(notif)) {
-                    sendNotificationSignalForUser(notif, user, event, docCtx);
-                }
+                sendNotificationSignalForUsers(notif, targetUsers.get(notif), event, docCtx);
             } else {
                 Object recipientProperty = properties.get(NotificationConstants.RECIPIENTS_KEY);
                 String[] recipients = null;
@@ -191,9 +194,7 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
                     }
 
                 }
-                for (String user : users) {
-                    sendNotificationSignalForUser(notif, user, event, docCtx);
-                }
+                sendNotificationSignalForUsers(notif, users, event, docCtx);
 
             }
         }
@@ -211,18 +212,77 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
         return getUserManager().getUsersInGroupAndSubGroups(groupId);
     }
 
-    protected void sendNotificationSignalForUser(Notification notification, String subscriptor, Event event,
-            DocumentEventContext ctx) {
+    /**
+     * Sends the notification to the given users.
+     * <p>
+     * When the {@link NotificationEmailProcessor#STREAM_DELIVERY_PROP} property is true, email notifications are
+     * rendered once per mail template for all the users and delivered by the {@link NotificationEmailProcessor}. The
+     * user name and the email of the recipient are substituted in the rendered mail, so the templates must only
+     * output them.
+     *
+     * @since 10.10-HF58
+     */
+    protected void sendNotificationSignalForUsers(Notification notification, Collection<String> subscriptors,
+            Event event, DocumentEventContext ctx) {
+        if (!isInterestedInNotification(notification) || !NotificationEmailProcessor.isStreamDelivery()) {
+            for (String subscriptor : subscriptors) {
+                sendNotificationSignalForUser(notification, subscriptor, event, ctx);
+            }
+            return;
+        }
+        NotificationImpl notif = (NotificationImpl) notification;
+        log.debug("Producing notification messages.");
+        initEventInfo(notification, NotificationEmail.DESTINATION_PLACEHOLDER, event, ctx);
+        Map<String, Serializable> eventInfo = ctx.getProperties();
+        // the mail template may depend on the user, group the recipients by template
+        Map<String, Map<String, String>> recipientsByTemplate = new LinkedHashMap<>();
+        for (String subscriptor : subscriptors) {
+            NuxeoPrincipal principal = getRecipient(subscriptor, ctx);
+            if (principal == null) {
+                continue;
+            }
+            String email = principal.getEmail();
+            if (StringUtils.isEmpty(email)) {
+                log.error("No email found for user: " + subscriptor);
+                continue;
+            }
+            eventInfo.put(NotificationConstants.DESTINATION_KEY, subscriptor);
+            String mailTemplate = getMailTemplate(notif, eventInfo);
+            recipientsByTemplate.computeIfAbsent(mailTemplate, k -> new LinkedHashMap<>()).put(subscriptor, email);
+        }
+        eventInfo.put(NotificationConstants.DESTINATION_KEY, NotificationEmail.DESTINATION_PLACEHOLDER);
+        for (Entry<String, Map<String, String>> entry : recipientsByTemplate.entrySet()) {
+            Map<String, Object> mail = getMail(event, ctx, entry.getKey(), NotificationEmail.MAIL_TO_PLACEHOLDER);
+            try {
+                NotificationEmail email = new NotificationEmail(ctx.getSourceDocument().getId(),
+                        emailHelper.renderSubject(mail), emailHelper.renderBody(mail), entry.getValue());
+                NotificationEmailProcessor.append(email);
+            } catch (MessagingException e) {
+                log.warn("Failed to render notification " + notification.getName() + " with template "
+                        + entry.getKey() + ": " + e.getMessage(), e);
+                continue;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("notification " + notification.getName() + " queued for " + entry.getValue().keySet());
+            }
+        }
+    }
 
+    /**
+     * Gets the principal of the user to notify, or {@code null} if the user must not be notified.
+     *
+     * @since 10.10-HF58
+     */
+    protected NuxeoPrincipal getRecipient(String subscriptor, DocumentEventContext ctx) {
         if (SecurityConstants.SYSTEM_USERNAME.equals(subscriptor)) {
             // it doesn't make sense to notify the system user
-            return;
+            return null;
         }
         NuxeoPrincipal principal = getUserManager().getPrincipal(subscriptor);
         if (principal == null) {
             log.error("No Nuxeo principal found for '" + subscriptor
                     + "'. No notification will be sent to this user");
-            return;
+            return null;
         }
 
         if (Boolean.parseBoolean(Framework.getProperty(CHECK_READ_PERMISSION_PROPERTY))) {
@@ -230,12 +290,38 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
                     SecurityConstants.READ)) {
                 log.debug("Notification will not be sent: + '" + subscriptor
                         + "' do not have Read permission on document " + ctx.getSourceDocument().getId());
-                return;
+                return null;
             }
         }
+        return principal;
+    }
+
+    protected void sendNotificationSignalForUser(Notification notification, String subscriptor, Event event,
+            DocumentEventContext ctx) {
+
+        if (getRecipient(subscriptor, ctx) == null) {
+            return;
+        }
 
         log.debug("Producing notification message.");
 
+        initEventInfo(notification, subscriptor, event, ctx);
+
+        if (isInterestedInNotification(notification)) {
+            sendNotification(event, ctx);
+            if (log.isDebugEnabled()) {
+                log.debug("notification " + notification.getName() + " sent to " + notification.getSubject());
+            }
+        }
+    }
+
+    /**
+     * Puts the notification information in the properties of the event context.
+     *
+     * @since 10.10-HF58
+     */
+    protected void initEventInfo(Notification notification, String subscriptor, Event event,
+            DocumentEventContext ctx) {
         Map<String, Serializable> eventInfo = ctx.getProperties();
         DocumentModel doc = ctx.getSourceDocument();
         String author = ctx.getPrincipal().getName();
@@ -285,13 +371,6 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
             }
             eventInfo.put(NotificationConstants.DOCUMENT_TITLE_KEY, doc.getTitle());
         }
-
-        if (isInterestedInNotification(notification)) {
-            sendNotification(event, ctx);
-            if (log.isDebugEnabled()) {
-                log.debug("notification " + notification.getName() + " sent to " + notification.getSubject());
-            }
-        }
     }
 
     public void sendNotification(Event event, DocumentEventContext ctx) {
@@ -315,8 +394,32 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
             return;
         }
 
-        String subjectTemplate = notif.getSubjectTemplate();
+        String mailTemplate = getMailTemplate(notif, eventInfo);
+
+        log.debug("email: " + email);
+        log.debug("mail template: " + mailTemplate);
+        log.debug("subject template: " + notif.getSubjectTemplate());
 
+        Map<String, Object> mail = getMail(event, ctx, mailTemplate, email);
+
+        try {
+            emailHelper.sendmail(mail);
+        } catch (MessagingException e) {
+            String cause = "";
+            if ((e instanceof SendFailedException) && (e.getCause() instanceof SendFailedException)) {
+                cause = " - Cause: " + e.getCause().getMessage();
+            }
+            log.warn("Failed to send notification email to '" + email + "': " + e.getClass().getName() + ": "
+                    + e.getMessage() + cause);
+        }
+    }
+
+    /**
+     * Gets the mail template of the notification, which can be dynamically computed from the event information.
+     *
+     * @since 10.10-HF58
+     */
+    protected String getMailTemplate(NotificationImpl notif, Map<String, Serializable> eventInfo) {
         String mailTemplate = null;
         // mail template can be dynamically computed from a MVEL expression
         if (notif.getTemplateExpr() != null) {
@@ -333,10 +436,17 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
         if (StringUtils.isEmpty(mailTemplate)) {
             mailTemplate = notif.getTemplate();
         }
+        return mailTemplate;
+    }
 
-        log.debug("email: " + email);
-        log.debug("mail template: " + mailTemplate);
-        log.debug("subject template: " + subjectTemplate);
+    /**
+     * Gets the settings of the mail rendered by the {@link EmailHelper}.
+     *
+     * @since 10.10-HF58
+     */
+    protected Map<String, Object> getMail(Event event, DocumentEventContext ctx, String mailTemplate, String email) {
+        Map<String, Serializable> eventInfo = ctx.getProperties();
+        NotificationImpl notif = (NotificationImpl) eventInfo.get(NotificationConstants.NOTIFICATION_KEY);
 
         Map<String, Object> mail = new HashMap<>();
         mail.put("mail.to", email);
@@ -353,7 +463,7 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
         subject = notificationService.getEMailSubjectPrefix() + subject;
         mail.put("subject", subject);
         mail.put("template", mailTemplate);
-        mail.put("subjectTemplate", subjectTemplate);
+        mail.put("subjectTemplate", notif.getSubjectTemplate());
 
         // Transferring all data from event to email
         for (String key : eventInfo.keySet()) {
@@ -361,18 +471,8 @@ public class NotificationEventListener implements PostCommitFilteringEventListen
             log.debug("Mail prop: " + key);
         }
 
-        mail.put(NotificationConstants.EVENT_ID_KEY, eventId);
-
-        try {
-            emailHelper.sendmail(mail);
-        } catch (MessagingException e) {
-            String cause = "";
-            if ((e instanceof SendFailedException) && (e.getCause() instanceof SendFailedException)) {
-                cause = " - Cause: " + e.getCause().getMessage();
-            }
-            log.warn("Failed to send notification email to '" + email + "': " + e.getClass().getName() + ": "
-                    + e.getMessage() + cause);
-        }
+        mail.put(NotificationConstants.EVENT_ID_KEY, event.getName());
+        return mail;
     }
 
     /**
@@ -122,14 +122,55 @@ public class EmailHelper {
         }
         msg.setRecipients(Message.RecipientType.TO, InternetAddress.parse((String) to, false));
 
-        RenderingService rs = Framework.getService(RenderingService.class);
+        msg.setSubject(renderSubject0(mail), "UTF-8");
+
+        msg.setSentDate(new Date());
+
+        msg.setContent(renderBody0(mail), "text/html; charset=utf-8");
+
+        // Send the message.
+        Transport.send(msg);
+    }
+
+    /**
+     * Renders the subject of the mail, as done by {@link #sendmail(Map)}.
+     *
+     * @param mail A map of the settings
+     * @since 10.10-HF58
+     */
+    public String renderSubject(Map<String, Object> mail) throws MessagingException {
+        try {
+            return renderSubject0(mail);
+        } catch (LoginException | IOException | TemplateException | RenderingException e) {
+            throw new MessagingException(e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Renders the HTML body of the mail, as done by {@link #sendmail(Map)}.
+     *
+     * @param mail A map of the settings
+     * @since 10.10-HF58
+     */
+    public String renderBody(Map<String, Object> mail) throws MessagingException {
+        try {
+            return renderBody0(mail);
+        } catch (LoginException | RenderingException e) {
+            throw new MessagingException(e.getMessage(), e);
+        }
+    }
+
+    protected DocumentRenderingContext newRenderingContext(Map<String, Object> mail) {
         DocumentRenderingContext context = new DocumentRenderingContext();
         context.remove("doc");
         context.putAll(mail);
         context.setDocument((DocumentModel) mail.get("document"));
         context.put("Runtime", Framework.getRuntime());
+        return context;
+    }
 
+    protected String renderSubject0(Map<String, Object> mail)
+            throws IOException, TemplateException, LoginException, RenderingException {
         String customSubjectTemplate = (String) mail.get(NotificationConstants.SUBJECT_TEMPLATE_KEY);
         if (customSubjectTemplate == null) {
             String subjTemplate = (String) mail.get(NotificationConstants.SUBJECT_KEY);
@@ -139,32 +180,35 @@ public class EmailHelper {
             templ.process(mail, out);
             out.flush();
 
-            msg.setSubject(out.toString(), "UTF-8");
-        } else {
-            rs.registerEngine(new NotificationsRenderingEngine(customSubjectTemplate));
-
-            LoginContext lc = Framework.login();
+            return out.toString();
+        }
+        RenderingService rs = Framework.getService(RenderingService.class);
+        rs.registerEngine(new NotificationsRenderingEngine(customSubjectTemplate));
 
-            Collection<RenderingResult> results = rs.process(context);
-            String subjectMail = "<HTML><P>No parsing Succeded !!!</P></HTML>";
+        LoginContext lc = Framework.login();
 
-            for (RenderingResult result : results) {
-                subjectMail = (String) result.getOutcome();
-            }
-            subjectMail = NotificationServiceHelper.getNotificationService().getEMailSubjectPrefix() + subjectMail;
-            msg.setSubject(subjectMail, "UTF-8");
+        Collection<RenderingResult> results = rs.process(newRenderingContext(mail));
+        String subjectMail = "<HTML><P>No parsing Succeded !!!</P></HTML>";
 
-            lc.logout();
+        for (RenderingResult result : results) {
+            subjectMail = (String) result.getOutcome();
         }
+        subjectMail = NotificationServiceHelper.getNotificationService().getEMailSubjectPrefix() + subjectMail;
 
-        msg.setSentDate(new Date());
+        lc.logout();
+
+        return subjectMail;
+    }
+
+    protected String renderBody0(Map<String, Object> mail) throws LoginException, RenderingException {
+        RenderingService rs = Framework.getService(RenderingService.class);
 
         String template = (String) mail.get(NotificationConstants.TEMPLATE_KEY);
         rs.registerEngine(new NotificationsRenderingEngine(template));
 
         LoginContext lc = Framework.login();
 
-        Collection<RenderingResult> results = rs.process(context);
+        Collection<RenderingResult> results = rs.process(newRenderingContext(mail));
         String bodyMail = "<HTML><P>No parsing Succedeed !!!</P></HTML>";
 
         for (RenderingResult result : results) {
@@ -175,10 +219,7 @@ public class EmailHelper {
 
         rs.unregisterEngine(template);
 
-        msg.setContent(bodyMail, "text/html; charset=utf-8");
-
-        // Send the message.
-        Transport.send(msg);
+        return bodyMail;
     }
 
     /**
@@ -0,0 +1,132 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.ec.notification.email;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.nuxeo.lib.stream.computation.Record;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A notification email rendered once and delivered to several recipients.
+ * <p>
+ * The subject and the body are rendered with {@link #DESTINATION_PLACEHOLDER} and {@link #MAIL_TO_PLACEHOLDER} in place
+ * of the user name and email of the recipient, they are substituted for each recipient on delivery.
+ *
+ * @since 10.10-HF58
+ */
+public class NotificationEmail {
+
+    /** Placeholder rendered instead of the user name of the recipient. */
+    public static final String DESTINATION_PLACEHOLDER = "nxNotificationDestinationPlaceholder";
+
+    /** Placeholder rendered instead of the email of the recipient. */
+    public static final String MAIL_TO_PLACEHOLDER = "nxNotificationMailToPlaceholder";
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected final String docId;
+
+    protected final String subject;
+
+    protected final String body;
+
+    /** Recipient user names and emails. */
+    protected final Map<String, String> recipients;
+
+    /**
+     * @param docId the id of the document the notification is about, used to partition the emails
+     * @param subject the subject rendered with the placeholders
+     * @param body the HTML body rendered with the placeholders
+     * @param recipients the user names and emails of the recipients
+     */
+    public NotificationEmail(String docId, String subject, String body, Map<String, String> recipients) {
+        this.docId = docId;
+        this.subject = subject;
+        this.body = body;
+        this.recipients = recipients;
+    }
+
+    public String getDocId() {
+        return docId;
+    }
+
+    public Map<String, String> getRecipients() {
+        return Collections.unmodifiableMap(recipients);
+    }
+
+    /**
+     * Gets the subject of the email sent to the given recipient.
+     */
+    public String getSubject(String username, String email) {
+        return subject.replace(DESTINATION_PLACEHOLDER, username).replace(MAIL_TO_PLACEHOLDER, email);
+    }
+
+    /**
+     * Gets the HTML body of the email sent to the given recipient.
+     */
+    public String getBody(String username, String email) {
+        return body.replace(DESTINATION_PLACEHOLDER, StringEscapeUtils.escapeHtml4(username))
+                   .replace(MAIL_TO_PLACEHOLDER, StringEscapeUtils.escapeHtml4(email));
+    }
+
+    public Record toRecord() {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("docId", docId);
+        json.put("subject", subject);
+        json.put("body", body);
+        ObjectNode recipientsJson = json.putObject("recipients");
+        recipients.forEach(recipientsJson::put);
+        try {
+            return Record.of(docId, MAPPER.writeValueAsBytes(json));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize notification email on: " + docId, e);
+        }
+    }
+
+    public static NotificationEmail fromRecord(Record record) {
+        JsonNode json;
+        try {
+            json = MAPPER.readTree(record.getData());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid notification email: " + record, e);
+        }
+        if (json == null || !json.hasNonNull("subject") || !json.hasNonNull("body")) {
+            throw new IllegalArgumentException("Invalid notification email: " + record);
+        }
+        Map<String, String> recipients = new LinkedHashMap<>();
+        JsonNode recipientsJson = json.path("recipients");
+        for (Iterator<Entry<String, JsonNode>> it = recipientsJson.fields(); it.hasNext();) {
+            Entry<String, JsonNode> recipient = it.next();
+            recipients.put(recipient.getKey(), recipient.getValue().asText());
+        }
+        return new NotificationEmail(json.path("docId").asText(null), json.get("subject").asText(),
+                json.get("body").asText(), recipients);
+    }
+
+}
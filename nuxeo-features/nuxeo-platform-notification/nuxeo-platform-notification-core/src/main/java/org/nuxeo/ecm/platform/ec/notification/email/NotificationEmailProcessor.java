@@ -0,0 +1,187 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.ec.notification.email;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.platform.ec.notification.service.NotificationService;
+import org.nuxeo.lib.stream.computation.AbstractBatchComputation;
+import org.nuxeo.lib.stream.computation.ComputationContext;
+import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.mail.MailSessionBuilder;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.services.config.ConfigurationService;
+import org.nuxeo.runtime.stream.StreamProcessorTopology;
+import org.nuxeo.runtime.stream.StreamService;
+
+/**
+ * Computation delivering the {@link NotificationEmail}s written by the notification listener.
+ * <p>
+ * The emails of a batch are sent through a single SMTP connection, each computation thread holding its own connection
+ * while processing a batch.
+ *
+ * @since 10.10-HF58
+ */
+public class NotificationEmailProcessor implements StreamProcessorTopology {
+
+    private static final Log log = LogFactory.getLog(NotificationEmailProcessor.class);
+
+    /** Property enabling the delivery of the notification emails through the stream. */
+    public static final String STREAM_DELIVERY_PROP = "nuxeo.notification.email.stream";
+
+    public static final String LOG_CONFIG_PROP = "nuxeo.notification.email.stream.log.config";
+
+    public static final String DEFAULT_LOG_CONFIG = "notification";
+
+    public static final String STREAM_NAME = "notificationEmail";
+
+    public static final String COMPUTATION_NAME = "NotificationEmailSender";
+
+    public static boolean isStreamDelivery() {
+        return Framework.getService(ConfigurationService.class).isBooleanPropertyTrue(STREAM_DELIVERY_PROP);
+    }
+
+    /**
+     * Appends the email to the stream, to be delivered once the stream is processed.
+     */
+    public static void append(NotificationEmail email) {
+        String logConfig = Framework.getProperty(LOG_CONFIG_PROP, DEFAULT_LOG_CONFIG);
+        Record record = email.toRecord();
+        Framework.getService(StreamService.class)
+                 .getLogManager(logConfig)
+                 .<Record> getAppender(STREAM_NAME)
+                 .append(record.getKey(), record);
+    }
+
+    @Override
+    public Topology getTopology(Map<String, String> options) {
+        return Topology.builder()
+                       .addComputation(() -> new NotificationEmailSenderComputation(COMPUTATION_NAME),
+                               Collections.singletonList("i1:" + STREAM_NAME))
+                       .build();
+    }
+
+    public static class NotificationEmailSenderComputation extends AbstractBatchComputation {
+
+        protected Session session;
+
+        public NotificationEmailSenderComputation(String name) {
+            super(name, 1, 0);
+        }
+
+        @Override
+        protected void batchProcess(ComputationContext context, String inputStreamName, List<Record> records) {
+            List<NotificationEmail> emails = new ArrayList<>(records.size());
+            for (Record record : records) {
+                try {
+                    emails.add(NotificationEmail.fromRecord(record));
+                } catch (IllegalArgumentException e) {
+                    log.error("Discard invalid record: " + record, e);
+                }
+            }
+            if (emails.isEmpty()) {
+                return;
+            }
+            Transport transport;
+            try {
+                transport = getSession().getTransport();
+                transport.connect();
+            } catch (MessagingException e) {
+                // nothing sent yet, the batch can be retried
+                throw new NuxeoException("Cannot connect to the mail server", e);
+            }
+            try {
+                for (NotificationEmail email : emails) {
+                    email.getRecipients().forEach((username, address) -> send(transport, email, username, address));
+                }
+            } finally {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.debug("Cannot close the mail server connection", e);
+                }
+            }
+        }
+
+        @Override
+        public void batchFailure(ComputationContext context, String inputStreamName, List<Record> records) {
+            // error log already done by abstract
+        }
+
+        protected void send(Transport transport, NotificationEmail email, String username, String address) {
+            try {
+                MimeMessage msg = new MimeMessage(session);
+                msg.setFrom(new InternetAddress(session.getProperty("mail.from")));
+                msg.setRecipients(Message.RecipientType.TO, InternetAddress.parse(address, false));
+                msg.setSubject(email.getSubject(username, address), "UTF-8");
+                msg.setSentDate(new Date());
+                msg.setContent(email.getBody(username, address), "text/html; charset=utf-8");
+                msg.saveChanges();
+                transport.sendMessage(msg, msg.getAllRecipients());
+            } catch (MessagingException e) {
+                // as for synchronous delivery, failures are not retried to avoid sending duplicates
+                String cause = "";
+                if ((e instanceof SendFailedException) && (e.getCause() instanceof SendFailedException)) {
+                    cause = " - Cause: " + e.getCause().getMessage();
+                }
+                log.warn("Failed to send notification email to '" + address + "': " + e.getClass().getName() + ": "
+                        + e.getMessage() + cause);
+            }
+        }
+
+        /**
+         * Gets the mail session from the JNDI, falling back on the {@code mail.*} properties.
+         */
+        protected Session getSession() {
+            if (session == null) {
+                NotificationService service = (NotificationService) Framework.getRuntime()
+                                                                             .getComponent(NotificationService.NAME);
+                Properties properties = new Properties();
+                Framework.getProperties()
+                         .stringPropertyNames()
+                         .stream()
+                         .filter(key -> key.startsWith("mail."))
+                         .forEach(key -> properties.setProperty(key, Framework.getProperty(key)));
+                session = MailSessionBuilder.fromJndi(service.getMailSessionJndiName())
+                                            .fallbackOn(properties)
+                                            .build();
+            }
+            return session;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.ec.notification.email;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.nuxeo.ecm.platform.ec.notification.email.NotificationEmail.DESTINATION_PLACEHOLDER;
+import static org.nuxeo.ecm.platform.ec.notification.email.NotificationEmail.MAIL_TO_PLACEHOLDER;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.ecm.core.test.FakeSmtpMailServerFeature;
+import org.nuxeo.lib.stream.log.LogManager;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.stream.StreamService;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+import com.dumbster.smtp.SmtpMessage;
+
+/**
+ * @since 10.10-HF58
+ */
+@RunWith(FeaturesRunner.class)
+@Features({ CoreFeature.class, FakeSmtpMailServerFeature.class })
+@Deploy("org.nuxeo.ecm.platform.notification.core")
+public class TestNotificationEmailProcessor {
+
+    @Before
+    public void setUp() {
+        Framework.getProperties().put("mail.smtp.host", FakeSmtpMailServerFeature.SERVER_HOST);
+        Framework.getProperties().put("mail.smtp.port", String.valueOf(FakeSmtpMailServerFeature.SERVER_PORT));
+        Framework.getProperties().put("mail.from", "noreply@example.com");
+    }
+
+    @Test
+    public void testRecord() {
+        Map<String, String> recipients = new LinkedHashMap<>();
+        recipients.put("jdoe", "jdoe@example.com");
+        recipients.put("bree", "bree@example.com");
+        NotificationEmail email = new NotificationEmail("docId", "subject", "<p>body</p>", recipients);
+
+        NotificationEmail read = NotificationEmail.fromRecord(email.toRecord());
+        assertEquals("docId", read.getDocId());
+        assertEquals("subject", read.getSubject("jdoe", "jdoe@example.com"));
+        assertEquals("<p>body</p>", read.getBody("jdoe", "jdoe@example.com"));
+        assertEquals(recipients, read.getRecipients());
+    }
+
+    @Test
+    public void testSubstitution() {
+        NotificationEmail email = new NotificationEmail("docId", "Hello " + DESTINATION_PLACEHOLDER,
+                "<p>" + DESTINATION_PLACEHOLDER + " &lt;" + MAIL_TO_PLACEHOLDER + "&gt;</p>", new HashMap<>());
+        assertEquals("Hello a&b", email.getSubject("a&b", "ab@example.com"));
+        assertEquals("<p>a&amp;b &lt;ab@example.com&gt;</p>", email.getBody("a&b", "ab@example.com"));
+    }
+
+    @Test
+    public void testDelivery() {
+        Map<String, String> recipients = new LinkedHashMap<>();
+        recipients.put("jdoe", "jdoe@example.com");
+        recipients.put("bree", "bree@example.com");
+        recipients.put("lsmith", "lsmith@example.com");
+        NotificationEmailProcessor.append(new NotificationEmail("docId", "Hello " + DESTINATION_PLACEHOLDER,
+                "<p>Sent to " + MAIL_TO_PLACEHOLDER + "</p>", recipients));
+        waitForDelivery();
+
+        assertEquals(3, FakeSmtpMailServerFeature.server.getReceivedEmailSize());
+        Map<String, SmtpMessage> received = new HashMap<>();
+        for (Iterator<?> it = FakeSmtpMailServerFeature.server.getReceivedEmail(); it.hasNext();) {
+            SmtpMessage message = (SmtpMessage) it.next();
+            received.put(message.getHeaderValue("To"), message);
+        }
+        recipients.forEach((username, address) -> {
+            SmtpMessage message = received.get(address);
+            assertEquals("Hello " + username, message.getHeaderValue("Subject"));
+            assertTrue(message.getBody(), message.getBody().contains("<p>Sent to " + address + "</p>"));
+        });
+    }
+
+    protected void waitForDelivery() {
+        String logConfig = Framework.getProperty(NotificationEmailProcessor.LOG_CONFIG_PROP,
+                NotificationEmailProcessor.DEFAULT_LOG_CONFIG);
+        LogManager logManager = Framework.getService(StreamService.class).getLogManager(logConfig);
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (logManager.getLag(NotificationEmailProcessor.STREAM_NAME, NotificationEmailProcessor.COMPUTATION_NAME)
+                         .lag() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timeout waiting for the notification emails");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+}
@@ -74,6 +74,14 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
      */
     public static final String CURRENT_PAGE_OFFSET = "offset";
 
+    /**
+     * Cursor of the page to fetch with keyset pagination, {@value PageProvider#FIRST_PAGE_CURSOR} for the first page.
+     * In case a cursor is specified, currentPageIndex and offset are ignored.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String CURRENT_PAGE_CURSOR = "cursor";
+
     public static final String MAX_RESULTS = "maxResults";
 
     public static final String SORT_BY = "sortBy";
@@ -146,6 +154,17 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         return null;
     }
 
+    /**
+     * @since 10.10-HF58
+     */
+    protected String getCurrentPageCursor(MultivaluedMap<String, String> queryParams) {
+        String currentPageCursor = queryParams.getFirst(CURRENT_PAGE_CURSOR);
+        if (currentPageCursor != null && !currentPageCursor.isEmpty()) {
+            return currentPageCursor;
+        }
+        return null;
+    }
+
     protected Long getPageSize(MultivaluedMap<String, String> queryParams) {
         String pageSize = queryParams.getFirst(PAGE_SIZE);
         if (pageSize != null && !pageSize.isEmpty()) {
@@ -283,6 +302,18 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         return props;
     }
 
+    /**
+     * Passes the cursor of the page to fetch to the page provider.
+     *
+     * @since 10.10-HF58
+     */
+    protected void putCurrentPageCursor(Map<String, Serializable> props, MultivaluedMap<String, String> queryParams) {
+        String currentPageCursor = getCurrentPageCursor(queryParams);
+        if (currentPageCursor != null) {
+            props.put(PageProvider.CURRENT_PAGE_CURSOR_PROP, currentPageCursor);
+        }
+    }
+
     protected DocumentModelList queryByLang(String queryLanguage, MultivaluedMap<String, String> queryParams) {
         if (queryLanguage == null || !EnumUtils.isValidEnum(LangParams.class, queryLanguage)) {
             throw new IllegalParameterException("invalid query language");
@@ -300,6 +331,7 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         Object[] parameters = getParameters(queryParams);
         List<SortInfo> sortInfo = getSortInfo(queryParams);
         Map<String, Serializable> props = getProperties();
+        putCurrentPageCursor(props, queryParams);
 
         DocumentModel searchDocumentModel = PageProviderHelper.getSearchDocumentModel(ctx.getCoreSession(), null,
                 namedParameters);
@@ -323,6 +355,7 @@ public abstract class QueryExecutor extends AbstractResource<ResourceTypeImpl> {
         List<QuickFilter> quickFilters = getQuickFilters(pageProviderName, queryParams);
         List<String> highlights = getHighlights(queryParams);
         Map<String, Serializable> props = getProperties();
+        putCurrentPageCursor(props, queryParams);
 
         DocumentModel searchDocumentModel = PageProviderHelper.getSearchDocumentModel(ctx.getCoreSession(),
                 pageProviderName, namedParameters);
@@ -76,6 +76,15 @@ public abstract class PaginableAdapter<T> extends DefaultAdapter {
      */
     protected String sortOrder;
 
+    /**
+     * Properties to project the query on, returning lightweight documents (comma-separated list of simple properties).
+     * <p>
+     * Exp: dc:title,dc:modified,dc:lastContributor.
+     *
+     * @since 10.10-HF58
+     */
+    protected String projection;
+
     @Override
     protected void initialize(Object... args) {
         super.initialize(args);
@@ -86,6 +95,7 @@ public abstract class PaginableAdapter<T> extends DefaultAdapter {
         maxResults = request.getParameter("maxResults");
         sortBy = request.getParameter("sortBy");
         sortOrder = request.getParameter("sortOrder");
+        projection = request.getParameter("projection");
     }
 
     @Override
@@ -117,6 +127,9 @@ public abstract class PaginableAdapter<T> extends DefaultAdapter {
         PageProviderService pps = Framework.getService(PageProviderService.class);
         Map<String, Serializable> props = new HashMap<>();
         props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) ctx.getCoreSession());
+        if (!StringUtils.isBlank(projection)) {
+            props.put(CoreQueryDocumentPageProvider.PROJECTION_PROPERTY, projection);
+        }
         List<SortInfo> sortInfos = null;
         if (!StringUtils.isBlank(sortBy)) {
             String[] sorts = sortBy.split(",");
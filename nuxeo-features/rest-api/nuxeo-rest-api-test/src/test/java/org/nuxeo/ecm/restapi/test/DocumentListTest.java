@@ -20,6 +20,7 @@ package org.nuxeo.ecm.restapi.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -82,6 +83,33 @@ public class DocumentListTest extends BaseTest {
         }
     }
 
+    @Test
+    public void iCanGetTheProjectedChildrenOfADocument() throws Exception {
+        // Given a folder
+        DocumentModel folder = RestServerInit.getFolder(1, session);
+
+        // When I query for its children with a projection
+        MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
+        queryParams.putSingle("projection", "dc:description");
+        try (CloseableClientResponse response = getResponse(RequestType.GET,
+                "id/" + folder.getId() + "/@" + ChildrenAdapter.NAME, queryParams)) {
+
+            // Then I get its children as JSON with only the projected properties
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            JsonNode node = mapper.readTree(response.getEntityInputStream());
+            List<JsonNode> entries = getLogEntries(node);
+            assertEquals(session.getChildren(folder.getRef()).size(), entries.size());
+            for (JsonNode entry : entries) {
+                JsonNode properties = entry.get("properties");
+                assertTrue(properties.has("dc:title"));
+                assertTrue(properties.has("dc:modified"));
+                assertTrue(properties.has("dc:description"));
+                assertFalse(properties.has("dc:creator"));
+                assertTrue(entry.get("path").asText().startsWith(folder.getPathAsString() + "/"));
+            }
+        }
+    }
+
     @Test
     public void iCanSearchInFullTextForDocuments() throws Exception {
         // Given a note with "nuxeo" in its description
@@ -221,6 +221,16 @@ public interface ContentView extends Serializable {
     PageProvider<?> getPageProvider(DocumentModel searchDocument, List<SortInfo> sortInfos, Long pageSize,
             Long currentPage, Object... params);
 
+    /**
+     * Gets page provider according to given parameters, fetching pages with keyset pagination.
+     *
+     * @param cursor the cursor of the page to fetch, see {@link PageProvider#setCurrentPageCursor(String)}
+     * @see #getPageProvider(DocumentModel, List, Long, Long, Object...) for the other arguments
+     * @since 10.10-HF58
+     */
+    PageProvider<?> getPageProviderAtCursor(DocumentModel searchDocument, List<SortInfo> sortInfos, Long pageSize,
+            String cursor, Object... params);
+
     /**
      * Gets page provider according to given parameters
      *
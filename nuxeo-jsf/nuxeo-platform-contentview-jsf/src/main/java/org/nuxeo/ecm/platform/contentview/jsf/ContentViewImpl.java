@@ -23,6 +23,7 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
@@ -391,6 +392,17 @@ public class ContentViewImpl implements ContentView, PageProviderChangedListener
         return pageProvider;
     }
 
+    @Override
+    public PageProvider<?> getPageProviderAtCursor(DocumentModel searchDocument, List<SortInfo> sortInfos,
+            Long pageSize, String cursor, Object... params) {
+        PageProvider<?> pp = getPageProvider(searchDocument, sortInfos, pageSize, null, params);
+        // do not reset the page if the cursor did not change
+        if (pp != null && !Objects.equals(cursor, pp.getCurrentPageCursor())) {
+            pp.setCurrentPageCursor(cursor);
+        }
+        return pp;
+    }
+
     @Override
     public PageProvider<?> getPageProviderWithParams(Object... params) {
         return getPageProvider(null, null, null, null, params);
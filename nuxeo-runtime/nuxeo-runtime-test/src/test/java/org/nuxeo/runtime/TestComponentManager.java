@@ -24,12 +24,17 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.model.ComponentManager;
+import org.nuxeo.runtime.model.ComponentName;
+import org.nuxeo.runtime.model.RegistrationInfo;
+import org.nuxeo.runtime.model.impl.ComponentManagerImpl;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
@@ -66,6 +71,32 @@ public class TestComponentManager {
         listener.assertCounters(3, 3, 3, 3);
     }
 
+    @Test
+    public void testParallelStart() throws Exception {
+        ComponentManager mgr = Framework.getRuntime().getComponentManager();
+        Set<ComponentName> started = getStartedComponents(mgr);
+        assertFalse(started.isEmpty());
+        mgr.addListener(listener);
+        Framework.getProperties().put(ComponentManagerImpl.START_PARALLELISM_PROP, "4");
+        try {
+            mgr.restart(false);
+        } finally {
+            Framework.getProperties().remove(ComponentManagerImpl.START_PARALLELISM_PROP);
+            mgr.removeListener(listener);
+        }
+        listener.assertCounters(1, 1, 1, 1);
+        assertTrue(mgr.isStarted());
+        assertEquals(started, getStartedComponents(mgr));
+    }
+
+    protected Set<ComponentName> getStartedComponents(ComponentManager mgr) {
+        return mgr.getRegistrations()
+                  .stream()
+                  .filter(RegistrationInfo::isStarted)
+                  .map(RegistrationInfo::getName)
+                  .collect(Collectors.toSet());
+    }
+
     protected static class EventsInfo {
 
         public int beforeStop = 0;
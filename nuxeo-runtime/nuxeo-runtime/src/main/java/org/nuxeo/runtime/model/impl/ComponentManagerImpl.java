@@ -34,19 +34,24 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.nuxeo.common.Environment;
+import org.nuxeo.common.collections.DependencyTree;
 import org.nuxeo.common.collections.ListenerList;
 import org.nuxeo.runtime.ComponentEvent;
 import org.nuxeo.runtime.ComponentListener;
@@ -68,6 +73,14 @@ public class ComponentManagerImpl implements ComponentManager {
 
     private static final Logger log = LogManager.getLogger(ComponentManagerImpl.class);
 
+    /**
+     * Framework property defining the number of threads used to start the components. Components are started
+     * sequentially by default.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String START_PARALLELISM_PROP = "org.nuxeo.runtime.component.start.parallelism";
+
     // must use an ordered Set to avoid loosing the order of the pending
     // extensions
     protected final ConcurrentMap<ComponentName, Set<Extension>> pendingExtensions;
@@ -692,13 +705,18 @@ public class ComponentManagerImpl implements ComponentManager {
      */
     protected void startComponents(List<RegistrationInfo> ris, boolean isResume) {
         log.info("Start components (isResume={})", isResume);
-        Watch watch = new Watch();
+        int parallelism = getStartParallelism();
+        Watch watch = parallelism > 1 ? new Watch(new ConcurrentHashMap<>()) : new Watch();
         watch.start();
         listeners.beforeStart(isResume);
-        for (RegistrationInfo ri : ris) {
-            watch.start(ri.getName().getName());
-            startComponent(ri);
-            watch.stop(ri.getName().getName());
+        if (parallelism > 1) {
+            startComponentsInParallel(ris, watch, parallelism);
+        } else {
+            for (RegistrationInfo ri : ris) {
+                watch.start(ri.getName().getName());
+                startComponent(ri);
+                watch.stop(ri.getName().getName());
+            }
         }
         this.started = ris;
         listeners.afterStart(isResume);
@@ -708,6 +726,140 @@ public class ComponentManagerImpl implements ComponentManager {
         writeDevMetrics(watch, "start");
     }
 
+    /**
+     * Gets the number of threads used to start the components, see {@link #START_PARALLELISM_PROP}.
+     *
+     * @since 10.10-HF58
+     */
+    protected int getStartParallelism() {
+        String value = Framework.getProperty(START_PARALLELISM_PROP);
+        if (value == null || value.trim().isEmpty()) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.error("Invalid value for {}: {}, starting components sequentially", START_PARALLELISM_PROP, value);
+            return 1;
+        }
+    }
+
+    /**
+     * Starts the given components on a pool of threads.
+     * <p>
+     * Components with the same start order are started concurrently, once all the components with a lower start order
+     * are started, and after the components they require.
+     *
+     * @since 10.10-HF58
+     */
+    protected void startComponentsInParallel(List<RegistrationInfo> ris, Watch watch, int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "Nuxeo-Component-Start-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<Integer, List<RegistrationInfo>> levels = new TreeMap<>();
+            for (RegistrationInfo ri : ris) {
+                levels.computeIfAbsent(ri.getApplicationStartedOrder(), k -> new ArrayList<>()).add(ri);
+            }
+            for (List<RegistrationInfo> level : levels.values()) {
+                startComponentsInParallel(level, watch, executor);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while starting components", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts components having the same start order, each one once the components it requires are started.
+     *
+     * @since 10.10-HF58
+     */
+    protected void startComponentsInParallel(List<RegistrationInfo> ris, Watch watch, ExecutorService executor)
+            throws InterruptedException {
+        // dependencies between the given components, taking aliases into account
+        Map<ComponentName, ComponentName> names = new HashMap<>();
+        for (RegistrationInfo ri : ris) {
+            names.put(ri.getName(), ri.getName());
+            ri.getAliases().forEach(alias -> names.put(alias, ri.getName()));
+        }
+        DependencyTree<ComponentName, RegistrationInfo> tree = new DependencyTree<>();
+        Map<ComponentName, Integer> waitsFor = new HashMap<>();
+        for (RegistrationInfo ri : ris) {
+            Set<ComponentName> requires = new HashSet<>();
+            for (ComponentName required : ri.getRequiredComponents()) {
+                ComponentName name = names.get(required);
+                if (name != null && !name.equals(ri.getName())) {
+                    requires.add(name);
+                }
+            }
+            tree.add(ri.getName(), ri, requires);
+            waitsFor.put(ri.getName(), requires.size());
+        }
+        if (!tree.getPendingEntries().isEmpty()) {
+            log.warn("Circular dependencies between components: {}, starting them sequentially",
+                    tree.getPendingEntries());
+            for (RegistrationInfo ri : ris) {
+                watch.start(ri.getName().getName());
+                startComponent(ri);
+                watch.stop(ri.getName().getName());
+            }
+            return;
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        CompletionService<RegistrationInfo> completionService = new ExecutorCompletionService<>(executor);
+        int running = 0;
+        for (RegistrationInfo ri : ris) {
+            if (waitsFor.get(ri.getName()) == 0) {
+                submitStartComponent(completionService, ri, watch, classLoader);
+                running++;
+            }
+        }
+        while (running > 0) {
+            RegistrationInfo ri;
+            try {
+                ri = completionService.take().get();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Failed to start components", e.getCause());
+            }
+            running--;
+            Set<DependencyTree.Entry<ComponentName, RegistrationInfo>> dependents = tree.getEntry(ri.getName())
+                                                                                      .getDependsOnMe();
+            if (dependents == null) {
+                continue;
+            }
+            for (DependencyTree.Entry<ComponentName, RegistrationInfo> dependent : dependents) {
+                int count = waitsFor.merge(dependent.getKey(), -1, Integer::sum);
+                if (count == 0) {
+                    submitStartComponent(completionService, dependent.get(), watch, classLoader);
+                    running++;
+                }
+            }
+        }
+    }
+
+    protected void submitStartComponent(CompletionService<RegistrationInfo> completionService, RegistrationInfo ri,
+            Watch watch, ClassLoader classLoader) {
+        completionService.submit(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                watch.start(ri.getName().getName());
+                startComponent(ri);
+                watch.stop(ri.getName().getName());
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+            return ri;
+        });
+    }
+
     /**
      * Starts the given {@link RegistrationInfo}. This step will start the component.
      *
@@ -23,12 +23,16 @@ package org.nuxeo.ecm.directory;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -72,6 +76,13 @@ public abstract class BaseSession implements Session, EntrySource {
 
     protected static final String TENANT_ID_FIELD = "tenantId";
 
+    /**
+     * Maximum number of ids fetched with one request to the backend when getting several entries.
+     *
+     * @since 10.10-HF58
+     */
+    protected static final int GET_ENTRIES_BATCH_SIZE = 100;
+
     private final static Log log = LogFactory.getLog(BaseSession.class);
 
     protected final Directory directory;
@@ -344,6 +355,74 @@ public abstract class BaseSession implements Session, EntrySource {
         return directory.getCache().getEntry(id, this, fetchReferences);
     }
 
+    @Override
+    public DocumentModelList getEntries(Collection<String> ids, boolean fetchReferences) {
+        if (!hasPermission(SecurityConstants.READ)) {
+            return new DocumentModelListImpl();
+        }
+        // remove duplicates and null ids
+        Set<String> entryIds = new LinkedHashSet<>(ids);
+        entryIds.remove(null);
+        Map<String, DocumentModel> entries;
+        if (readAllColumns) {
+            // bypass cache when reading all columns
+            entries = getEntriesFromSource(entryIds, fetchReferences);
+        } else {
+            entries = directory.getCache().getEntries(entryIds, this, fetchReferences);
+        }
+        DocumentModelList result = new DocumentModelListImpl(entries.size());
+        for (String id : entryIds) {
+            DocumentModel entry = entries.get(id);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits the given entry ids into batches of at most {@link #GET_ENTRIES_BATCH_SIZE} ids.
+     *
+     * @since 10.10-HF58
+     */
+    protected static List<List<String>> getEntriesBatches(Collection<String> entryIds) {
+        List<String> ids = new ArrayList<>(entryIds);
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += GET_ENTRIES_BATCH_SIZE) {
+            batches.add(ids.subList(i, Math.min(i + GET_ENTRIES_BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Maps the requested entry ids to the fetched entries.
+     * <p>
+     * As the backend may not be case sensitive, an id not matching exactly any entry id is matched ignoring case.
+     *
+     * @return a map of the given entry ids to the matching entries, ids not matching any entry are absent
+     * @since 10.10-HF58
+     */
+    protected static Map<String, DocumentModel> mapEntriesToIds(Collection<String> entryIds,
+            Collection<DocumentModel> entries) {
+        Map<String, DocumentModel> entriesById = new HashMap<>();
+        Map<String, DocumentModel> entriesByIdIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (DocumentModel entry : entries) {
+            entriesById.put(entry.getId(), entry);
+            entriesByIdIgnoreCase.putIfAbsent(entry.getId(), entry);
+        }
+        Map<String, DocumentModel> result = new LinkedHashMap<>();
+        for (String entryId : entryIds) {
+            DocumentModel entry = entriesById.get(entryId);
+            if (entry == null) {
+                entry = entriesByIdIgnoreCase.get(entryId);
+            }
+            if (entry != null) {
+                result.put(entryId, entry);
+            }
+        }
+        return result;
+    }
+
     @Override
     public DocumentModelList getEntries() {
         if (!hasPermission(SecurityConstants.READ)) {
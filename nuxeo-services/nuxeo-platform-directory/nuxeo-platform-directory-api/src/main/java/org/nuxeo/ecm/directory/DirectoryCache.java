@@ -20,8 +20,12 @@
 package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -91,21 +95,7 @@ public class DirectoryCache {
     }
 
     public DocumentModel getEntry(String entryId, EntrySource source, boolean fetchReferences) {
-        if (!isCacheEnabled()) {
-            return source.getEntryFromSource(entryId, fetchReferences);
-        } else if (isCacheEnabled() && (getEntryCache() == null || getEntryCacheWithoutReferences() == null)) {
-            if (log.isDebugEnabled()) {
-                if (getEntryCache() == null) {
-                    log.debug(String.format(
-                            "The cache '%s' is undefined for directory '%s', it will be created with the default cache configuration",
-                            entryCacheName, name));
-                }
-                if (getEntryCacheWithoutReferences() == null) {
-                    log.debug(String.format(
-                            "The cache '%s' is undefined for directory '%s', it will be created with the default cache configuration",
-                            entryCacheWithoutReferencesName, name));
-                }
-            }
+        if (!isCacheReady()) {
             return source.getEntryFromSource(entryId, fetchReferences);
         }
 
@@ -119,27 +109,100 @@ public class DirectoryCache {
         if (dm == null) {
             // fetch the entry from the backend and cache it for later reuse
             dm = source.getEntryFromSource(entryId, fetchReferences);
-            if (dm != null) {
-                // DocumentModelImpl is not thread-safe and when we fetch and clone it when returning
-                // a value from the cache there may be concurrency.
-                // So we avoid thread-safety issues by exercising once the code paths that may do
-                // concurrent accesses to ComplexProperty (NXP-23458).
-                try {
-                    dm.clone();
-                } catch (CloneNotSupportedException e) {
-                    // ignore, no concurrency issues if not a DocumentModelImpl
-                }
-                ((CacheManagement) cache).putLocal(entryId, dm);
-                if (fetchReferences) {
-                    sizeCounter.inc();
-                }
-            } else if (negativeCaching) {
-                ((CacheManagement) cache).putLocal(entryId, CACHE_MISS);
-            }
+            putEntry(cache, entryId, dm, fetchReferences);
             missesCounter.inc();
         } else {
             hitsCounter.inc();
         }
+        return cloneEntry(dm);
+    }
+
+    /**
+     * Gets several entries, only the entries missing from the cache are fetched from the source, all at once.
+     *
+     * @return a map of the given entry ids to the matching entries, ids not matching any entry are absent
+     * @since 10.10-HF58
+     */
+    public Map<String, DocumentModel> getEntries(Collection<String> entryIds, EntrySource source,
+            boolean fetchReferences) {
+        if (!isCacheReady()) {
+            return source.getEntriesFromSource(entryIds, fetchReferences);
+        }
+
+        Cache cache = fetchReferences ? getEntryCache() : getEntryCacheWithoutReferences();
+        Map<String, DocumentModel> entries = new LinkedHashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String entryId : entryIds) {
+            Serializable entry = cache.get(entryId);
+            if (CACHE_MISS.equals(entry)) {
+                negativeHitsCounter.inc();
+            } else if (entry == null) {
+                missingIds.add(entryId);
+            } else {
+                hitsCounter.inc();
+                entries.put(entryId, cloneEntry((DocumentModel) entry));
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            // fetch the missing entries from the backend in one call and cache them for later reuse
+            Map<String, DocumentModel> fetched = source.getEntriesFromSource(missingIds, fetchReferences);
+            for (String entryId : missingIds) {
+                DocumentModel dm = fetched.get(entryId);
+                putEntry(cache, entryId, dm, fetchReferences);
+                missesCounter.inc();
+                if (dm != null) {
+                    entries.put(entryId, cloneEntry(dm));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Checks if the cache is enabled and its underlying caches are available.
+     */
+    protected boolean isCacheReady() {
+        if (!isCacheEnabled()) {
+            return false;
+        } else if (getEntryCache() == null || getEntryCacheWithoutReferences() == null) {
+            if (log.isDebugEnabled()) {
+                if (getEntryCache() == null) {
+                    log.debug(String.format(
+                            "The cache '%s' is undefined for directory '%s', it will be created with the default cache configuration",
+                            entryCacheName, name));
+                }
+                if (getEntryCacheWithoutReferences() == null) {
+                    log.debug(String.format(
+                            "The cache '%s' is undefined for directory '%s', it will be created with the default cache configuration",
+                            entryCacheWithoutReferencesName, name));
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    protected void putEntry(Cache cache, String entryId, DocumentModel dm, boolean fetchReferences) {
+        if (dm != null) {
+            // DocumentModelImpl is not thread-safe and when we fetch and clone it when returning
+            // a value from the cache there may be concurrency.
+            // So we avoid thread-safety issues by exercising once the code paths that may do
+            // concurrent accesses to ComplexProperty (NXP-23458).
+            try {
+                dm.clone();
+            } catch (CloneNotSupportedException e) {
+                // ignore, no concurrency issues if not a DocumentModelImpl
+            }
+            ((CacheManagement) cache).putLocal(entryId, dm);
+            if (fetchReferences) {
+                sizeCounter.inc();
+            }
+        } else if (negativeCaching) {
+            ((CacheManagement) cache).putLocal(entryId, CACHE_MISS);
+        }
+    }
+
+    protected DocumentModel cloneEntry(DocumentModel dm) {
         try {
             if (dm == null) {
                 return null;
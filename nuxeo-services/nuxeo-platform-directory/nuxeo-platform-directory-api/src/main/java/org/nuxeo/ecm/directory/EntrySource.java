@@ -20,6 +20,10 @@
 
 package org.nuxeo.ecm.directory;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.nuxeo.ecm.core.api.DocumentModel;
 
 /**
@@ -31,4 +35,24 @@ public interface EntrySource {
 
     DocumentModel getEntryFromSource(String entryId, boolean fetchReferences);
 
+    /**
+     * Gets several entries from the source.
+     * <p>
+     * The default implementation fetches entries one by one, sources able to fetch several entries at once should
+     * override it.
+     *
+     * @return a map of the given entry ids to the matching entries, ids not matching any entry are absent
+     * @since 10.10-HF58
+     */
+    default Map<String, DocumentModel> getEntriesFromSource(Collection<String> entryIds, boolean fetchReferences) {
+        Map<String, DocumentModel> entries = new LinkedHashMap<>();
+        for (String entryId : entryIds) {
+            DocumentModel entry = getEntryFromSource(entryId, fetchReferences);
+            if (entry != null) {
+                entries.put(entryId, entry);
+            }
+        }
+        return entries;
+    }
+
 }
@@ -21,6 +21,7 @@
 package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,6 +61,18 @@ public interface Session extends AutoCloseable {
      */
     DocumentModel getEntry(String id, boolean fetchReferences);
 
+    /**
+     * Retrieves several directory entries using their ids.
+     * <p>
+     * Ids not matching any entry are ignored, the entries are returned in the order of the given ids.
+     *
+     * @param ids the entry ids
+     * @param fetchReferences boolean stating if references have to be fetched
+     * @return the list of entries
+     * @since 10.10-HF58
+     */
+    DocumentModelList getEntries(Collection<String> ids, boolean fetchReferences);
+
     /**
      * Retrieves all the entries in the directory. If the remote server issues a size limit exceeded error while sending
      * partial results up to that limit, the method {@code DocumentModelList#totalsize} on the returned list will return
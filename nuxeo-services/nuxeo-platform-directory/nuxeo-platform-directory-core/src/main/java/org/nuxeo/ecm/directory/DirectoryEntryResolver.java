@@ -21,9 +21,14 @@ package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.nuxeo.ecm.core.api.DocumentModel;
@@ -173,6 +178,51 @@ public class DirectoryEntryResolver extends AbstractObjectResolver implements Ob
         return null;
     }
 
+    /**
+     * Fetches all the entries with one directory call.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public Map<Object, Object> fetchAll(Collection<?> values, Object context) throws IllegalStateException {
+        checkConfig();
+        Map<Object, String> idsByValue = new LinkedHashMap<>();
+        for (Object value : values) {
+            String id = getEntryId(value);
+            if (id != null) {
+                idsByValue.put(value, id);
+            }
+        }
+        Map<String, DocumentModel> entries = Collections.emptyMap();
+        if (!idsByValue.isEmpty()) {
+            Set<String> ids = new LinkedHashSet<>(idsByValue.values());
+            try (Session session = getDirectory().getSession()) {
+                List<DocumentModel> docs = Framework.doPrivileged(() -> session.getEntries(ids, true));
+                // match the requested ids as the directory did, it may not be case sensitive
+                entries = BaseSession.mapEntriesToIds(ids, docs);
+            }
+        }
+        Map<Object, Object> result = new LinkedHashMap<>();
+        for (Object value : values) {
+            String id = idsByValue.get(value);
+            DocumentModel doc = id == null ? null : entries.get(id);
+            result.put(value, doc == null ? null : new DirectoryEntry(directoryName, doc));
+        }
+        return result;
+    }
+
+    protected String getEntryId(Object value) {
+        if (!(value instanceof String)) {
+            return null;
+        }
+        String id = (String) value;
+        if (hierarchical) {
+            String[] ids = StringUtils.split(id, separator);
+            return ids.length > 0 ? ids[ids.length - 1] : null;
+        }
+        return id;
+    }
+
     @Override
     public <T> T fetch(Class<T> type, Object value) throws IllegalStateException {
         checkConfig();
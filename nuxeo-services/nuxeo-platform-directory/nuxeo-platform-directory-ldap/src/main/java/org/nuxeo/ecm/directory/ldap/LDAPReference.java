@@ -22,7 +22,11 @@ package org.nuxeo.ecm.directory.ldap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -706,66 +710,7 @@ public class LDAPReference extends AbstractReference implements Cloneable {
             }
 
             if (staticAttribute != null && staticAttributeIdIsDn) {
-                NamingEnumeration<?> targetDns = staticAttribute.getAll();
-                try {
-                    while (targetDns.hasMore()) {
-                        String targetDn = targetDns.next().toString();
-
-                        if (!pseudoNormalizeDn(targetDn).endsWith(baseDn)) {
-                            // optim: avoid network connections when obvious
-                            if (log.isTraceEnabled()) {
-                                log.trace(String.format("ignoring: dn='%s' (does not match '%s') for '%s'", targetDn,
-                                        baseDn, this));
-                            }
-                            continue;
-                        }
-                        // find the id of the referenced entry
-                        String id;
-
-                        if (targetSession.rdnMatchesIdField()) {
-                            // optim: do not fetch the entry to get its true id
-                            // but
-                            // guess it by reading the targetDn
-                            LdapName name = new LdapName(targetDn);
-                            String rdn = name.get(name.size() - 1);
-                            int pos = rdn.indexOf("=");
-                            id = rdn.substring(pos + 1);
-                        } else {
-                            id = getIdForDn(targetSession, targetDn);
-                            if (id == null) {
-                                log.warn(String.format(
-                                        "ignoring target '%s' (missing attribute '%s') while resolving reference '%s'",
-                                        targetDn, targetSession.idAttribute, this));
-                                continue;
-                            }
-                        }
-                        if (forceDnConsistencyCheck) {
-                            // check that the referenced entry is actually part
-                            // of
-                            // the target directory (takes care of the filters
-                            // and
-                            // the scope)
-                            // this check can be very expensive on large groups
-                            // and thus not enabled by default
-                            if (!targetSession.hasEntry(id)) {
-                                if (log.isTraceEnabled()) {
-                                    log.trace(
-                                            String.format(
-                                                    "ignoring target '%s' when resolving '%s' (not part of target"
-                                                            + " directory by forced DN consistency check)",
-                                                    targetDn, this));
-                                }
-                                continue;
-                            }
-                        }
-                        // NXP-2461: check that id field is filled
-                        if (id != null) {
-                            targetIds.add(id);
-                        }
-                    }
-                } finally {
-                    targetDns.close();
-                }
+                targetIds.addAll(getStaticTargetIds(targetSession, staticAttribute, baseDn));
             }
             // step #2: fetched dynamically referenced ids
             String dynamicAttributeId = this.dynamicAttributeId;
@@ -872,6 +817,87 @@ public class LDAPReference extends AbstractReference implements Cloneable {
         }
     }
 
+    /**
+     * Resolves the ids of the entries referenced by the DNs of the static attribute.
+     * <p>
+     * The entries are looked up by batch, not one DN at a time, so that expanding large groups does not require one
+     * LDAP request per member.
+     *
+     * @since 10.10-HF58
+     */
+    protected List<String> getStaticTargetIds(LDAPSession targetSession, Attribute staticAttribute, String baseDn)
+            throws NamingException {
+        List<String> targetDns = new ArrayList<>();
+        NamingEnumeration<?> staticContent = staticAttribute.getAll();
+        try {
+            while (staticContent.hasMore()) {
+                String targetDn = staticContent.next().toString();
+                if (!pseudoNormalizeDn(targetDn).endsWith(baseDn)) {
+                    // optim: avoid network connections when obvious
+                    if (log.isTraceEnabled()) {
+                        log.trace(String.format("ignoring: dn='%s' (does not match '%s') for '%s'", targetDn, baseDn,
+                                this));
+                    }
+                    continue;
+                }
+                targetDns.add(targetDn);
+            }
+        } finally {
+            staticContent.close();
+        }
+
+        // find the ids of the referenced entries
+        Map<String, String> idsByDn = new LinkedHashMap<>();
+        if (targetSession.rdnMatchesIdField()) {
+            // optim: do not fetch the entries to get their true id but guess it by reading the target dn
+            for (String targetDn : targetDns) {
+                LdapName name = new LdapName(targetDn);
+                String rdn = name.get(name.size() - 1);
+                int pos = rdn.indexOf("=");
+                idsByDn.put(targetDn, rdn.substring(pos + 1));
+            }
+        } else {
+            Map<String, String> fetchedIds;
+            try {
+                fetchedIds = targetSession.getIdsForDns(targetDns);
+            } catch (NamingException | UnsupportedOperationException e) {
+                // fall back to one request per dn
+                log.debug("Unable to resolve ids by batch for '" + this + "': " + e.getMessage());
+                fetchedIds = Collections.emptyMap();
+            }
+            for (String targetDn : targetDns) {
+                String id = fetchedIds.get(targetDn);
+                if (id == null) {
+                    id = getIdForDn(targetSession, targetDn);
+                }
+                if (id == null) {
+                    log.warn(String.format(
+                            "ignoring target '%s' (missing attribute '%s') while resolving reference '%s'",
+                            targetDn, targetSession.idAttribute, this));
+                    continue;
+                }
+                idsByDn.put(targetDn, id);
+            }
+        }
+
+        List<String> targetIds = new ArrayList<>(idsByDn.values());
+        if (forceDnConsistencyCheck) {
+            // check that the referenced entries are actually part of the target directory (takes care of the filters
+            // and the scope), this check can be very expensive on large groups and thus not enabled by default
+            Set<String> existingIds = targetSession.getExistingIds(targetIds);
+            for (Entry<String, String> entry : idsByDn.entrySet()) {
+                if (!existingIds.contains(entry.getValue())) {
+                    if (log.isTraceEnabled()) {
+                        log.trace(String.format("ignoring target '%s' when resolving '%s' (not part of target"
+                                + " directory by forced DN consistency check)", entry.getKey(), this));
+                    }
+                    targetIds.remove(entry.getValue());
+                }
+            }
+        }
+        return targetIds;
+    }
+
     protected String getIdForDn(LDAPSession session, String dn) {
         // the entry id is not based on the rdn, we thus need to
         // fetch the LDAP entry to grab it
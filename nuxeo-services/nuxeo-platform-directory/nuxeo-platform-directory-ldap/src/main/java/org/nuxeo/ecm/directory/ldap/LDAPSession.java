@@ -37,6 +37,9 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.SimpleTimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import javax.naming.Context;
 import javax.naming.LimitExceededException;
@@ -52,6 +55,8 @@ import javax.naming.directory.DirContext;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 import javax.naming.ldap.InitialLdapContext;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -435,6 +440,179 @@ public class LDAPSession extends BaseSession {
         }
     }
 
+    /**
+     * Fetches the entries with one search per batch of ids, using an OR filter on the id attribute.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public Map<String, DocumentModel> getEntriesFromSource(Collection<String> entryIds, boolean fetchReferences) {
+        List<String> ids = entryIds.stream().filter(StringUtils::isNotEmpty).collect(Collectors.toList());
+        List<DocumentModel> entries = new ArrayList<>();
+        for (List<String> batch : getEntriesBatches(ids)) {
+            try {
+                entries.addAll(getLdapEntries(batch, fetchReferences));
+            } catch (SizeLimitExceededException e) {
+                // the server limits the number of results, fetch the entries one by one
+                log.debug("SizeLimitExceededException caught, fetching entries one by one: " + e.getMessage());
+                for (String id : batch) {
+                    DocumentModel entry = getEntryFromSource(id, fetchReferences);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            } catch (NamingException e) {
+                throw new DirectoryException("getEntries failed: " + e.getMessage(), e);
+            }
+        }
+        return mapEntriesToIds(ids, entries);
+    }
+
+    /**
+     * Searches the entries matching the given ids, ambiguous ids matching several entries are ignored.
+     *
+     * @since 10.10-HF58
+     */
+    protected List<DocumentModel> getLdapEntries(List<String> ids, boolean fetchReferences) throws NamingException {
+        String filterExpr = getIdsFilterExpression(ids.size());
+        Object[] filterArgs = ids.toArray();
+        SearchControls scts = getDirectory().getSearchControls();
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(
+                    "LDAPSession.getLdapEntries(%s): LDAP search base='%s' filter='%s' args='%s' scope='%s' [%s]",
+                    ids, searchBaseDn, filterExpr, ids, scts.getSearchScope(), this));
+        }
+        NamingEnumeration<SearchResult> results;
+        try {
+            results = getContext().search(searchBaseDn, filterExpr, filterArgs, scts);
+        } catch (NameNotFoundException nnfe) {
+            // see getLdapEntry
+            log.error("Unexpected response from server while performing query: " + nnfe.getMessage(), nnfe);
+            return Collections.emptyList();
+        }
+        Map<String, DocumentModel> entries = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Set<String> ambiguousIds = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        try {
+            while (results.hasMore()) {
+                DocumentModel entry = ldapResultToDocumentModel(results.next(), null, fetchReferences);
+                if (entry != null && entries.putIfAbsent(entry.getId(), entry) != null) {
+                    ambiguousIds.add(entry.getId());
+                }
+            }
+        } finally {
+            results.close();
+        }
+        for (String id : ambiguousIds) {
+            // ignore entries that are ambiguous, as getLdapEntry does
+            log.error(String.format("Unable to fetch entry for '%s': found more than one match", id));
+            entries.remove(id);
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Builds a filter expression matching the entries of this directory having one of the ids given as filter
+     * arguments.
+     *
+     * @param count the number of ids
+     * @since 10.10-HF58
+     */
+    protected String getIdsFilterExpression(int count) {
+        StringBuilder idsFilter = new StringBuilder("(|");
+        for (int i = 0; i < count; i++) {
+            idsFilter.append(String.format("(%s={%d})", idAttribute, i));
+        }
+        idsFilter.append(')');
+        String baseFilter = getDirectory().getBaseFilter();
+        if (baseFilter.startsWith("(")) {
+            return String.format("(&%s%s)", idsFilter, baseFilter);
+        } else {
+            return String.format("(&%s(%s))", idsFilter, baseFilter);
+        }
+    }
+
+    /**
+     * Batch version of {@link #hasEntry(String)}, checks the existence of the given ids with one search per batch of
+     * ids.
+     *
+     * @return the given ids which match exactly one entry
+     * @since 10.10-HF58
+     */
+    protected Set<String> getExistingIds(Collection<String> ids) throws NamingException {
+        Set<String> existingIds = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (List<String> batch : getEntriesBatches(ids)) {
+            String filterExpr = getIdsFilterExpression(batch.size());
+            SearchControls scts = getDirectory().getIdSearchControls();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(
+                        "LDAPSession.getExistingIds(%s): LDAP search base='%s' filter='%s' scope='%s' [%s]", batch,
+                        searchBaseDn, filterExpr, scts.getSearchScope(), this));
+            }
+            Set<String> ambiguousIds = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            NamingEnumeration<SearchResult> results = getContext().search(searchBaseDn, filterExpr, batch.toArray(),
+                    scts);
+            try {
+                while (results.hasMore()) {
+                    Attribute attribute = results.next().getAttributes().get(idAttribute);
+                    Object id = attribute == null ? null : attribute.get();
+                    if (id != null && !existingIds.add(id.toString())) {
+                        ambiguousIds.add(id.toString());
+                    }
+                }
+            } finally {
+                results.close();
+            }
+            existingIds.removeAll(ambiguousIds);
+        }
+        return existingIds;
+    }
+
+    /**
+     * Resolves the ids of the entries having the given DNs, with one search per batch of DNs filtering on their RDN.
+     *
+     * @return a map of the given DNs to the ids of the matching entries, DNs not found in this directory are absent
+     * @since 10.10-HF58
+     */
+    protected Map<String, String> getIdsForDns(Collection<String> dns) throws NamingException {
+        Map<String, String> idsByDn = new HashMap<>();
+        for (List<String> batch : getEntriesBatches(dns)) {
+            Map<String, String> dnsByNormalizedDn = new HashMap<>();
+            StringBuilder filterExpr = new StringBuilder("(|");
+            List<String> filterArgs = new ArrayList<>();
+            for (String dn : batch) {
+                LdapName name = new LdapName(dn);
+                Rdn rdn = name.getRdn(name.size() - 1);
+                filterExpr.append(String.format("(%s={%d})", rdn.getType(), filterArgs.size()));
+                filterArgs.add(rdn.getValue().toString());
+                dnsByNormalizedDn.put(LDAPReference.pseudoNormalizeDn(dn), dn);
+            }
+            filterExpr.append(')');
+            SearchControls scts = getDirectory().getIdSearchControls();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(
+                        "LDAPSession.getIdsForDns(%s): LDAP search base='%s' filter='%s' args='%s' scope='%s' [%s]",
+                        batch, searchBaseDn, filterExpr, filterArgs, scts.getSearchScope(), this));
+            }
+            NamingEnumeration<SearchResult> results = getContext().search(searchBaseDn, filterExpr.toString(),
+                    filterArgs.toArray(), scts);
+            try {
+                while (results.hasMore()) {
+                    SearchResult result = results.next();
+                    String dn = dnsByNormalizedDn.get(LDAPReference.pseudoNormalizeDn(result.getNameInNamespace()));
+                    Attribute attribute = result.getAttributes().get(idAttribute);
+                    Object id = attribute == null ? null : attribute.get();
+                    if (dn != null && id != null) {
+                        idsByDn.put(dn, id.toString());
+                    }
+                }
+            } finally {
+                results.close();
+            }
+        }
+        return idsByDn;
+    }
+
     @Override
     public DocumentModelList query(Map<String, Serializable> filter, Set<String> fulltext, Map<String, String> orderBy,
             boolean fetchReferences, int limit, int offset) {
@@ -27,6 +27,7 @@ import static org.nuxeo.runtime.mongodb.MongoDBComponent.MongoDBCountHelper.coun
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -114,6 +115,33 @@ public class MongoDBSession extends BaseSession {
         return docModel;
     }
 
+    /**
+     * Fetches the entries with one {@code $in} query per batch of ids.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public Map<String, DocumentModel> getEntriesFromSource(Collection<String> entryIds, boolean fetchReferences) {
+        Field idField = directory.getSchemaFieldMap().get(getIdField());
+        List<DocumentModel> entries = new ArrayList<>();
+        for (List<String> ids : getEntriesBatches(entryIds)) {
+            List<Object> values = ids.stream()
+                                     .map(id -> idField == null ? MongoDBSerializationHelper.valueToBson(id)
+                                             : MongoDBSerializationHelper.valueToBson(id, idField.getType()))
+                                     .collect(Collectors.toList());
+            Document bson = new Document(getPrefixedIdField(), new Document("$in", values));
+            for (Document resultDoc : getCollection().find(bson)) {
+                DocumentModel docModel = resultToDocumentModel(resultDoc, fetchReferences);
+                // check that the entry is from the current tenant, or no tenant at all
+                if (!isMultiTenant()
+                        || checkEntryTenantId((String) docModel.getProperty(schemaName, TENANT_ID_FIELD))) {
+                    entries.add(docModel);
+                }
+            }
+        }
+        return mapEntriesToIds(entryIds, entries);
+    }
+
     @Override
     protected DocumentModel createEntryWithoutReferences(Map<String, Object> fieldMap) {
         // Make a copy of fieldMap to avoid modifying it
@@ -327,41 +355,7 @@ public class MongoDBSession extends BaseSession {
             results.limit(limit);
         }
         for (Document resultDoc : results) {
-
-            // Cast object to document model
-            Map<String, Object> fieldMap = MongoDBSerializationHelper.bsonToFieldMap(resultDoc);
-            // Remove password from results
-            if (!readAllColumns) {
-                fieldMap.remove(passwordFieldName);
-            }
-            DocumentModel doc = fieldMapToDocumentModel(fieldMap);
-
-            if (fetchReferences) {
-                Map<String, List<String>> targetIdsMap = new HashMap<>();
-                for (Reference reference : directory.getReferences()) {
-                    List<String> targetIds;
-                    if (reference instanceof MongoDBReference) {
-                        MongoDBReference mongoReference = (MongoDBReference) reference;
-                        targetIds = mongoReference.getTargetIdsForSource(doc.getId(), this);
-                    } else {
-                        targetIds = reference.getTargetIdsForSource(doc.getId());
-                    }
-                    targetIds = new ArrayList<>(targetIds);
-                    Collections.sort(targetIds);
-                    String fieldName = reference.getFieldName();
-                    targetIdsMap.computeIfAbsent(fieldName, key -> new ArrayList<>()).addAll(targetIds);
-                }
-                for (Map.Entry<String, List<String>> entry : targetIdsMap.entrySet()) {
-                    String fieldName = entry.getKey();
-                    List<String> targetIds = entry.getValue();
-                    try {
-                        doc.setProperty(schemaName, fieldName, targetIds);
-                    } catch (PropertyException e) {
-                        throw new DirectoryException(e);
-                    }
-                }
-            }
-            entries.add(doc);
+            entries.add(resultToDocumentModel(resultDoc, fetchReferences));
         }
 
         if (orderBy != null && !orderBy.isEmpty()) {
@@ -371,6 +365,48 @@ public class MongoDBSession extends BaseSession {
         return entries;
     }
 
+    /**
+     * Converts a MongoDB document to a directory entry.
+     *
+     * @since 10.10-HF58
+     */
+    protected DocumentModel resultToDocumentModel(Document resultDoc, boolean fetchReferences) {
+        // Cast object to document model
+        Map<String, Object> fieldMap = MongoDBSerializationHelper.bsonToFieldMap(resultDoc);
+        // Remove password from results
+        if (!readAllColumns) {
+            fieldMap.remove(getPrefixedPasswordField());
+        }
+        DocumentModel doc = fieldMapToDocumentModel(fieldMap);
+
+        if (fetchReferences) {
+            Map<String, List<String>> targetIdsMap = new HashMap<>();
+            for (Reference reference : directory.getReferences()) {
+                List<String> targetIds;
+                if (reference instanceof MongoDBReference) {
+                    MongoDBReference mongoReference = (MongoDBReference) reference;
+                    targetIds = mongoReference.getTargetIdsForSource(doc.getId(), this);
+                } else {
+                    targetIds = reference.getTargetIdsForSource(doc.getId());
+                }
+                targetIds = new ArrayList<>(targetIds);
+                Collections.sort(targetIds);
+                String fieldName = reference.getFieldName();
+                targetIdsMap.computeIfAbsent(fieldName, key -> new ArrayList<>()).addAll(targetIds);
+            }
+            for (Map.Entry<String, List<String>> entry : targetIdsMap.entrySet()) {
+                String fieldName = entry.getKey();
+                List<String> targetIds = entry.getValue();
+                try {
+                    doc.setProperty(schemaName, fieldName, targetIds);
+                } catch (PropertyException e) {
+                    throw new DirectoryException(e);
+                }
+            }
+        }
+        return doc;
+    }
+
     protected Document buildQuery(Map<String, Serializable> fieldMap, Set<String> fulltext) {
         Map<String, Field> schemaFieldMap = directory.getSchemaFieldMap();
         Document bson = new Document();
@@ -23,13 +23,18 @@ package org.nuxeo.ecm.directory.multi;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -345,64 +350,124 @@ public class MultiDirectorySession extends BaseSession {
             return null;
         }
         init();
-        String entryId = id;
-        source_loop: for (SourceInfo sourceInfo : sourceInfos) {
-            boolean isReadOnlyEntry = true;
-            final Map<String, Object> map = new HashMap<>();
+        for (SourceInfo sourceInfo : sourceInfos) {
+            DocumentModel entry = getEntry(sourceInfo, id,
+                    dirInfo -> dirInfo.getSession().getEntry(id, fetchReferences));
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return null;
+    }
 
+    @Override
+    public DocumentModelList getEntries(Collection<String> ids, boolean fetchReferences) {
+        if (!hasPermission(SecurityConstants.READ)) {
+            return new DocumentModelListImpl();
+        }
+        init();
+        Set<String> remainingIds = new LinkedHashSet<>(ids);
+        remainingIds.remove(null);
+        Map<String, DocumentModel> entries = new HashMap<>();
+        for (SourceInfo sourceInfo : sourceInfos) {
+            if (remainingIds.isEmpty()) {
+                break;
+            }
+            // fetch the entries of each subdirectory at once
+            Map<SubDirectoryInfo, Map<String, DocumentModel>> subEntries = new HashMap<>();
             for (SubDirectoryInfo dirInfo : sourceInfo.subDirectoryInfos) {
-                final DocumentModel entry = dirInfo.getSession().getEntry(id, fetchReferences);
-                boolean isOptional = dirInfo.isOptional;
-                if (entry == null && !isOptional) {
-                    // not in this source
-                    continue source_loop;
-                }
-                if (entry != null && !isReadOnlyEntry(entry)) {
-                    // set readonly to false if at least one source is writable
-                    isReadOnlyEntry = false;
-                }
-                if (entry == null && isOptional && !dirInfo.getSession().isReadOnly()) {
-                    // set readonly to false if null entry is from optional and writable directory
-                    isReadOnlyEntry = false;
-                }
-                if (entry != null && StringUtils.isNotBlank(entry.getId())) {
-                    entryId = entry.getId();
-                }
-                String passwordField = dirInfo.getSession().getPasswordField();
-                for (Entry<String, String> e : dirInfo.toSource.entrySet()) {
-                    String dirProp = e.getKey();
-                    if (dirProp.equals(passwordField)) {
-                        // subdirectory entry are already returned without password
-                        // but a default schema value could still be returned
-                        continue;
-                    }
-                    String prop = e.getValue();
-                    if (entry != null) {
-                        try {
-                            map.put(prop, entry.getProperty(dirInfo.dirSchemaName, dirProp));
-                        } catch (PropertyException e1) {
-                            throw new DirectoryException(e1);
-                        }
-                    } else {
-                        // fill with default values for this directory
-                        if (!map.containsKey(prop)) {
-                            map.put(prop, dirInfo.defaultEntry.get(dirProp));
-                        }
-                    }
+                // subdirectories may not be case sensitive
+                Map<String, DocumentModel> dirEntries = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                for (DocumentModel entry : dirInfo.getSession().getEntries(remainingIds, fetchReferences)) {
+                    dirEntries.put(entry.getId(), entry);
                 }
+                subEntries.put(dirInfo, dirEntries);
             }
-            // force the entry in readonly if it's defined on the multidirectory
-            if (isReadOnly()) {
-                isReadOnlyEntry = true;
+            for (Iterator<String> it = remainingIds.iterator(); it.hasNext();) {
+                String id = it.next();
+                DocumentModel entry = getEntry(sourceInfo, id, dirInfo -> subEntries.get(dirInfo).get(id));
+                if (entry != null) {
+                    entries.put(id, entry);
+                    it.remove();
+                }
             }
-            // ok we have the data
-            try {
-                return BaseSession.createEntryModel(null, schemaName, entryId, map, isReadOnlyEntry);
-            } catch (PropertyException e) {
-                throw new DirectoryException(e);
+        }
+        DocumentModelList result = new DocumentModelListImpl(entries.size());
+        for (String id : ids) {
+            DocumentModel entry = entries.remove(id);
+            if (entry != null) {
+                result.add(entry);
             }
         }
-        return null;
+        return result;
+    }
+
+    /**
+     * Builds the entry with the given id from the given source.
+     *
+     * @param sourceInfo the source
+     * @param id the entry id
+     * @param subEntryGetter the function providing the subdirectory entries
+     * @return the entry, or {@code null} if it's not in this source
+     * @since 10.10-HF58
+     */
+    protected DocumentModel getEntry(SourceInfo sourceInfo, String id,
+            Function<SubDirectoryInfo, DocumentModel> subEntryGetter) {
+        String entryId = id;
+        boolean isReadOnlyEntry = true;
+        final Map<String, Object> map = new HashMap<>();
+
+        for (SubDirectoryInfo dirInfo : sourceInfo.subDirectoryInfos) {
+            final DocumentModel entry = subEntryGetter.apply(dirInfo);
+            boolean isOptional = dirInfo.isOptional;
+            if (entry == null && !isOptional) {
+                // not in this source
+                return null;
+            }
+            if (entry != null && !isReadOnlyEntry(entry)) {
+                // set readonly to false if at least one source is writable
+                isReadOnlyEntry = false;
+            }
+            if (entry == null && isOptional && !dirInfo.getSession().isReadOnly()) {
+                // set readonly to false if null entry is from optional and writable directory
+                isReadOnlyEntry = false;
+            }
+            if (entry != null && StringUtils.isNotBlank(entry.getId())) {
+                entryId = entry.getId();
+            }
+            String passwordField = dirInfo.getSession().getPasswordField();
+            for (Entry<String, String> e : dirInfo.toSource.entrySet()) {
+                String dirProp = e.getKey();
+                if (dirProp.equals(passwordField)) {
+                    // subdirectory entry are already returned without password
+                    // but a default schema value could still be returned
+                    continue;
+                }
+                String prop = e.getValue();
+                if (entry != null) {
+                    try {
+                        map.put(prop, entry.getProperty(dirInfo.dirSchemaName, dirProp));
+                    } catch (PropertyException e1) {
+                        throw new DirectoryException(e1);
+                    }
+                } else {
+                    // fill with default values for this directory
+                    if (!map.containsKey(prop)) {
+                        map.put(prop, dirInfo.defaultEntry.get(dirProp));
+                    }
+                }
+            }
+        }
+        // force the entry in readonly if it's defined on the multidirectory
+        if (isReadOnly()) {
+            isReadOnlyEntry = true;
+        }
+        // ok we have the data
+        try {
+            return BaseSession.createEntryModel(null, schemaName, entryId, map, isReadOnlyEntry);
+        } catch (PropertyException e) {
+            throw new DirectoryException(e);
+        }
     }
 
     @Override
@@ -774,8 +839,7 @@ public class MultiDirectorySession extends BaseSession {
 
             // create entries from ids
 
-            ((ArrayList<?>) results).ensureCapacity(results.size() + ids.size());
-            // TODO batch fetch entries
+            List<String> entryIds = new ArrayList<>(ids.size());
             for (String id : ids) {
                 String otherSource = sources.putIfAbsent(id, sourceInfo.source.name);
                 if (otherSource != null) {
@@ -783,9 +847,10 @@ public class MultiDirectorySession extends BaseSession {
                             + "The second one will be ignored.", id, otherSource, sourceInfo.source.name));
                     continue;
                 }
-                DocumentModel entry = getEntry(id, fetchReferences);
-                results.add(entry);
+                entryIds.add(id);
             }
+            // batch fetch entries
+            results.addAll(getEntries(entryIds, fetchReferences));
         }
 
         // order/limit/offset
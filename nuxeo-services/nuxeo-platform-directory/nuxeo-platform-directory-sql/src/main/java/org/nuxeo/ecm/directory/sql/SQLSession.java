@@ -26,6 +26,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -145,49 +146,135 @@ public class SQLSession extends BaseSession {
                 }
             }
 
-            if (isMultiTenant()) {
-                // check that the entry is from the current tenant, or no tenant
-                // at all
-                String tenantId = getCurrentTenantId();
-                if (!StringUtils.isBlank(tenantId)) {
-                    String entryTenantId = (String) fieldMap.get(TENANT_ID_FIELD);
-                    if (!StringUtils.isBlank(entryTenantId)) {
-                        if (!entryTenantId.equals(tenantId)) {
-                            return null;
-                        }
-                    }
-                }
+            if (!isCurrentTenantEntry(fieldMap)) {
+                return null;
             }
 
             DocumentModel entry = fieldMapToDocumentModel(fieldMap);
 
             // fetch the reference fields
             if (fetchReferences) {
-                Map<String, List<String>> targetIdsMap = new HashMap<>();
-                for (org.nuxeo.ecm.directory.Reference reference : directory.getReferences()) {
-                    List<String> targetIds = reference.getTargetIdsForSource(entry.getId());
-                    targetIds = new ArrayList<>(targetIds);
-                    Collections.sort(targetIds);
-                    String fieldName = reference.getFieldName();
-                    if (targetIdsMap.containsKey(fieldName)) {
-                        targetIdsMap.get(fieldName).addAll(targetIds);
-                    } else {
-                        targetIdsMap.put(fieldName, targetIds);
+                fetchReferences(entry);
+            }
+            return entry;
+        } catch (SQLException e) {
+            throw new DirectoryException("getEntry failed", e);
+        }
+    }
+
+    /**
+     * Fetches the entries with one {@code IN} query per batch of ids.
+     *
+     * @since 10.10-HF58
+     */
+    @Override
+    public Map<String, DocumentModel> getEntriesFromSource(Collection<String> entryIds, boolean fetchReferences) {
+        if (entryIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        acquireConnection();
+        List<DocumentModel> entries = new ArrayList<>();
+        for (List<String> ids : getEntriesBatches(entryIds)) {
+            Select select = new Select(table);
+            select.setFrom(table.getQuotedName());
+            select.setWhat(getReadColumnsSQL());
+
+            String whereClause = table.getPrimaryColumn().getQuotedName()
+                    + ids.stream().map(id -> "?").collect(Collectors.joining(", ", " IN (", ")"));
+            whereClause = addFilterWhereClause(whereClause);
+
+            select.setWhere(whereClause);
+            String sql = select.getStatement();
+
+            if (logger.isLogEnabled()) {
+                List<Serializable> values = new ArrayList<>(ids);
+                addFilterValuesForLog(values);
+                logger.logSQL(sql, values);
+            }
+
+            try (PreparedStatement ps = sqlConnection.prepareStatement(sql)) {
+                int index = 1;
+                for (String id : ids) {
+                    setFieldValue(ps, index++, table.getPrimaryColumn(), id);
+                }
+                addFilterValues(ps, index);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Map<String, Object> fieldMap = new HashMap<>();
+                        for (Column column : getReadColumns()) {
+                            Object value = getFieldValue(rs, column);
+                            fieldMap.put(column.getKey(), value);
+                        }
+                        if (logger.isLogEnabled()) {
+                            logger.logResultSet(rs, getReadColumns());
+                        }
+                        if (isCurrentTenantEntry(fieldMap)) {
+                            DocumentModel entry = fieldMapToDocumentModel(fieldMap);
+                            if (entry != null) {
+                                entries.add(entry);
+                            }
+                        }
                     }
                 }
-                for (Entry<String, List<String>> en : targetIdsMap.entrySet()) {
-                    String fieldName = en.getKey();
-                    List<String> targetIds = en.getValue();
-                    try {
-                        entry.setProperty(schemaName, fieldName, targetIds);
-                    } catch (PropertyException e) {
-                        throw new DirectoryException(e);
+            } catch (SQLException e) {
+                throw new DirectoryException("getEntries failed", e);
+            }
+        }
+        if (fetchReferences) {
+            for (DocumentModel entry : entries) {
+                fetchReferences(entry);
+            }
+        }
+        return mapEntriesToIds(entryIds, entries);
+    }
+
+    /**
+     * Checks that the entry is from the current tenant, or no tenant at all.
+     *
+     * @since 10.10-HF58
+     */
+    protected boolean isCurrentTenantEntry(Map<String, Object> fieldMap) {
+        if (isMultiTenant()) {
+            String tenantId = getCurrentTenantId();
+            if (!StringUtils.isBlank(tenantId)) {
+                String entryTenantId = (String) fieldMap.get(TENANT_ID_FIELD);
+                if (!StringUtils.isBlank(entryTenantId)) {
+                    if (!entryTenantId.equals(tenantId)) {
+                        return false;
                     }
                 }
             }
-            return entry;
-        } catch (SQLException e) {
-            throw new DirectoryException("getEntry failed", e);
+        }
+        return true;
+    }
+
+    /**
+     * Fills the reference fields of the entry.
+     *
+     * @since 10.10-HF58
+     */
+    protected void fetchReferences(DocumentModel entry) {
+        Map<String, List<String>> targetIdsMap = new HashMap<>();
+        for (org.nuxeo.ecm.directory.Reference reference : directory.getReferences()) {
+            List<String> targetIds = reference.getTargetIdsForSource(entry.getId());
+            targetIds = new ArrayList<>(targetIds);
+            Collections.sort(targetIds);
+            String fieldName = reference.getFieldName();
+            if (targetIdsMap.containsKey(fieldName)) {
+                targetIdsMap.get(fieldName).addAll(targetIds);
+            } else {
+                targetIdsMap.put(fieldName, targetIds);
+            }
+        }
+        for (Entry<String, List<String>> en : targetIdsMap.entrySet()) {
+            String fieldName = en.getKey();
+            List<String> targetIds = en.getValue();
+            try {
+                entry.setProperty(schemaName, fieldName, targetIds);
+            } catch (PropertyException e) {
+                throw new DirectoryException(e);
+            }
         }
     }
 
@@ -327,6 +327,33 @@ public abstract class AbstractDirectoryTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetEntriesByIds() throws Exception {
+        try (Session session = getSession()) {
+            DocumentModelList entries = session.getEntries(
+                    Arrays.asList("user_3", "nosuchuser", "Administrator", "user_1", "user_3"), true);
+            // missing and duplicate ids are ignored, the order of the ids is kept
+            assertEquals(Arrays.asList("user_3", "Administrator", "user_1"),
+                    entries.stream().map(DocumentModel::getId).collect(Collectors.toList()));
+
+            DocumentModel dm = entries.get(2);
+            assertEquals("user_1", dm.getProperty(SCHEMA, "username"));
+            assertEquals(3L, dm.getProperty(SCHEMA, "intField"));
+            List<String> groups = (List<String>) dm.getProperty(SCHEMA, "groups");
+            assertEquals(2, groups.size());
+            assertTrue(groups.contains("group_1"));
+            assertTrue(groups.contains("members"));
+
+            // same entries when served from the cache
+            entries = session.getEntries(Arrays.asList("user_1", "Administrator"), true);
+            assertEquals(Arrays.asList("user_1", "Administrator"),
+                    entries.stream().map(DocumentModel::getId).collect(Collectors.toList()));
+
+            assertTrue(session.getEntries(Collections.emptyList(), true).isEmpty());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testUpdateEntry() throws Exception {
@@ -31,6 +31,7 @@ import static org.nuxeo.ecm.directory.DirectoryEntryResolver.PARAM_PARENT_FIELD;
 import static org.nuxeo.ecm.directory.DirectoryEntryResolver.PARAM_SEPARATOR;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -217,6 +218,20 @@ public class TestDirectoryEntryResolver {
         assertNull(derr.fetch("BAD id !"));
     }
 
+    @Test
+    public void testFetchAll() {
+        DirectoryEntryResolver derr = new DirectoryEntryResolver();
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(PARAM_DIRECTORY, REFERENCED_DIRECTORY1);
+        derr.configure(parameters);
+        Map<Object, Object> entities = derr.fetchAll(Arrays.asList("BAD id !", ENTRY_ID), null);
+        assertEquals(Arrays.asList("BAD id !", ENTRY_ID), new ArrayList<>(entities.keySet()));
+        assertNull(entities.get("BAD id !"));
+        Object entity = entities.get(ENTRY_ID);
+        assertTrue(entity instanceof DirectoryEntry);
+        assertEquals(ENTRY_LABEL, ((DirectoryEntry) entity).getDocumentModel().getPropertyValue("drs:label"));
+    }
+
     @Test
     public void testFetchCastDocumentModel() {
         DirectoryEntryResolver derr = new DirectoryEntryResolver();
@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.core;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.event.CoreEventConstants;
+import org.nuxeo.ecm.core.api.event.DocumentEventTypes;
+import org.nuxeo.ecm.core.event.Event;
+import org.nuxeo.ecm.core.event.EventBundle;
+import org.nuxeo.ecm.core.event.EventContext;
+import org.nuxeo.ecm.core.event.PostCommitEventListener;
+import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
+import org.nuxeo.ecm.platform.query.nxql.QueryResultsCacheHelper;
+
+/**
+ * Invalidates the cached query results of page providers depending on the changed documents, once the transaction is
+ * committed.
+ *
+ * @since 10.10-HF58
+ */
+public class QueryResultsCacheInvalidationListener implements PostCommitEventListener {
+
+    @Override
+    public void handleEvent(EventBundle bundle) {
+        Set<String> dependencies = new HashSet<>();
+        for (Event event : bundle) {
+            EventContext ctx = event.getContext();
+            if (!(ctx instanceof DocumentEventContext)) {
+                continue;
+            }
+            DocumentModel doc = ((DocumentEventContext) ctx).getSourceDocument();
+            if (doc == null) {
+                continue;
+            }
+            DocumentRef previousParentRef = null;
+            if (DocumentEventTypes.DOCUMENT_MOVED.equals(event.getName())) {
+                // holds the previous parent ref despite its name
+                Serializable parentRef = ctx.getProperty(CoreEventConstants.PARENT_PATH);
+                if (parentRef instanceof DocumentRef) {
+                    previousParentRef = (DocumentRef) parentRef;
+                }
+            }
+            dependencies.addAll(QueryResultsCacheHelper.getDependencies(doc, previousParentRef));
+        }
+        if (!dependencies.isEmpty()) {
+            QueryResultsCacheHelper.invalidate(dependencies);
+        }
+    }
+
+}
@@ -21,8 +21,12 @@ package org.nuxeo.ecm.platform.query.nxql;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -30,9 +34,18 @@ import org.apache.commons.logging.LogFactory;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.api.DocumentNotFoundException;
+import org.nuxeo.ecm.core.api.DocumentRef;
 import org.nuxeo.ecm.core.api.Filter;
+import org.nuxeo.ecm.core.api.IdRef;
 import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.PartialList;
+import org.nuxeo.ecm.core.api.PropertyException;
 import org.nuxeo.ecm.core.api.SortInfo;
+import org.nuxeo.ecm.core.api.impl.DocumentModelListImpl;
+import org.nuxeo.ecm.core.cache.Cache;
+import org.nuxeo.ecm.core.cache.CacheService;
+import org.nuxeo.ecm.core.query.sql.NXQL;
 import org.nuxeo.ecm.platform.query.api.AbstractPageProvider;
 import org.nuxeo.ecm.platform.query.api.PageProviderDefinition;
 import org.nuxeo.ecm.platform.query.api.PageSelections;
@@ -53,6 +66,16 @@ import org.nuxeo.runtime.services.config.ConfigurationService;
  * Since 6.0, the page provider property named {@link #USE_UNRESTRICTED_SESSION_PROPERTY} allows specifying whether the
  * query should be run as unrestricted. When such a property is set to "true", the additional property
  * {@link #DETACH_DOCUMENTS_PROPERTY} is used to detach documents (defaults to true when session is unrestricted).
+ * <p>
+ * Since 10.10-HF58, pages can be fetched with keyset pagination by setting a cursor, see
+ * {@link #setCurrentPageCursor(String)} and {@link KeysetCursor}. In this case the total number of results is not
+ * computed.
+ * <p>
+ * Since 10.10-HF58, the properties {@link #RESULTS_CACHE_PROPERTY} and {@link #COUNT_CACHE_PROPERTY} can name caches
+ * holding the results of the query and its total number of results, see {@link QueryResultsCacheHelper}.
+ * <p>
+ * Since 10.10-HF58, the property {@link #PROJECTION_PROPERTY} can list the properties needed by a listing, so that the
+ * query is executed as a projection returning lightweight documents, see {@link ProjectionQueryHelper}.
  *
  * @author Anahide Tchertchian
  * @since 5.4
@@ -92,6 +115,31 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
      */
     public static final String DETACH_DOCUMENTS_PROPERTY = "detachDocuments";
 
+    /**
+     * Property holding the name of the cache of the document ids of the pages, not used with an unrestricted session,
+     * a filter or keyset pagination.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String RESULTS_CACHE_PROPERTY = "resultsCache";
+
+    /**
+     * Property holding the name of the cache of the total number of results, usually with a shorter TTL than the
+     * results cache. Not used with an unrestricted session, a filter or keyset pagination.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String COUNT_CACHE_PROPERTY = "countCache";
+
+    /**
+     * Property holding the comma-separated list of the properties to project the query on, returning
+     * {@link org.nuxeo.ecm.core.api.impl.ProjectionDocumentModel}s loading the other ones on demand. Not used with an
+     * unrestricted session, a filter or keyset pagination.
+     *
+     * @since 10.10-HF58
+     */
+    public static final String PROJECTION_PROPERTY = "projection";
+
     private static final Log log = LogFactory.getLog(CoreQueryDocumentPageProvider.class);
 
     private static final long serialVersionUID = 1L;
@@ -102,8 +150,21 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
 
     protected Long maxResults;
 
+    /**
+     * @since 10.10-HF58
+     */
+    protected String currentPageCursor;
+
+    /**
+     * @since 10.10-HF58
+     */
+    protected String nextPageCursor;
+
     @Override
     public List<DocumentModel> getCurrentPage() {
+        if (getCurrentPageCursor() != null) {
+            return getCurrentPageAtCursor();
+        }
 
         long t0 = System.currentTimeMillis();
 
@@ -145,7 +206,7 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
                         r.runUnrestricted();
                         docs = r.getDocs();
                     } else {
-                        docs = coreSession.query(query, getFilter(), minMaxPageSize, offset, maxResults);
+                        docs = queryWithCache(coreSession, minMaxPageSize, offset, maxResults);
                     }
                 } else {
                     // use a totalCount=true instead of countUpTo=-1 to
@@ -156,7 +217,7 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
                         r.runUnrestricted();
                         docs = r.getDocs();
                     } else {
-                        docs = coreSession.query(query, getFilter(), minMaxPageSize, offset, true);
+                        docs = queryWithCache(coreSession, minMaxPageSize, offset, maxResults);
                     }
                 }
 
@@ -198,7 +259,255 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
         return currentPageDocuments;
     }
 
+    /**
+     * Performs the query, using the results and count caches if they are configured.
+     *
+     * @param maxResults the maximum number of results to count, or {@code 0} to count them all
+     * @since 10.10-HF58
+     */
+    protected DocumentModelList queryWithCache(CoreSession coreSession, long limit, long offset, long maxResults) {
+        Cache resultsCache = getCache(RESULTS_CACHE_PROPERTY);
+        Cache countCache = getCache(COUNT_CACHE_PROPERTY);
+        if ((resultsCache == null && countCache == null) || getFilter() != null) {
+            // a filter is applied in memory and is not part of the query, don't share its results
+            return query(coreSession, limit, offset, maxResults, true);
+        }
+        String countKey = String.join("\n", getName(), coreSession.getRepositoryName(), query,
+                String.valueOf(maxResults),
+                QueryResultsCacheHelper.getPrincipalFingerprint(coreSession.getPrincipal()),
+                QueryResultsCacheHelper.getGenerations(QueryResultsCacheHelper.getDependencies(query)));
+        String resultsKey = countKey + '\n' + limit + '\n' + offset;
+
+        Long count = countCache == null ? null : (Long) countCache.get(countKey);
+        CachedResults cached = resultsCache == null ? null : (CachedResults) resultsCache.get(resultsKey);
+        if (cached != null) {
+            DocumentModelList docs = getDocuments(coreSession, cached.ids);
+            if (docs != null) {
+                return new DocumentModelListImpl(docs, count == null ? cached.totalSize : count.longValue());
+            }
+        }
+
+        DocumentModelList docs = query(coreSession, limit, offset, maxResults, count == null);
+        long totalSize = count == null ? docs.totalSize() : count.longValue();
+        if (count == null && countCache != null) {
+            countCache.put(countKey, Long.valueOf(totalSize));
+        }
+        if (resultsCache != null) {
+            List<String> ids = docs.stream().map(DocumentModel::getId).collect(Collectors.toList());
+            resultsCache.put(resultsKey, new CachedResults(ids, totalSize));
+        }
+        return count == null ? docs : new DocumentModelListImpl(docs, totalSize);
+    }
+
+    protected DocumentModelList query(CoreSession coreSession, long limit, long offset, long maxResults,
+            boolean count) {
+        ProjectionQueryHelper projection = getProjectionQueryHelper();
+        if (projection != null) {
+            String projectionQuery = projection.getQuery(query);
+            PartialList<Map<String, Serializable>> rows;
+            if (!count) {
+                rows = coreSession.queryProjection(projectionQuery, NXQL.NXQL, true, limit, offset, 0);
+            } else if (maxResults > 0) {
+                rows = coreSession.queryProjection(projectionQuery, NXQL.NXQL, true, limit, offset, maxResults);
+            } else {
+                rows = coreSession.queryProjection(projectionQuery, limit, offset, true);
+            }
+            return projection.getDocuments(coreSession, rows, rows.totalSize());
+        }
+        if (!count) {
+            return coreSession.query(query, getFilter(), limit, offset, 0);
+        } else if (maxResults > 0) {
+            return coreSession.query(query, getFilter(), limit, offset, maxResults);
+        } else {
+            // use a totalCount=true instead of countUpTo=-1 to
+            // enable global limitation described in NXP-9381
+            return coreSession.query(query, getFilter(), limit, offset, true);
+        }
+    }
+
+    /**
+     * Gets the documents with the given ids, or {@code null} if some of them cannot be read anymore.
+     */
+    protected DocumentModelList getDocuments(CoreSession coreSession, List<String> ids) {
+        ProjectionQueryHelper projection = getProjectionQueryHelper();
+        if (projection != null) {
+            if (ids.isEmpty()) {
+                return new DocumentModelListImpl();
+            }
+            Map<String, Map<String, Serializable>> rowsById = new HashMap<>();
+            for (Map<String, Serializable> row : coreSession.queryProjection(projection.getQuery(ids), 0, 0)) {
+                rowsById.put((String) row.get(NXQL.ECM_UUID), row);
+            }
+            List<Map<String, Serializable>> rows = ids.stream()
+                                                      .map(rowsById::get)
+                                                      .filter(Objects::nonNull)
+                                                      .collect(Collectors.toList());
+            DocumentModelList docs = projection.getDocuments(coreSession, rows, -1);
+            return docs.size() == ids.size() ? docs : null;
+        }
+        DocumentRef[] refs = ids.stream().map(IdRef::new).toArray(DocumentRef[]::new);
+        try {
+            DocumentModelList docs = coreSession.getDocuments(refs);
+            return docs.size() == refs.length ? docs : null;
+        } catch (DocumentNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the helper executing the query as a projection, or {@code null} if the documents must be fully loaded.
+     *
+     * @since 10.10-HF58
+     */
+    protected ProjectionQueryHelper getProjectionQueryHelper() {
+        String projection = (String) getProperties().get(PROJECTION_PROPERTY);
+        if (StringUtils.isBlank(projection) || getFilter() != null) {
+            return null;
+        }
+        List<String> xpaths = Arrays.stream(projection.split(","))
+                                    .map(String::trim)
+                                    .filter(StringUtils::isNotEmpty)
+                                    .collect(Collectors.toList());
+        return new ProjectionQueryHelper(xpaths);
+    }
+
+    protected Cache getCache(String propertyName) {
+        String cacheName = (String) getProperties().get(propertyName);
+        if (StringUtils.isBlank(cacheName)) {
+            return null;
+        }
+        return Framework.getService(CacheService.class).getCache(cacheName);
+    }
+
+    /**
+     * Gets the current page with keyset pagination.
+     *
+     * @since 10.10-HF58
+     */
+    protected List<DocumentModel> getCurrentPageAtCursor() {
+
+        long t0 = System.currentTimeMillis();
+
+        checkQueryCache();
+        if (currentPageDocuments == null) {
+            error = null;
+            errorMessage = null;
+            nextPageCursor = null;
+
+            CoreSession coreSession = getCoreSession();
+            if (query == null) {
+                buildQuery(coreSession);
+            }
+            if (query == null) {
+                throw new NuxeoException(String.format("Cannot perform null query: check provider '%s'", getName()));
+            }
+
+            currentPageDocuments = new ArrayList<>();
+
+            try {
+                KeysetCursor cursor = KeysetCursor.parse(getCurrentPageCursor());
+                List<SortInfo> sortInfos = KeysetCursor.getSortInfos(getSortInfos());
+                String pageQuery = buildQuery(sortInfos, cursor.getClause(sortInfos));
+
+                long pageSize = getMinMaxPageSize();
+                // fetch one more document to know if there is a next page
+                long limit = pageSize == 0 ? 0 : pageSize + 1;
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Perform query for provider '%s': '%s' with pageSize=%s, offset=%s",
+                            getName(), pageQuery, Long.valueOf(pageSize), Long.valueOf(cursor.getOffset())));
+                }
+
+                final DocumentModelList docs;
+                if (useUnrestrictedSession()) {
+                    CoreQueryUnrestrictedSessionRunner r = new CoreQueryUnrestrictedSessionRunner(coreSession,
+                            pageQuery, getFilter(), limit, cursor.getOffset(), false, 0, detachDocuments());
+                    r.runUnrestricted();
+                    docs = r.getDocs();
+                } else {
+                    docs = coreSession.query(pageQuery, getFilter(), limit, cursor.getOffset(), 0);
+                }
+
+                if (limit > 0 && docs.size() > pageSize) {
+                    List<DocumentModel> page = docs.subList(0, (int) pageSize);
+                    DocumentModel last = page.get(page.size() - 1);
+                    nextPageCursor = cursor.next(sortInfos, key -> getSortValue(last, key), pageSize).toString();
+                    currentPageDocuments.addAll(page);
+                } else {
+                    currentPageDocuments.addAll(docs);
+                }
+                setResultsCount(UNKNOWN_SIZE_AFTER_QUERY);
+
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Performed query for provider '%s': got %s hits, next cursor %s",
+                            getName(), Integer.valueOf(currentPageDocuments.size()), nextPageCursor));
+                }
+            } catch (NuxeoException e) {
+                error = e;
+                errorMessage = e.getMessage();
+                log.warn(e.getMessage(), e);
+            }
+        }
+
+        // send event for statistics !
+        fireSearchEvent(getCoreSession().getPrincipal(), query, currentPageDocuments, System.currentTimeMillis() - t0);
+
+        return currentPageDocuments;
+    }
+
+    /**
+     * Gets the value of a sort column for the given document, or {@code null} if it cannot be retrieved from the
+     * document.
+     *
+     * @since 10.10-HF58
+     */
+    protected Serializable getSortValue(DocumentModel doc, String key) {
+        switch (key) {
+        case NXQL.ECM_UUID:
+            return doc.getId();
+        case NXQL.ECM_NAME:
+            return doc.getName();
+        case NXQL.ECM_PATH:
+            // ecm:path only supports = and <> in queries, let the cursor fall back to an offset
+            return null;
+        case NXQL.ECM_PRIMARYTYPE:
+            return doc.getType();
+        case NXQL.ECM_PARENTID:
+            DocumentRef parentRef = doc.getParentRef();
+            return parentRef == null ? null : parentRef.toString();
+        case NXQL.ECM_LIFECYCLESTATE:
+            return doc.getCurrentLifeCycleState();
+        default:
+            if (key.startsWith(NXQL.ECM_PREFIX)) {
+                return null;
+            }
+            try {
+                return doc.getPropertyValue(key);
+            } catch (PropertyException e) {
+                return null;
+            }
+        }
+    }
+
     protected void buildQuery(CoreSession coreSession) {
+        String newQuery = buildQuery(getSortInfos(), null);
+        if (query != null && newQuery != null && !newQuery.equals(query)) {
+            // query has changed => refresh
+            refresh();
+            if (getCurrentPageCursor() != null) {
+                // previous cursor is meaningless for the new query
+                currentPageCursor = FIRST_PAGE_CURSOR;
+            }
+        }
+        query = newQuery;
+    }
+
+    /**
+     * Builds the query with the given sort and an additional clause.
+     *
+     * @param additionalClause an NXQL predicate added to the query, or {@code null}
+     * @since 10.10-HF58
+     */
+    protected String buildQuery(List<SortInfo> sortInfos, String additionalClause) {
         List<QuickFilter> quickFilters = getQuickFilters();
         String quickFiltersClause = "";
 
@@ -215,7 +524,10 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
             }
         }
 
-        List<SortInfo> sortInfos = getSortInfos();
+        if (additionalClause != null) {
+            quickFiltersClause = NXQLQueryBuilder.appendClause(quickFiltersClause, additionalClause);
+        }
+
         SortInfo[] sortArray = null;
         if (sortInfos != null) {
             sortArray = sortInfos.toArray(new SortInfo[sortInfos.size()]);
@@ -244,12 +556,7 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
             newQuery = NXQLQueryBuilder.getQuery(searchDocumentModel, whereClause, quickFiltersClause, getParameters(),
                     sortArray);
         }
-
-        if (query != null && newQuery != null && !newQuery.equals(query)) {
-            // query has changed => refresh
-            refresh();
-        }
-        query = newQuery;
+        return newQuery;
     }
 
     protected void checkQueryCache() {
@@ -393,9 +700,86 @@ public class CoreQueryDocumentPageProvider extends AbstractPageProvider<Document
         return null;
     }
 
+    /**
+     * Cached page of results.
+     *
+     * @since 10.10-HF58
+     */
+    protected static class CachedResults implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final List<String> ids;
+
+        protected final long totalSize;
+
+        protected CachedResults(List<String> ids, long totalSize) {
+            this.ids = new ArrayList<>(ids);
+            this.totalSize = totalSize;
+        }
+    }
+
+    @Override
+    public void setCurrentPageCursor(String cursor) {
+        currentPageCursor = cursor;
+        setCurrentPageOffset(0);
+        pageChanged();
+    }
+
+    @Override
+    public String getCurrentPageCursor() {
+        if (currentPageCursor != null) {
+            return currentPageCursor;
+        }
+        return (String) getProperties().get(CURRENT_PAGE_CURSOR_PROP);
+    }
+
+    @Override
+    public String getNextPageCursor() {
+        return nextPageCursor;
+    }
+
+    @Override
+    public void firstPage() {
+        if (getCurrentPageCursor() == null) {
+            super.firstPage();
+        } else if (!FIRST_PAGE_CURSOR.equals(getCurrentPageCursor())) {
+            setCurrentPageCursor(FIRST_PAGE_CURSOR);
+        }
+    }
+
+    @Override
+    public void nextPage() {
+        if (getCurrentPageCursor() == null) {
+            super.nextPage();
+        } else if (nextPageCursor != null) {
+            setCurrentPageCursor(nextPageCursor);
+        }
+    }
+
+    @Override
+    public boolean isNextPageAvailable() {
+        if (getCurrentPageCursor() == null) {
+            return super.isNextPageAvailable();
+        }
+        return nextPageCursor != null;
+    }
+
+    @Override
+    public boolean isPreviousPageAvailable() {
+        // keyset pagination only goes forward
+        return getCurrentPageCursor() == null && super.isPreviousPageAvailable();
+    }
+
+    @Override
+    public boolean isLastPageAvailable() {
+        return getCurrentPageCursor() == null && super.isLastPageAvailable();
+    }
+
     @Override
     protected void pageChanged() {
         currentPageDocuments = null;
+        nextPageCursor = null;
         super.pageChanged();
     }
 
@@ -0,0 +1,295 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.nxql;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.function.Function;
+
+import org.joda.time.DateTime;
+import org.nuxeo.ecm.core.api.SortInfo;
+import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.query.sql.model.DateLiteral;
+import org.nuxeo.ecm.platform.query.api.PageProvider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Cursor of a page for keyset pagination.
+ * <p>
+ * A page is fetched by seeking after the sort values of the last entry of the previous page instead of skipping all
+ * the entries before it: the cursor holds these values and turns them into a range predicate on the sort columns,
+ * added to the where clause of the NXQL query. The sort is completed by {@code ecm:uuid} so that entries are totally
+ * ordered.
+ * <p>
+ * The sort columns are expected to be non-null. When the last entry of a page has a {@code null} or unsupported sort
+ * value, the next cursor falls back to an offset after the values of the previous cursor.
+ * <p>
+ * The encoded cursor is opaque to clients.
+ *
+ * @since 10.10-HF58
+ */
+public class KeysetCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected static final String KEYS = "k";
+
+    protected static final String VALUES = "v";
+
+    protected static final String OFFSET = "o";
+
+    protected static final String TYPE_STRING = "s";
+
+    protected static final String TYPE_LONG = "l";
+
+    protected static final String TYPE_DOUBLE = "d";
+
+    protected static final String TYPE_BOOLEAN = "b";
+
+    protected static final String TYPE_TIMESTAMP = "t";
+
+    protected static final KeysetCursor FIRST = new KeysetCursor(Collections.emptyList(), Collections.emptyList(), 0);
+
+    /** The sort columns, empty if the cursor has no values. */
+    protected final List<String> keys;
+
+    /** The sort values to seek after. */
+    protected final List<Serializable> values;
+
+    /** The number of entries to skip after the sort values. */
+    protected final long offset;
+
+    protected KeysetCursor(List<String> keys, List<Serializable> values, long offset) {
+        this.keys = keys;
+        this.values = values;
+        this.offset = offset;
+    }
+
+    /**
+     * Parses a cursor, as returned by {@link #toString}, or {@link PageProvider#FIRST_PAGE_CURSOR}.
+     *
+     * @throws QueryParseException if the cursor is invalid
+     */
+    public static KeysetCursor parse(String cursor) {
+        if (PageProvider.FIRST_PAGE_CURSOR.equals(cursor)) {
+            return FIRST;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            JsonNode node = MAPPER.readTree(new String(bytes, StandardCharsets.UTF_8));
+            List<String> keys = new ArrayList<>();
+            List<Serializable> values = new ArrayList<>();
+            JsonNode keysNode = node.get(KEYS);
+            JsonNode valuesNode = node.get(VALUES);
+            if (keysNode == null || valuesNode == null || keysNode.size() != valuesNode.size()) {
+                throw new QueryParseException("Invalid page cursor: " + cursor);
+            }
+            for (int i = 0; i < keysNode.size(); i++) {
+                keys.add(keysNode.get(i).asText());
+                values.add(readValue(valuesNode.get(i)));
+            }
+            long offset = node.path(OFFSET).asLong();
+            if (offset < 0) {
+                throw new QueryParseException("Invalid page cursor: " + cursor);
+            }
+            return new KeysetCursor(keys, values, offset);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new QueryParseException("Invalid page cursor: " + cursor, e);
+        }
+    }
+
+    protected static Serializable readValue(JsonNode node) {
+        String type = node.path(0).asText();
+        JsonNode value = node.path(1);
+        switch (type) {
+        case TYPE_STRING:
+            return value.asText();
+        case TYPE_LONG:
+            return Long.valueOf(value.asLong());
+        case TYPE_DOUBLE:
+            return Double.valueOf(value.asDouble());
+        case TYPE_BOOLEAN:
+            return Boolean.valueOf(value.asBoolean());
+        case TYPE_TIMESTAMP:
+            return new DateLiteral(value.asText(), false).toCalendar();
+        default:
+            throw new IllegalArgumentException("Unknown value type: " + type);
+        }
+    }
+
+    /**
+     * Gets the sort used with keyset pagination: the given sort completed by {@code ecm:uuid}.
+     */
+    public static List<SortInfo> getSortInfos(List<SortInfo> sortInfos) {
+        List<SortInfo> result = new ArrayList<>();
+        if (sortInfos != null) {
+            result.addAll(sortInfos);
+        }
+        if (result.stream().noneMatch(sortInfo -> NXQL.ECM_UUID.equals(sortInfo.getSortColumn()))) {
+            result.add(new SortInfo(NXQL.ECM_UUID, true));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of entries to skip in the results of the query restricted by {@link #getClause}.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the NXQL predicate selecting the entries after the cursor.
+     *
+     * @param sortInfos the sort, as returned by {@link #getSortInfos}
+     * @return the NXQL predicate, or {@code null} if there's no restriction
+     * @throws QueryParseException if the cursor doesn't match the sort
+     */
+    public String getClause(List<SortInfo> sortInfos) {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        if (sortInfos.size() != keys.size()) {
+            throw new QueryParseException("Page cursor doesn't match the sort of the query");
+        }
+        String clause = null;
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            SortInfo sortInfo = sortInfos.get(i);
+            String key = keys.get(i);
+            if (!key.equals(sortInfo.getSortColumn())) {
+                throw new QueryParseException("Page cursor doesn't match the sort of the query");
+            }
+            String literal = toLiteral(values.get(i));
+            String seek = key + (sortInfo.getSortAscending() ? " > " : " < ") + literal;
+            clause = clause == null ? seek : "(" + seek + " OR (" + key + " = " + literal + " AND " + clause + "))";
+        }
+        return clause;
+    }
+
+    /**
+     * Gets the cursor of the page following a page fetched with this cursor.
+     *
+     * @param sortInfos the sort, as returned by {@link #getSortInfos}
+     * @param lastValues the function getting the sort values of the last entry of the page
+     * @param count the number of entries of the page
+     */
+    public KeysetCursor next(List<SortInfo> sortInfos, Function<String, Serializable> lastValues, long count) {
+        List<String> nextKeys = new ArrayList<>(sortInfos.size());
+        List<Serializable> nextValues = new ArrayList<>(sortInfos.size());
+        for (SortInfo sortInfo : sortInfos) {
+            String key = sortInfo.getSortColumn();
+            Serializable value = normalize(lastValues.apply(key));
+            if (value == null) {
+                // cannot seek after this entry, skip it from the current position
+                return new KeysetCursor(keys, values, offset + count);
+            }
+            nextKeys.add(key);
+            nextValues.add(value);
+        }
+        return new KeysetCursor(nextKeys, nextValues, 0);
+    }
+
+    /**
+     * Normalizes a sort value to one of the types supported by the cursor, or {@code null} if it's not supported.
+     */
+    protected static Serializable normalize(Serializable value) {
+        if (value instanceof String || value instanceof Long || value instanceof Double || value instanceof Boolean
+                || value instanceof Calendar) {
+            return value;
+        } else if (value instanceof Integer || value instanceof Short) {
+            return Long.valueOf(((Number) value).longValue());
+        } else if (value instanceof Float) {
+            return Double.valueOf(((Float) value).doubleValue());
+        } else if (value instanceof Date) {
+            Calendar cal = new GregorianCalendar();
+            cal.setTime((Date) value);
+            return cal;
+        }
+        return null;
+    }
+
+    protected static String toLiteral(Serializable value) {
+        if (value instanceof String) {
+            return NXQL.escapeString((String) value);
+        } else if (value instanceof Long) {
+            return value.toString();
+        } else if (value instanceof Double) {
+            return BigDecimal.valueOf(((Double) value).doubleValue()).toPlainString();
+        } else if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue() ? "1" : "0";
+        } else {
+            return "TIMESTAMP '" + formatTimestamp((Calendar) value) + "'";
+        }
+    }
+
+    protected static String formatTimestamp(Calendar value) {
+        return DateLiteral.dateTimeFormatter.print(new DateTime(value));
+    }
+
+    /**
+     * Encodes the cursor in an opaque string.
+     */
+    @Override
+    public String toString() {
+        if (keys.isEmpty() && offset == 0) {
+            return PageProvider.FIRST_PAGE_CURSOR;
+        }
+        ObjectNode node = MAPPER.createObjectNode();
+        ArrayNode keysNode = node.putArray(KEYS);
+        ArrayNode valuesNode = node.putArray(VALUES);
+        for (int i = 0; i < keys.size(); i++) {
+            keysNode.add(keys.get(i));
+            ArrayNode valueNode = valuesNode.addArray();
+            Serializable value = values.get(i);
+            if (value instanceof String) {
+                valueNode.add(TYPE_STRING).add((String) value);
+            } else if (value instanceof Long) {
+                valueNode.add(TYPE_LONG).add(((Long) value).longValue());
+            } else if (value instanceof Double) {
+                valueNode.add(TYPE_DOUBLE).add(((Double) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                valueNode.add(TYPE_BOOLEAN).add(((Boolean) value).booleanValue());
+            } else {
+                valueNode.add(TYPE_TIMESTAMP).add(formatTimestamp((Calendar) value));
+            }
+        }
+        if (offset != 0) {
+            node.put(OFFSET, offset);
+        }
+        byte[] bytes = node.toString().getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+}
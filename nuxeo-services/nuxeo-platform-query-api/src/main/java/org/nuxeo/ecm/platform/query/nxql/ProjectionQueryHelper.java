@@ -0,0 +1,196 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.nxql;
+
+import static org.nuxeo.ecm.core.api.LifeCycleConstants.DELETED_STATE;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.nuxeo.common.utils.Path;
+import org.nuxeo.ecm.core.api.CoreInstance;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.Lock;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.impl.DocumentModelListImpl;
+import org.nuxeo.ecm.core.api.impl.ProjectionDocumentModel;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.schema.SchemaManager;
+import org.nuxeo.ecm.core.schema.types.Field;
+import org.nuxeo.ecm.core.schema.types.Schema;
+import org.nuxeo.runtime.api.Framework;
+
+/**
+ * Helper executing the query of a page provider as a projection on some properties, returning
+ * {@link ProjectionDocumentModel}s instead of fully loaded documents.
+ * <p>
+ * Only simple properties can be projected. Versions, proxies and documents of unknown types are still fully loaded.
+ *
+ * @since 10.10-HF58
+ */
+public class ProjectionQueryHelper {
+
+    protected static final Pattern SELECT_ALL = Pattern.compile("^\\s*SELECT\\s+\\*\\s+(FROM\\s.*)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /** Properties always selected, holding the identity and the state of the documents. */
+    protected static final List<String> SYSTEM_PROPERTIES = Arrays.asList(NXQL.ECM_UUID, NXQL.ECM_PRIMARYTYPE,
+            NXQL.ECM_NAME, NXQL.ECM_PARENTID, NXQL.ECM_ISVERSION, NXQL.ECM_PROXY_TARGETID, NXQL.ECM_LIFECYCLESTATE,
+            NXQL.ECM_ISCHECKEDIN, NXQL.ECM_ISTRASHED, NXQL.ECM_ISRECORD, NXQL.ECM_RETAINUNTIL, NXQL.ECM_HASLEGALHOLD,
+            NXQL.ECM_LOCK_OWNER, NXQL.ECM_LOCK_CREATED);
+
+    /** Properties always projected, used by {@link DocumentModel#getTitle} and the JSON writers. */
+    protected static final List<String> DEFAULT_PROPERTIES = Arrays.asList("dc:title", "dc:modified");
+
+    protected final Map<String, Field> fields = new LinkedHashMap<>();
+
+    /**
+     * @param xpaths the simple properties to project
+     * @throws NuxeoException if a property is unknown or is not simple
+     */
+    public ProjectionQueryHelper(List<String> xpaths) {
+        SchemaManager schemaManager = Framework.getService(SchemaManager.class);
+        List<String> all = new ArrayList<>(DEFAULT_PROPERTIES);
+        all.addAll(xpaths);
+        for (String xpath : all) {
+            Field field = schemaManager.getField(xpath);
+            if (field == null || !field.getType().isSimpleType() || !(field.getDeclaringType() instanceof Schema)) {
+                throw new NuxeoException("Cannot project on property: " + xpath);
+            }
+            fields.put(xpath, field);
+        }
+    }
+
+    /**
+     * Gets the projection of a {@code SELECT * FROM ...} query.
+     *
+     * @throws NuxeoException if the query is not a {@code SELECT *} query
+     */
+    public String getQuery(String query) {
+        Matcher m = SELECT_ALL.matcher(query);
+        if (!m.matches()) {
+            throw new NuxeoException("Cannot project query: " + query);
+        }
+        return getSelectClause() + m.group(1);
+    }
+
+    /**
+     * Gets the projection query of the documents with the given ids.
+     */
+    public String getQuery(List<String> ids) {
+        return getSelectClause() + "FROM Document WHERE " + NXQL.ECM_UUID + " IN "
+                + ids.stream().map(NXQL::escapeString).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    protected String getSelectClause() {
+        List<String> columns = new ArrayList<>(SYSTEM_PROPERTIES);
+        columns.addAll(fields.keySet());
+        return "SELECT " + String.join(", ", columns) + " ";
+    }
+
+    /**
+     * Builds the documents from the rows of a projection query.
+     */
+    public DocumentModelList getDocuments(CoreSession session, List<Map<String, Serializable>> rows, long totalSize) {
+        SchemaManager schemaManager = Framework.getService(SchemaManager.class);
+        Map<String, String> parentPaths = getParentPaths(session, rows);
+        List<DocumentRef> fullRefs = new ArrayList<>();
+        List<DocumentModel> docs = new ArrayList<>(rows.size());
+        for (Map<String, Serializable> row : rows) {
+            String id = (String) row.get(NXQL.ECM_UUID);
+            String type = (String) row.get(NXQL.ECM_PRIMARYTYPE);
+            if (Boolean.TRUE.equals(row.get(NXQL.ECM_ISVERSION)) || row.get(NXQL.ECM_PROXY_TARGETID) != null
+                    || schemaManager.getDocumentType(type) == null) {
+                // placeholder replaced by the fully loaded document
+                fullRefs.add(new IdRef(id));
+                docs.add(null);
+                continue;
+            }
+            String parentId = (String) row.get(NXQL.ECM_PARENTID);
+            String name = (String) row.get(NXQL.ECM_NAME);
+            Path path = parentId == null ? new Path("/") : new Path(parentPaths.get(parentId)).append(name);
+            ProjectionDocumentModel doc = new ProjectionDocumentModel(session.getSessionId(), type, id, path,
+                    parentId == null ? null : new IdRef(parentId), session.getRepositoryName());
+            fields.forEach((xpath, field) -> doc.setProjectedValue(field.getDeclaringType().getName(),
+                    field.getName().getLocalName(), row.get(xpath)));
+            String lockOwner = (String) row.get(NXQL.ECM_LOCK_OWNER);
+            Lock lock = lockOwner == null ? null : new Lock(lockOwner, (Calendar) row.get(NXQL.ECM_LOCK_CREATED));
+            doc.setProjectedState((String) row.get(NXQL.ECM_LIFECYCLESTATE),
+                    !Boolean.TRUE.equals(row.get(NXQL.ECM_ISCHECKEDIN)), isTrashed(row.get(NXQL.ECM_ISTRASHED)),
+                    Boolean.TRUE.equals(row.get(NXQL.ECM_ISRECORD)), (Calendar) row.get(NXQL.ECM_RETAINUNTIL),
+                    Boolean.TRUE.equals(row.get(NXQL.ECM_HASLEGALHOLD)), lock);
+            docs.add(doc);
+        }
+        if (!fullRefs.isEmpty()) {
+            Map<String, DocumentModel> fullDocs = new HashMap<>();
+            for (DocumentModel doc : session.getDocuments(fullRefs.toArray(new DocumentRef[fullRefs.size()]))) {
+                fullDocs.put(doc.getId(), doc);
+            }
+            for (int i = 0; i < docs.size(); i++) {
+                if (docs.get(i) == null) {
+                    docs.set(i, fullDocs.get(rows.get(i).get(NXQL.ECM_UUID)));
+                }
+            }
+            docs.removeIf(doc -> doc == null);
+        }
+        return new DocumentModelListImpl(docs, totalSize);
+    }
+
+    /**
+     * Gets the paths of the parents of the documents, even if they cannot be read by the current user.
+     */
+    protected Map<String, String> getParentPaths(CoreSession session, List<Map<String, Serializable>> rows) {
+        Set<String> parentIds = rows.stream()
+                                    .map(row -> (String) row.get(NXQL.ECM_PARENTID))
+                                    .filter(parentId -> parentId != null)
+                                    .collect(Collectors.toSet());
+        if (parentIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return CoreInstance.doPrivileged(session, (CoreSession s) -> {
+            Map<String, String> paths = new HashMap<>();
+            for (String parentId : parentIds) {
+                paths.put(parentId, s.getDocument(new IdRef(parentId)).getPathAsString());
+            }
+            return paths;
+        });
+    }
+
+    /**
+     * Depending on the trash implementation, {@code ecm:isTrashed} may be computed from the life cycle state.
+     */
+    protected static boolean isTrashed(Serializable value) {
+        return value instanceof Boolean ? ((Boolean) value).booleanValue() : DELETED_STATE.equals(value);
+    }
+
+}
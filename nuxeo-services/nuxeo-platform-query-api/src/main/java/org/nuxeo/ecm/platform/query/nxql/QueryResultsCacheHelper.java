@@ -0,0 +1,181 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.nxql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+import org.nuxeo.ecm.core.query.sql.model.Expression;
+import org.nuxeo.ecm.core.query.sql.model.MultiExpression;
+import org.nuxeo.ecm.core.query.sql.model.Operand;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.core.query.sql.model.Predicate;
+import org.nuxeo.ecm.core.query.sql.model.Reference;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
+import org.nuxeo.ecm.core.query.sql.model.StringLiteral;
+import org.nuxeo.ecm.core.schema.SchemaManager;
+import org.nuxeo.ecm.core.schema.types.Type;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+/**
+ * Helper for the caches of query results of {@link CoreQueryDocumentPageProvider}.
+ * <p>
+ * Cached results are invalidated through generation counters kept in a Key/Value store: a query depends on the
+ * documents of its parent if it has a top-level {@code ecm:parentId} equality, otherwise on the documents of the types
+ * it selects. Cache keys include the current generations of these dependencies, and a change of a document increments
+ * the generations of its parent and of its type and super types, so that later lookups miss the stale entries, which
+ * then expire.
+ *
+ * @since 10.10-HF58
+ */
+public class QueryResultsCacheHelper {
+
+    /** Name of the Key/Value store holding the generations. */
+    public static final String KEY_VALUE_STORE_NAME = "pageProviderCache";
+
+    protected static final String PARENT_PREFIX = "parent:";
+
+    protected static final String TYPE_PREFIX = "type:";
+
+    private QueryResultsCacheHelper() {
+        // utility class
+    }
+
+    /**
+     * Gets the generation keys the results of a query depend on.
+     */
+    public static Set<String> getDependencies(String query) {
+        Set<String> dependencies = new TreeSet<>();
+        SQLQuery sqlQuery;
+        try {
+            sqlQuery = SQLQueryParser.parse(query);
+        } catch (QueryParseException e) {
+            // not cacheable, will fail when executed anyway
+            return dependencies;
+        }
+        if (sqlQuery.where != null) {
+            collectParents(sqlQuery.where.predicate, dependencies);
+        }
+        if (dependencies.isEmpty()) {
+            for (String type : sqlQuery.from.elements.values()) {
+                dependencies.add(TYPE_PREFIX + type);
+            }
+        }
+        return dependencies;
+    }
+
+    protected static void collectParents(Operand operand, Set<String> dependencies) {
+        if (operand instanceof MultiExpression && ((MultiExpression) operand).operator == Operator.AND) {
+            for (Predicate predicate : ((MultiExpression) operand).predicates) {
+                collectParents(predicate, dependencies);
+            }
+        } else if (operand instanceof Expression) {
+            Expression expr = (Expression) operand;
+            if (expr.operator == Operator.AND) {
+                collectParents(expr.lvalue, dependencies);
+                collectParents(expr.rvalue, dependencies);
+            } else if (expr.operator == Operator.EQ && expr.lvalue instanceof Reference
+                    && NXQL.ECM_PARENTID.equals(((Reference) expr.lvalue).name)
+                    && expr.rvalue instanceof StringLiteral) {
+                dependencies.add(PARENT_PREFIX + ((StringLiteral) expr.rvalue).value);
+            }
+        }
+    }
+
+    /**
+     * Gets the generation keys changed by a change of the given document.
+     *
+     * @param doc the changed document
+     * @param previousParentRef the previous parent of a moved document, or {@code null}
+     */
+    public static Set<String> getDependencies(DocumentModel doc, DocumentRef previousParentRef) {
+        Set<String> dependencies = new TreeSet<>();
+        for (DocumentRef parentRef : new DocumentRef[] { doc.getParentRef(), previousParentRef }) {
+            if (parentRef instanceof IdRef) {
+                dependencies.add(PARENT_PREFIX + parentRef.reference());
+            }
+        }
+        Type type = Framework.getService(SchemaManager.class).getDocumentType(doc.getType());
+        for (; type != null; type = type.getSuperType()) {
+            dependencies.add(TYPE_PREFIX + type.getName());
+        }
+        return dependencies;
+    }
+
+    /**
+     * Gets the current generations of the given keys, to be included in cache keys.
+     */
+    public static String getGenerations(Collection<String> dependencies) {
+        if (dependencies.isEmpty()) {
+            return "";
+        }
+        Map<String, Long> generations = getKeyValueStore().getLongs(dependencies);
+        List<String> values = new ArrayList<>(dependencies.size());
+        for (String dependency : dependencies) {
+            Long generation = generations.get(dependency);
+            values.add(generation == null ? "0" : generation.toString());
+        }
+        return String.join(",", values);
+    }
+
+    /**
+     * Increments the generations of the given keys, invalidating the cached results depending on them.
+     */
+    public static void invalidate(Collection<String> dependencies) {
+        KeyValueStore store = getKeyValueStore();
+        for (String dependency : dependencies) {
+            store.addAndGet(dependency, 1);
+        }
+    }
+
+    /**
+     * Gets a fingerprint of the identities used to check the permissions of a principal: its name and all its groups.
+     */
+    public static String getPrincipalFingerprint(NuxeoPrincipal principal) {
+        if (principal == null) {
+            return "";
+        }
+        Set<String> identities = new TreeSet<>();
+        List<String> groups = principal.getAllGroups();
+        if (groups != null) {
+            identities.addAll(groups);
+        }
+        return DigestUtils.sha256Hex(principal.getName() + '\n' + principal.isAdministrator() + '\n'
+                + String.join("\n", identities));
+    }
+
+    protected static KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KEY_VALUE_STORE_NAME);
+    }
+
+}
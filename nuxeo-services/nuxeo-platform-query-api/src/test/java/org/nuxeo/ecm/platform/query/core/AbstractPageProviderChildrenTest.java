@@ -0,0 +1,100 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.core;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.ecm.core.test.annotations.Granularity;
+import org.nuxeo.ecm.core.test.annotations.RepositoryConfig;
+import org.nuxeo.ecm.platform.query.api.PageProvider;
+import org.nuxeo.ecm.platform.query.api.PageProviderService;
+import org.nuxeo.ecm.platform.query.nxql.CoreQueryDocumentPageProvider;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.TransactionalFeature;
+
+/**
+ * Base class for the tests listing the children of a folder with the {@code CURRENT_DOCUMENT_CHILDREN} page provider.
+ *
+ * @since 10.10-HF58
+ */
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@RepositoryConfig(cleanup = Granularity.METHOD)
+@Deploy("org.nuxeo.ecm.platform.query.api")
+@Deploy("org.nuxeo.ecm.platform.query.api.test:test-schemas-contrib.xml")
+@Deploy("org.nuxeo.ecm.platform.query.api.test:test-pageprovider-contrib.xml")
+public abstract class AbstractPageProviderChildrenTest {
+
+    protected static final String CHILDREN_PROVIDER = "CURRENT_DOCUMENT_CHILDREN";
+
+    @Inject
+    protected TransactionalFeature transactionalFeature;
+
+    @Inject
+    protected PageProviderService pps;
+
+    @Inject
+    protected CoreSession session;
+
+    protected DocumentModel folder;
+
+    @Before
+    public void createFolder() {
+        folder = session.createDocument(session.createDocumentModel("/", "folder", "Folder"));
+        for (int i = 0; i < 3; i++) {
+            createFile(folder, "file" + i, i);
+        }
+        session.save();
+    }
+
+    protected void createFile(DocumentModel parent, String name, int i) {
+        DocumentModel doc = session.createDocumentModel(parent.getPathAsString(), name, "File");
+        doc.setPropertyValue("dc:title", "File " + i);
+        doc.setPropertyValue("dc:description", "description " + i);
+        doc.setPropertyValue("dc:source", "source " + i);
+        session.createDocument(doc);
+    }
+
+    /**
+     * Gets the properties of the page provider, with the session.
+     */
+    protected Map<String, Serializable> getProperties() {
+        Map<String, Serializable> props = new HashMap<>();
+        props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) session);
+        return props;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected PageProvider<DocumentModel> getChildren(Map<String, Serializable> props) {
+        return (PageProvider<DocumentModel>) pps.getPageProvider(CHILDREN_PROVIDER, null, 10L, 0L, props,
+                folder.getId());
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.Filter;
+import org.nuxeo.ecm.core.cache.Cache;
+import org.nuxeo.ecm.core.cache.CacheService;
+import org.nuxeo.ecm.platform.query.api.PageProvider;
+import org.nuxeo.ecm.platform.query.nxql.CoreQueryDocumentPageProvider;
+
+/**
+ * @since 10.10-HF58
+ */
+public class TestPageProviderCache extends AbstractPageProviderChildrenTest {
+
+    protected static final String RESULTS_CACHE = "pageprovider-results";
+
+    protected static final String COUNT_CACHE = "pageprovider-count";
+
+    @Inject
+    protected CacheService cacheService;
+
+    protected DocumentModel otherFolder;
+
+    @Before
+    public void createOtherFolder() {
+        otherFolder = session.createDocument(session.createDocumentModel("/", "other", "Folder"));
+        transactionalFeature.nextTransaction();
+        cacheService.getCache(RESULTS_CACHE).invalidateAll();
+        cacheService.getCache(COUNT_CACHE).invalidateAll();
+    }
+
+    @Override
+    protected Map<String, Serializable> getProperties() {
+        Map<String, Serializable> props = super.getProperties();
+        props.put(CoreQueryDocumentPageProvider.RESULTS_CACHE_PROPERTY, RESULTS_CACHE);
+        props.put(CoreQueryDocumentPageProvider.COUNT_CACHE_PROPERTY, COUNT_CACHE);
+        return props;
+    }
+
+    protected PageProvider<DocumentModel> getChildren() {
+        return getChildren(getProperties());
+    }
+
+    /**
+     * Gets the children page provider with a filter keeping only the given document.
+     */
+    protected PageProvider<DocumentModel> getFilteredChildren(String name) {
+        CoreQueryDocumentPageProvider pp = new CoreQueryDocumentPageProvider() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Filter getFilter() {
+                return doc -> name.equals(doc.getName());
+            }
+        };
+        pp.setName(CHILDREN_PROVIDER);
+        pp.setDefinition(pps.getPageProviderDefinition(CHILDREN_PROVIDER));
+        pp.setProperties(getProperties());
+        pp.setParameters(new Object[] { folder.getId() });
+        pp.setPageSize(10);
+        return pp;
+    }
+
+    /**
+     * Replaces the cached counts, to check that they are used.
+     */
+    protected void setCachedCounts(long count) {
+        Cache cache = cacheService.getCache(COUNT_CACHE);
+        assertFalse(cache.keySet().isEmpty());
+        for (String key : cache.keySet()) {
+            cache.put(key, Long.valueOf(count));
+        }
+    }
+
+    @Test
+    public void testCache() {
+        PageProvider<DocumentModel> pp = getChildren();
+        List<DocumentModel> page = pp.getCurrentPage();
+        assertEquals(3, page.size());
+        assertEquals(3, pp.getResultsCount());
+        assertFalse(cacheService.getCache(RESULTS_CACHE).keySet().isEmpty());
+
+        // cached results and count are used
+        setCachedCounts(42);
+        pp = getChildren();
+        page = pp.getCurrentPage();
+        assertEquals(3, page.size());
+        assertEquals("file0", page.get(0).getName());
+        assertEquals(42, pp.getResultsCount());
+
+        // a change in another folder doesn't invalidate the cached results
+        createFile(otherFolder, "other", 0);
+        transactionalFeature.nextTransaction();
+        pp = getChildren();
+        assertEquals(3, pp.getCurrentPage().size());
+        assertEquals(42, pp.getResultsCount());
+
+        // a change in the folder invalidates the cached results
+        createFile(folder, "file3", 3);
+        transactionalFeature.nextTransaction();
+        pp = getChildren();
+        assertEquals(4, pp.getCurrentPage().size());
+        assertEquals(4, pp.getResultsCount());
+    }
+
+    @Test
+    public void testNoCacheWithFilter() {
+        PageProvider<DocumentModel> pp = getFilteredChildren("file1");
+        List<DocumentModel> page = pp.getCurrentPage();
+        assertEquals(1, page.size());
+        assertEquals("file1", page.get(0).getName());
+        assertTrue(cacheService.getCache(RESULTS_CACHE).keySet().isEmpty());
+        assertTrue(cacheService.getCache(COUNT_CACHE).keySet().isEmpty());
+
+        // the results of another filter or without filter are not mixed up
+        page = getFilteredChildren("file2").getCurrentPage();
+        assertEquals(1, page.size());
+        assertEquals("file2", page.get(0).getName());
+        assertEquals(3, getChildren().getCurrentPage().size());
+        page = getFilteredChildren("file0").getCurrentPage();
+        assertEquals(1, page.size());
+        assertEquals("file0", page.get(0).getName());
+    }
+
+    @Test
+    public void testCacheRemovedDocument() {
+        PageProvider<DocumentModel> pp = getChildren();
+        assertEquals(3, pp.getCurrentPage().size());
+
+        // the cached results are not used when some documents cannot be read anymore, even before invalidation
+        session.removeDocument(session.getChild(folder.getRef(), "file0").getRef());
+        session.save();
+        pp = getChildren();
+        assertEquals(2, pp.getCurrentPage().size());
+
+        // the new results are cached
+        setCachedCounts(42);
+        pp = getChildren();
+        assertEquals(2, pp.getCurrentPage().size());
+        assertEquals(42, pp.getResultsCount());
+    }
+
+}
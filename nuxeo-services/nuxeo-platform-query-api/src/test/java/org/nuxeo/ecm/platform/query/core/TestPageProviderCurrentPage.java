@@ -19,15 +19,22 @@
 package org.nuxeo.ecm.platform.query.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -48,6 +55,7 @@ import org.nuxeo.ecm.platform.query.api.PageProviderService;
 import org.nuxeo.ecm.platform.query.api.PageSelections;
 import org.nuxeo.ecm.platform.query.api.QuickFilter;
 import org.nuxeo.ecm.platform.query.nxql.CoreQueryDocumentPageProvider;
+import org.nuxeo.ecm.platform.query.nxql.KeysetCursor;
 import org.nuxeo.runtime.test.runner.Deploy;
 import org.nuxeo.runtime.test.runner.Features;
 import org.nuxeo.runtime.test.runner.FeaturesRunner;
@@ -143,6 +151,124 @@ public class TestPageProviderCurrentPage {
         assertEquals(prevId, ((DocumentModel)page.get(0)).getId());
     }
 
+    @Test
+    public void testPageProviderCursor() {
+        PageProviderDefinition ppd = pps.getPageProviderDefinition(DUMMY_FETCH_DOCUMENTS);
+        HashMap<String, Serializable> props = new HashMap<String, Serializable>();
+        props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) session);
+        // all documents have the same source, entries are ordered by ecm:uuid
+        List<SortInfo> sortInfos = Collections.singletonList(new SortInfo("dc:source", true));
+        PageProvider<?> pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, 100L, 0L, props);
+        pp.setCurrentPageCursor(PageProvider.FIRST_PAGE_CURSOR);
+        Set<String> ids = new HashSet<>();
+        int pages = 0;
+        while (true) {
+            List<?> page = pp.getCurrentPage();
+            assertFalse(pp.getErrorMessage(), pp.hasError());
+            for (Object doc : page) {
+                assertTrue(ids.add(((DocumentModel) doc).getId()));
+            }
+            pages++;
+            assertFalse(pp.isPreviousPageAvailable());
+            if (!pp.isNextPageAvailable()) {
+                break;
+            }
+            assertNotNull(pp.getNextPageCursor());
+            pp.nextPage();
+        }
+        assertEquals(11, pages);
+        assertEquals(ppd.getMaxPageSize() + SECOND_PAGE_NUM_DOCS, ids.size());
+        assertEquals(SECOND_PAGE_NUM_DOCS, pp.getCurrentPageSize());
+        assertNull(pp.getNextPageCursor());
+
+        // back to the first page
+        pp.firstPage();
+        assertEquals(100, pp.getCurrentPageSize());
+        assertNotNull(pp.getNextPageCursor());
+    }
+
+    @Test
+    public void testPageProviderCursorProperty() {
+        PageProviderDefinition ppd = pps.getPageProviderDefinition(DUMMY_FETCH_DOCUMENTS);
+        HashMap<String, Serializable> props = new HashMap<String, Serializable>();
+        props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) session);
+        props.put(PageProvider.CURRENT_PAGE_CURSOR_PROP, PageProvider.FIRST_PAGE_CURSOR);
+        List<SortInfo> sortInfos = Collections.singletonList(new SortInfo("ecm:name", false));
+        PageProvider<?> pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, 600L, 0L, props);
+        List<?> page = pp.getCurrentPage();
+        assertEquals(600, page.size());
+        String lastName = ((DocumentModel) page.get(page.size() - 1)).getName();
+        String cursor = pp.getNextPageCursor();
+        assertNotNull(cursor);
+
+        // fetch the next page from a new page provider, as done by a stateless client
+        props.put(PageProvider.CURRENT_PAGE_CURSOR_PROP, cursor);
+        pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, 600L, 0L, props);
+        page = pp.getCurrentPage();
+        assertEquals(ppd.getMaxPageSize() + SECOND_PAGE_NUM_DOCS - 600, page.size());
+        assertTrue(lastName.compareTo(((DocumentModel) page.get(0)).getName()) > 0);
+        assertFalse(pp.isNextPageAvailable());
+
+        // invalid cursor
+        props.put(PageProvider.CURRENT_PAGE_CURSOR_PROP, "foo");
+        pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, 600L, 0L, props);
+        pp.getCurrentPage();
+        assertTrue(pp.hasError());
+    }
+
+    @Test
+    public void testPageProviderCursorPathSort() {
+        PageProviderDefinition ppd = pps.getPageProviderDefinition(DUMMY_FETCH_DOCUMENTS);
+        HashMap<String, Serializable> props = new HashMap<String, Serializable>();
+        props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) session);
+        // ecm:path cannot be used in a keyset clause, the cursor falls back to an offset
+        List<SortInfo> sortInfos = Collections.singletonList(new SortInfo("ecm:path", true));
+        PageProvider<?> pp = pps.getPageProvider(DUMMY_FETCH_DOCUMENTS, ppd, null, sortInfos, 600L, 0L, props);
+        pp.setCurrentPageCursor(PageProvider.FIRST_PAGE_CURSOR);
+        Set<String> ids = new HashSet<>();
+        int pages = 0;
+        while (true) {
+            List<?> page = pp.getCurrentPage();
+            assertFalse(pp.getErrorMessage(), pp.hasError());
+            for (Object doc : page) {
+                assertTrue(ids.add(((DocumentModel) doc).getId()));
+            }
+            pages++;
+            if (!pp.isNextPageAvailable()) {
+                break;
+            }
+            pp.nextPage();
+        }
+        assertEquals(2, pages);
+        assertEquals(ppd.getMaxPageSize() + SECOND_PAGE_NUM_DOCS, ids.size());
+    }
+
+    @Test
+    public void testKeysetCursorClause() {
+        List<SortInfo> sortInfos = KeysetCursor.getSortInfos(
+                Arrays.asList(new SortInfo("dc:title", true), new SortInfo("dc:modified", false)));
+        assertEquals(3, sortInfos.size());
+        Map<String, Serializable> values = new HashMap<>();
+        values.put("dc:title", "Joe's");
+        values.put("dc:modified", new GregorianCalendar(2020, 0, 1));
+        values.put("ecm:uuid", "1234");
+        KeysetCursor cursor = KeysetCursor.parse(PageProvider.FIRST_PAGE_CURSOR);
+        assertNull(cursor.getClause(sortInfos));
+
+        KeysetCursor next = KeysetCursor.parse(cursor.next(sortInfos, values::get, 10).toString());
+        String clause = next.getClause(sortInfos);
+        assertTrue(clause, clause.startsWith(
+                "(dc:title > 'Joe\\'s' OR (dc:title = 'Joe\\'s' AND (dc:modified < TIMESTAMP '2020-01-01T"));
+        assertTrue(clause, clause.endsWith(" AND ecm:uuid > '1234'))))"));
+        assertEquals(0, next.getOffset());
+
+        // null sort value, skip the page
+        values.remove("dc:title");
+        KeysetCursor skip = KeysetCursor.parse(next.next(sortInfos, values::get, 10).toString());
+        assertEquals(clause, skip.getClause(sortInfos));
+        assertEquals(10, skip.getOffset());
+    }
+
     // NXP-30360
     @Deploy("org.nuxeo.ecm.platform.query.api.test:test-pageprovider-quick-filter-contrib.xml")
     @Test
@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo
+ */
+package org.nuxeo.ecm.platform.query.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.impl.ProjectionDocumentModel;
+import org.nuxeo.ecm.platform.query.api.PageProvider;
+import org.nuxeo.ecm.platform.query.nxql.CoreQueryDocumentPageProvider;
+
+/**
+ * @since 10.10-HF58
+ */
+public class TestPageProviderProjection extends AbstractPageProviderChildrenTest {
+
+    @Before
+    public void createProxy() {
+        DocumentModel note = session.createDocumentModel("/", "note", "Note");
+        note.setPropertyValue("dc:title", "Note");
+        note = session.createDocument(note);
+        session.createProxy(note.getRef(), folder.getRef());
+        session.save();
+    }
+
+    protected PageProvider<DocumentModel> getChildren(String projection) {
+        Map<String, Serializable> props = getProperties();
+        props.put(CoreQueryDocumentPageProvider.PROJECTION_PROPERTY, projection);
+        return getChildren(props);
+    }
+
+    @Test
+    public void testProjection() {
+        PageProvider<DocumentModel> pp = getChildren("dc:description");
+        List<DocumentModel> docs = pp.getCurrentPage();
+        assertEquals(4, docs.size());
+        assertEquals(4, pp.getResultsCount());
+
+        DocumentModel doc = docs.get(0);
+        assertTrue(doc instanceof ProjectionDocumentModel);
+        assertEquals("file0", doc.getName());
+        assertEquals("/folder/file0", doc.getPathAsString());
+        assertEquals(folder.getRef(), doc.getParentRef());
+        assertEquals("File", doc.getType());
+        assertEquals("File 0", doc.getTitle());
+        DocumentModel fullDoc = session.getDocument(doc.getRef());
+        assertEquals(fullDoc.getCurrentLifeCycleState(), doc.getCurrentLifeCycleState());
+        assertEquals(fullDoc.isCheckedOut(), doc.isCheckedOut());
+        assertFalse(doc.isTrashed());
+        assertFalse(doc.isLocked());
+        assertTrue(doc.isPrefetched("dc:description"));
+        assertTrue(doc.isPrefetched("dc:modified"));
+        assertFalse(doc.isPrefetched("dc:source"));
+        assertEquals("description 0", doc.getPropertyValue("dc:description"));
+        assertTrue(doc.getProperty("dc:description").isReadOnly());
+        assertNotNull(doc.getPropertyValue("dc:modified"));
+        assertFalse(((ProjectionDocumentModel) doc).isSchemaLoaded("dublincore"));
+
+        // other properties are loaded on demand
+        assertEquals("source 0", doc.getPropertyValue("dc:source"));
+        assertTrue(((ProjectionDocumentModel) doc).isSchemaLoaded("dublincore"));
+        assertEquals("description 0", doc.getPropertyValue("dc:description"));
+
+        // proxies are fully loaded
+        DocumentModel proxy = docs.get(3);
+        assertFalse(proxy instanceof ProjectionDocumentModel);
+        assertTrue(proxy.isProxy());
+    }
+
+    @Test
+    public void testProjectionOnComplexProperty() {
+        PageProvider<DocumentModel> pp = getChildren("dc:contributors");
+        pp.getCurrentPage();
+        assertTrue(pp.hasError());
+    }
+
+}
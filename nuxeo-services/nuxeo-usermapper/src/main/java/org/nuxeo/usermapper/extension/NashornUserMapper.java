@@ -27,7 +27,6 @@ import java.io.Serializable;
 import java.util.Map;
 
 import javax.script.ScriptContext;
-import javax.script.ScriptEngine;
 
 import org.apache.commons.lang3.StringUtils;
 import org.nuxeo.automation.scripting.api.AutomationScriptingService;
@@ -63,7 +62,7 @@ public class NashornUserMapper extends AbstractUserMapper {
             return null;
         }
         try (Session session = Framework.getService(AutomationScriptingService.class).get((CoreSession) null)) {
-            Map<String, Object> bindings = session.adapt(ScriptEngine.class).getBindings(ScriptContext.ENGINE_SCOPE);
+            Map<String, Object> bindings = session.adapt(ScriptContext.class).getBindings(ScriptContext.ENGINE_SCOPE);
             bindings.put("nuxeoPrincipal", principal);
             bindings.put("userObject", userObject);
             bindings.put("params", params);